@@ -1,10 +1,14 @@
 package com.kharchenko.university.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.*;
 import org.springframework.stereotype.Controller;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.web.servlet.config.annotation.EnableWebMvc;
 
 import javax.sql.DataSource;
@@ -14,6 +18,8 @@ import javax.sql.DataSource;
         @ComponentScan.Filter(type = FilterType.ANNOTATION, value = EnableWebMvc.class),
         @ComponentScan.Filter(type = FilterType.ANNOTATION, value = Controller.class)})
 @PropertySource("classpath:application.properties")
+@EnableMBeanExport
+@EnableScheduling
 public class AppConfig {
 
 
@@ -25,20 +31,63 @@ public class AppConfig {
     private String databaseUser;
     @Value("${db.password}")
     private String databasePassword;
+    @Value("${db.fetchSize:500}")
+    private int fetchSize;
+    @Value("${db.pool.minimumIdle:2}")
+    private int poolMinimumIdle;
+    @Value("${db.pool.maximumSize:10}")
+    private int poolMaximumSize;
+    @Value("${db.pool.connectionTimeout:30000}")
+    private long poolConnectionTimeout;
+    @Value("${db.pool.idleTimeout:600000}")
+    private long poolIdleTimeout;
+    @Value("${db.pool.leakDetectionThreshold:0}")
+    private long poolLeakDetectionThreshold;
+    @Value("${db.pool.registerMbeans:false}")
+    private boolean poolRegisterMbeans;
+    @Value("${db.statementCache.prepareThreshold:5}")
+    private int statementPrepareThreshold;
+    @Value("${db.statementCache.queries:256}")
+    private int statementCacheQueries;
+    @Value("${db.statementCache.sizeMiB:5}")
+    private int statementCacheSizeMiB;
 
 
-    @Bean
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(databaseDriver);
-        dataSource.setUrl(databaseUrl);
-        dataSource.setUsername(databaseUser);
-        dataSource.setPassword(databasePassword);
-        return dataSource;
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("university-pool");
+        config.setDriverClassName(databaseDriver);
+        config.setJdbcUrl(databaseUrl);
+        config.setUsername(databaseUser);
+        config.setPassword(databasePassword);
+        config.setMinimumIdle(poolMinimumIdle);
+        config.setMaximumPoolSize(poolMaximumSize);
+        config.setConnectionTimeout(poolConnectionTimeout);
+        config.setIdleTimeout(poolIdleTimeout);
+        config.setLeakDetectionThreshold(poolLeakDetectionThreshold);
+        config.setRegisterMbeans(poolRegisterMbeans);
+        config.addDataSourceProperty("prepareThreshold", statementPrepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", statementCacheQueries);
+        config.addDataSourceProperty("preparedStatementCacheSizeMiB", statementCacheSizeMiB);
+        config.setMetricsTrackerFactory(connectionPoolStatistics());
+        return new HikariDataSource(config);
+    }
+
+    @Bean
+    public ConnectionPoolStatistics connectionPoolStatistics() {
+        return new ConnectionPoolStatistics();
     }
 
     @Bean
     public JdbcTemplate jdbcTemplate() {
-        return new JdbcTemplate(dataSource());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource());
+        jdbcTemplate.setFetchSize(fetchSize);
+        return jdbcTemplate;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new DataSourceTransactionManager(dataSource());
     }
 }
\ No newline at end of file
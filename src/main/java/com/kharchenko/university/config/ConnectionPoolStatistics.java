@@ -0,0 +1,104 @@
+package com.kharchenko.university.config;
+
+import com.zaxxer.hikari.metrics.IMetricsTracker;
+import com.zaxxer.hikari.metrics.MetricsTrackerFactory;
+import com.zaxxer.hikari.metrics.PoolStats;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedResource;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+@ManagedResource(objectName = "com.kharchenko.university:type=ConnectionPoolStatistics")
+public class ConnectionPoolStatistics implements MetricsTrackerFactory {
+
+    private final LongAdder acquiredConnections = new LongAdder();
+    private final LongAdder acquisitionNanos = new LongAdder();
+    private final AtomicLong maxAcquisitionNanos = new AtomicLong();
+    private final LongAdder usageMillis = new LongAdder();
+    private final LongAdder createdConnections = new LongAdder();
+    private final LongAdder timeouts = new LongAdder();
+    private volatile PoolStats poolStats;
+
+    @Override
+    public IMetricsTracker create(String poolName, PoolStats poolStats) {
+        this.poolStats = poolStats;
+        return new IMetricsTracker() {
+
+            @Override
+            public void recordConnectionCreatedMillis(long connectionCreatedMillis) {
+                createdConnections.increment();
+            }
+
+            @Override
+            public void recordConnectionAcquiredNanos(long elapsedAcquiredNanos) {
+                acquiredConnections.increment();
+                acquisitionNanos.add(elapsedAcquiredNanos);
+                maxAcquisitionNanos.accumulateAndGet(elapsedAcquiredNanos, Math::max);
+            }
+
+            @Override
+            public void recordConnectionUsageMillis(long elapsedBorrowedMillis) {
+                usageMillis.add(elapsedBorrowedMillis);
+            }
+
+            @Override
+            public void recordConnectionTimeout() {
+                timeouts.increment();
+            }
+        };
+    }
+
+    @ManagedAttribute
+    public int getActiveConnections() {
+        return poolStats == null ? 0 : poolStats.getActiveConnections();
+    }
+
+    @ManagedAttribute
+    public int getIdleConnections() {
+        return poolStats == null ? 0 : poolStats.getIdleConnections();
+    }
+
+    @ManagedAttribute
+    public int getTotalConnections() {
+        return poolStats == null ? 0 : poolStats.getTotalConnections();
+    }
+
+    @ManagedAttribute
+    public int getPendingThreads() {
+        return poolStats == null ? 0 : poolStats.getPendingThreads();
+    }
+
+    @ManagedAttribute
+    public long getAcquiredConnections() {
+        return acquiredConnections.sum();
+    }
+
+    @ManagedAttribute
+    public long getCreatedConnections() {
+        return createdConnections.sum();
+    }
+
+    @ManagedAttribute
+    public double getAverageWaitMillis() {
+        long acquired = acquiredConnections.sum();
+        return acquired == 0 ? 0 : (double) acquisitionNanos.sum() / acquired / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @ManagedAttribute
+    public double getMaxWaitMillis() {
+        return (double) maxAcquisitionNanos.get() / TimeUnit.MILLISECONDS.toNanos(1);
+    }
+
+    @ManagedAttribute
+    public double getAverageUsageMillis() {
+        long acquired = acquiredConnections.sum();
+        return acquired == 0 ? 0 : (double) usageMillis.sum() / acquired;
+    }
+
+    @ManagedAttribute
+    public long getTimeouts() {
+        return timeouts.sum();
+    }
+}
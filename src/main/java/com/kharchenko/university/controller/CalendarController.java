@@ -0,0 +1,114 @@
+package com.kharchenko.university.controller;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.service.CalendarService;
+import com.kharchenko.university.service.StudentService;
+import com.kharchenko.university.service.TeacherService;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Controller;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.server.ResponseStatusException;
+
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.time.LocalDate;
+import java.time.Month;
+
+@Controller
+@RequestMapping("/calendars")
+public class CalendarController {
+
+    private static final String CONTENT_TYPE = "text/calendar;charset=UTF-8";
+
+    private CalendarService calendarService;
+    private TeacherService teacherService;
+    private StudentService studentService;
+
+    public CalendarController(CalendarService calendarService, TeacherService teacherService,
+                              StudentService studentService) {
+        this.calendarService = calendarService;
+        this.teacherService = teacherService;
+        this.studentService = studentService;
+    }
+
+    @GetMapping("/teachers/{id}.ics")
+    public void getTeacherCalendar(@PathVariable int id,
+                                   @RequestParam(value = "month", required = false) Integer month,
+                                   @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                   WebRequest request, HttpServletResponse response) throws IOException {
+        Month monthOfYear = getMonth(month);
+        Teacher teacher = teacherService.getById(id);
+        LocalDate fromDate = getFromDate(from);
+        LocalDate toDate = getToDate(to);
+        String tag;
+        try {
+            tag = monthOfYear != null ? calendarService.getTeacherTag(teacher, monthOfYear)
+                    : calendarService.getTeacherTag(teacher, fromDate, toDate);
+        } catch (InvalidEntityFieldException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (request.checkNotModified(tag)) {
+            return;
+        }
+        response.setContentType(CONTENT_TYPE);
+        if (monthOfYear != null) {
+            calendarService.writeTeacherCalendar(teacher, monthOfYear, response.getWriter());
+        } else {
+            calendarService.writeTeacherCalendar(teacher, fromDate, toDate, response.getWriter());
+        }
+    }
+
+    @GetMapping("/students/{id}.ics")
+    public void getStudentCalendar(@PathVariable int id,
+                                   @RequestParam(value = "month", required = false) Integer month,
+                                   @RequestParam(value = "from", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                   @RequestParam(value = "to", required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                   WebRequest request, HttpServletResponse response) throws IOException {
+        Month monthOfYear = getMonth(month);
+        Student student = studentService.getById(id);
+        LocalDate fromDate = getFromDate(from);
+        LocalDate toDate = getToDate(to);
+        String tag;
+        try {
+            tag = monthOfYear != null ? calendarService.getStudentTag(student, monthOfYear)
+                    : calendarService.getStudentTag(student, fromDate, toDate);
+        } catch (InvalidEntityFieldException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        if (request.checkNotModified(tag)) {
+            return;
+        }
+        response.setContentType(CONTENT_TYPE);
+        if (monthOfYear != null) {
+            calendarService.writeStudentCalendar(student, monthOfYear, response.getWriter());
+        } else {
+            calendarService.writeStudentCalendar(student, fromDate, toDate, response.getWriter());
+        }
+    }
+
+    private Month getMonth(Integer month) {
+        if (month == null) {
+            return null;
+        }
+        if (month < 1 || month > 12) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, "Month must be between 1 and 12");
+        }
+        return Month.of(month);
+    }
+
+    private LocalDate getFromDate(LocalDate from) {
+        return from == null ? LocalDate.now().minusMonths(1) : from;
+    }
+
+    private LocalDate getToDate(LocalDate to) {
+        return to == null ? LocalDate.now().plusMonths(6) : to;
+    }
+}
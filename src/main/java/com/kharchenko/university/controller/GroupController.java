@@ -16,7 +16,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/groups")
@@ -34,7 +33,7 @@ public class GroupController {
 
     @GetMapping
     public String getAllGroups(Model model) {
-        model.addAttribute("groups", groupService.getAll());
+        model.addAttribute("groups", groupService.getSummaries());
         model.addAttribute("faculties", facultyService.getAll());
         model.addAttribute("subjects", subjectService.getAll());
         return "group/groups";
@@ -49,9 +48,7 @@ public class GroupController {
     @PostMapping("/add")
     public String addGroup(@ModelAttribute("group") GroupDto groupDto, @RequestParam(value = "groupSubjects")
             List<Integer> groupSubjects) {
-        List<Subject> subjects = groupSubjects.stream()
-                .map(subjectService::getById)
-                .collect(Collectors.toList());
+        List<Subject> subjects = subjectService.getByIds(groupSubjects);
         Group group = new Group(groupDto.getId(), groupDto.getName(), subjects, facultyService.getById(groupDto.getFacultyId()));
         groupService.add(group);
         return "redirect:/groups";
@@ -3,11 +3,14 @@ package com.kharchenko.university.controller;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.dto.LectureDto;
+import com.kharchenko.university.model.dto.LectureSummary;
 import com.kharchenko.university.service.LectureService;
 import com.kharchenko.university.service.SubjectService;
 import com.kharchenko.university.service.TeacherService;
 import com.kharchenko.university.service.ClassRoomService;
 import com.kharchenko.university.service.GroupService;
+import com.kharchenko.university.exception.InvalidPageRequestException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -16,15 +19,17 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
 
 import java.time.LocalTime;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/lectures")
 public class LectureController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private LectureService lectureService;
     private SubjectService subjectService;
     private TeacherService teacherService;
@@ -41,12 +46,25 @@ public class LectureController {
     }
 
     @GetMapping
-    public String getAllLectures(Model model) {
-        model.addAttribute("lectures", lectureService.getAll());
+    public String getAllLectures(@RequestParam(value = "after", required = false) Integer after,
+                                 @RequestParam(value = "size", defaultValue = "50") int size,
+                                 @RequestParam(value = "sort", required = false) String sort, Model model) {
+        String sortKey = sort == null || sort.isEmpty() ? null : sort;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<LectureSummary> lectures;
+        try {
+            lectures = lectureService.getSummaryPage(after, pageSize, sortKey);
+        } catch (InvalidPageRequestException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        model.addAttribute("lectures", lectures);
+        model.addAttribute("nextAfter", !lectures.isEmpty() && lectures.size() == pageSize ? lectures.get(pageSize - 1).getId() : null);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("sort", sortKey);
         model.addAttribute("subjects", subjectService.getAll());
         model.addAttribute("teachers", teacherService.getAll());
         model.addAttribute("classrooms", classRoomService.getAll());
-        model.addAttribute("groups", groupService.getAll());
+        model.addAttribute("groups", groupService.getSummaries());
         return "lecture/lectures";
     }
 
@@ -59,9 +77,7 @@ public class LectureController {
     @PostMapping("/add")
     public String addLecture(@ModelAttribute("lecture") LectureDto lectureDto, @RequestParam(value = "lectureGroups")
             List<Integer> lectureGroups) {
-        List<Group> groups = lectureGroups.stream()
-                .map(groupService::getById)
-                .collect(Collectors.toList());
+        List<Group> groups = groupService.getByIds(lectureGroups);
         Lecture lecture = new Lecture(lectureDto.getId(),
                 subjectService.getById(lectureDto.getSubjectId()),
                 teacherService.getById(lectureDto.getTeacherId()),
@@ -17,7 +17,6 @@ import org.springframework.web.bind.annotation.RequestParam;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/schedules")
@@ -50,9 +49,7 @@ public class ScheduleController {
     @PostMapping("/add")
     public String addSchedule(@ModelAttribute("schedule") ScheduleDto scheduleDto, @RequestParam(value = "scheduleLectures")
             List<Integer> scheduleLectures) {
-        List<Lecture> lectures = scheduleLectures.stream()
-                .map(lectureService::getById)
-                .collect(Collectors.toList());
+        List<Lecture> lectures = lectureService.getByIds(scheduleLectures);
         Schedule schedule = new Schedule(scheduleDto.getId(),
                 lectures,
                 LocalDate.parse(scheduleDto.getDate()),
@@ -2,8 +2,11 @@ package com.kharchenko.university.controller;
 
 import com.kharchenko.university.model.Student;
 import com.kharchenko.university.model.dto.StudentDto;
+import com.kharchenko.university.model.dto.StudentSummary;
 import com.kharchenko.university.service.GroupService;
 import com.kharchenko.university.service.StudentService;
+import com.kharchenko.university.exception.InvalidPageRequestException;
+import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Controller;
 import org.springframework.ui.Model;
 import org.springframework.web.bind.annotation.GetMapping;
@@ -11,11 +14,17 @@ import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.ModelAttribute;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.server.ResponseStatusException;
+
+import java.util.List;
 
 @Controller
 @RequestMapping("/students")
 public class StudentController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private StudentService studentService;
     private GroupService groupService;
 
@@ -25,9 +34,22 @@ public class StudentController {
     }
 
     @GetMapping
-    public String getAllStudents(Model model) {
-        model.addAttribute("students", studentService.getAll());
-        model.addAttribute("groups", groupService.getAll());
+    public String getAllStudents(@RequestParam(value = "after", required = false) Integer after,
+                                 @RequestParam(value = "size", defaultValue = "50") int size,
+                                 @RequestParam(value = "sort", required = false) String sort, Model model) {
+        String sortKey = sort == null || sort.isEmpty() ? null : sort;
+        int pageSize = Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+        List<StudentSummary> students;
+        try {
+            students = studentService.getSummaryPage(after, pageSize, sortKey);
+        } catch (InvalidPageRequestException e) {
+            throw new ResponseStatusException(HttpStatus.BAD_REQUEST, e.getMessage(), e);
+        }
+        model.addAttribute("students", students);
+        model.addAttribute("groups", groupService.getSummaries());
+        model.addAttribute("nextAfter", !students.isEmpty() && students.size() == pageSize ? students.get(pageSize - 1).getId() : null);
+        model.addAttribute("size", pageSize);
+        model.addAttribute("sort", sortKey);
         return "student/students";
     }
 
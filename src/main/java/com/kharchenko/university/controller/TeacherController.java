@@ -13,7 +13,6 @@ import org.springframework.web.bind.annotation.ModelAttribute;
 import org.springframework.web.bind.annotation.RequestParam;
 
 import java.util.List;
-import java.util.stream.Collectors;
 
 @Controller
 @RequestMapping("/teachers")
@@ -44,9 +43,7 @@ public class TeacherController {
     @PostMapping("/add")
     public String addTeacher(@ModelAttribute("teacher") Teacher teacher, @RequestParam(value = "teacherSubjects")
             List<Integer> teacherSubjects) {
-        teacher.setSubjects(teacherSubjects.stream()
-                .map(subjectService::getById)
-                .collect(Collectors.toList()));
+        teacher.setSubjects(subjectService.getByIds(teacherSubjects));
         teacherService.add(teacher);
         return "redirect:/teachers";
     }
@@ -0,0 +1,25 @@
+package com.kharchenko.university.dao;
+
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+public interface BulkIngestDao {
+
+    Map<String, Long> copyStudents(List<Student> students);
+
+    Map<String, Long> copyLectures(List<Lecture> lectures);
+
+    Map<String, Long> copySchedules(List<Schedule> schedules);
+
+    List<Integer> getMissingIds(String tableName, Collection<Integer> ids);
+
+    List<int[]> getMissingSubjectLinks(String linkTableName, List<int[]> links);
+
+    List<LocalDate> getExistingScheduleDates(Collection<LocalDate> dates);
+}
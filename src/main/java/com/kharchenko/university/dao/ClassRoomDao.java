@@ -10,4 +10,8 @@ public interface ClassRoomDao extends GenericDao<ClassRoom, Integer> {
     List<ClassRoom> getByBuildingNumber(Integer number);
 
     List<ClassRoom> getByFaculty(Faculty faculty);
-}
\ No newline at end of file
+
+    boolean existsByBuildingNumberAndRoomNumber(int buildingNumber, int roomNumber);
+
+    boolean existsByFaculty(Faculty faculty);
+}
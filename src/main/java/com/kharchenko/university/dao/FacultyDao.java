@@ -3,4 +3,6 @@ package com.kharchenko.university.dao;
 import com.kharchenko.university.model.Faculty;
 
 public interface FacultyDao extends GenericDao<Faculty, Integer> {
+
+    boolean existsByName(String name);
 }
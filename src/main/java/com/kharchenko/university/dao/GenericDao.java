@@ -1,7 +1,9 @@
 package com.kharchenko.university.dao;
 
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 public interface GenericDao<T, ID> {
 
@@ -9,11 +11,19 @@ public interface GenericDao<T, ID> {
 
     List<T> getAll();
 
+    void streamAll(Consumer<T> action);
+
+    List<T> getPage(ID afterId, int limit);
+
+    List<T> getPage(ID afterId, int limit, String sortKey);
+
     Optional<T> getById(ID id);
 
+    List<T> getByIds(Collection<ID> ids);
+
     void update(T entity);
 
     boolean deleteById(ID id);
 
-    void addAll(List<T> list);
+    List<T> addAll(List<T> list);
 }
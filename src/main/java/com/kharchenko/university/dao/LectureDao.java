@@ -4,9 +4,12 @@ import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.TeacherSubstitution;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.dto.LectureSummary;
 
+import java.time.LocalDate;
 import java.util.List;
 
 public interface LectureDao extends GenericDao<Lecture, Integer> {
@@ -15,6 +18,8 @@ public interface LectureDao extends GenericDao<Lecture, Integer> {
 
     void removeLectureFromSchedule(Lecture lecture, Schedule schedule);
 
+    void updateTeachers(List<TeacherSubstitution> substitutions, LocalDate fromDate, LocalDate toDate);
+
     List<Lecture> getByClassRoom(ClassRoom classRoom);
 
     List<Lecture> getBySubject(Subject subject);
@@ -22,4 +27,18 @@ public interface LectureDao extends GenericDao<Lecture, Integer> {
     List<Lecture> getTeacherLectures(Teacher teacher);
 
     List<Lecture> getGroupLectures(Group group);
-}
\ No newline at end of file
+
+    List<LectureSummary> getSummaryPage(Integer afterId, int limit, String sortKey);
+
+    boolean existsWithSameFields(Lecture lecture);
+
+    List<Integer> getIndexesWithSameFields(List<Lecture> lectures);
+
+    boolean existsByClassRoom(ClassRoom classRoom);
+
+    boolean existsBySubject(Subject subject);
+
+    boolean existsByTeacher(Teacher teacher);
+
+    boolean existsByGroup(Group group);
+}
@@ -4,11 +4,28 @@ import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Schedule;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
+import java.util.function.Consumer;
 
 public interface ScheduleDao extends GenericDao<Schedule, Integer> {
 
     List<Schedule> getByLecture(Lecture lecture);
 
     List<Schedule> getByFaculty(Faculty faculty);
+
+    List<Schedule> getByPeriod(LocalDate fromDate, LocalDate toDate);
+
+    List<Schedule> getByPeriodAndFaculty(LocalDate fromDate, LocalDate toDate, Faculty faculty);
+
+    void streamByPeriod(LocalDate fromDate, LocalDate toDate, Consumer<Schedule> action);
+
+    boolean existsByDate(LocalDate date);
+
+    List<LocalDate> getExistingDates(Collection<LocalDate> dates);
+
+    boolean existsByLecture(Lecture lecture);
+
+    boolean existsByFaculty(Faculty faculty);
 }
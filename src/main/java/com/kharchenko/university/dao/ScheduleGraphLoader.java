@@ -0,0 +1,10 @@
+package com.kharchenko.university.dao;
+
+import com.kharchenko.university.model.Schedule;
+
+import java.util.List;
+
+public interface ScheduleGraphLoader {
+
+    List<Schedule> loadLectures(List<Schedule> schedules);
+}
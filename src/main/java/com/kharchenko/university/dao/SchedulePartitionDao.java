@@ -0,0 +1,15 @@
+package com.kharchenko.university.dao;
+
+import java.time.YearMonth;
+import java.util.List;
+
+public interface SchedulePartitionDao {
+
+    List<YearMonth> getPartitions();
+
+    List<YearMonth> getDefaultPartitionMonths();
+
+    void createPartition(YearMonth month);
+
+    boolean detachPartition(YearMonth month);
+}
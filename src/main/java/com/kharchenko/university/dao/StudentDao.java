@@ -2,10 +2,15 @@ package com.kharchenko.university.dao;
 
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.dto.StudentSummary;
 
 import java.util.List;
 
 public interface StudentDao extends GenericDao<Student, Integer> {
 
     List<Student> getGroupStudents(Group group);
-}
\ No newline at end of file
+
+    List<StudentSummary> getSummaryPage(Integer afterId, int limit, String sortKey);
+
+    boolean existsByGroup(Group group);
+}
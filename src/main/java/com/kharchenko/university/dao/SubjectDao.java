@@ -13,4 +13,6 @@ public interface SubjectDao extends GenericDao<Subject, Integer> {
     void removeSubjectFromGroup(Subject subject, Group group);
 
     void removeSubjectFromTeacher(Subject subject, Teacher teacher);
+
+    boolean existsByName(String name);
 }
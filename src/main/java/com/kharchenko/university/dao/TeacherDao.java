@@ -8,4 +8,6 @@ import java.util.List;
 public interface TeacherDao extends GenericDao<Teacher, Integer> {
 
     List<Teacher> getBySubject(Subject subject);
+
+    boolean existsBySubject(Subject subject);
 }
@@ -0,0 +1,20 @@
+package com.kharchenko.university.dao;
+
+import com.kharchenko.university.model.TimeTableChange;
+
+import java.util.List;
+
+public interface TimeTableChangeDao {
+
+    long add(Integer scheduleId, Integer lectureId);
+
+    long addEntityChange(String entity, Integer entityId);
+
+    long getFirstId();
+
+    long getLastId();
+
+    List<TimeTableChange> getAfter(long changeId);
+
+    void deleteBefore(long changeId);
+}
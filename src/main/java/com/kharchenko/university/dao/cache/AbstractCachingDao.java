@@ -0,0 +1,111 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.dao.GenericDao;
+import org.springframework.jmx.export.annotation.ManagedAttribute;
+import org.springframework.jmx.export.annotation.ManagedOperation;
+
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.function.Consumer;
+
+public abstract class AbstractCachingDao<T, D extends GenericDao<T, Integer>> implements GenericDao<T, Integer> {
+    protected final D delegate;
+    protected final ReferenceDataCache<T> cache;
+
+    public AbstractCachingDao(D delegate, ReferenceDataCache<T> cache) {
+        this.delegate = delegate;
+        this.cache = cache;
+    }
+
+    @Override
+    public T add(T entity) {
+        try {
+            return delegate.add(entity);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public List<T> getAll() {
+        return cache.getAll(delegate::getAll);
+    }
+
+    @Override
+    public void streamAll(Consumer<T> action) {
+        getAll().forEach(action);
+    }
+
+    @Override
+    public List<T> getPage(Integer afterId, int limit) {
+        return delegate.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<T> getPage(Integer afterId, int limit, String sortKey) {
+        return delegate.getPage(afterId, limit, sortKey);
+    }
+
+    @Override
+    public Optional<T> getById(Integer id) {
+        return cache.get(id, delegate::getById);
+    }
+
+    @Override
+    public List<T> getByIds(Collection<Integer> ids) {
+        return cache.getByIds(ids, delegate::getByIds);
+    }
+
+    @Override
+    public void update(T entity) {
+        try {
+            delegate.update(entity);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public boolean deleteById(Integer id) {
+        try {
+            return delegate.deleteById(id);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @Override
+    public List<T> addAll(List<T> list) {
+        try {
+            return delegate.addAll(list);
+        } finally {
+            invalidate();
+        }
+    }
+
+    @ManagedOperation
+    public void invalidate() {
+        cache.invalidateAll();
+    }
+
+    @ManagedAttribute
+    public long getHits() {
+        return cache.getHits();
+    }
+
+    @ManagedAttribute
+    public long getMisses() {
+        return cache.getMisses();
+    }
+
+    @ManagedAttribute
+    public long getEvictions() {
+        return cache.getEvictions();
+    }
+
+    @ManagedAttribute
+    public int getSize() {
+        return cache.size();
+    }
+}
@@ -0,0 +1,52 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.dao.ClassRoomDao;
+import com.kharchenko.university.dao.impl.ClassRoomDaoImpl;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@Primary
+@ManagedResource(objectName = "com.kharchenko.university:type=ReferenceDataCache,name=classrooms")
+public class CachingClassRoomDao extends AbstractCachingDao<ClassRoom, ClassRoomDao> implements ClassRoomDao {
+
+    public CachingClassRoomDao(ClassRoomDaoImpl delegate,
+                               @Value("${cache.referenceData.maximumSize:1000}") int maximumSize,
+                               @Value("${cache.referenceData.ttlSeconds:600}") long ttlSeconds) {
+        super(delegate, new ReferenceDataCache<>(ClassRoom::getId, CachingClassRoomDao::copy, maximumSize,
+                ttlSeconds, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public List<ClassRoom> getByBuildingNumber(Integer number) {
+        return delegate.getByBuildingNumber(number);
+    }
+
+    @Override
+    public List<ClassRoom> getByFaculty(Faculty faculty) {
+        return delegate.getByFaculty(faculty);
+    }
+
+    @Override
+    public boolean existsByBuildingNumberAndRoomNumber(int buildingNumber, int roomNumber) {
+        return delegate.existsByBuildingNumberAndRoomNumber(buildingNumber, roomNumber);
+    }
+
+    @Override
+    public boolean existsByFaculty(Faculty faculty) {
+        return delegate.existsByFaculty(faculty);
+    }
+
+    private static ClassRoom copy(ClassRoom classRoom) {
+        Faculty faculty = classRoom.getFaculty() == null ? null
+                : new Faculty(classRoom.getFaculty().getId(), classRoom.getFaculty().getName());
+        return new ClassRoom(classRoom.getId(), classRoom.getBuildingNumber(), classRoom.getRoomNumber(), faculty);
+    }
+}
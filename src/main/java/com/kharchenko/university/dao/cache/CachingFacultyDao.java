@@ -0,0 +1,41 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.dao.FacultyDao;
+import com.kharchenko.university.dao.impl.FacultyDaoImpl;
+import com.kharchenko.university.model.Faculty;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@Primary
+@ManagedResource(objectName = "com.kharchenko.university:type=ReferenceDataCache,name=faculties")
+public class CachingFacultyDao extends AbstractCachingDao<Faculty, FacultyDao> implements FacultyDao {
+    private final CachingClassRoomDao classRoomDao;
+
+    public CachingFacultyDao(FacultyDaoImpl delegate, CachingClassRoomDao classRoomDao,
+                             @Value("${cache.referenceData.maximumSize:1000}") int maximumSize,
+                             @Value("${cache.referenceData.ttlSeconds:600}") long ttlSeconds) {
+        super(delegate, new ReferenceDataCache<>(Faculty::getId, CachingFacultyDao::copy, maximumSize,
+                ttlSeconds, TimeUnit.SECONDS));
+        this.classRoomDao = classRoomDao;
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return delegate.existsByName(name);
+    }
+
+    @Override
+    public void invalidate() {
+        super.invalidate();
+        classRoomDao.invalidate();
+    }
+
+    private static Faculty copy(Faculty faculty) {
+        return new Faculty(faculty.getId(), faculty.getName());
+    }
+}
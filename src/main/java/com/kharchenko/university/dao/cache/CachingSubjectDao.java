@@ -0,0 +1,55 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.dao.SubjectDao;
+import com.kharchenko.university.dao.impl.SubjectDaoImpl;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jmx.export.annotation.ManagedResource;
+import org.springframework.stereotype.Repository;
+
+import java.util.concurrent.TimeUnit;
+
+@Repository
+@Primary
+@ManagedResource(objectName = "com.kharchenko.university:type=ReferenceDataCache,name=subjects")
+public class CachingSubjectDao extends AbstractCachingDao<Subject, SubjectDao> implements SubjectDao {
+
+    public CachingSubjectDao(SubjectDaoImpl delegate,
+                             @Value("${cache.referenceData.maximumSize:1000}") int maximumSize,
+                             @Value("${cache.referenceData.ttlSeconds:600}") long ttlSeconds) {
+        super(delegate, new ReferenceDataCache<>(Subject::getId, CachingSubjectDao::copy, maximumSize,
+                ttlSeconds, TimeUnit.SECONDS));
+    }
+
+    @Override
+    public void addTeacherToSubject(Subject subject, Teacher teacher) {
+        delegate.addTeacherToSubject(subject, teacher);
+    }
+
+    @Override
+    public void addSubjectToGroup(Subject subject, Group group) {
+        delegate.addSubjectToGroup(subject, group);
+    }
+
+    @Override
+    public void removeSubjectFromGroup(Subject subject, Group group) {
+        delegate.removeSubjectFromGroup(subject, group);
+    }
+
+    @Override
+    public void removeSubjectFromTeacher(Subject subject, Teacher teacher) {
+        delegate.removeSubjectFromTeacher(subject, teacher);
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        return delegate.existsByName(name);
+    }
+
+    private static Subject copy(Subject subject) {
+        return new Subject(subject.getId(), subject.getName(), subject.getDescription());
+    }
+}
@@ -0,0 +1,185 @@
+package com.kharchenko.university.dao.cache;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.function.LongSupplier;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+public class ReferenceDataCache<T> {
+
+    private final int maximumSize;
+    private final long ttlNanos;
+    private final LongSupplier clock;
+    private final Function<T, Integer> idExtractor;
+    private final UnaryOperator<T> copier;
+    private final Map<Integer, Entry<T>> entries;
+    private Entry<List<T>> all;
+    private long generation;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+
+    public ReferenceDataCache(Function<T, Integer> idExtractor, UnaryOperator<T> copier, int maximumSize, long ttl,
+                              TimeUnit unit) {
+        this(idExtractor, copier, maximumSize, ttl, unit, System::nanoTime);
+    }
+
+    ReferenceDataCache(Function<T, Integer> idExtractor, UnaryOperator<T> copier, int maximumSize, long ttl,
+                       TimeUnit unit, LongSupplier clock) {
+        this.idExtractor = idExtractor;
+        this.copier = copier;
+        this.maximumSize = maximumSize;
+        this.ttlNanos = unit.toNanos(ttl);
+        this.clock = clock;
+        this.entries = new LinkedHashMap<>(16, 0.75f, true);
+    }
+
+    public Optional<T> get(Integer id, Function<Integer, Optional<T>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            T value = getFresh(id);
+            if (value != null) {
+                hits.increment();
+                return Optional.of(copier.apply(value));
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+        Optional<T> loaded = loader.apply(id);
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                loaded.ifPresent(this::put);
+            }
+        }
+        return loaded;
+    }
+
+    public List<T> getAll(Supplier<List<T>> loader) {
+        long loadGeneration;
+        synchronized (this) {
+            if (all != null && isExpired(all)) {
+                all = null;
+                evictions.increment();
+            }
+            if (all != null) {
+                hits.increment();
+                return copyAll(all.value);
+            }
+            misses.increment();
+            loadGeneration = generation;
+        }
+        List<T> loaded = loader.get();
+        synchronized (this) {
+            if (loadGeneration == generation) {
+                all = new Entry<>(copyAll(loaded), clock.getAsLong() + ttlNanos);
+                loaded.forEach(this::put);
+            }
+        }
+        return loaded;
+    }
+
+    public List<T> getByIds(Collection<Integer> ids, Function<Collection<Integer>, List<T>> loader) {
+        Map<Integer, T> found = new TreeMap<>();
+        List<Integer> missing = new ArrayList<>();
+        long loadGeneration;
+        synchronized (this) {
+            for (Integer id : new LinkedHashSet<>(ids)) {
+                T value = getFresh(id);
+                if (value != null) {
+                    hits.increment();
+                    found.put(id, copier.apply(value));
+                } else {
+                    misses.increment();
+                    missing.add(id);
+                }
+            }
+            loadGeneration = generation;
+        }
+        if (!missing.isEmpty()) {
+            List<T> loaded = loader.apply(missing);
+            synchronized (this) {
+                if (loadGeneration == generation) {
+                    loaded.forEach(this::put);
+                }
+            }
+            loaded.forEach(value -> found.put(idExtractor.apply(value), value));
+        }
+        return new ArrayList<>(found.values());
+    }
+
+    public synchronized void invalidateAll() {
+        generation++;
+        entries.clear();
+        all = null;
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.sum();
+    }
+
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    public long getEvictions() {
+        return evictions.sum();
+    }
+
+    private T getFresh(Integer id) {
+        Entry<T> entry = entries.get(id);
+        if (entry == null) {
+            return null;
+        }
+        if (isExpired(entry)) {
+            entries.remove(id);
+            evictions.increment();
+            return null;
+        }
+        return entry.value;
+    }
+
+    private void put(T value) {
+        entries.put(idExtractor.apply(value), new Entry<>(copier.apply(value), clock.getAsLong() + ttlNanos));
+        if (entries.size() > maximumSize) {
+            Iterator<Integer> eldest = entries.keySet().iterator();
+            eldest.next();
+            eldest.remove();
+            evictions.increment();
+        }
+    }
+
+    private List<T> copyAll(List<T> values) {
+        List<T> copies = new ArrayList<>(values.size());
+        values.forEach(value -> copies.add(copier.apply(value)));
+        return copies;
+    }
+
+    private boolean isExpired(Entry<?> entry) {
+        return clock.getAsLong() - entry.expiresAt >= 0;
+    }
+
+    private static class Entry<V> {
+        private final V value;
+        private final long expiresAt;
+
+        private Entry(V value, long expiresAt) {
+            this.value = value;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
@@ -1,41 +1,89 @@
 package com.kharchenko.university.dao.impl;
 
 import com.kharchenko.university.dao.GenericDao;
-import org.springframework.dao.EmptyResultDataAccessException;
-import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import com.kharchenko.university.dao.mappers.GroupingResultSetExtractor;
+import com.kharchenko.university.exception.InvalidPageRequestException;
+import org.springframework.jdbc.core.ConnectionCallback;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.core.PreparedStatementCreator;
+import org.springframework.jdbc.core.ResultSetExtractor;
 import org.springframework.jdbc.core.RowMapper;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.ResultSet;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BinaryOperator;
+import java.util.function.Consumer;
 
 public abstract class AbstractDao<T> implements GenericDao<T, Integer> {
     protected RowMapper<T> mapper;
+    protected GroupingResultSetExtractor<T> extractor;
     protected final JdbcTemplate jdbcTemplate;
-
-    public AbstractDao(RowMapper<T> mapper, JdbcTemplate jdbcTemplate) {
+    protected final int batchSize;
+    protected final TransactionTemplate transactionTemplate;
+    private final TransactionTemplate readOnlyTransactionTemplate;
+
+    public AbstractDao(RowMapper<T> mapper, JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                       int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive but was " + batchSize);
+        }
         this.mapper = mapper;
+        this.extractor = new GroupingResultSetExtractor<>(mapper);
         this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate = new TransactionTemplate(transactionManager);
+        this.readOnlyTransactionTemplate.setReadOnly(true);
     }
 
     @Override
     public List<T> getAll() {
-        return jdbcTemplate.query(getStatementCreatorForGetAll(getQueryToGetAll()), mapper);
+        List<T> entities = new ArrayList<>();
+        streamAll(entities::add);
+        return entities;
+    }
+
+    @Override
+    public void streamAll(Consumer<T> action) {
+        stream(getQueryToGetAll(), action);
+    }
+
+    @Override
+    public List<T> getPage(Integer afterId, int limit) {
+        return getPage(afterId, limit, null);
+    }
+
+    @Override
+    public List<T> getPage(Integer afterId, int limit, String sortKey) {
+        return getPage(afterId, limit, sortKey, this::getQueryToGetPage, extractor);
     }
 
     @Override
     public Optional<T> getById(Integer id) {
-        try {
-            return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetById(), id), mapper)
-                    .findFirst();
-        } catch (EmptyResultDataAccessException e) {
-            return Optional.empty();
+        return query(getStatementCreatorForGetById(getQueryToGetById(), id)).stream().findFirst();
+    }
+
+    @Override
+    public List<T> getByIds(Collection<Integer> ids) {
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
         }
+        return query(connection -> {
+            PreparedStatement statement = getForwardOnlyStatement(connection, getQueryToGetByIds());
+            statement.setArray(1, connection.createArrayOf("integer", new HashSet<>(ids).toArray()));
+            return statement;
+        });
     }
 
     @Override
@@ -44,33 +92,133 @@ public abstract class AbstractDao<T> implements GenericDao<T, Integer> {
     }
 
     @Override
-    public void addAll(List<T> list) {
-        jdbcTemplate.batchUpdate(getQueryToAddAll(), new BatchPreparedStatementSetter() {
-            @Override
-            public void setValues(PreparedStatement statement, int i) throws SQLException {
-                T entity = list.get(i);
-                fillRow(statement, entity);
-            }
+    public List<T> addAll(List<T> list) {
+        return transactionTemplate.execute(status -> {
+            insertAll(list);
+            addAllLinks(list);
+            return list;
+        });
+    }
 
-            @Override
-            public int getBatchSize() {
-                return list.size();
+    private void insertAll(List<T> list) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(getQueryToAddAll(), new String[]{getIdColumn()})) {
+                for (int from = 0; from < list.size(); from += batchSize) {
+                    List<T> batch = list.subList(from, Math.min(from + batchSize, list.size()));
+                    for (T entity : batch) {
+                        fillRow(statement, entity);
+                        statement.addBatch();
+                    }
+                    statement.executeBatch();
+                    try (ResultSet keys = statement.getGeneratedKeys()) {
+                        for (T entity : batch) {
+                            keys.next();
+                            setId(entity, keys.getInt(1));
+                        }
+                    }
+                }
             }
+            return null;
         });
     }
 
-    private PreparedStatement getScrollableStatement(Connection connection, String query) throws SQLException {
-        return connection.prepareStatement(query, ResultSet.TYPE_SCROLL_INSENSITIVE,
-                ResultSet.CONCUR_UPDATABLE);
+    protected List<T> query(PreparedStatementCreator statementCreator) {
+        return jdbcTemplate.query(statementCreator, extractor);
+    }
+
+    protected <S> List<S> getPage(Integer afterId, int limit, String sortKey, BinaryOperator<String> pageQuery,
+                                  ResultSetExtractor<List<S>> resultSetExtractor) {
+        if (limit < 1) {
+            throw new InvalidPageRequestException("Page size must be positive but was " + limit);
+        }
+        String sortColumn = getSortColumn(sortKey);
+        String query = pageQuery.apply(getPagedIdsQuery(sortColumn, afterId != null), sortColumn);
+        List<S> page = jdbcTemplate.query(connection -> {
+            PreparedStatement statement = getForwardOnlyStatement(connection, query);
+            int index = 1;
+            if (afterId != null) {
+                statement.setInt(index++, afterId);
+            }
+            statement.setInt(index, limit);
+            return statement;
+        }, resultSetExtractor);
+        if (page.isEmpty() && afterId != null && !sortColumn.equals(getIdColumn()) && !existsById(afterId)) {
+            throw new InvalidPageRequestException("Page cursor " + afterId + " does not exist");
+        }
+        return page;
     }
 
-    private PreparedStatementCreator getStatementCreatorForGetAll(String query) {
-        return connection -> getScrollableStatement(connection, query);
+    private boolean existsById(Integer id) {
+        return Boolean.TRUE.equals(jdbcTemplate.queryForObject("SELECT EXISTS (SELECT 1 FROM " + getTableName() +
+                " WHERE " + getIdColumn() + " = ?)", Boolean.class, id));
+    }
+
+    protected void stream(String query, Consumer<T> action, Object... parameters) {
+        readOnlyTransactionTemplate.executeWithoutResult(status -> jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement statement = getForwardOnlyStatement(connection, query)) {
+                if (jdbcTemplate.getFetchSize() > 0) {
+                    statement.setFetchSize(jdbcTemplate.getFetchSize());
+                }
+                for (int i = 0; i < parameters.length; i++) {
+                    statement.setObject(i + 1, parameters[i]);
+                }
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    extractor.extractData(resultSet, action);
+                }
+            }
+            return null;
+        }));
+    }
+
+    private PreparedStatement getForwardOnlyStatement(Connection connection, String query) throws SQLException {
+        return connection.prepareStatement(query, ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+    }
+
+    private String getPagedIdsQuery(String sortColumn, boolean hasCursor) {
+        String idColumn = getIdColumn();
+        String tableName = getTableName();
+        String keysetCondition = "";
+        if (hasCursor && sortColumn.equals(idColumn)) {
+            keysetCondition = " WHERE " + idColumn + " > ?";
+        } else if (hasCursor) {
+            keysetCondition = " WHERE (" + sortColumn + ", " + idColumn + ") > (SELECT " + sortColumn + ", " + idColumn +
+                    " FROM " + tableName + " WHERE " + idColumn + " = ?)";
+        }
+        return "SELECT " + idColumn + " FROM " + tableName + keysetCondition + " ORDER BY " + sortColumn + ", " +
+                idColumn + " LIMIT ?";
+    }
+
+    private String getSortColumn(String sortKey) {
+        if (sortKey == null) {
+            return getIdColumn();
+        }
+        String sortColumn = getSortColumns().get(sortKey);
+        if (sortColumn == null) {
+            throw new InvalidPageRequestException("Unsupported sort key " + sortKey);
+        }
+        return sortColumn;
+    }
+
+    protected void addAllLinks(List<T> entities) {
+    }
+
+    protected void batchInsertLinks(String query, List<int[]> links) {
+        if (!links.isEmpty()) {
+            jdbcTemplate.batchUpdate(query, links, batchSize, (statement, link) -> {
+                for (int i = 0; i < link.length; i++) {
+                    statement.setInt(i + 1, link[i]);
+                }
+            });
+        }
+    }
+
+    protected Map<String, String> getSortColumns() {
+        return Collections.emptyMap();
     }
 
     protected PreparedStatementCreator getStatementCreatorForGetById(String query, Integer id) {
         return connection -> {
-            PreparedStatement statement = getScrollableStatement(connection, query);
+            PreparedStatement statement = getForwardOnlyStatement(connection, query);
             statement.setInt(1, id);
             return statement;
         };
@@ -82,7 +230,17 @@ public abstract class AbstractDao<T> implements GenericDao<T, Integer> {
 
     protected abstract String getQueryToGetById();
 
+    protected abstract String getQueryToGetByIds();
+
     protected abstract String getQueryToAddAll();
 
+    protected abstract String getQueryToGetPage(String pagedIdsQuery, String sortColumn);
+
+    protected abstract String getTableName();
+
+    protected abstract String getIdColumn();
+
+    protected abstract void setId(T entity, Integer id);
+
     protected abstract void fillRow(PreparedStatement statement, T entity) throws SQLException;
-}
\ No newline at end of file
+}
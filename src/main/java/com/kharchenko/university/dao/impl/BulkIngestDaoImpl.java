@@ -0,0 +1,261 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.dao.BulkIngestDao;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import org.postgresql.PGConnection;
+import org.postgresql.copy.CopyIn;
+import org.postgresql.copy.CopyManager;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.stream.Collectors;
+
+@Repository
+public class BulkIngestDaoImpl implements BulkIngestDao {
+
+    private static final Map<String, String> ID_COLUMNS = new HashMap<>();
+    private static final Map<String, String> SUBJECT_LINK_COLUMNS = new HashMap<>();
+
+    static {
+        ID_COLUMNS.put("faculties", "faculty_id");
+        ID_COLUMNS.put("classrooms", "classroom_id");
+        ID_COLUMNS.put("subjects", "subject_id");
+        ID_COLUMNS.put("teachers", "teacher_id");
+        ID_COLUMNS.put("groups", "group_id");
+        ID_COLUMNS.put("lectures", "lecture_id");
+        SUBJECT_LINK_COLUMNS.put("teachers_subjects", "teacher_id");
+        SUBJECT_LINK_COLUMNS.put("groups_subjects", "group_id");
+    }
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public BulkIngestDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public Map<String, Long> copyStudents(List<Student> students) {
+        return inTransaction(connection -> {
+            Map<String, Long> copiedRows = new LinkedHashMap<>();
+            Iterator<Integer> ids = reserveIds(connection, "students", "student_id", students.size()).iterator();
+            copiedRows.put("students", copy(connection, "COPY students (student_id, first_name, last_name, group_id) " +
+                    "FROM STDIN WITH (FORMAT csv)", writer -> {
+                for (Student student : students) {
+                    student.setId(ids.next());
+                    writer.write(student.getId(), student.getFirstName(), student.getLastName(), student.getGroup().getId());
+                }
+            }));
+            return copiedRows;
+        });
+    }
+
+    @Override
+    public Map<String, Long> copyLectures(List<Lecture> lectures) {
+        return inTransaction(connection -> {
+            Map<String, Long> copiedRows = new LinkedHashMap<>();
+            Iterator<Integer> ids = reserveIds(connection, "lectures", "lecture_id", lectures.size()).iterator();
+            copiedRows.put("lectures", copy(connection, "COPY lectures (lecture_id, subject_id, teacher_id, classroom_id, " +
+                    "start_time, end_time, group_ids) FROM STDIN WITH (FORMAT csv)", writer -> {
+                for (Lecture lecture : lectures) {
+                    lecture.setId(ids.next());
+                    writer.write(lecture.getId(), lecture.getSubject().getId(), lecture.getTeacher().getId(),
+                            lecture.getClassRoom().getId(), lecture.getStartTime(), lecture.getEndTime(),
+                            getGroupIds(lecture).stream().map(String::valueOf).collect(Collectors.joining(",", "{", "}")));
+                }
+            }));
+            copiedRows.put("groups_lectures", copy(connection, "COPY groups_lectures (group_id, lecture_id) " +
+                    "FROM STDIN WITH (FORMAT csv)", writer -> {
+                for (Lecture lecture : lectures) {
+                    for (Integer groupId : getGroupIds(lecture)) {
+                        writer.write(groupId, lecture.getId());
+                    }
+                }
+            }));
+            return copiedRows;
+        });
+    }
+
+    @Override
+    public Map<String, Long> copySchedules(List<Schedule> schedules) {
+        return inTransaction(connection -> {
+            Map<String, Long> copiedRows = new LinkedHashMap<>();
+            Iterator<Integer> ids = reserveIds(connection, "schedules", "schedule_id", schedules.size()).iterator();
+            copiedRows.put("schedules", copy(connection, "COPY schedules (schedule_id, date, faculty_id) " +
+                    "FROM STDIN WITH (FORMAT csv)", writer -> {
+                for (Schedule schedule : schedules) {
+                    schedule.setId(ids.next());
+                    writer.write(schedule.getId(), schedule.getDate(), schedule.getFaculty().getId());
+                }
+            }));
+            copiedRows.put("schedules_lectures", copy(connection, "COPY schedules_lectures (schedule_id, lecture_id, date) " +
+                    "FROM STDIN WITH (FORMAT csv)", writer -> {
+                for (Schedule schedule : schedules) {
+                    for (Integer lectureId : getLectureIds(schedule)) {
+                        writer.write(schedule.getId(), lectureId, schedule.getDate());
+                    }
+                }
+            }));
+            return copiedRows;
+        });
+    }
+
+    @Override
+    public List<Integer> getMissingIds(String tableName, Collection<Integer> ids) {
+        String idColumn = ID_COLUMNS.get(tableName);
+        if (idColumn == null) {
+            throw new IllegalArgumentException("Unsupported table " + tableName);
+        }
+        if (ids.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = "SELECT p.id FROM unnest(?::integer[]) AS p(id) WHERE NOT EXISTS " +
+                "(SELECT 1 FROM " + tableName + " t WHERE t." + idColumn + " = p.id) ORDER BY p.id;";
+        return jdbcTemplate.query(query, statement -> statement.setArray(1,
+                statement.getConnection().createArrayOf("integer", new HashSet<>(ids).toArray())),
+                (resultSet, i) -> resultSet.getInt("id"));
+    }
+
+    @Override
+    public List<int[]> getMissingSubjectLinks(String linkTableName, List<int[]> links) {
+        String ownerColumn = SUBJECT_LINK_COLUMNS.get(linkTableName);
+        if (ownerColumn == null) {
+            throw new IllegalArgumentException("Unsupported table " + linkTableName);
+        }
+        if (links.isEmpty()) {
+            return new ArrayList<>();
+        }
+        Object[] ownerIds = new Object[links.size()];
+        Object[] subjectIds = new Object[links.size()];
+        for (int i = 0; i < links.size(); i++) {
+            ownerIds[i] = links.get(i)[0];
+            subjectIds[i] = links.get(i)[1];
+        }
+        String query = "SELECT DISTINCT p.owner_id, p.subject_id FROM unnest(?::integer[], ?::integer[]) " +
+                "AS p(owner_id, subject_id) WHERE NOT EXISTS (SELECT 1 FROM " + linkTableName + " l WHERE l." +
+                ownerColumn + " = p.owner_id AND l.subject_id = p.subject_id) ORDER BY p.owner_id, p.subject_id;";
+        return jdbcTemplate.query(query, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("integer", ownerIds));
+            statement.setArray(2, statement.getConnection().createArrayOf("integer", subjectIds));
+        }, (resultSet, i) -> new int[]{resultSet.getInt("owner_id"), resultSet.getInt("subject_id")});
+    }
+
+    @Override
+    public List<LocalDate> getExistingScheduleDates(Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = "SELECT date FROM schedules WHERE date = ANY(?) ORDER BY date;";
+        Object[] values = dates.stream().map(Date::valueOf).toArray();
+        return jdbcTemplate.query(query, statement -> statement.setArray(1,
+                statement.getConnection().createArrayOf("date", values)),
+                (resultSet, i) -> resultSet.getObject("date", LocalDate.class));
+    }
+
+    private Map<String, Long> inTransaction(ConnectionCallback<Map<String, Long>> action) {
+        return transactionTemplate.execute(status -> jdbcTemplate.execute(action));
+    }
+
+    private List<Integer> reserveIds(Connection connection, String tableName, String idColumn, int count) throws SQLException {
+        List<Integer> ids = new ArrayList<>(count);
+        try (PreparedStatement statement = connection.prepareStatement(
+                "SELECT nextval(pg_get_serial_sequence(?, ?)) FROM generate_series(1, ?);")) {
+            statement.setString(1, tableName);
+            statement.setString(2, idColumn);
+            statement.setInt(3, count);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    ids.add(resultSet.getInt(1));
+                }
+            }
+        }
+        return ids;
+    }
+
+    private long copy(Connection connection, String query, RowSource rows) throws SQLException {
+        CopyManager copyManager = connection.unwrap(PGConnection.class).getCopyAPI();
+        CopyIn copyIn = copyManager.copyIn(query);
+        try {
+            rows.writeTo(values -> {
+                byte[] bytes = toCsv(values).getBytes(StandardCharsets.UTF_8);
+                copyIn.writeToCopy(bytes, 0, bytes.length);
+            });
+            return copyIn.endCopy();
+        } finally {
+            if (copyIn.isActive()) {
+                copyIn.cancelCopy();
+            }
+        }
+    }
+
+    private Set<Integer> getGroupIds(Lecture lecture) {
+        Set<Integer> groupIds = new TreeSet<>();
+        if (lecture.getGroups() != null) {
+            for (Group group : lecture.getGroups()) {
+                groupIds.add(group.getId());
+            }
+        }
+        return groupIds;
+    }
+
+    private Set<Integer> getLectureIds(Schedule schedule) {
+        Set<Integer> lectureIds = new LinkedHashSet<>();
+        if (schedule.getLectures() != null) {
+            for (Lecture lecture : schedule.getLectures()) {
+                lectureIds.add(lecture.getId());
+            }
+        }
+        return lectureIds;
+    }
+
+    private String toCsv(Object... values) {
+        StringBuilder row = new StringBuilder();
+        for (int i = 0; i < values.length; i++) {
+            if (i > 0) {
+                row.append(',');
+            }
+            Object value = values[i];
+            if (value instanceof String) {
+                row.append('"').append(((String) value).replace("\"", "\"\"")).append('"');
+            } else if (value != null) {
+                row.append(value);
+            }
+        }
+        return row.append('\n').toString();
+    }
+
+    @FunctionalInterface
+    private interface RowWriter {
+        void write(Object... values) throws SQLException;
+    }
+
+    @FunctionalInterface
+    private interface RowSource {
+        void writeTo(RowWriter writer) throws SQLException;
+    }
+}
@@ -1,28 +1,35 @@
 package com.kharchenko.university.dao.impl;
 
+import com.kharchenko.university.dao.FacultyDao;
 import com.kharchenko.university.dao.ClassRoomDao;
 import com.kharchenko.university.dao.mappers.ClassRoomMapper;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Repository
 public class ClassRoomDaoImpl extends AbstractDao<ClassRoom> implements ClassRoomDao {
 
+    @Lazy
     @Autowired
-    private FacultyDaoImpl facultyDao;
+    private FacultyDao facultyDao;
 
-    protected ClassRoomDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new ClassRoomMapper(), jdbcTemplate);
+    protected ClassRoomDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                               @Value("${db.batchSize:100}") int batchSize) {
+        super(new ClassRoomMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
@@ -49,16 +56,31 @@ public class ClassRoomDaoImpl extends AbstractDao<ClassRoom> implements ClassRoo
     public List<ClassRoom> getByBuildingNumber(Integer number) {
         String query = "SELECT c.classroom_id, building_number, room_number, f.faculty_id, faculty_name FROM  classrooms c " +
                 "LEFT JOIN faculties f ON c.faculty_id = f.faculty_id WHERE building_number = ?;";
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(query, number), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(query, number));
     }
 
     @Override
     public List<ClassRoom> getByFaculty(Faculty faculty) {
         String query = "SELECT c.classroom_id, building_number, room_number, f.faculty_id, faculty_name FROM  classrooms c " +
                 "LEFT JOIN faculties f ON c.faculty_id = f.faculty_id WHERE f.faculty_id = ?;";
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(query, faculty.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(query, faculty.getId()));
+    }
+
+    @Override
+    public boolean existsByBuildingNumberAndRoomNumber(int buildingNumber, int roomNumber) {
+        String query = "SELECT EXISTS (SELECT 1 FROM classrooms WHERE building_number = ? AND room_number = ?);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, buildingNumber, roomNumber);
+    }
+
+    @Override
+    public boolean existsByFaculty(Faculty faculty) {
+        String query = "SELECT EXISTS (SELECT 1 FROM classrooms WHERE faculty_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, faculty.getId());
+    }
+
+    @Override
+    protected void setId(ClassRoom classRoom, Integer id) {
+        classRoom.setId(id);
     }
 
     @Override
@@ -90,8 +112,40 @@ public class ClassRoomDaoImpl extends AbstractDao<ClassRoom> implements ClassRoo
                 "WHERE classroom_id = ? ORDER BY  c.classroom_id;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT c.classroom_id, building_number, room_number, f.faculty_id, faculty_name FROM " +
+                "classrooms c LEFT JOIN faculties f ON c.faculty_id = f.faculty_id " +
+                "WHERE c.classroom_id = ANY(?) ORDER BY c.classroom_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
         return "INSERT INTO classrooms (building_number, room_number, faculty_id) VALUES (?, ?, ?);";
     }
+
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT c.classroom_id, building_number, room_number, f.faculty_id, faculty_name FROM classrooms c " +
+                "LEFT JOIN faculties f ON c.faculty_id = f.faculty_id WHERE c.classroom_id IN (" + pagedIdsQuery + ") " +
+                "ORDER BY c." + sortColumn + ", c.classroom_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "classrooms";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "classroom_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("buildingNumber", "building_number");
+        sortColumns.put("roomNumber", "room_number");
+        return sortColumns;
+    }
 }
\ No newline at end of file
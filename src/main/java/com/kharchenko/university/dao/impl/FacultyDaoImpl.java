@@ -3,19 +3,24 @@ package com.kharchenko.university.dao.impl;
 import com.kharchenko.university.dao.FacultyDao;
 import com.kharchenko.university.dao.mappers.FacultyMapper;
 import com.kharchenko.university.model.Faculty;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 @Repository
 public class FacultyDaoImpl extends AbstractDao<Faculty> implements FacultyDao {
 
-    public FacultyDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new FacultyMapper(), jdbcTemplate);
+    public FacultyDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                          @Value("${db.batchSize:100}") int batchSize) {
+        super(new FacultyMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
@@ -37,6 +42,17 @@ public class FacultyDaoImpl extends AbstractDao<Faculty> implements FacultyDao {
         jdbcTemplate.update(query, faculty.getName(), faculty.getId());
     }
 
+    @Override
+    public boolean existsByName(String name) {
+        String query = "SELECT EXISTS (SELECT 1 FROM faculties WHERE faculty_name = ?);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, name);
+    }
+
+    @Override
+    protected void setId(Faculty faculty, Integer id) {
+        faculty.setId(id);
+    }
+
     @Override
     protected void fillRow(PreparedStatement statement, Faculty faculty) throws SQLException {
         statement.setString(1, faculty.getName());
@@ -57,8 +73,35 @@ public class FacultyDaoImpl extends AbstractDao<Faculty> implements FacultyDao {
         return "SELECT * FROM faculties WHERE faculty_id = ?;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT * FROM faculties WHERE faculty_id = ANY(?) ORDER BY faculty_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
         return "INSERT INTO faculties (faculty_name) VALUES (?);";
     }
+
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT * FROM faculties f WHERE f.faculty_id IN (" + pagedIdsQuery + ") ORDER BY f." + sortColumn + ", f.faculty_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "faculties";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "faculty_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("name", "faculty_name");
+        return sortColumns;
+    }
 }
\ No newline at end of file
@@ -1,46 +1,60 @@
 package com.kharchenko.university.dao.impl;
 
+import com.kharchenko.university.dao.FacultyDao;
+import com.kharchenko.university.dao.SubjectDao;
 import com.kharchenko.university.dao.GroupDao;
 import com.kharchenko.university.dao.mappers.GroupMapper;
+import com.kharchenko.university.dao.mappers.GroupSummaryMapper;
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.dto.GroupSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Repository
 public class GroupDaoImpl extends AbstractDao<Group> implements GroupDao {
 
+    @Lazy
     @Autowired
-    private SubjectDaoImpl subjectDao;
+    private SubjectDao subjectDao;
+    @Lazy
     @Autowired
-    private FacultyDaoImpl facultyDao;
+    private FacultyDao facultyDao;
 
-    protected GroupDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new GroupMapper(), jdbcTemplate);
+    protected GroupDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           @Value("${db.batchSize:100}") int batchSize) {
+        super(new GroupMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
     public Group add(Group group) {
         String query = "INSERT INTO groups (group_name, faculty_id) VALUES (?, ?);";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement statement = connection.prepareStatement(query, new String[]{"group_id"});
-            fillRow(statement, group);
-            return statement;
-        }, keyHolder);
-        group.setId(keyHolder.getKey().intValue());
-        addGroupSubjects(group);
-        return group;
+        return transactionTemplate.execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(query, new String[]{"group_id"});
+                fillRow(statement, group);
+                return statement;
+            }, keyHolder);
+            group.setId(keyHolder.getKey().intValue());
+            addGroupSubjects(group);
+            return group;
+        });
     }
 
     @Override
@@ -63,14 +77,56 @@ public class GroupDaoImpl extends AbstractDao<Group> implements GroupDao {
 
     @Override
     public List<Group> getBySubject(Subject subject) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetBySubject(), subject.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetBySubject(), subject.getId()));
     }
 
     @Override
     public List<Group> getByFaculty(Faculty faculty) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetByFaculty(), faculty.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetByFaculty(), faculty.getId()));
+    }
+
+    @Override
+    public List<GroupSummary> getSummaries() {
+        return jdbcTemplate.query(getQueryToGetSummaries(), new GroupSummaryMapper());
+    }
+
+    @Override
+    public boolean existsByName(String name) {
+        String query = "SELECT EXISTS (SELECT 1 FROM groups WHERE group_name = ?);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, name);
+    }
+
+    @Override
+    public boolean existsBySubject(Subject subject) {
+        String query = "SELECT EXISTS (SELECT 1 FROM groups_subjects WHERE subject_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, subject.getId());
+    }
+
+    @Override
+    public boolean existsByFaculty(Faculty faculty) {
+        String query = "SELECT EXISTS (SELECT 1 FROM groups WHERE faculty_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, faculty.getId());
+    }
+
+    @Override
+    protected void addAllLinks(List<Group> groups) {
+        List<int[]> links = new ArrayList<>();
+        for (Group group : groups) {
+            if (group.getSubjects() != null) {
+                for (Subject subject : group.getSubjects()) {
+                    if (subject.getId() == null) {
+                        subjectDao.add(subject);
+                    }
+                    links.add(new int[]{subject.getId(), group.getId()});
+                }
+            }
+        }
+        batchInsertLinks("INSERT INTO groups_subjects (subject_id, group_id) VALUES (?, ?);", links);
+    }
+
+    @Override
+    protected void setId(Group group, Integer id) {
+        group.setId(id);
     }
 
     @Override
@@ -103,17 +159,49 @@ public class GroupDaoImpl extends AbstractDao<Group> implements GroupDao {
                 "WHERE g.group_id = ? ORDER BY g.group_id, s.subject_id;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT g.group_id, group_name, f.faculty_id, faculty_name, s.subject_id, subject_name, subject_description " +
+                "FROM groups g LEFT JOIN groups_subjects gs ON  g.group_id = gs.group_id LEFT JOIN subjects s ON " +
+                "gs.subject_id = s.subject_id LEFT JOIN  faculties f ON g.faculty_id = f.faculty_id " +
+                "WHERE g.group_id = ANY(?) ORDER BY g.group_id, s.subject_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
         return "INSERT INTO groups (group_name, faculty_id) VALUES (?, ?);";
     }
 
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT g.group_id, group_name, f.faculty_id, faculty_name, s.subject_id, subject_name, subject_description " +
+                "FROM groups g LEFT JOIN groups_subjects gs ON g.group_id = gs.group_id LEFT JOIN subjects s ON " +
+                "gs.subject_id = s.subject_id LEFT JOIN faculties f ON g.faculty_id = f.faculty_id " +
+                "WHERE g.group_id IN (" + pagedIdsQuery + ") ORDER BY g." + sortColumn + ", g.group_id, s.subject_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "groups";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "group_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("name", "group_name");
+        return sortColumns;
+    }
+
     private String getQueryToGetBySubject() {
         return "SELECT g.group_id, group_name, f.faculty_id, faculty_name, s.subject_id, subject_name, subject_description " +
                 "FROM groups g LEFT JOIN groups_subjects gs ON  g.group_id = gs.group_id LEFT JOIN subjects s ON " +
                 "gs.subject_id = s.subject_id LEFT JOIN  faculties f ON g.faculty_id = f.faculty_id " +
-                "WHERE g.group_id IN (SELECT g.group_id FROM groups g LEFT JOIN groups_subjects gs ON g.group_id = gs.group_id " +
-                "LEFT JOIN subjects s ON gs.subject_id = s.subject_id WHERE s.subject_id = ?) ORDER BY g.group_id, s.subject_id;";
+                "WHERE g.group_id IN (SELECT group_id FROM groups_subjects WHERE subject_id = ?) ORDER BY g.group_id, s.subject_id;";
     }
 
     private String getQueryToGetByFaculty() {
@@ -134,4 +222,12 @@ public class GroupDaoImpl extends AbstractDao<Group> implements GroupDao {
             }
         }
     }
+
+    private String getQueryToGetSummaries() {
+        return "SELECT g.group_id, group_name, faculty_name, ARRAY(SELECT subject_name FROM groups_subjects gs " +
+                "JOIN subjects s ON gs.subject_id = s.subject_id WHERE gs.group_id = g.group_id ORDER BY s.subject_id) " +
+                "AS subject_names, ARRAY(SELECT subject_description FROM groups_subjects gs JOIN subjects s " +
+                "ON gs.subject_id = s.subject_id WHERE gs.group_id = g.group_id ORDER BY s.subject_id) " +
+                "AS subject_descriptions FROM groups g LEFT JOIN faculties f ON g.faculty_id = f.faculty_id ORDER BY g.group_id;";
+    }
 }
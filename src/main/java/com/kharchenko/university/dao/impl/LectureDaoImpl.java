@@ -1,52 +1,75 @@
 package com.kharchenko.university.dao.impl;
 
+import com.kharchenko.university.dao.ClassRoomDao;
+import com.kharchenko.university.dao.SubjectDao;
 import com.kharchenko.university.dao.LectureDao;
 import com.kharchenko.university.dao.mappers.LectureMapper;
+import com.kharchenko.university.dao.mappers.LectureSummaryMapper;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.TeacherSubstitution;
+import com.kharchenko.university.model.dto.LectureSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.Connection;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.sql.Time;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.Set;
 
 @Repository
 public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
 
+    @Lazy
     @Autowired
-    private SubjectDaoImpl subjectDao;
+    private SubjectDao subjectDao;
     @Autowired
     private TeacherDaoImpl teacherDao;
+    @Lazy
     @Autowired
-    private ClassRoomDaoImpl classRoomDao;
+    private ClassRoomDao classRoomDao;
     @Autowired
     private GroupDaoImpl groupDao;
 
-    protected LectureDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new LectureMapper(), jdbcTemplate);
+    protected LectureDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${db.batchSize:100}") int batchSize) {
+        super(new LectureMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
     public Lecture add(Lecture lecture) {
-        String query = "INSERT INTO lectures (start_time, end_time, subject_id, teacher_id, classroom_id) VALUES (?, ?, ?, ?, ?);";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement statement = connection.prepareStatement(query, new String[]{"lecture_id"});
-            fillRow(statement, lecture);
-            return statement;
-        }, keyHolder);
-        lecture.setId(keyHolder.getKey().intValue());
-        addLectureGroups(lecture);
-        return lecture;
+        String query = "INSERT INTO lectures (start_time, end_time, subject_id, teacher_id, classroom_id, group_ids) " +
+                "VALUES (?, ?, ?, ?, ?, ?);";
+        return transactionTemplate.execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(query, new String[]{"lecture_id"});
+                fillRow(statement, lecture);
+                return statement;
+            }, keyHolder);
+            lecture.setId(keyHolder.getKey().intValue());
+            addLectureGroups(lecture);
+            return lecture;
+        });
     }
 
     @Override
@@ -59,8 +82,9 @@ public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
 
     @Override
     public void addLectureToSchedule(Lecture lecture, Schedule schedule) {
-        String query = "INSERT INTO schedules_lectures (schedule_id, lecture_id) VALUES (?, ?);";
-        jdbcTemplate.update(query, schedule.getId(), lecture.getId());
+        String query = "INSERT INTO schedules_lectures (schedule_id, lecture_id, date) " +
+                "VALUES (?, ?, (SELECT date FROM schedules WHERE schedule_id = ?));";
+        jdbcTemplate.update(query, schedule.getId(), lecture.getId(), schedule.getId());
     }
 
     @Override
@@ -69,28 +93,157 @@ public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
         jdbcTemplate.update(query, schedule.getId(), lecture.getId());
     }
 
+    @Override
+    public void updateTeachers(List<TeacherSubstitution> substitutions, LocalDate fromDate, LocalDate toDate) {
+        if (substitutions.isEmpty()) {
+            return;
+        }
+        transactionTemplate.execute(status -> {
+            Set<Integer> sharedLectureIds = new HashSet<>(getLecturesScheduledOutside(substitutions, fromDate, toDate));
+            List<TeacherSubstitution> moved = new ArrayList<>();
+            List<TeacherSubstitution> inPlace = new ArrayList<>();
+            for (TeacherSubstitution substitution : substitutions) {
+                if (sharedLectureIds.contains(substitution.getLecture().getId())) {
+                    moved.add(substitution);
+                } else {
+                    inPlace.add(substitution);
+                }
+            }
+            moveToSubstitutes(moved, fromDate, toDate);
+            updateTeachersInPlace(inPlace);
+            return null;
+        });
+    }
+
     @Override
     public List<Lecture> getByClassRoom(ClassRoom classRoom) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetByClassRoom(), classRoom.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetByClassRoom(), classRoom.getId()));
     }
 
     @Override
     public List<Lecture> getBySubject(Subject subject) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetBySubject(), subject.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetBySubject(), subject.getId()));
     }
 
     @Override
     public List<Lecture> getTeacherLectures(Teacher teacher) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetTeacherLectures(), teacher.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetTeacherLectures(), teacher.getId()));
     }
 
     @Override
     public List<Lecture> getGroupLectures(Group group) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetGroupLectures(), group.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetGroupLectures(), group.getId()));
+    }
+
+    @Override
+    public List<LectureSummary> getSummaryPage(Integer afterId, int limit, String sortKey) {
+        return getPage(afterId, limit, sortKey, this::getQueryToGetSummaryPage,
+                new RowMapperResultSetExtractor<>(new LectureSummaryMapper()));
+    }
+
+    @Override
+    public boolean existsWithSameFields(Lecture lecture) {
+        String query = "SELECT EXISTS (SELECT 1 FROM lectures WHERE subject_id = ? AND teacher_id = ? AND classroom_id = ? " +
+                "AND start_time = ? AND end_time = ? AND group_ids = ?);";
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(query);
+            statement.setInt(1, lecture.getSubject().getId());
+            statement.setInt(2, lecture.getTeacher().getId());
+            statement.setInt(3, lecture.getClassRoom().getId());
+            statement.setObject(4, lecture.getStartTime());
+            statement.setObject(5, lecture.getEndTime());
+            statement.setArray(6, connection.createArrayOf("integer", getGroupIds(lecture)));
+            return statement;
+        }, resultSet -> resultSet.next() && resultSet.getBoolean(1));
+    }
+
+    @Override
+    public List<Integer> getIndexesWithSameFields(List<Lecture> lectures) {
+        if (lectures.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = "WITH g AS (SELECT row_number, array_agg(group_id ORDER BY group_id) AS group_ids " +
+                "FROM unnest(?::integer[], ?::integer[]) AS g(row_number, group_id) GROUP BY row_number) " +
+                "SELECT p.row_number - 1 AS row_index FROM unnest(?::integer[], ?::integer[], ?::integer[], ?::time[], " +
+                "?::time[]) WITH ORDINALITY AS p(subject_id, teacher_id, classroom_id, start_time, end_time, row_number) " +
+                "LEFT JOIN g ON g.row_number = p.row_number WHERE EXISTS (SELECT 1 FROM lectures l " +
+                "WHERE l.subject_id = p.subject_id AND l.teacher_id = p.teacher_id AND l.classroom_id = p.classroom_id " +
+                "AND l.start_time = p.start_time AND l.end_time = p.end_time " +
+                "AND l.group_ids = COALESCE(g.group_ids, '{}'::integer[])) ORDER BY p.row_number;";
+        Object[] subjectIds = new Object[lectures.size()];
+        Object[] teacherIds = new Object[lectures.size()];
+        Object[] classRoomIds = new Object[lectures.size()];
+        Object[] startTimes = new Object[lectures.size()];
+        Object[] endTimes = new Object[lectures.size()];
+        List<Object> groupRowNumbers = new ArrayList<>();
+        List<Object> groupIds = new ArrayList<>();
+        for (int i = 0; i < lectures.size(); i++) {
+            Lecture lecture = lectures.get(i);
+            subjectIds[i] = lecture.getSubject().getId();
+            teacherIds[i] = lecture.getTeacher().getId();
+            classRoomIds[i] = lecture.getClassRoom().getId();
+            startTimes[i] = Time.valueOf(lecture.getStartTime());
+            endTimes[i] = Time.valueOf(lecture.getEndTime());
+            for (Object groupId : getGroupIds(lecture)) {
+                groupRowNumbers.add(i + 1);
+                groupIds.add(groupId);
+            }
+        }
+        return jdbcTemplate.query(query, statement -> {
+            Connection connection = statement.getConnection();
+            statement.setArray(1, connection.createArrayOf("integer", groupRowNumbers.toArray()));
+            statement.setArray(2, connection.createArrayOf("integer", groupIds.toArray()));
+            statement.setArray(3, connection.createArrayOf("integer", subjectIds));
+            statement.setArray(4, connection.createArrayOf("integer", teacherIds));
+            statement.setArray(5, connection.createArrayOf("integer", classRoomIds));
+            statement.setArray(6, connection.createArrayOf("time", startTimes));
+            statement.setArray(7, connection.createArrayOf("time", endTimes));
+        }, (resultSet, i) -> resultSet.getInt("row_index"));
+    }
+
+    @Override
+    public boolean existsByClassRoom(ClassRoom classRoom) {
+        String query = "SELECT EXISTS (SELECT 1 FROM lectures WHERE classroom_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, classRoom.getId());
+    }
+
+    @Override
+    public boolean existsBySubject(Subject subject) {
+        String query = "SELECT EXISTS (SELECT 1 FROM lectures WHERE subject_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, subject.getId());
+    }
+
+    @Override
+    public boolean existsByTeacher(Teacher teacher) {
+        String query = "SELECT EXISTS (SELECT 1 FROM lectures WHERE teacher_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, teacher.getId());
+    }
+
+    @Override
+    public boolean existsByGroup(Group group) {
+        String query = "SELECT EXISTS (SELECT 1 FROM groups_lectures WHERE group_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, group.getId());
+    }
+
+    @Override
+    protected void addAllLinks(List<Lecture> lectures) {
+        List<int[]> links = new ArrayList<>();
+        for (Lecture lecture : lectures) {
+            if (lecture.getGroups() != null) {
+                for (Group group : lecture.getGroups()) {
+                    if (group.getId() == null) {
+                        groupDao.add(group);
+                    }
+                    links.add(new int[]{lecture.getId(), group.getId()});
+                }
+            }
+        }
+        batchInsertLinks("INSERT INTO groups_lectures (lecture_id, group_id) VALUES (?, ?);", links);
+    }
+
+    @Override
+    protected void setId(Lecture lecture, Integer id) {
+        lecture.setId(id);
     }
 
     @Override
@@ -112,6 +265,14 @@ public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
             classRoomDao.add(classRoom);
         }
         statement.setInt(5, classRoom.getId());
+        if (lecture.getGroups() != null) {
+            for (Group group : lecture.getGroups()) {
+                if (group.getId() == null) {
+                    groupDao.add(group);
+                }
+            }
+        }
+        statement.setArray(6, statement.getConnection().createArrayOf("integer", getGroupIds(lecture)));
     }
 
     @Override
@@ -139,9 +300,115 @@ public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
                 "LEFT JOIN teachers t ON l.teacher_id = t.teacher_id WHERE l.lecture_id = ? ORDER BY l.lecture_id, g.group_id;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT l.lecture_id, start_time, end_time, c.classroom_id, building_number, room_number, f.faculty_id, " +
+                "faculty_name, s.subject_id, subject_name, subject_description, t.teacher_id, first_name, last_name, " +
+                "g.group_id, group_name FROM lectures l LEFT JOIN groups_lectures gl ON l.lecture_id = gl.lecture_id " +
+                "LEFT JOIN groups g ON gl.group_id = g.group_id LEFT JOIN classrooms c ON l.classroom_id = c.classroom_id " +
+                "LEFT JOIN faculties f ON c.faculty_id = f.faculty_id LEFT JOIN subjects s ON l.subject_id = s.subject_id " +
+                "LEFT JOIN teachers t ON l.teacher_id = t.teacher_id WHERE l.lecture_id = ANY(?) ORDER BY l.lecture_id, g.group_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
-        return "INSERT INTO lectures (start_time, end_time, subject_id, teacher_id, classroom_id) VALUES (?, ?, ?, ?, ?);";
+        return "INSERT INTO lectures (start_time, end_time, subject_id, teacher_id, classroom_id, group_ids) " +
+                "VALUES (?, ?, ?, ?, ?, ?);";
+    }
+
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT l.lecture_id, start_time, end_time, c.classroom_id, building_number, room_number, f.faculty_id, " +
+                "faculty_name, s.subject_id, subject_name, subject_description, t.teacher_id, first_name, last_name, " +
+                "g.group_id, group_name FROM lectures l LEFT JOIN groups_lectures gl ON l.lecture_id = gl.lecture_id " +
+                "LEFT JOIN groups g ON gl.group_id = g.group_id LEFT JOIN classrooms c ON l.classroom_id = c.classroom_id " +
+                "LEFT JOIN faculties f ON c.faculty_id = f.faculty_id LEFT JOIN subjects s ON l.subject_id = s.subject_id " +
+                "LEFT JOIN teachers t ON l.teacher_id = t.teacher_id WHERE l.lecture_id IN (" + pagedIdsQuery + ") " +
+                "ORDER BY l." + sortColumn + ", l.lecture_id, g.group_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "lectures";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "lecture_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("startTime", "start_time");
+        return sortColumns;
+    }
+
+    private List<Integer> getLecturesScheduledOutside(List<TeacherSubstitution> substitutions, LocalDate fromDate,
+                                                      LocalDate toDate) {
+        Object[] lectureIds = substitutions.stream().map(substitution -> substitution.getLecture().getId()).toArray();
+        String query = "SELECT DISTINCT lecture_id FROM schedules_lectures WHERE lecture_id = ANY(?) " +
+                "AND (date < ? OR date > ?);";
+        return jdbcTemplate.query(connection -> {
+            PreparedStatement statement = connection.prepareStatement(query);
+            statement.setArray(1, connection.createArrayOf("integer", lectureIds));
+            statement.setObject(2, fromDate);
+            statement.setObject(3, toDate);
+            return statement;
+        }, (resultSet, i) -> resultSet.getInt(1));
+    }
+
+    private void moveToSubstitutes(List<TeacherSubstitution> substitutions, LocalDate fromDate, LocalDate toDate) {
+        if (substitutions.isEmpty()) {
+            return;
+        }
+        String query = "WITH p AS (SELECT p.lecture_id, p.teacher_id, l.subject_id, l.classroom_id, l.start_time, " +
+                "l.end_time, l.group_ids FROM unnest(?::integer[], ?::integer[]) AS p(lecture_id, teacher_id) " +
+                "JOIN lectures l ON l.lecture_id = p.lecture_id), " +
+                "inserted AS (INSERT INTO lectures (subject_id, teacher_id, classroom_id, start_time, end_time, group_ids) " +
+                "SELECT DISTINCT subject_id, teacher_id, classroom_id, start_time, end_time, group_ids FROM p " +
+                "ON CONFLICT DO NOTHING RETURNING lecture_id, subject_id, teacher_id, classroom_id, start_time, end_time, " +
+                "group_ids), " +
+                "copies AS (SELECT p.lecture_id, COALESCE(i.lecture_id, l.lecture_id) AS copy_id FROM p " +
+                "LEFT JOIN inserted i ON i.subject_id = p.subject_id AND i.teacher_id = p.teacher_id " +
+                "AND i.classroom_id = p.classroom_id AND i.start_time = p.start_time AND i.end_time = p.end_time " +
+                "AND i.group_ids = p.group_ids LEFT JOIN lectures l ON l.subject_id = p.subject_id " +
+                "AND l.teacher_id = p.teacher_id AND l.classroom_id = p.classroom_id AND l.start_time = p.start_time " +
+                "AND l.end_time = p.end_time AND l.group_ids = p.group_ids), " +
+                "linked AS (INSERT INTO groups_lectures (group_id, lecture_id) SELECT gl.group_id, c.copy_id " +
+                "FROM copies c JOIN groups_lectures gl ON gl.lecture_id = c.lecture_id ON CONFLICT DO NOTHING) " +
+                "UPDATE schedules_lectures sl SET lecture_id = c.copy_id FROM copies c " +
+                "WHERE sl.lecture_id = c.lecture_id AND sl.date BETWEEN ? AND ?;";
+        Object[] lectureIds = new Object[substitutions.size()];
+        Object[] teacherIds = new Object[substitutions.size()];
+        for (int i = 0; i < substitutions.size(); i++) {
+            lectureIds[i] = substitutions.get(i).getLecture().getId();
+            teacherIds[i] = substitutions.get(i).getSubstitute().getId();
+        }
+        jdbcTemplate.update(query, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("integer", lectureIds));
+            statement.setArray(2, statement.getConnection().createArrayOf("integer", teacherIds));
+            statement.setObject(3, fromDate);
+            statement.setObject(4, toDate);
+        });
+    }
+
+    private void updateTeachersInPlace(List<TeacherSubstitution> substitutions) {
+        if (substitutions.isEmpty()) {
+            return;
+        }
+        Object[] lectureIds = new Object[substitutions.size()];
+        Object[] teacherIds = new Object[substitutions.size()];
+        for (int i = 0; i < substitutions.size(); i++) {
+            lectureIds[i] = substitutions.get(i).getLecture().getId();
+            teacherIds[i] = substitutions.get(i).getSubstitute().getId();
+        }
+        String query = "UPDATE lectures l SET teacher_id = p.teacher_id FROM unnest(?::integer[], ?::integer[]) " +
+                "AS p(lecture_id, teacher_id) WHERE l.lecture_id = p.lecture_id;";
+        jdbcTemplate.update(query, statement -> {
+            statement.setArray(1, statement.getConnection().createArrayOf("integer", lectureIds));
+            statement.setArray(2, statement.getConnection().createArrayOf("integer", teacherIds));
+        });
     }
 
     private String getQueryToGetByClassRoom() {
@@ -177,9 +444,8 @@ public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
                 "g.group_id, group_name FROM lectures l LEFT JOIN groups_lectures gl ON l.lecture_id = gl.lecture_id " +
                 "LEFT JOIN groups g ON gl.group_id = g.group_id LEFT JOIN classrooms c ON l.classroom_id = c.classroom_id " +
                 "LEFT JOIN faculties f ON c.faculty_id = f.faculty_id LEFT JOIN subjects s ON l.subject_id = s.subject_id " +
-                "LEFT JOIN teachers t ON l.teacher_id = t.teacher_id WHERE l.lecture_id IN (SELECT l.lecture_id FROM " +
-                "lectures l LEFT JOIN groups_lectures gl ON l.lecture_id = gl.lecture_id " +
-                "LEFT JOIN groups g ON gl.group_id = g.group_id WHERE g.group_id = ?) ORDER BY l.lecture_id;";
+                "LEFT JOIN teachers t ON l.teacher_id = t.teacher_id WHERE l.lecture_id IN " +
+                "(SELECT lecture_id FROM groups_lectures WHERE group_id = ?) ORDER BY l.lecture_id;";
     }
 
     private void addLectureGroups(Lecture lecture) {
@@ -193,4 +459,24 @@ public class LectureDaoImpl extends AbstractDao<Lecture> implements LectureDao {
             }
         }
     }
-}
\ No newline at end of file
+
+    private Object[] getGroupIds(Lecture lecture) {
+        if (lecture.getGroups() == null) {
+            return new Object[0];
+        }
+        return lecture.getGroups().stream()
+                .map(Group::getId)
+                .distinct()
+                .sorted()
+                .toArray();
+    }
+
+    private String getQueryToGetSummaryPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT l.lecture_id, subject_name, first_name, last_name, building_number, room_number, start_time, " +
+                "end_time, ARRAY(SELECT group_name FROM groups_lectures gl JOIN groups g ON gl.group_id = g.group_id " +
+                "WHERE gl.lecture_id = l.lecture_id ORDER BY g.group_id) AS group_names FROM lectures l " +
+                "LEFT JOIN subjects s ON l.subject_id = s.subject_id LEFT JOIN teachers t ON l.teacher_id = t.teacher_id " +
+                "LEFT JOIN classrooms c ON l.classroom_id = c.classroom_id WHERE l.lecture_id IN (" + pagedIdsQuery + ") " +
+                "ORDER BY l." + sortColumn + ", l.lecture_id;";
+    }
+}
@@ -1,63 +1,149 @@
 package com.kharchenko.university.dao.impl;
 
+import com.kharchenko.university.dao.FacultyDao;
 import com.kharchenko.university.dao.ScheduleDao;
 import com.kharchenko.university.dao.mappers.ScheduleMapper;
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Schedule;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
+import java.sql.Date;
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.function.Consumer;
 
 @Repository
 public class ScheduleDaoImpl extends AbstractDao<Schedule> implements ScheduleDao {
 
     @Autowired
     private LectureDaoImpl lectureDao;
+    @Lazy
     @Autowired
-    private FacultyDaoImpl facultyDao;
+    private FacultyDao facultyDao;
 
-    public ScheduleDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new ScheduleMapper(), jdbcTemplate);
+    public ScheduleDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                           @Value("${db.batchSize:100}") int batchSize) {
+        super(new ScheduleMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
     public Schedule add(Schedule schedule) {
         String query = "INSERT INTO schedules (date, faculty_id) VALUES (?, ?);";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement statement = connection.prepareStatement(query, new String[]{"schedule_id"});
-            fillRow(statement, schedule);
-            return statement;
-        }, keyHolder);
-        schedule.setId(keyHolder.getKey().intValue());
-        addScheduleLectures(schedule);
-        return schedule;
+        return transactionTemplate.execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(query, new String[]{"schedule_id"});
+                fillRow(statement, schedule);
+                return statement;
+            }, keyHolder);
+            schedule.setId(keyHolder.getKey().intValue());
+            addScheduleLectures(schedule);
+            return schedule;
+        });
     }
 
     @Override
     public void update(Schedule schedule) {
-        String query = "UPDATE schedules SET date = ?, faculty_id = ? WHERE schedule_id = ?;";
-        jdbcTemplate.update(query, schedule.getDate(), schedule.getFaculty().getId(), schedule.getId());
+        String query = "WITH links AS (DELETE FROM schedules_lectures WHERE schedule_id = ? RETURNING lecture_id), " +
+                "updated AS (UPDATE schedules SET date = ?, faculty_id = ? WHERE schedule_id = ? RETURNING schedule_id, date) " +
+                "INSERT INTO schedules_lectures (schedule_id, lecture_id, date) " +
+                "SELECT u.schedule_id, l.lecture_id, u.date FROM updated u CROSS JOIN links l;";
+        jdbcTemplate.update(query, schedule.getId(), schedule.getDate(), schedule.getFaculty().getId(), schedule.getId());
     }
 
     @Override
     public List<Schedule> getByLecture(Lecture lecture) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetByLecture(), lecture.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetByLecture(), lecture.getId()));
     }
 
     @Override
     public List<Schedule> getByFaculty(Faculty faculty) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetByFaculty(), faculty.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetByFaculty(), faculty.getId()));
+    }
+
+    @Override
+    public List<Schedule> getByPeriod(LocalDate fromDate, LocalDate toDate) {
+        List<Schedule> schedules = new ArrayList<>();
+        streamByPeriod(fromDate, toDate, schedules::add);
+        return schedules;
+    }
+
+    @Override
+    public List<Schedule> getByPeriodAndFaculty(LocalDate fromDate, LocalDate toDate, Faculty faculty) {
+        List<Schedule> schedules = new ArrayList<>();
+        stream(getQueryToGetByPeriodAndFaculty(), schedules::add, fromDate, toDate, faculty.getId(), fromDate, toDate);
+        return schedules;
+    }
+
+    @Override
+    public void streamByPeriod(LocalDate fromDate, LocalDate toDate, Consumer<Schedule> action) {
+        stream(getQueryToGetByPeriod(), action, fromDate, toDate, fromDate, toDate);
+    }
+
+    @Override
+    public boolean existsByDate(LocalDate date) {
+        String query = "SELECT EXISTS (SELECT 1 FROM schedules WHERE date = ?);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, date);
+    }
+
+    @Override
+    public List<LocalDate> getExistingDates(Collection<LocalDate> dates) {
+        if (dates.isEmpty()) {
+            return new ArrayList<>();
+        }
+        String query = "SELECT date FROM schedules WHERE date = ANY(?) ORDER BY date;";
+        Object[] values = dates.stream().map(Date::valueOf).toArray();
+        return jdbcTemplate.query(query, statement -> statement.setArray(1,
+                statement.getConnection().createArrayOf("date", values)),
+                (resultSet, i) -> resultSet.getObject("date", LocalDate.class));
+    }
+
+    @Override
+    public boolean existsByLecture(Lecture lecture) {
+        String query = "SELECT EXISTS (SELECT 1 FROM schedules_lectures WHERE lecture_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, lecture.getId());
+    }
+
+    @Override
+    public boolean existsByFaculty(Faculty faculty) {
+        String query = "SELECT EXISTS (SELECT 1 FROM schedules WHERE faculty_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, faculty.getId());
+    }
+
+    @Override
+    protected void addAllLinks(List<Schedule> schedules) {
+        List<int[]> links = new ArrayList<>();
+        for (Schedule schedule : schedules) {
+            if (schedule.getLectures() != null) {
+                for (Lecture lecture : schedule.getLectures()) {
+                    if (lecture.getId() == null) {
+                        lectureDao.add(lecture);
+                    }
+                    links.add(new int[]{schedule.getId(), lecture.getId(), schedule.getId()});
+                }
+            }
+        }
+        batchInsertLinks("INSERT INTO schedules_lectures (schedule_id, lecture_id, date) " +
+                "VALUES (?, ?, (SELECT date FROM schedules WHERE schedule_id = ?));", links);
+    }
+
+    @Override
+    protected void setId(Schedule schedule, Integer id) {
+        schedule.setId(id);
     }
 
     @Override
@@ -72,10 +158,10 @@ public class ScheduleDaoImpl extends AbstractDao<Schedule> implements ScheduleDa
 
     @Override
     protected String getQueryToGetAll() {
-        return "SELECT s.schedule_id, date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
                 "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id " +
                 "LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id " +
-                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id;";
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id ORDER BY s.schedule_id, l.lecture_id;";
     }
 
     @Override
@@ -85,10 +171,18 @@ public class ScheduleDaoImpl extends AbstractDao<Schedule> implements ScheduleDa
 
     @Override
     protected String getQueryToGetById() {
-        return "SELECT s.schedule_id, date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
+                "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id " +
+                "LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id " +
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE s.schedule_id = ? ORDER BY s.schedule_id, l.lecture_id;";
+    }
+
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
                 "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id " +
                 "LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id " +
-                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE s.schedule_id = ?;";
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE s.schedule_id = ANY(?) ORDER BY s.schedule_id, l.lecture_id;";
     }
 
     @Override
@@ -96,19 +190,45 @@ public class ScheduleDaoImpl extends AbstractDao<Schedule> implements ScheduleDa
         return "INSERT INTO schedules (date, faculty_id) VALUES (?, ?);";
     }
 
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
+                "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id " +
+                "LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id " +
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE s.schedule_id IN (" + pagedIdsQuery + ") " +
+                "ORDER BY s." + sortColumn + ", s.schedule_id, l.lecture_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "schedules";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "schedule_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("date", "date");
+        return sortColumns;
+    }
+
     private String getQueryToGetByLecture() {
-        return "SELECT s.schedule_id, date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
                 "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id " +
                 "LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id LEFT JOIN faculties f ON s.faculty_id = f.faculty_id " +
-                "WHERE s.schedule_id IN (SELECT s.schedule_id FROM schedules s LEFT JOIN schedules_lectures shl " +
-                "ON s.schedule_id = shl.schedule_id LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id WHERE l.lecture_id = ?);";
+                "WHERE s.schedule_id IN (SELECT schedule_id FROM schedules_lectures WHERE lecture_id = ?) " +
+                "ORDER BY s.schedule_id, l.lecture_id;";
     }
 
     private String getQueryToGetByFaculty() {
-        return "SELECT s.schedule_id, date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, l.lecture_id FROM schedules s " +
                 "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id " +
                 "LEFT JOIN lectures l ON shl.lecture_id = l.lecture_id " +
-                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE f.faculty_id = ?;";
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE f.faculty_id = ? ORDER BY s.schedule_id, l.lecture_id;";
     }
 
     private void addScheduleLectures(Schedule schedule) {
@@ -122,4 +242,18 @@ public class ScheduleDaoImpl extends AbstractDao<Schedule> implements ScheduleDa
             }
         }
     }
+
+    private String getQueryToGetByPeriod() {
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, shl.lecture_id FROM schedules s " +
+                "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id AND shl.date BETWEEN ? AND ? " +
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE s.date BETWEEN ? AND ? " +
+                "ORDER BY s.date, shl.lecture_id;";
+    }
+
+    private String getQueryToGetByPeriodAndFaculty() {
+        return "SELECT s.schedule_id, s.date, f.faculty_id, faculty_name, shl.lecture_id FROM schedules s " +
+                "LEFT JOIN schedules_lectures shl ON s.schedule_id = shl.schedule_id AND shl.date BETWEEN ? AND ? " +
+                "LEFT JOIN faculties f ON s.faculty_id = f.faculty_id WHERE s.faculty_id = ? AND s.date BETWEEN ? AND ? " +
+                "ORDER BY s.date, shl.lecture_id;";
+    }
 }
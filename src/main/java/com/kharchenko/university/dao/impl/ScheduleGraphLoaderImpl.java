@@ -0,0 +1,148 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.dao.ScheduleGraphLoader;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.PreparedStatementSetter;
+import org.springframework.jdbc.core.RowCallbackHandler;
+import org.springframework.stereotype.Repository;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+@Repository
+public class ScheduleGraphLoaderImpl implements ScheduleGraphLoader {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public ScheduleGraphLoaderImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public List<Schedule> loadLectures(List<Schedule> schedules) {
+        Set<Integer> lectureIds = schedules.stream()
+                .filter(schedule -> schedule.getLectures() != null)
+                .flatMap(schedule -> schedule.getLectures().stream())
+                .map(Lecture::getId)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+        Map<Integer, Lecture> lectures = getLectures(lectureIds);
+        for (Schedule schedule : schedules) {
+            if (schedule.getLectures() != null) {
+                schedule.setLectures(schedule.getLectures().stream()
+                        .map(lecture -> lectures.get(lecture.getId()))
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.toList()));
+            }
+        }
+        return schedules;
+    }
+
+    private Map<Integer, Lecture> getLectures(Set<Integer> lectureIds) {
+        Map<Integer, Lecture> lectures = new HashMap<>();
+        if (lectureIds.isEmpty()) {
+            return lectures;
+        }
+        Map<Integer, Subject> subjects = new HashMap<>();
+        Map<Integer, Teacher> teachers = new HashMap<>();
+        Map<Integer, Faculty> faculties = new HashMap<>();
+        Map<Integer, ClassRoom> classRooms = new HashMap<>();
+        Map<Integer, Group> groups = new HashMap<>();
+        jdbcTemplate.query(getQueryToGetLectures(), getIdsSetter(lectureIds), (RowCallbackHandler) resultSet -> {
+            Lecture lecture = new Lecture();
+            lecture.setId(resultSet.getInt("lecture_id"));
+            lecture.setStartTime(resultSet.getObject("start_time", LocalTime.class));
+            lecture.setEndTime(resultSet.getObject("end_time", LocalTime.class));
+            lecture.setSubject(subjects.computeIfAbsent(resultSet.getInt("subject_id"), id -> new Subject(id, null, null)));
+            fillSubject(resultSet, lecture.getSubject());
+            lecture.setTeacher(teachers.computeIfAbsent(resultSet.getInt("teacher_id"),
+                    id -> new Teacher(id, null, null, new ArrayList<>())));
+            lecture.getTeacher().setFirstName(resultSet.getString("first_name"));
+            lecture.getTeacher().setLastName(resultSet.getString("last_name"));
+            Faculty faculty = getFaculty(resultSet, faculties);
+            lecture.setClassRoom(classRooms.computeIfAbsent(resultSet.getInt("classroom_id"),
+                    id -> new ClassRoom(id, 0, 0, faculty)));
+            lecture.getClassRoom().setBuildingNumber(resultSet.getInt("building_number"));
+            lecture.getClassRoom().setRoomNumber(resultSet.getInt("room_number"));
+            lecture.setGroups(new ArrayList<>());
+            lectures.put(lecture.getId(), lecture);
+        });
+        jdbcTemplate.query(getQueryToGetLectureGroups(), getIdsSetter(lectureIds), (RowCallbackHandler) resultSet -> {
+            Faculty faculty = getFaculty(resultSet, faculties);
+            Group group = groups.computeIfAbsent(resultSet.getInt("group_id"),
+                    id -> new Group(id, null, new ArrayList<>(), faculty));
+            group.setName(resultSet.getString("group_name"));
+            lectures.get(resultSet.getInt("lecture_id")).getGroups().add(group);
+        });
+        if (!teachers.isEmpty()) {
+            jdbcTemplate.query(getQueryToGetTeachersSubjects(), getIdsSetter(teachers.keySet()), (RowCallbackHandler) resultSet ->
+                    teachers.get(resultSet.getInt("teacher_id")).getSubjects().add(getSubject(resultSet, subjects)));
+        }
+        if (!groups.isEmpty()) {
+            jdbcTemplate.query(getQueryToGetGroupsSubjects(), getIdsSetter(groups.keySet()), (RowCallbackHandler) resultSet ->
+                    groups.get(resultSet.getInt("group_id")).getSubjects().add(getSubject(resultSet, subjects)));
+        }
+        return lectures;
+    }
+
+    private PreparedStatementSetter getIdsSetter(Collection<Integer> ids) {
+        return statement -> statement.setArray(1, statement.getConnection().createArrayOf("integer", ids.toArray()));
+    }
+
+    private Subject getSubject(ResultSet resultSet, Map<Integer, Subject> subjects) throws SQLException {
+        Subject subject = subjects.computeIfAbsent(resultSet.getInt("subject_id"), id -> new Subject(id, null, null));
+        fillSubject(resultSet, subject);
+        return subject;
+    }
+
+    private void fillSubject(ResultSet resultSet, Subject subject) throws SQLException {
+        subject.setName(resultSet.getString("subject_name"));
+        subject.setDescription(resultSet.getString("subject_description"));
+    }
+
+    private Faculty getFaculty(ResultSet resultSet, Map<Integer, Faculty> faculties) throws SQLException {
+        Faculty faculty = faculties.computeIfAbsent(resultSet.getInt("faculty_id"), id -> new Faculty(id, null));
+        faculty.setName(resultSet.getString("faculty_name"));
+        return faculty;
+    }
+
+    private String getQueryToGetLectures() {
+        return "SELECT l.lecture_id, start_time, end_time, s.subject_id, subject_name, subject_description, t.teacher_id, " +
+                "first_name, last_name, c.classroom_id, building_number, room_number, f.faculty_id, faculty_name " +
+                "FROM lectures l JOIN subjects s ON l.subject_id = s.subject_id JOIN teachers t ON l.teacher_id = t.teacher_id " +
+                "JOIN classrooms c ON l.classroom_id = c.classroom_id JOIN faculties f ON c.faculty_id = f.faculty_id " +
+                "WHERE l.lecture_id = ANY(?) ORDER BY l.lecture_id;";
+    }
+
+    private String getQueryToGetLectureGroups() {
+        return "SELECT gl.lecture_id, g.group_id, group_name, f.faculty_id, faculty_name FROM groups_lectures gl " +
+                "JOIN groups g ON gl.group_id = g.group_id JOIN faculties f ON g.faculty_id = f.faculty_id " +
+                "WHERE gl.lecture_id = ANY(?) ORDER BY gl.lecture_id, g.group_id;";
+    }
+
+    private String getQueryToGetTeachersSubjects() {
+        return "SELECT ts.teacher_id, s.subject_id, subject_name, subject_description FROM teachers_subjects ts " +
+                "JOIN subjects s ON ts.subject_id = s.subject_id WHERE ts.teacher_id = ANY(?) ORDER BY ts.teacher_id, s.subject_id;";
+    }
+
+    private String getQueryToGetGroupsSubjects() {
+        return "SELECT gs.group_id, s.subject_id, subject_name, subject_description FROM groups_subjects gs " +
+                "JOIN subjects s ON gs.subject_id = s.subject_id WHERE gs.group_id = ANY(?) ORDER BY gs.group_id, s.subject_id;";
+    }
+}
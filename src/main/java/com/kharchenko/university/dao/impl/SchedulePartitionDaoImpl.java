@@ -0,0 +1,143 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.dao.SchedulePartitionDao;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+@Repository
+public class SchedulePartitionDaoImpl implements SchedulePartitionDao {
+
+    private static final Pattern PARTITION_NAME = Pattern.compile("schedules_p(\\d{4})_(\\d{2})");
+    private static final long PARTITION_LOCK = 0x5343_4845_4455_4c45L;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    public SchedulePartitionDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+    }
+
+    @Override
+    public List<YearMonth> getPartitions() {
+        String query = "SELECT c.relname FROM pg_inherits i JOIN pg_class c ON i.inhrelid = c.oid " +
+                "WHERE i.inhparent = 'schedules'::regclass ORDER BY c.relname;";
+        List<YearMonth> partitions = new ArrayList<>();
+        for (String name : jdbcTemplate.queryForList(query, String.class)) {
+            Matcher matcher = PARTITION_NAME.matcher(name);
+            if (matcher.matches()) {
+                partitions.add(YearMonth.of(Integer.parseInt(matcher.group(1)), Integer.parseInt(matcher.group(2))));
+            }
+        }
+        return partitions;
+    }
+
+    @Override
+    public List<YearMonth> getDefaultPartitionMonths() {
+        String query = "SELECT DISTINCT date_trunc('month', date)::date AS month FROM schedules_default ORDER BY month;";
+        return jdbcTemplate.query(query, (resultSet, i) -> YearMonth.from(resultSet.getObject("month", LocalDate.class)));
+    }
+
+    @Override
+    public void createPartition(YearMonth month) {
+        String schedulesPartition = getPartitionName("schedules", month);
+        String from = month.atDay(1).toString();
+        String to = month.plusMonths(1).atDay(1).toString();
+        String range = " WHERE date >= '" + from + "' AND date < '" + to + "';";
+        String bounds = " FOR VALUES FROM ('" + from + "') TO ('" + to + "');";
+        inTransaction(connection -> {
+            if (existsPartition(connection, schedulesPartition)) {
+                return false;
+            }
+            execute(connection, "CREATE TEMPORARY TABLE moved_schedules ON COMMIT DROP AS " +
+                    "SELECT schedule_id, date, faculty_id FROM schedules_default" + range);
+            execute(connection, "CREATE TEMPORARY TABLE moved_schedules_lectures ON COMMIT DROP AS " +
+                    "SELECT schedule_id, lecture_id, date FROM schedules_lectures_default" + range);
+            execute(connection, "DELETE FROM schedules_lectures_default" + range);
+            execute(connection, "DELETE FROM schedules_default" + range);
+            execute(connection, "CREATE TABLE " + schedulesPartition + " PARTITION OF schedules" + bounds);
+            execute(connection, "CREATE TABLE " + getPartitionName("schedules_lectures", month) +
+                    " PARTITION OF schedules_lectures" + bounds);
+            execute(connection, "INSERT INTO schedules (schedule_id, date, faculty_id) " +
+                    "SELECT schedule_id, date, faculty_id FROM moved_schedules;");
+            execute(connection, "INSERT INTO schedules_lectures (schedule_id, lecture_id, date) " +
+                    "SELECT schedule_id, lecture_id, date FROM moved_schedules_lectures;");
+            return true;
+        });
+    }
+
+    @Override
+    public boolean detachPartition(YearMonth month) {
+        String schedulesPartition = getPartitionName("schedules", month);
+        String lecturesPartition = getPartitionName("schedules_lectures", month);
+        return inTransaction(connection -> {
+            if (!existsPartition(connection, schedulesPartition)) {
+                return false;
+            }
+            execute(connection, "ALTER TABLE schedules_lectures DETACH PARTITION " + lecturesPartition + ";");
+            for (String constraint : getForeignKeysToSchedules(connection, lecturesPartition)) {
+                execute(connection, "ALTER TABLE " + lecturesPartition + " DROP CONSTRAINT \"" + constraint + "\";");
+            }
+            execute(connection, "ALTER TABLE schedules DETACH PARTITION " + schedulesPartition + ";");
+            return true;
+        });
+    }
+
+    private List<String> getForeignKeysToSchedules(Connection connection, String tableName) throws SQLException {
+        List<String> constraints = new ArrayList<>();
+        try (PreparedStatement statement = connection.prepareStatement("SELECT conname FROM pg_constraint " +
+                "WHERE conrelid = ?::regclass AND confrelid = 'schedules'::regclass AND contype = 'f';")) {
+            statement.setString(1, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    constraints.add(resultSet.getString(1));
+                }
+            }
+        }
+        return constraints;
+    }
+
+    private String getPartitionName(String tableName, YearMonth month) {
+        return String.format("%s_p%04d_%02d", tableName, month.getYear(), month.getMonthValue());
+    }
+
+    private void execute(Connection connection, String query) throws SQLException {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute(query);
+        }
+    }
+
+    private boolean existsPartition(Connection connection, String tableName) throws SQLException {
+        try (PreparedStatement statement = connection.prepareStatement("SELECT EXISTS (SELECT 1 FROM pg_inherits i " +
+                "JOIN pg_class c ON i.inhrelid = c.oid WHERE i.inhparent = 'schedules'::regclass AND c.relname = ?);")) {
+            statement.setString(1, tableName);
+            try (ResultSet resultSet = statement.executeQuery()) {
+                resultSet.next();
+                return resultSet.getBoolean(1);
+            }
+        }
+    }
+
+    private boolean inTransaction(ConnectionCallback<Boolean> action) {
+        return Boolean.TRUE.equals(transactionTemplate.execute(status -> jdbcTemplate.execute(
+                (ConnectionCallback<Boolean>) connection -> {
+                    execute(connection, "SELECT pg_advisory_xact_lock(" + PARTITION_LOCK + ");");
+                    return action.doInConnection(connection);
+                })));
+    }
+}
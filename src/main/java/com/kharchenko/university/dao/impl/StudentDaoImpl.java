@@ -2,18 +2,24 @@ package com.kharchenko.university.dao.impl;
 
 import com.kharchenko.university.dao.StudentDao;
 import com.kharchenko.university.dao.mappers.StudentMapper;
+import com.kharchenko.university.dao.mappers.StudentSummaryMapper;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.dto.StudentSummary;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowMapperResultSetExtractor;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Repository
 public class StudentDaoImpl extends AbstractDao<Student> implements StudentDao {
@@ -21,8 +27,9 @@ public class StudentDaoImpl extends AbstractDao<Student> implements StudentDao {
     @Autowired
     private GroupDaoImpl groupDao;
 
-    protected StudentDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new StudentMapper(), jdbcTemplate);
+    protected StudentDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${db.batchSize:100}") int batchSize) {
+        super(new StudentMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
@@ -46,8 +53,24 @@ public class StudentDaoImpl extends AbstractDao<Student> implements StudentDao {
 
     @Override
     public List<Student> getGroupStudents(Group group) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetGroupStudents(), group.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetGroupStudents(), group.getId()));
+    }
+
+    @Override
+    public List<StudentSummary> getSummaryPage(Integer afterId, int limit, String sortKey) {
+        return getPage(afterId, limit, sortKey, this::getQueryToGetSummaryPage,
+                new RowMapperResultSetExtractor<>(new StudentSummaryMapper()));
+    }
+
+    @Override
+    public boolean existsByGroup(Group group) {
+        String query = "SELECT EXISTS (SELECT 1 FROM students WHERE group_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, group.getId());
+    }
+
+    @Override
+    protected void setId(Student student, Integer id) {
+        student.setId(id);
     }
 
     @Override
@@ -86,11 +109,49 @@ public class StudentDaoImpl extends AbstractDao<Student> implements StudentDao {
                 "ORDER BY s.student_id, sb.subject_id;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT s.student_id, first_name, last_name, g.group_id, group_name, f.faculty_id, faculty_name, " +
+                "sb.subject_id, subject_name, subject_description FROM students s LEFT JOIN groups g " +
+                "ON g.group_id = s.group_id LEFT JOIN faculties f ON g.faculty_id = f.faculty_id " +
+                "LEFT JOIN groups_subjects gs ON g.group_id = gs.group_id " +
+                "LEFT JOIN subjects sb ON sb.subject_id = gs.subject_id WHERE s.student_id = ANY(?) " +
+                "ORDER BY s.student_id, sb.subject_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
         return "INSERT INTO students (first_name, last_name, group_id) VALUES (?, ?, ?);";
     }
 
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT s.student_id, first_name, last_name, g.group_id, group_name, f.faculty_id, faculty_name, " +
+                "sb.subject_id, subject_name, subject_description FROM students s LEFT JOIN groups g " +
+                "ON g.group_id = s.group_id LEFT JOIN faculties f ON g.faculty_id = f.faculty_id " +
+                "LEFT JOIN groups_subjects gs ON g.group_id = gs.group_id " +
+                "LEFT JOIN subjects sb ON sb.subject_id = gs.subject_id WHERE s.student_id IN (" + pagedIdsQuery + ") " +
+                "ORDER BY s." + sortColumn + ", s.student_id, sb.subject_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "students";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "student_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("lastName", "last_name");
+        sortColumns.put("firstName", "first_name");
+        return sortColumns;
+    }
+
     private String getQueryToGetGroupStudents() {
         return "SELECT s.student_id, first_name, last_name, g.group_id, group_name, f.faculty_id, faculty_name, " +
                 "sb.subject_id, subject_name, subject_description FROM students s LEFT JOIN groups g " +
@@ -98,4 +159,10 @@ public class StudentDaoImpl extends AbstractDao<Student> implements StudentDao {
                 "LEFT JOIN groups_subjects gs ON g.group_id = gs.group_id " +
                 "LEFT JOIN subjects sb ON sb.subject_id = gs.subject_id WHERE g.group_id = ? ORDER BY s.student_id;";
     }
-}
\ No newline at end of file
+
+    private String getQueryToGetSummaryPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT s.student_id, first_name, last_name, g.group_id, group_name FROM students s " +
+                "LEFT JOIN groups g ON g.group_id = s.group_id WHERE s.student_id IN (" + pagedIdsQuery + ") " +
+                "ORDER BY s." + sortColumn + ", s.student_id;";
+    }
+}
@@ -6,19 +6,24 @@ import com.kharchenko.university.dao.mappers.SubjectMapper;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.HashMap;
+import java.util.Map;
 
 @Repository
 public class SubjectDaoImpl extends AbstractDao<Subject> implements SubjectDao {
 
-    protected SubjectDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new SubjectMapper(), jdbcTemplate);
+    protected SubjectDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${db.batchSize:100}") int batchSize) {
+        super(new SubjectMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
@@ -64,6 +69,17 @@ public class SubjectDaoImpl extends AbstractDao<Subject> implements SubjectDao {
         jdbcTemplate.update(query, subject.getId(), teacher.getId());
     }
 
+    @Override
+    public boolean existsByName(String name) {
+        String query = "SELECT EXISTS (SELECT 1 FROM subjects WHERE subject_name = ?);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, name);
+    }
+
+    @Override
+    protected void setId(Subject subject, Integer id) {
+        subject.setId(id);
+    }
+
     @Override
     protected void fillRow(PreparedStatement statement, Subject subject) throws SQLException {
         statement.setString(1, subject.getName());
@@ -85,8 +101,35 @@ public class SubjectDaoImpl extends AbstractDao<Subject> implements SubjectDao {
         return "SELECT * FROM subjects WHERE subject_id = ?;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT * FROM subjects WHERE subject_id = ANY(?) ORDER BY subject_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
         return "INSERT INTO subjects (subject_name, subject_description) VALUES (?, ?);";
     }
+
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT * FROM subjects s WHERE s.subject_id IN (" + pagedIdsQuery + ") ORDER BY s." + sortColumn + ", s.subject_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "subjects";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "subject_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("name", "subject_name");
+        return sortColumns;
+    }
 }
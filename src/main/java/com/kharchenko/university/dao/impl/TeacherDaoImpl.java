@@ -1,42 +1,52 @@
 package com.kharchenko.university.dao.impl;
 
+import com.kharchenko.university.dao.SubjectDao;
 import com.kharchenko.university.dao.TeacherDao;
 import com.kharchenko.university.dao.mappers.TeacherMapper;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Lazy;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.jdbc.support.GeneratedKeyHolder;
 import org.springframework.jdbc.support.KeyHolder;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.sql.PreparedStatement;
 import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
-import java.util.stream.Collectors;
+import java.util.Map;
 
 @Repository
 public class TeacherDaoImpl extends AbstractDao<Teacher> implements TeacherDao {
 
+    @Lazy
     @Autowired
-    private SubjectDaoImpl subjectDao;
+    private SubjectDao subjectDao;
 
-    protected TeacherDaoImpl(JdbcTemplate jdbcTemplate) {
-        super(new TeacherMapper(), jdbcTemplate);
+    protected TeacherDaoImpl(JdbcTemplate jdbcTemplate, PlatformTransactionManager transactionManager,
+                             @Value("${db.batchSize:100}") int batchSize) {
+        super(new TeacherMapper(), jdbcTemplate, transactionManager, batchSize);
     }
 
     @Override
     public Teacher add(Teacher teacher) {
         String query = "INSERT INTO teachers (first_name, last_name) VALUES (?, ?);";
-        KeyHolder keyHolder = new GeneratedKeyHolder();
-        jdbcTemplate.update(connection -> {
-            PreparedStatement statement = connection.prepareStatement(query, new String[]{"teacher_id"});
-            fillRow(statement, teacher);
-            return statement;
-        }, keyHolder);
-        teacher.setId(keyHolder.getKey().intValue());
-        addTeacherSubjects(teacher);
-        return teacher;
+        return transactionTemplate.execute(status -> {
+            KeyHolder keyHolder = new GeneratedKeyHolder();
+            jdbcTemplate.update(connection -> {
+                PreparedStatement statement = connection.prepareStatement(query, new String[]{"teacher_id"});
+                fillRow(statement, teacher);
+                return statement;
+            }, keyHolder);
+            teacher.setId(keyHolder.getKey().intValue());
+            addTeacherSubjects(teacher);
+            return teacher;
+        });
     }
 
     @Override
@@ -47,8 +57,34 @@ public class TeacherDaoImpl extends AbstractDao<Teacher> implements TeacherDao {
 
     @Override
     public List<Teacher> getBySubject(Subject subject) {
-        return jdbcTemplate.queryForStream(getStatementCreatorForGetById(getQueryToGetBySubject(), subject.getId()), mapper)
-                .collect(Collectors.toList());
+        return query(getStatementCreatorForGetById(getQueryToGetBySubject(), subject.getId()));
+    }
+
+    @Override
+    public boolean existsBySubject(Subject subject) {
+        String query = "SELECT EXISTS (SELECT 1 FROM teachers_subjects WHERE subject_id = ? LIMIT 1);";
+        return jdbcTemplate.queryForObject(query, Boolean.class, subject.getId());
+    }
+
+    @Override
+    protected void addAllLinks(List<Teacher> teachers) {
+        List<int[]> links = new ArrayList<>();
+        for (Teacher teacher : teachers) {
+            if (teacher.getSubjects() != null) {
+                for (Subject subject : teacher.getSubjects()) {
+                    if (subject.getId() == null) {
+                        subjectDao.add(subject);
+                    }
+                    links.add(new int[]{subject.getId(), teacher.getId()});
+                }
+            }
+        }
+        batchInsertLinks("INSERT INTO teachers_subjects (subject_id, teacher_id) VALUES (?, ?);", links);
+    }
+
+    @Override
+    protected void setId(Teacher teacher, Integer id) {
+        teacher.setId(id);
     }
 
     @Override
@@ -76,17 +112,48 @@ public class TeacherDaoImpl extends AbstractDao<Teacher> implements TeacherDao {
                 "WHERE  t.teacher_id = ? ORDER BY t.teacher_id, s.subject_id;";
     }
 
+    @Override
+    protected String getQueryToGetByIds() {
+        return "SELECT t.teacher_id, first_name, last_name, s.subject_id, subject_name, subject_description FROM teachers t LEFT JOIN " +
+                "teachers_subjects ts ON  t.teacher_id = ts.teacher_id LEFT JOIN subjects s on ts.subject_id = s.subject_id " +
+                "WHERE t.teacher_id = ANY(?) ORDER BY t.teacher_id, s.subject_id;";
+    }
+
     @Override
     protected String getQueryToAddAll() {
         return "INSERT INTO teachers (first_name, last_name) VALUES (?, ?);";
     }
 
+    @Override
+    protected String getQueryToGetPage(String pagedIdsQuery, String sortColumn) {
+        return "SELECT t.teacher_id, first_name, last_name, s.subject_id, subject_name, subject_description FROM teachers t LEFT JOIN " +
+                "teachers_subjects ts ON t.teacher_id = ts.teacher_id LEFT JOIN subjects s on ts.subject_id = s.subject_id " +
+                "WHERE t.teacher_id IN (" + pagedIdsQuery + ") ORDER BY t." + sortColumn + ", t.teacher_id, s.subject_id;";
+    }
+
+    @Override
+    protected String getTableName() {
+        return "teachers";
+    }
+
+    @Override
+    protected String getIdColumn() {
+        return "teacher_id";
+    }
+
+    @Override
+    protected Map<String, String> getSortColumns() {
+        Map<String, String> sortColumns = new HashMap<>();
+        sortColumns.put("lastName", "last_name");
+        sortColumns.put("firstName", "first_name");
+        return sortColumns;
+    }
+
     private String getQueryToGetBySubject() {
         return "SELECT t.teacher_id, first_name, last_name, s.subject_id, subject_name, subject_description " +
                 "FROM teachers t LEFT JOIN teachers_subjects ts ON  t.teacher_id = ts.teacher_id LEFT JOIN " +
                 "subjects s on ts.subject_id = s.subject_id WHERE  t.teacher_id IN " +
-                "(SELECT t.teacher_id FROM teachers t LEFT JOIN teachers_subjects ts ON t.teacher_id = ts.teacher_id " +
-                "LEFT JOIN subjects s on ts.subject_id = s.subject_id WHERE s.subject_id = ?) ORDER BY t.teacher_id, s.subject_id;";
+                "(SELECT teacher_id FROM teachers_subjects WHERE subject_id = ?) ORDER BY t.teacher_id, s.subject_id;";
     }
 
     private void addTeacherSubjects(Teacher teacher) {
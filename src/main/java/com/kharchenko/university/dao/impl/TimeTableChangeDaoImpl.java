@@ -0,0 +1,57 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.dao.TimeTableChangeDao;
+import com.kharchenko.university.model.TimeTableChange;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.util.List;
+
+@Repository
+public class TimeTableChangeDaoImpl implements TimeTableChangeDao {
+
+    private final JdbcTemplate jdbcTemplate;
+
+    public TimeTableChangeDaoImpl(JdbcTemplate jdbcTemplate) {
+        this.jdbcTemplate = jdbcTemplate;
+    }
+
+    @Override
+    public long add(Integer scheduleId, Integer lectureId) {
+        String query = "INSERT INTO timetable_changes (schedule_id, lecture_id) VALUES (?, ?) RETURNING change_id;";
+        return jdbcTemplate.queryForObject(query, Long.class, scheduleId, lectureId);
+    }
+
+    @Override
+    public long addEntityChange(String entity, Integer entityId) {
+        String query = "INSERT INTO timetable_changes (entity, entity_id) VALUES (?, ?) RETURNING change_id;";
+        return jdbcTemplate.queryForObject(query, Long.class, entity, entityId);
+    }
+
+    @Override
+    public long getFirstId() {
+        String query = "SELECT COALESCE(MIN(change_id), 0) FROM timetable_changes;";
+        return jdbcTemplate.queryForObject(query, Long.class);
+    }
+
+    @Override
+    public long getLastId() {
+        String query = "SELECT COALESCE(MAX(change_id), 0) FROM timetable_changes;";
+        return jdbcTemplate.queryForObject(query, Long.class);
+    }
+
+    @Override
+    public List<TimeTableChange> getAfter(long changeId) {
+        String query = "SELECT change_id, schedule_id, lecture_id, entity, entity_id FROM timetable_changes " +
+                "WHERE change_id > ? ORDER BY change_id;";
+        return jdbcTemplate.query(query, (resultSet, i) -> new TimeTableChange(resultSet.getLong("change_id"),
+                resultSet.getObject("schedule_id", Integer.class), resultSet.getObject("lecture_id", Integer.class),
+                resultSet.getString("entity"), resultSet.getObject("entity_id", Integer.class)), changeId);
+    }
+
+    @Override
+    public void deleteBefore(long changeId) {
+        String query = "DELETE FROM timetable_changes WHERE change_id < ?;";
+        jdbcTemplate.update(query, changeId);
+    }
+}
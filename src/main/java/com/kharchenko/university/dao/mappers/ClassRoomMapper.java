@@ -16,7 +16,7 @@ public class ClassRoomMapper implements RowMapper<ClassRoom> {
         int roomNumber = resultSet.getInt("room_number");
         Integer facultyId = resultSet.getInt("faculty_id");
         String facultyName = resultSet.getString("faculty_name");
-        Faculty faculty = new Faculty(facultyId, facultyName);
+        Faculty faculty = IdentityMap.faculty(facultyId, facultyName);
         return new ClassRoom(id, buildingNumber, roomNumber, faculty);
     }
 }
\ No newline at end of file
@@ -0,0 +1,21 @@
+package com.kharchenko.university.dao.mappers;
+
+import com.kharchenko.university.model.dto.GroupSummary;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.Arrays;
+
+public class GroupSummaryMapper implements RowMapper<GroupSummary> {
+
+    @Override
+    public GroupSummary mapRow(ResultSet resultSet, int i) throws SQLException {
+        Integer id = resultSet.getInt("group_id");
+        String name = resultSet.getString("group_name");
+        String facultyName = resultSet.getString("faculty_name");
+        String[] subjectNames = (String[]) resultSet.getArray("subject_names").getArray();
+        String[] subjectDescriptions = (String[]) resultSet.getArray("subject_descriptions").getArray();
+        return new GroupSummary(id, name, facultyName, Arrays.asList(subjectNames), Arrays.asList(subjectDescriptions));
+    }
+}
@@ -0,0 +1,64 @@
+package com.kharchenko.university.dao.mappers;
+
+import org.springframework.jdbc.core.ResultSetExtractor;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+
+public class GroupingResultSetExtractor<T> implements ResultSetExtractor<List<T>> {
+
+    private final RowMapper<T> mapper;
+
+    public GroupingResultSetExtractor(RowMapper<T> mapper) {
+        this.mapper = mapper;
+    }
+
+    @Override
+    public List<T> extractData(ResultSet resultSet) throws SQLException {
+        List<T> entities = new ArrayList<>();
+        extractData(resultSet, entities::add);
+        return entities;
+    }
+
+    public void extractData(ResultSet resultSet, Consumer<T> action) throws SQLException {
+        IdentityMap.Scope scope = IdentityMap.open();
+        try {
+            if (mapper instanceof GroupingRowMapper) {
+                extractGrouped(resultSet, (GroupingRowMapper<T>) mapper, action);
+            } else {
+                int rowNumber = 0;
+                while (resultSet.next()) {
+                    action.accept(mapper.mapRow(resultSet, rowNumber++));
+                }
+            }
+        } finally {
+            scope.close();
+        }
+    }
+
+    private void extractGrouped(ResultSet resultSet, GroupingRowMapper<T> groupingMapper, Consumer<T> action)
+            throws SQLException {
+        String groupingColumn = groupingMapper.getGroupingColumn();
+        T current = null;
+        int currentKey = 0;
+        int rowNumber = 0;
+        while (resultSet.next()) {
+            int key = resultSet.getInt(groupingColumn);
+            if (current == null || key != currentKey) {
+                if (current != null) {
+                    action.accept(current);
+                }
+                current = groupingMapper.mapRow(resultSet, rowNumber++);
+                currentKey = key;
+            }
+            groupingMapper.mapGroupedRow(resultSet, current);
+        }
+        if (current != null) {
+            action.accept(current);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package com.kharchenko.university.dao.mappers;
+
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public interface GroupingRowMapper<T> extends RowMapper<T> {
+
+    String getGroupingColumn();
+
+    void mapGroupedRow(ResultSet resultSet, T entity) throws SQLException;
+}
@@ -0,0 +1,101 @@
+package com.kharchenko.university.dao.mappers;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+public final class IdentityMap {
+
+    private static final ThreadLocal<IdentityMap> CURRENT = new ThreadLocal<>();
+    private static final Scope NESTED_SCOPE = () -> {
+    };
+
+    private final Map<Class<?>, Map<Integer, Object>> entities = new HashMap<>();
+
+    private IdentityMap() {
+    }
+
+    public static Scope open() {
+        if (CURRENT.get() != null) {
+            return NESTED_SCOPE;
+        }
+        CURRENT.set(new IdentityMap());
+        return CURRENT::remove;
+    }
+
+    public static boolean isOpen() {
+        return CURRENT.get() != null;
+    }
+
+    public static Faculty faculty(Integer id, String name) {
+        Faculty faculty = find(Faculty.class, id);
+        if (faculty == null || !Objects.equals(faculty.getName(), name)) {
+            faculty = store(Faculty.class, id, new Faculty(id, name));
+        }
+        return faculty;
+    }
+
+    public static Subject subject(Integer id, String name, String description) {
+        Subject subject = find(Subject.class, id);
+        if (subject == null || !Objects.equals(subject.getName(), name)
+                || !Objects.equals(subject.getDescription(), description)) {
+            subject = store(Subject.class, id, new Subject(id, name, description));
+        }
+        return subject;
+    }
+
+    public static Teacher teacher(Integer id, String firstName, String lastName) {
+        Teacher teacher = find(Teacher.class, id);
+        if (teacher == null || !Objects.equals(teacher.getFirstName(), firstName)
+                || !Objects.equals(teacher.getLastName(), lastName)) {
+            teacher = store(Teacher.class, id, new Teacher(id, firstName, lastName, null));
+        }
+        return teacher;
+    }
+
+    public static ClassRoom classRoom(Integer id, int buildingNumber, int roomNumber, Faculty faculty) {
+        ClassRoom classRoom = find(ClassRoom.class, id);
+        if (classRoom == null || classRoom.getBuildingNumber() != buildingNumber
+                || classRoom.getRoomNumber() != roomNumber || !Objects.equals(classRoom.getFaculty(), faculty)) {
+            classRoom = store(ClassRoom.class, id, new ClassRoom(id, buildingNumber, roomNumber, faculty));
+        }
+        return classRoom;
+    }
+
+    public static Group group(Integer id, String name, Faculty faculty) {
+        Group group = find(Group.class, id);
+        if (group == null || !Objects.equals(group.getName(), name) || !Objects.equals(group.getFaculty(), faculty)) {
+            group = store(Group.class, id, new Group(id, name, null, faculty));
+        }
+        return group;
+    }
+
+    private static <T> T find(Class<T> type, Integer id) {
+        IdentityMap identityMap = CURRENT.get();
+        if (identityMap == null) {
+            return null;
+        }
+        Map<Integer, Object> byId = identityMap.entities.get(type);
+        return byId == null ? null : type.cast(byId.get(id));
+    }
+
+    private static <T> T store(Class<T> type, Integer id, T entity) {
+        IdentityMap identityMap = CURRENT.get();
+        if (identityMap != null) {
+            identityMap.entities.computeIfAbsent(type, key -> new HashMap<>()).put(id, entity);
+        }
+        return entity;
+    }
+
+    public interface Scope extends AutoCloseable {
+
+        @Override
+        void close();
+    }
+}
@@ -1,20 +1,17 @@
 package com.kharchenko.university.dao.mappers;
 
-import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.ClassRoom;
-import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.time.LocalTime;
 import java.util.ArrayList;
-import java.util.List;
 
-public class LectureMapper implements RowMapper<Lecture> {
+public class LectureMapper implements GroupingRowMapper<Lecture> {
 
     @Override
     public Lecture mapRow(ResultSet resultSet, int i) throws SQLException {
@@ -29,26 +26,25 @@ public class LectureMapper implements RowMapper<Lecture> {
         Integer subjectId = resultSet.getInt("subject_id");
         String subjectName = resultSet.getString("subject_name");
         String subjectDescription = resultSet.getString("subject_description");
-        Teacher teacher = new Teacher();
-        teacher.setId(resultSet.getInt("teacher_id"));
-        teacher.setFirstName(resultSet.getString("first_name"));
-        teacher.setLastName(resultSet.getString("last_name"));
-        Subject subject = new Subject(subjectId, subjectName, subjectDescription);
-        Faculty faculty = new Faculty(facultyId, facultyName);
-        ClassRoom classRoom = new ClassRoom(classRoomId, buildingNumber, roomNumber, faculty);
-        List<Group> groups = new ArrayList<>();
-        do {
-            Integer groupId = resultSet.getInt("group_id");
-            String groupName = resultSet.getString("group_name");
-            Group group = new Group();
-            group.setId(groupId);
-            group.setName(groupName);
-            group.setFaculty(faculty);
-            if (groupId != null && groupName != null) {
-                groups.add(group);
-            }
-        } while (resultSet.next() && id == resultSet.getInt("lecture_id"));
-        resultSet.previous();
-        return new Lecture(id, subject, teacher, classRoom, groups, startTime, endTime);
+        Teacher teacher = IdentityMap.teacher(resultSet.getInt("teacher_id"), resultSet.getString("first_name"),
+                resultSet.getString("last_name"));
+        Subject subject = IdentityMap.subject(subjectId, subjectName, subjectDescription);
+        Faculty faculty = IdentityMap.faculty(facultyId, facultyName);
+        ClassRoom classRoom = IdentityMap.classRoom(classRoomId, buildingNumber, roomNumber, faculty);
+        return new Lecture(id, subject, teacher, classRoom, new ArrayList<>(), startTime, endTime);
     }
-}
\ No newline at end of file
+
+    @Override
+    public void mapGroupedRow(ResultSet resultSet, Lecture lecture) throws SQLException {
+        Integer groupId = resultSet.getInt("group_id");
+        String groupName = resultSet.getString("group_name");
+        if (groupId != null && groupName != null) {
+            lecture.getGroups().add(IdentityMap.group(groupId, groupName, lecture.getClassRoom().getFaculty()));
+        }
+    }
+
+    @Override
+    public String getGroupingColumn() {
+        return "lecture_id";
+    }
+}
@@ -0,0 +1,27 @@
+package com.kharchenko.university.dao.mappers;
+
+import com.kharchenko.university.model.dto.LectureSummary;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.LocalTime;
+import java.util.Arrays;
+
+public class LectureSummaryMapper implements RowMapper<LectureSummary> {
+
+    @Override
+    public LectureSummary mapRow(ResultSet resultSet, int i) throws SQLException {
+        Integer id = resultSet.getInt("lecture_id");
+        String subjectName = resultSet.getString("subject_name");
+        String firstName = resultSet.getString("first_name");
+        String lastName = resultSet.getString("last_name");
+        int buildingNumber = resultSet.getInt("building_number");
+        int roomNumber = resultSet.getInt("room_number");
+        String[] groupNames = (String[]) resultSet.getArray("group_names").getArray();
+        LocalTime startTime = resultSet.getObject("start_time", LocalTime.class);
+        LocalTime endTime = resultSet.getObject("end_time", LocalTime.class);
+        return new LectureSummary(id, subjectName, firstName, lastName, buildingNumber, roomNumber,
+                Arrays.asList(groupNames), startTime, endTime);
+    }
+}
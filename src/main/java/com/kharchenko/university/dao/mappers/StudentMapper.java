@@ -3,15 +3,12 @@ package com.kharchenko.university.dao.mappers;
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
-import com.kharchenko.university.model.Subject;
-import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.List;
 
-public class StudentMapper implements RowMapper<Student> {
+public class StudentMapper implements GroupingRowMapper<Student> {
 
     @Override
     public Student mapRow(ResultSet resultSet, int i) throws SQLException {
@@ -22,16 +19,21 @@ public class StudentMapper implements RowMapper<Student> {
         String groupName = resultSet.getString("group_name");
         Integer facultyId = resultSet.getInt("faculty_id");
         String facultyName = resultSet.getString("faculty_name");
-        List<Subject> subjects = new ArrayList<>();
-        do {
-            Integer subjectId = resultSet.getInt("subject_id");
-            String subjectName = resultSet.getString("subject_name");
-            String subjectDescription = resultSet.getString("subject_description");
-            subjects.add(new Subject(subjectId, subjectName, subjectDescription));
-        } while (resultSet.next() && id == resultSet.getInt("student_id"));
-        resultSet.previous();
-        Faculty faculty = new Faculty(facultyId, facultyName);
-        Group group = new Group(groupId, groupName, subjects, faculty);
+        Faculty faculty = IdentityMap.faculty(facultyId, facultyName);
+        Group group = new Group(groupId, groupName, new ArrayList<>(), faculty);
         return new Student(id, firstName, lastName, group);
     }
+
+    @Override
+    public void mapGroupedRow(ResultSet resultSet, Student student) throws SQLException {
+        Integer subjectId = resultSet.getInt("subject_id");
+        String subjectName = resultSet.getString("subject_name");
+        String subjectDescription = resultSet.getString("subject_description");
+        student.getGroup().getSubjects().add(IdentityMap.subject(subjectId, subjectName, subjectDescription));
+    }
+
+    @Override
+    public String getGroupingColumn() {
+        return "student_id";
+    }
 }
@@ -0,0 +1,20 @@
+package com.kharchenko.university.dao.mappers;
+
+import com.kharchenko.university.model.dto.StudentSummary;
+import org.springframework.jdbc.core.RowMapper;
+
+import java.sql.ResultSet;
+import java.sql.SQLException;
+
+public class StudentSummaryMapper implements RowMapper<StudentSummary> {
+
+    @Override
+    public StudentSummary mapRow(ResultSet resultSet, int i) throws SQLException {
+        Integer id = resultSet.getInt("student_id");
+        String firstName = resultSet.getString("first_name");
+        String lastName = resultSet.getString("last_name");
+        Integer groupId = resultSet.getObject("group_id", Integer.class);
+        String groupName = resultSet.getString("group_name");
+        return new StudentSummary(id, firstName, lastName, groupId, groupName);
+    }
+}
@@ -1,31 +1,33 @@
 package com.kharchenko.university.dao.mappers;
 
-import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
-import org.springframework.jdbc.core.RowMapper;
 
 import java.sql.ResultSet;
 import java.sql.SQLException;
 import java.util.ArrayList;
-import java.util.List;
 
-public class TeacherMapper implements RowMapper<Teacher> {
+public class TeacherMapper implements GroupingRowMapper<Teacher> {
 
     @Override
     public Teacher mapRow(ResultSet resultSet, int i) throws SQLException {
         Integer id = resultSet.getInt("teacher_id");
         String firstName = resultSet.getString("first_name");
         String lastName = resultSet.getString("last_name");
-        List<Subject> subjects = new ArrayList<>();
-        do {
-            Integer subjectId = resultSet.getInt("subject_id");
-            String subjectName = resultSet.getString("subject_name");
-            String subjectDescription = resultSet.getString("subject_description");
-            if (subjectId != null && subjectName != null && subjectDescription != null) {
-                subjects.add(new Subject(subjectId, subjectName, subjectDescription));
-            }
-        } while (resultSet.next() && id == resultSet.getInt("teacher_id"));
-        resultSet.previous();
-        return new Teacher(id, firstName, lastName, subjects);
+        return new Teacher(id, firstName, lastName, new ArrayList<>());
+    }
+
+    @Override
+    public void mapGroupedRow(ResultSet resultSet, Teacher teacher) throws SQLException {
+        Integer subjectId = resultSet.getInt("subject_id");
+        String subjectName = resultSet.getString("subject_name");
+        String subjectDescription = resultSet.getString("subject_description");
+        if (subjectId != null && subjectName != null && subjectDescription != null) {
+            teacher.getSubjects().add(IdentityMap.subject(subjectId, subjectName, subjectDescription));
+        }
+    }
+
+    @Override
+    public String getGroupingColumn() {
+        return "teacher_id";
     }
 }
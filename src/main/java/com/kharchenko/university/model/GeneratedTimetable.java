@@ -0,0 +1,15 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class GeneratedTimetable {
+    private List<Schedule> schedules;
+    private int conflicts;
+    private long iterations;
+    private long steps;
+}
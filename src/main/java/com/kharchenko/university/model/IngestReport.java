@@ -0,0 +1,21 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.Map;
+
+@Data
+@AllArgsConstructor
+public class IngestReport {
+    private Map<String, Long> copiedRows;
+    private long elapsedMillis;
+
+    public long getTotalRows() {
+        return copiedRows.values().stream().mapToLong(Long::longValue).sum();
+    }
+
+    public double getRowsPerSecond() {
+        return getTotalRows() * 1000.0 / Math.max(elapsedMillis, 1);
+    }
+}
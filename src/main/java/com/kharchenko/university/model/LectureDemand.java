@@ -0,0 +1,12 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class LectureDemand {
+    private Group group;
+    private Subject subject;
+    private int lecturesCount;
+}
@@ -0,0 +1,11 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class RowError {
+    private int row;
+    private String message;
+}
@@ -0,0 +1,15 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class SubstitutionPlan {
+    private Teacher teacher;
+    private List<TeacherSubstitution> substitutions;
+    private List<Lecture> unassignedLectures;
+    private boolean committed;
+}
@@ -0,0 +1,13 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class TeacherSubstitution {
+    private Lecture lecture;
+    private Teacher substitute;
+}
@@ -0,0 +1,13 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.time.LocalTime;
+
+@Data
+@AllArgsConstructor
+public class TimeSlot {
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
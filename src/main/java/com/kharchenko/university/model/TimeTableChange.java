@@ -0,0 +1,18 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TimeTableChange {
+    private long id;
+    private Integer scheduleId;
+    private Integer lectureId;
+    private String entity;
+    private Integer entityId;
+
+    public TimeTableChange(long id, Integer scheduleId, Integer lectureId) {
+        this(id, scheduleId, lectureId, null, null);
+    }
+}
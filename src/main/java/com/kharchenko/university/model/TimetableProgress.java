@@ -0,0 +1,12 @@
+package com.kharchenko.university.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class TimetableProgress {
+    private long iterations;
+    private int conflicts;
+    private long elapsedMillis;
+}
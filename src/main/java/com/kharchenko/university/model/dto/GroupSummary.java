@@ -0,0 +1,18 @@
+package com.kharchenko.university.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class GroupSummary {
+    private Integer id;
+    private String name;
+    private String facultyName;
+    private List<String> subjectNames;
+    private List<String> subjectDescriptions;
+}
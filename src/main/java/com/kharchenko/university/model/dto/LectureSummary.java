@@ -0,0 +1,23 @@
+package com.kharchenko.university.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalTime;
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class LectureSummary {
+    private Integer id;
+    private String subjectName;
+    private String teacherFirstName;
+    private String teacherLastName;
+    private int buildingNumber;
+    private int roomNumber;
+    private List<String> groupNames;
+    private LocalTime startTime;
+    private LocalTime endTime;
+}
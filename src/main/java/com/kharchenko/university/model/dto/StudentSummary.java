@@ -0,0 +1,16 @@
+package com.kharchenko.university.model.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class StudentSummary {
+    private Integer id;
+    private String firstName;
+    private String lastName;
+    private Integer groupId;
+    private String groupName;
+}
@@ -0,0 +1,83 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.EnitityAlreadyExistsException;
+import com.kharchenko.university.model.RowError;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.IntStream;
+
+public class BatchValidator<T> {
+
+    private final String entityName;
+    private final Consumer<T> rowValidator;
+    private final Function<T, Object> keyExtractor;
+    private final Function<List<T>, Collection<Integer>> existingRows;
+
+    public BatchValidator(String entityName, Consumer<T> rowValidator, Function<T, Object> keyExtractor,
+                          Function<List<T>, Collection<Integer>> existingRows) {
+        this.entityName = entityName;
+        this.rowValidator = rowValidator;
+        this.keyExtractor = keyExtractor;
+        this.existingRows = existingRows;
+    }
+
+    public List<RowError> validate(List<T> rows) {
+        RuntimeException[] failures = getFailures(rows);
+        List<RowError> errors = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            if (failures[row] != null) {
+                errors.add(new RowError(row, failures[row].getMessage()));
+            }
+        }
+        return errors;
+    }
+
+    public void check(List<T> rows) {
+        for (RuntimeException failure : getFailures(rows)) {
+            if (failure != null) {
+                throw failure;
+            }
+        }
+    }
+
+    private RuntimeException[] getFailures(List<T> rows) {
+        RuntimeException[] failures = new RuntimeException[rows.size()];
+        IntStream.range(0, rows.size()).parallel().forEach(row -> {
+            try {
+                rowValidator.accept(rows.get(row));
+            } catch (RuntimeException e) {
+                failures[row] = e;
+            }
+        });
+        Map<Object, Integer> firstRows = new HashMap<>();
+        List<T> keyedRows = new ArrayList<>();
+        List<Integer> keyedRowNumbers = new ArrayList<>();
+        for (int row = 0; row < rows.size(); row++) {
+            Object key = failures[row] == null ? keyExtractor.apply(rows.get(row)) : null;
+            if (key == null) {
+                continue;
+            }
+            Integer firstRow = firstRows.putIfAbsent(key, row);
+            if (firstRow != null) {
+                failures[row] = new EnitityAlreadyExistsException("The " + entityName + " duplicates row " + firstRow
+                        + " of the batch");
+            } else {
+                keyedRows.add(rows.get(row));
+                keyedRowNumbers.add(row);
+            }
+        }
+        if (!keyedRows.isEmpty()) {
+            for (Integer index : existingRows.apply(keyedRows)) {
+                failures[keyedRowNumbers.get(index)] = new EnitityAlreadyExistsException("The " + entityName
+                        + " is already exists");
+            }
+        }
+        return failures;
+    }
+}
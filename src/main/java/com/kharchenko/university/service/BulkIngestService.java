@@ -0,0 +1,17 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.IngestReport;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+
+import java.util.List;
+
+public interface BulkIngestService {
+
+    IngestReport ingestStudents(List<Student> students);
+
+    IngestReport ingestLectures(List<Lecture> lectures);
+
+    IngestReport ingestSchedules(List<Schedule> schedules);
+}
@@ -0,0 +1,28 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Teacher;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.time.LocalDate;
+import java.time.Month;
+
+public interface CalendarService {
+
+    String getTeacherTag(Teacher teacher, Month month);
+
+    String getTeacherTag(Teacher teacher, LocalDate fromDate, LocalDate toDate);
+
+    String getStudentTag(Student student, Month month);
+
+    String getStudentTag(Student student, LocalDate fromDate, LocalDate toDate);
+
+    void writeTeacherCalendar(Teacher teacher, Month month, Writer writer) throws IOException;
+
+    void writeTeacherCalendar(Teacher teacher, LocalDate fromDate, LocalDate toDate, Writer writer) throws IOException;
+
+    void writeStudentCalendar(Student student, Month month, Writer writer) throws IOException;
+
+    void writeStudentCalendar(Student student, LocalDate fromDate, LocalDate toDate, Writer writer) throws IOException;
+}
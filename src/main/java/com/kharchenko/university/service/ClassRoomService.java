@@ -3,6 +3,8 @@ package com.kharchenko.university.service;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 public interface ClassRoomService extends GenericService<ClassRoom, Integer> {
@@ -10,4 +12,6 @@ public interface ClassRoomService extends GenericService<ClassRoom, Integer> {
     List<ClassRoom> getByBuildingNumber(Integer number);
 
     List<ClassRoom> getByFaculty(Faculty faculty);
+
+    List<ClassRoom> findFree(LocalDate date, LocalTime startTime, LocalTime endTime, Faculty faculty);
 }
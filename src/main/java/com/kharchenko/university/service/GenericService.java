@@ -1,5 +1,6 @@
 package com.kharchenko.university.service;
 
+import java.util.Collection;
 import java.util.List;
 
 public interface GenericService<T, ID> {
@@ -8,12 +9,18 @@ public interface GenericService<T, ID> {
 
     List<T> getAll();
 
+    List<T> getPage(ID afterId, int limit);
+
+    List<T> getPage(ID afterId, int limit, String sortKey);
+
     T getById(ID id);
 
+    List<T> getByIds(Collection<ID> ids);
+
     void update(T entity);
 
     boolean deleteById(ID id);
 
-    void addAll(List<T> list);
+    List<T> addAll(List<T> list);
 }
 
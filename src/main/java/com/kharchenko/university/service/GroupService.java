@@ -4,6 +4,7 @@ import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.dto.GroupSummary;
 
 import java.util.List;
 
@@ -16,5 +17,7 @@ public interface GroupService extends GenericService<Group, Integer> {
     List<Group> getBySubject(Subject subject);
 
     List<Group> getByFaculty(Faculty faculty);
+
+    List<GroupSummary> getSummaries();
 }
 
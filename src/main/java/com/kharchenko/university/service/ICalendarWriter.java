@@ -0,0 +1,122 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.stream.Collectors;
+
+public class ICalendarWriter {
+
+    private static final int MAX_LINE_OCTETS = 75;
+    private static final String CRLF = "\r\n";
+    private static final DateTimeFormatter DATE = DateTimeFormatter.ofPattern("yyyyMMdd");
+    private static final DateTimeFormatter DATE_TIME = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss");
+
+    private final Writer writer;
+    private final String timestamp;
+
+    public ICalendarWriter(Writer writer) {
+        this(writer, ZonedDateTime.now(ZoneOffset.UTC));
+    }
+
+    public ICalendarWriter(Writer writer, ZonedDateTime timestamp) {
+        this.writer = writer;
+        this.timestamp = timestamp.withZoneSameInstant(ZoneOffset.UTC).format(DATE_TIME) + "Z";
+    }
+
+    public void writeCalendar(String name, Iterable<Schedule> schedules) throws IOException {
+        writeLine("BEGIN:VCALENDAR");
+        writeLine("VERSION:2.0");
+        writeLine("PRODID:-//Kharchenko//University//EN");
+        writeLine("CALSCALE:GREGORIAN");
+        writeLine("X-WR-CALNAME:" + escape(name));
+        for (Schedule schedule : schedules) {
+            for (Lecture lecture : schedule.getLectures()) {
+                writeEvent(lecture, schedule.getDate());
+            }
+        }
+        writeLine("END:VCALENDAR");
+        writer.flush();
+    }
+
+    private void writeEvent(Lecture lecture, LocalDate date) throws IOException {
+        writeLine("BEGIN:VEVENT");
+        writeLine("UID:lecture-" + lecture.getId() + "-" + date.format(DATE) + "@university");
+        writeLine("DTSTAMP:" + timestamp);
+        writeLine("DTSTART:" + format(date, lecture.getStartTime()));
+        writeLine("DTEND:" + format(date, lecture.getEndTime()));
+        if (lecture.getSubject() != null) {
+            writeLine("SUMMARY:" + escape(lecture.getSubject().getName()));
+        }
+        if (lecture.getClassRoom() != null) {
+            writeLine("LOCATION:" + escape(getLocation(lecture.getClassRoom())));
+        }
+        writeLine("DESCRIPTION:" + escape(getDescription(lecture)));
+        writeLine("END:VEVENT");
+    }
+
+    private String format(LocalDate date, LocalTime time) {
+        return date.atTime(time).format(DATE_TIME);
+    }
+
+    private String getLocation(ClassRoom classRoom) {
+        return "Building " + classRoom.getBuildingNumber() + ", room " + classRoom.getRoomNumber();
+    }
+
+    private String getDescription(Lecture lecture) {
+        StringBuilder description = new StringBuilder();
+        if (lecture.getTeacher() != null) {
+            description.append("Teacher: ").append(lecture.getTeacher().getFirstName()).append(' ')
+                    .append(lecture.getTeacher().getLastName());
+        }
+        if (lecture.getGroups() != null && !lecture.getGroups().isEmpty()) {
+            if (description.length() > 0) {
+                description.append('\n');
+            }
+            description.append("Groups: ").append(lecture.getGroups().stream()
+                    .map(Group::getName)
+                    .collect(Collectors.joining(", ")));
+        }
+        return description.toString();
+    }
+
+    private String escape(String text) {
+        if (text == null) {
+            return "";
+        }
+        return text.replace("\\", "\\\\")
+                .replace(";", "\\;")
+                .replace(",", "\\,")
+                .replace("\r\n", "\\n")
+                .replace("\n", "\\n");
+    }
+
+    private void writeLine(String line) throws IOException {
+        int octets = 0;
+        int i = 0;
+        while (i < line.length()) {
+            int codePoint = line.codePointAt(i);
+            int charCount = Character.charCount(codePoint);
+            int codePointOctets = new String(Character.toChars(codePoint)).getBytes(StandardCharsets.UTF_8).length;
+            if (octets + codePointOctets > MAX_LINE_OCTETS) {
+                writer.write(CRLF);
+                writer.write(' ');
+                octets = 1;
+            }
+            writer.write(line, i, charCount);
+            octets += codePointOctets;
+            i += charCount;
+        }
+        writer.write(CRLF);
+    }
+}
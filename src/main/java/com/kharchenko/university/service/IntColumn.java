@@ -0,0 +1,73 @@
+package com.kharchenko.university.service;
+
+final class IntColumn {
+
+    static final int NONE = Integer.MIN_VALUE;
+
+    private static final int BYTE_CODES = 1 << Byte.SIZE;
+    private static final int CHAR_CODES = 1 << Character.SIZE;
+
+    private final int size;
+    private final int base;
+    private final byte[] bytes;
+    private final char[] chars;
+    private final int[] ints;
+
+    private IntColumn(int size, int base, byte[] bytes, char[] chars, int[] ints) {
+        this.size = size;
+        this.base = base;
+        this.bytes = bytes;
+        this.chars = chars;
+        this.ints = ints;
+    }
+
+    static IntColumn of(int[] values) {
+        return of(values, values.length);
+    }
+
+    static IntColumn of(int[] values, int size) {
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = 0; i < size; i++) {
+            if (values[i] != NONE) {
+                min = Math.min(min, values[i]);
+                max = Math.max(max, values[i]);
+            }
+        }
+        int base = min == Long.MAX_VALUE ? 0 : (int) min;
+        long codes = min == Long.MAX_VALUE ? 1 : max - min + 2;
+        if (codes <= BYTE_CODES) {
+            byte[] bytes = new byte[size];
+            for (int i = 0; i < size; i++) {
+                bytes[i] = (byte) encode(values[i], base);
+            }
+            return new IntColumn(size, base, bytes, null, null);
+        }
+        if (codes <= CHAR_CODES) {
+            char[] chars = new char[size];
+            for (int i = 0; i < size; i++) {
+                chars[i] = (char) encode(values[i], base);
+            }
+            return new IntColumn(size, base, null, chars, null);
+        }
+        int[] ints = new int[size];
+        System.arraycopy(values, 0, ints, 0, size);
+        return new IntColumn(size, base, null, null, ints);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int index) {
+        if (ints != null) {
+            return ints[index];
+        }
+        int code = bytes != null ? bytes[index] & 0xFF : chars[index];
+        return code == 0 ? NONE : base + code - 1;
+    }
+
+    private static int encode(int value, int base) {
+        return value == NONE ? 0 : value - base + 1;
+    }
+}
@@ -0,0 +1,145 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.InvalidClassRoomException;
+import com.kharchenko.university.exception.InvalidGroupException;
+import com.kharchenko.university.exception.InvalidTeacherException;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+
+import java.time.LocalTime;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class LectureConflictIndex {
+
+    public static final LectureConflictIndex EMPTY = readOnly(Collections.emptyList());
+
+    private final Map<Integer, TreeMap<LocalTime, LocalTime>> classRooms = new HashMap<>();
+    private final Map<Integer, TreeMap<LocalTime, LocalTime>> teachers = new HashMap<>();
+    private final Map<Integer, TreeMap<LocalTime, LocalTime>> groups = new HashMap<>();
+    private final Set<Integer> lectureIds = new HashSet<>();
+    private boolean readOnly;
+
+    public LectureConflictIndex() {
+    }
+
+    public LectureConflictIndex(Collection<Lecture> lectures) {
+        lectures.forEach(this::add);
+    }
+
+    static LectureConflictIndex readOnly(Collection<Lecture> lectures) {
+        LectureConflictIndex index = new LectureConflictIndex(lectures);
+        index.readOnly = true;
+        return index;
+    }
+
+    public boolean contains(Lecture lecture) {
+        return lecture.getId() != null && lectureIds.contains(lecture.getId());
+    }
+
+    public void checkFree(Lecture lecture) {
+        if (!isClassRoomFree(lecture)) {
+            throw new InvalidClassRoomException("The classroom has already occupied at this time.");
+        }
+        if (!isTeacherFree(lecture)) {
+            throw new InvalidTeacherException("The teacher already has lecture at this time.");
+        }
+        if (!isGroupFree(lecture)) {
+            throw new InvalidGroupException("The group already has lecture at this time.");
+        }
+    }
+
+    public boolean isClassRoomFree(Lecture lecture) {
+        return lecture.getClassRoom() == null || isFree(classRooms, lecture.getClassRoom().getId(), lecture);
+    }
+
+    public boolean isTeacherFree(Lecture lecture) {
+        return lecture.getTeacher() == null || isTeacherFree(lecture.getTeacher().getId(), lecture);
+    }
+
+    public boolean isTeacherFree(Integer teacherId, Lecture lecture) {
+        return isFree(teachers, teacherId, lecture);
+    }
+
+    public boolean isGroupFree(Lecture lecture) {
+        if (lecture.getGroups() != null) {
+            for (Group group : lecture.getGroups()) {
+                if (!isFree(groups, group.getId(), lecture)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    public void add(Lecture lecture) {
+        checkWritable();
+        if (lecture.getId() != null) {
+            lectureIds.add(lecture.getId());
+        }
+        if (lecture.getStartTime() == null || lecture.getEndTime() == null) {
+            return;
+        }
+        if (lecture.getClassRoom() != null) {
+            occupy(classRooms, lecture.getClassRoom().getId(), lecture);
+        }
+        if (lecture.getTeacher() != null) {
+            occupy(teachers, lecture.getTeacher().getId(), lecture);
+        }
+        if (lecture.getGroups() != null) {
+            for (Group group : lecture.getGroups()) {
+                occupy(groups, group.getId(), lecture);
+            }
+        }
+    }
+
+    public void occupyTeacher(Integer teacherId, Lecture lecture) {
+        checkWritable();
+        if (lecture.getStartTime() != null && lecture.getEndTime() != null) {
+            occupy(teachers, teacherId, lecture);
+        }
+    }
+
+    private void checkWritable() {
+        if (readOnly) {
+            throw new UnsupportedOperationException("The conflict index of a timetable day can't be changed");
+        }
+    }
+
+    private static boolean isFree(Map<Integer, TreeMap<LocalTime, LocalTime>> index, Integer id, Lecture lecture) {
+        TreeMap<LocalTime, LocalTime> busy = index.get(id);
+        if (busy == null || lecture.getStartTime() == null || lecture.getEndTime() == null) {
+            return true;
+        }
+        Map.Entry<LocalTime, LocalTime> previous = busy.floorEntry(lecture.getStartTime());
+        if (previous != null && previous.getValue().isAfter(lecture.getStartTime())) {
+            return false;
+        }
+        Map.Entry<LocalTime, LocalTime> next = busy.higherEntry(lecture.getStartTime());
+        return next == null || !next.getKey().isBefore(lecture.getEndTime());
+    }
+
+    private static void occupy(Map<Integer, TreeMap<LocalTime, LocalTime>> index, Integer id, Lecture lecture) {
+        TreeMap<LocalTime, LocalTime> busy = index.computeIfAbsent(id, key -> new TreeMap<>());
+        LocalTime start = lecture.getStartTime();
+        LocalTime end = lecture.getEndTime();
+        Map.Entry<LocalTime, LocalTime> previous = busy.floorEntry(start);
+        if (previous != null && previous.getValue().isAfter(start)) {
+            start = previous.getKey();
+            end = previous.getValue().isAfter(end) ? previous.getValue() : end;
+            busy.remove(previous.getKey());
+        }
+        Map.Entry<LocalTime, LocalTime> next = busy.ceilingEntry(start);
+        while (next != null && next.getKey().isBefore(end)) {
+            end = next.getValue().isAfter(end) ? next.getValue() : end;
+            busy.remove(next.getKey());
+            next = busy.ceilingEntry(start);
+        }
+        busy.put(start, end);
+    }
+}
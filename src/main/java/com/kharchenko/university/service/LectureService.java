@@ -2,10 +2,12 @@ package com.kharchenko.university.service;
 
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.RowError;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.dto.LectureSummary;
 
 import java.util.List;
 
@@ -22,4 +24,8 @@ public interface LectureService extends GenericService<Lecture, Integer> {
     List<Lecture> getTeacherLectures(Teacher teacher);
 
     List<Lecture> getGroupLectures(Group group);
-}
+
+    List<LectureSummary> getSummaryPage(Integer afterId, int limit, String sortKey);
+
+    List<RowError> validateAll(List<Lecture> lectures);
+}
\ No newline at end of file
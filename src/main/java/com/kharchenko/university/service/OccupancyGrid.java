@@ -0,0 +1,120 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeSet;
+
+public class OccupancyGrid {
+
+    public static final OccupancyGrid EMPTY = new OccupancyGrid(Collections.emptyList());
+
+    private final LocalTime[] boundaries;
+    private final BitSet[] classRooms;
+    private final BitSet[] teachers;
+    private final BitSet[] groups;
+
+    public OccupancyGrid(List<Lecture> lectures) {
+        TreeSet<LocalTime> times = new TreeSet<>();
+        for (Lecture lecture : lectures) {
+            if (hasInterval(lecture)) {
+                times.add(lecture.getStartTime());
+                times.add(lecture.getEndTime());
+            }
+        }
+        boundaries = times.toArray(new LocalTime[0]);
+        int slots = Math.max(boundaries.length - 1, 0);
+        classRooms = newSlots(slots);
+        teachers = newSlots(slots);
+        groups = newSlots(slots);
+        for (Lecture lecture : lectures) {
+            if (!hasInterval(lecture)) {
+                continue;
+            }
+            int from = Arrays.binarySearch(boundaries, lecture.getStartTime());
+            int to = Arrays.binarySearch(boundaries, lecture.getEndTime());
+            for (int slot = from; slot < to; slot++) {
+                if (lecture.getClassRoom() != null) {
+                    set(classRooms[slot], lecture.getClassRoom().getId());
+                }
+                if (lecture.getTeacher() != null) {
+                    set(teachers[slot], lecture.getTeacher().getId());
+                }
+                if (lecture.getGroups() != null) {
+                    for (Group group : lecture.getGroups()) {
+                        set(groups[slot], group.getId());
+                    }
+                }
+            }
+        }
+    }
+
+    public BitSet getOccupiedClassRooms(LocalTime start, LocalTime end) {
+        return getOccupied(classRooms, start, end);
+    }
+
+    public BitSet getOccupiedTeachers(LocalTime start, LocalTime end) {
+        return getOccupied(teachers, start, end);
+    }
+
+    public BitSet getOccupiedGroups(LocalTime start, LocalTime end) {
+        return getOccupied(groups, start, end);
+    }
+
+    public static void validateInterval(LocalDate date, LocalTime start, LocalTime end) {
+        if (date == null || start == null || end == null) {
+            throw new InvalidEntityFieldException("Date, start time and end time can't be null");
+        }
+        if (!start.isBefore(end)) {
+            throw new InvalidEntityFieldException("Start time must be before end time");
+        }
+    }
+
+    private BitSet getOccupied(BitSet[] occupancy, LocalTime start, LocalTime end) {
+        BitSet occupied = new BitSet();
+        for (int slot = firstSlot(start); slot < occupancy.length && boundaries[slot].isBefore(end); slot++) {
+            occupied.or(occupancy[slot]);
+        }
+        return occupied;
+    }
+
+    private int firstSlot(LocalTime start) {
+        int low = 0;
+        int high = boundaries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (!boundaries[middle].isAfter(start)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return Math.max(low - 1, 0);
+    }
+
+    private static boolean hasInterval(Lecture lecture) {
+        return lecture.getStartTime() != null && lecture.getEndTime() != null
+                && lecture.getStartTime().isBefore(lecture.getEndTime());
+    }
+
+    private static void set(BitSet bitSet, Integer id) {
+        if (id != null && id >= 0) {
+            bitSet.set(id);
+        }
+    }
+
+    private static BitSet[] newSlots(int slots) {
+        BitSet[] bitSets = new BitSet[slots];
+        for (int i = 0; i < slots; i++) {
+            bitSets[i] = new BitSet();
+        }
+        return bitSets;
+    }
+}
@@ -0,0 +1,171 @@
+package com.kharchenko.university.service;
+
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+final class PersistentLongMap<V> {
+
+    private static final int BITS = 5;
+    private static final int WIDTH = 1 << BITS;
+    private static final int MASK = WIDTH - 1;
+    private static final int TOP_SHIFT = 60;
+    private static final PersistentLongMap<?> EMPTY = new PersistentLongMap<>(null, 0);
+
+    private final Object[] root;
+    private final int size;
+
+    private PersistentLongMap(Object[] root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    @SuppressWarnings("unchecked")
+    static <V> PersistentLongMap<V> empty() {
+        return (PersistentLongMap<V>) EMPTY;
+    }
+
+    static <V> PersistentLongMap<V> of(Map<? extends Number, V> entries) {
+        Object[] root = null;
+        int size = 0;
+        for (Map.Entry<? extends Number, V> entry : entries.entrySet()) {
+            if (entry.getKey() != null && entry.getValue() != null) {
+                root = put(root, TOP_SHIFT, toBits(entry.getKey().longValue()), entry.getValue(), true);
+                size++;
+            }
+        }
+        return root == null ? empty() : new PersistentLongMap<>(root, size);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(long key) {
+        long bits = toBits(key);
+        Object[] node = root;
+        for (int shift = TOP_SHIFT; node != null; shift -= BITS) {
+            Object child = node[slot(bits, shift)];
+            if (shift == 0) {
+                return (V) child;
+            }
+            node = (Object[]) child;
+        }
+        return null;
+    }
+
+    PersistentLongMap<V> with(long key, V value) {
+        if (value == null) {
+            throw new IllegalArgumentException("Value can't be null");
+        }
+        V previous = get(key);
+        if (previous == value) {
+            return this;
+        }
+        return new PersistentLongMap<>(put(root, TOP_SHIFT, toBits(key), value, false),
+                previous == null ? size + 1 : size);
+    }
+
+    PersistentLongMap<V> without(long key) {
+        if (get(key) == null) {
+            return this;
+        }
+        Object[] newRoot = put(root, TOP_SHIFT, toBits(key), null, false);
+        return newRoot == null ? empty() : new PersistentLongMap<>(newRoot, size - 1);
+    }
+
+    long firstKey() {
+        return fromBits(edgeBits(0, 1));
+    }
+
+    long lastKey() {
+        return fromBits(edgeBits(MASK, -1));
+    }
+
+    void forEach(BiConsumer<Long, V> action) {
+        if (root != null) {
+            forEach(root, TOP_SHIFT, 0, 0, -1, action);
+        }
+    }
+
+    void forEach(long fromKey, long toKey, BiConsumer<Long, V> action) {
+        if (root != null && fromKey < toKey) {
+            forEach(root, TOP_SHIFT, 0, toBits(fromKey), toBits(toKey - 1), action);
+        }
+    }
+
+    private long edgeBits(int firstSlot, int step) {
+        if (root == null) {
+            throw new NoSuchElementException("The map is empty");
+        }
+        long bits = 0;
+        Object[] node = root;
+        for (int shift = TOP_SHIFT; ; shift -= BITS) {
+            int slot = firstSlot;
+            while (node[slot] == null) {
+                slot += step;
+            }
+            bits |= (long) slot << shift;
+            if (shift == 0) {
+                return bits;
+            }
+            node = (Object[]) node[slot];
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <V> void forEach(Object[] node, int shift, long prefix, long fromBits, long toBits,
+                                    BiConsumer<Long, V> action) {
+        for (int slot = 0; slot < WIDTH; slot++) {
+            if (node[slot] == null) {
+                continue;
+            }
+            long low = prefix | (long) slot << shift;
+            long high = low | (1L << shift) - 1;
+            if (Long.compareUnsigned(high, fromBits) < 0 || Long.compareUnsigned(low, toBits) > 0) {
+                continue;
+            }
+            if (shift == 0) {
+                action.accept(fromBits(low), (V) node[slot]);
+            } else {
+                forEach((Object[]) node[slot], shift - BITS, low, fromBits, toBits, action);
+            }
+        }
+    }
+
+    private static Object[] put(Object[] node, int shift, long bits, Object value, boolean inPlace) {
+        Object[] copy = node == null ? new Object[WIDTH] : inPlace ? node : node.clone();
+        int slot = slot(bits, shift);
+        copy[slot] = shift == 0 ? value : put((Object[]) copy[slot], shift - BITS, bits, value, inPlace);
+        if (value == null && isEmpty(copy)) {
+            return null;
+        }
+        return copy;
+    }
+
+    private static boolean isEmpty(Object[] node) {
+        for (Object child : node) {
+            if (child != null) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int slot(long bits, int shift) {
+        return (int) (bits >>> shift) & MASK;
+    }
+
+    private static long toBits(long key) {
+        return key ^ Long.MIN_VALUE;
+    }
+
+    private static long fromBits(long bits) {
+        return bits ^ Long.MIN_VALUE;
+    }
+}
@@ -0,0 +1,10 @@
+package com.kharchenko.university.service;
+
+import java.time.YearMonth;
+
+public interface SchedulePartitionService {
+
+    void maintainPartitions();
+
+    void maintainPartitions(YearMonth currentMonth);
+}
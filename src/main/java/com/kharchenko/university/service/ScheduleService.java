@@ -2,7 +2,9 @@ package com.kharchenko.university.service;
 
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.RowError;
 import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.SubstitutionPlan;
 import com.kharchenko.university.model.Teacher;
 
 import java.time.LocalDate;
@@ -14,5 +16,15 @@ public interface ScheduleService extends GenericService<Schedule, Integer> {
 
     List<Schedule> getByFaculty(Faculty faculty);
 
-    void changeTeacher(Teacher teacher, LocalDate fromDate, LocalDate toDate);
+    List<Schedule> getByPeriod(LocalDate fromDate, LocalDate toDate);
+
+    List<Schedule> getByPeriodAndFaculty(LocalDate fromDate, LocalDate toDate, Faculty faculty);
+
+    SubstitutionPlan planTeacherChange(Teacher teacher, LocalDate fromDate, LocalDate toDate);
+
+    SubstitutionPlan changeTeacher(Teacher teacher, LocalDate fromDate, LocalDate toDate);
+
+    List<RowError> validateAll(List<Schedule> schedules);
+
+    void checkAll(List<Schedule> schedules);
 }
\ No newline at end of file
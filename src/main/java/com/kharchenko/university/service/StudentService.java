@@ -2,10 +2,13 @@ package com.kharchenko.university.service;
 
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.dto.StudentSummary;
 
 import java.util.List;
 
 public interface StudentService extends GenericService<Student, Integer> {
 
     List<Student> getGroupStudents(Group group);
+
+    List<StudentSummary> getSummaryPage(Integer afterId, int limit, String sortKey);
 }
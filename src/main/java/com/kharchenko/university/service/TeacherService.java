@@ -3,9 +3,13 @@ package com.kharchenko.university.service;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.util.List;
 
 public interface TeacherService extends GenericService<Teacher, Integer> {
 
     List<Teacher> getBySubject(Subject subject);
+
+    List<Teacher> findFreeQualified(Subject subject, LocalDate date, LocalTime startTime, LocalTime endTime);
 }
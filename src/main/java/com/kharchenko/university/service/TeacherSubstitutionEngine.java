@@ -0,0 +1,109 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.SubstitutionPlan;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TeacherSubstitution;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+public class TeacherSubstitutionEngine {
+
+    private final List<Schedule> schedules;
+    private final Map<Integer, List<Teacher>> teachersBySubject = new HashMap<>();
+    private final Map<LocalDate, LectureConflictIndex> occupancy = new HashMap<>();
+    private final Map<Integer, Integer> loads = new HashMap<>();
+
+    public TeacherSubstitutionEngine(List<Teacher> teachers, List<Schedule> schedules) {
+        this.schedules = schedules;
+        for (Teacher teacher : teachers) {
+            if (teacher.getSubjects() != null) {
+                for (Subject subject : teacher.getSubjects()) {
+                    teachersBySubject.computeIfAbsent(subject.getId(), id -> new ArrayList<>()).add(teacher);
+                }
+            }
+        }
+        for (Schedule schedule : schedules) {
+            for (Lecture lecture : getLectures(schedule)) {
+                if (isScheduled(lecture)) {
+                    book(lecture.getTeacher(), schedule.getDate(), lecture);
+                }
+            }
+        }
+    }
+
+    public SubstitutionPlan plan(Teacher teacher) {
+        Map<Integer, Lecture> lectures = new LinkedHashMap<>();
+        Map<Integer, List<LocalDate>> lectureDates = new HashMap<>();
+        for (Schedule schedule : schedules) {
+            for (Lecture lecture : getLectures(schedule)) {
+                if (isScheduled(lecture) && teacher.getId().equals(lecture.getTeacher().getId())) {
+                    lectures.putIfAbsent(lecture.getId(), lecture);
+                    lectureDates.computeIfAbsent(lecture.getId(), id -> new ArrayList<>()).add(schedule.getDate());
+                }
+            }
+        }
+        List<TeacherSubstitution> substitutions = new ArrayList<>();
+        List<Lecture> unassignedLectures = new ArrayList<>();
+        for (Lecture lecture : lectures.values()) {
+            List<LocalDate> dates = lectureDates.get(lecture.getId());
+            Teacher substitute = findSubstitute(teacher, lecture, dates);
+            if (substitute == null) {
+                unassignedLectures.add(lecture);
+            } else {
+                for (LocalDate date : dates) {
+                    book(substitute, date, lecture);
+                }
+                substitutions.add(new TeacherSubstitution(lecture, substitute));
+            }
+        }
+        return new SubstitutionPlan(teacher, substitutions, unassignedLectures, false);
+    }
+
+    private Teacher findSubstitute(Teacher teacher, Lecture lecture, List<LocalDate> dates) {
+        Teacher substitute = null;
+        int substituteLoad = Integer.MAX_VALUE;
+        List<Teacher> candidates = lecture.getSubject() == null ? Collections.emptyList()
+                : teachersBySubject.getOrDefault(lecture.getSubject().getId(), Collections.emptyList());
+        for (Teacher candidate : candidates) {
+            int load = loads.getOrDefault(candidate.getId(), 0);
+            if (!candidate.getId().equals(teacher.getId()) && load < substituteLoad && isFree(candidate, lecture, dates)) {
+                substitute = candidate;
+                substituteLoad = load;
+            }
+        }
+        return substitute;
+    }
+
+    private boolean isFree(Teacher teacher, Lecture lecture, List<LocalDate> dates) {
+        for (LocalDate date : dates) {
+            LectureConflictIndex day = occupancy.get(date);
+            if (day != null && !day.isTeacherFree(teacher.getId(), lecture)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private void book(Teacher teacher, LocalDate date, Lecture lecture) {
+        occupancy.computeIfAbsent(date, day -> new LectureConflictIndex()).occupyTeacher(teacher.getId(), lecture);
+        loads.merge(teacher.getId(), 1, Integer::sum);
+    }
+
+    private boolean isScheduled(Lecture lecture) {
+        return lecture.getTeacher() != null && lecture.getTeacher().getId() != null
+                && lecture.getStartTime() != null && lecture.getEndTime() != null;
+    }
+
+    private List<Lecture> getLectures(Schedule schedule) {
+        return schedule.getLectures() == null ? Collections.emptyList() : schedule.getLectures();
+    }
+}
@@ -1,73 +1,549 @@
 package com.kharchenko.university.service;
 
 import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.Month;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
 import java.util.List;
-import java.util.Optional;
-import java.util.stream.Collector;
-import java.util.stream.Collectors;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
-import lombok.AllArgsConstructor;
-import lombok.Data;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 
-@Data
-@AllArgsConstructor
 public class TimeTable {
-    private List<Schedule> schedules;
+
+    private static final int NONE = IntColumn.NONE;
+    private static final long NO_TIME = -1;
+
+    private PersistentLongMap<Day> days;
+    private PersistentLongMap<Long> epochDaysBySchedule;
+    private PersistentLongMap<Teacher> teachers;
+    private PersistentLongMap<ClassRoom> classRooms;
+    private PersistentLongMap<Subject> subjects;
+    private PersistentLongMap<Group> groups;
+    private final LongAdder rowsIndexed;
+    private final LongAdder rowsRead;
+
+    public TimeTable(List<Schedule> schedules) {
+        rowsIndexed = new LongAdder();
+        rowsRead = new LongAdder();
+        Map<Long, Day> epochDays = new HashMap<>();
+        Map<Integer, Long> scheduleDays = new HashMap<>();
+        Map<Integer, Teacher> teacherEntries = new HashMap<>();
+        Map<Integer, ClassRoom> classRoomEntries = new HashMap<>();
+        Map<Integer, Subject> subjectEntries = new HashMap<>();
+        Map<Integer, Group> groupEntries = new HashMap<>();
+        for (Schedule schedule : schedules) {
+            long epochDay = schedule.getDate().toEpochDay();
+            epochDays.put(epochDay, newDay(schedule.getId(), schedule.getFaculty(), getLectures(schedule)));
+            if (schedule.getId() != null) {
+                scheduleDays.put(schedule.getId(), epochDay);
+            }
+            for (Lecture lecture : getLectures(schedule)) {
+                if (lecture.getTeacher() != null && lecture.getTeacher().getId() != null) {
+                    teacherEntries.put(lecture.getTeacher().getId(), lecture.getTeacher());
+                }
+                if (lecture.getClassRoom() != null && lecture.getClassRoom().getId() != null) {
+                    classRoomEntries.put(lecture.getClassRoom().getId(), lecture.getClassRoom());
+                }
+                if (lecture.getSubject() != null && lecture.getSubject().getId() != null) {
+                    subjectEntries.put(lecture.getSubject().getId(), lecture.getSubject());
+                }
+                for (Group group : getGroups(lecture)) {
+                    if (group.getId() != null) {
+                        groupEntries.put(group.getId(), group);
+                    }
+                }
+            }
+        }
+        days = PersistentLongMap.of(epochDays);
+        epochDaysBySchedule = PersistentLongMap.of(scheduleDays);
+        teachers = PersistentLongMap.of(teacherEntries);
+        classRooms = PersistentLongMap.of(classRoomEntries);
+        subjects = PersistentLongMap.of(subjectEntries);
+        groups = PersistentLongMap.of(groupEntries);
+    }
+
+    private TimeTable(TimeTable timeTable) {
+        this.days = timeTable.days;
+        this.epochDaysBySchedule = timeTable.epochDaysBySchedule;
+        this.teachers = timeTable.teachers;
+        this.classRooms = timeTable.classRooms;
+        this.subjects = timeTable.subjects;
+        this.groups = timeTable.groups;
+        this.rowsIndexed = timeTable.rowsIndexed;
+        this.rowsRead = timeTable.rowsRead;
+    }
+
+    public List<Schedule> getSchedules() {
+        List<Schedule> schedules = new ArrayList<>(days.size());
+        days.forEach((epochDay, day) -> schedules.add(new Schedule(day.scheduleId, getLectures(day),
+                LocalDate.ofEpochDay(epochDay), day.faculty)));
+        return schedules;
+    }
 
     public Schedule getTeacherDaySchedule(Teacher teacher, LocalDate date) {
-        return getDaySchedule(date).get().getLectures().stream()
-                .filter(lecture -> lecture.getTeacher().equals(teacher))
-                .collect(scheduleCollector(date));
+        return new Schedule(getTeacherLectures(getDay(date), teacher.getId()), date);
     }
 
     public Schedule getStudentDaySchedule(Student student, LocalDate date) {
-        return getDaySchedule(date).get().getLectures().stream()
-                .filter(lecture -> lecture.getGroups().contains(student.getGroup()))
-                .collect(scheduleCollector(date));
+        return new Schedule(getGroupLectures(getDay(date), getGroupId(student)), date);
     }
 
     public List<Schedule> getTeacherMonthSchedule(Teacher teacher, Month month) {
-        return getMonthSchedule(month).stream()
-                .map(schedule -> new Schedule((schedule.getLectures().stream()
-                        .filter(lecture -> lecture.getTeacher().equals(teacher))
-                        .collect(Collectors.toList())), schedule.getDate()))
-                .collect(Collectors.toList());
+        List<Schedule> schedules = new ArrayList<>();
+        forEachYear(month, firstDay -> addTeacherSchedules(schedules, teacher.getId(), firstDay, firstDay.plusMonths(1)));
+        return schedules;
     }
 
     public List<Schedule> getStudentMonthSchedule(Student student, Month month) {
-        return getMonthSchedule(month).stream()
-                .map(schedule -> new Schedule((schedule.getLectures().stream()
-                        .filter(lecture -> lecture.getGroups().contains(student.getGroup()))
-                        .collect(Collectors.toList())), schedule.getDate()))
-                .collect(Collectors.toList());
+        List<Schedule> schedules = new ArrayList<>();
+        forEachYear(month, firstDay -> addStudentSchedules(schedules, getGroupId(student), firstDay,
+                firstDay.plusMonths(1)));
+        return schedules;
+    }
+
+    public List<Schedule> getTeacherSchedule(Teacher teacher, LocalDate fromDate, LocalDate toDate) {
+        List<Schedule> schedules = new ArrayList<>();
+        addTeacherSchedules(schedules, teacher.getId(), fromDate, toDate.plusDays(1));
+        return schedules;
+    }
+
+    public List<Schedule> getStudentSchedule(Student student, LocalDate fromDate, LocalDate toDate) {
+        List<Schedule> schedules = new ArrayList<>();
+        addStudentSchedules(schedules, getGroupId(student), fromDate, toDate.plusDays(1));
+        return schedules;
+    }
+
+    public long getRowsIndexed() {
+        return rowsIndexed.sum();
+    }
+
+    public long getRowsRead() {
+        return rowsRead.sum();
+    }
+
+    public OccupancyGrid getOccupancy(LocalDate date) {
+        Day day = days.get(date.toEpochDay());
+        if (day == null) {
+            return OccupancyGrid.EMPTY;
+        }
+        OccupancyGrid occupancy = day.occupancy;
+        if (occupancy == null) {
+            occupancy = new OccupancyGrid(getLectures(day));
+            day.occupancy = occupancy;
+        }
+        return occupancy;
+    }
+
+    public LectureConflictIndex getConflictIndex(LocalDate date) {
+        Day day = days.get(date.toEpochDay());
+        if (day == null) {
+            return LectureConflictIndex.EMPTY;
+        }
+        LectureConflictIndex conflictIndex = day.conflictIndex;
+        if (conflictIndex == null) {
+            conflictIndex = LectureConflictIndex.readOnly(getLectures(day));
+            day.conflictIndex = conflictIndex;
+        }
+        return conflictIndex;
+    }
+
+    public TimeTable withSchedule(Schedule schedule) {
+        TimeTable timeTable = new TimeTable(this);
+        Long previousDay = schedule.getId() == null ? null : epochDaysBySchedule.get(schedule.getId());
+        if (previousDay != null) {
+            timeTable.replaceDay(previousDay, null);
+        }
+        List<Lecture> lectures = getLectures(schedule);
+        timeTable.register(lectures);
+        timeTable.replaceDay(schedule.getDate().toEpochDay(), newDay(schedule.getId(), schedule.getFaculty(), lectures));
+        return timeTable;
+    }
+
+    public TimeTable withoutSchedule(Integer scheduleId) {
+        Long epochDay = scheduleId == null ? null : epochDaysBySchedule.get(scheduleId);
+        if (epochDay == null) {
+            return this;
+        }
+        TimeTable timeTable = new TimeTable(this);
+        timeTable.replaceDay(epochDay, null);
+        return timeTable;
+    }
+
+    public TimeTable withLecture(Lecture lecture) {
+        if (lecture.getId() == null) {
+            return this;
+        }
+        List<Long> epochDays = new ArrayList<>();
+        days.forEach((epochDay, day) -> {
+            if (day.indexOf(lecture.getId()) >= 0) {
+                epochDays.add(epochDay);
+            }
+        });
+        if (epochDays.isEmpty()) {
+            return this;
+        }
+        TimeTable timeTable = new TimeTable(this);
+        timeTable.register(Collections.singletonList(lecture));
+        for (long epochDay : epochDays) {
+            Day day = days.get(epochDay);
+            List<Lecture> lectures = timeTable.getLectures(day);
+            lectures.replaceAll(l -> Objects.equals(l.getId(), lecture.getId()) ? lecture : l);
+            timeTable.replaceDay(epochDay, newDay(day.scheduleId, day.faculty, lectures));
+        }
+        return timeTable;
+    }
+
+    public TimeTable withTeacher(Teacher teacher) {
+        if (!contains(teachers, teacher.getId())) {
+            return this;
+        }
+        TimeTable timeTable = new TimeTable(this);
+        timeTable.teachers = teachers.with(teacher.getId(), teacher);
+        return timeTable;
+    }
+
+    public TimeTable withClassRoom(ClassRoom classRoom) {
+        if (!contains(classRooms, classRoom.getId())) {
+            return this;
+        }
+        TimeTable timeTable = new TimeTable(this);
+        timeTable.classRooms = classRooms.with(classRoom.getId(), classRoom);
+        return timeTable;
+    }
+
+    public TimeTable withSubject(Subject subject) {
+        if (!contains(subjects, subject.getId())) {
+            return this;
+        }
+        TimeTable timeTable = new TimeTable(this);
+        timeTable.subjects = subjects.with(subject.getId(), subject);
+        return timeTable;
+    }
+
+    public TimeTable withGroup(Group group) {
+        if (!contains(groups, group.getId())) {
+            return this;
+        }
+        TimeTable timeTable = new TimeTable(this);
+        timeTable.groups = groups.with(group.getId(), group);
+        return timeTable;
+    }
+
+    private Day newDay(Integer scheduleId, Faculty faculty, List<Lecture> lectures) {
+        rowsIndexed.add(lectures.size());
+        return new Day(scheduleId, faculty, lectures);
+    }
+
+    private void replaceDay(long epochDay, Day day) {
+        Day previous = days.get(epochDay);
+        if (previous != null && previous.scheduleId != null
+                && Objects.equals(epochDaysBySchedule.get(previous.scheduleId), epochDay)) {
+            epochDaysBySchedule = epochDaysBySchedule.without(previous.scheduleId);
+        }
+        if (day == null) {
+            days = days.without(epochDay);
+            return;
+        }
+        days = days.with(epochDay, day);
+        if (day.scheduleId != null) {
+            epochDaysBySchedule = epochDaysBySchedule.with(day.scheduleId, epochDay);
+        }
+    }
+
+    private void register(List<Lecture> lectures) {
+        for (Lecture lecture : lectures) {
+            if (lecture.getTeacher() != null) {
+                teachers = register(teachers, lecture.getTeacher().getId(), lecture.getTeacher());
+            }
+            if (lecture.getClassRoom() != null) {
+                classRooms = register(classRooms, lecture.getClassRoom().getId(), lecture.getClassRoom());
+            }
+            if (lecture.getSubject() != null) {
+                subjects = register(subjects, lecture.getSubject().getId(), lecture.getSubject());
+            }
+            for (Group group : getGroups(lecture)) {
+                groups = register(groups, group.getId(), group);
+            }
+        }
     }
 
-    private Optional<Schedule> getDaySchedule(LocalDate date) {
-        return schedules.stream()
-                .filter(s -> s.getDate().equals(date))
-                .findFirst();
+    private Day getDay(LocalDate date) {
+        Day day = days.get(date.toEpochDay());
+        if (day == null) {
+            throw new NoSuchElementException("There is no schedule for " + date);
+        }
+        return day;
     }
 
-    private List<Schedule> getMonthSchedule(Month month) {
-        return schedules.stream()
-                .filter(schedule -> schedule.getDate().getMonth().equals(month))
-                .collect(Collectors.toList());
+    private void forEachYear(Month month, Consumer<LocalDate> action) {
+        if (days.isEmpty()) {
+            return;
+        }
+        int firstYear = LocalDate.ofEpochDay(days.firstKey()).getYear();
+        int lastYear = LocalDate.ofEpochDay(days.lastKey()).getYear();
+        for (int year = firstYear; year <= lastYear; year++) {
+            action.accept(LocalDate.of(year, month, 1));
+        }
     }
 
-    private static Collector<Lecture, List<Lecture>, Schedule> scheduleCollector(LocalDate date) {
-        return Collector.of(
-                () -> new ArrayList<Lecture>(),
-                (list, lecture) -> list.add(lecture),
-                (firstList, secondList) -> {
-                    firstList.addAll(secondList);
-                    return firstList;
-                },
-                firstList -> new Schedule(firstList, date));
+    private void addTeacherSchedules(List<Schedule> schedules, Integer teacherId, LocalDate fromDate,
+                                     LocalDate toDate) {
+        days.forEach(fromDate.toEpochDay(), toDate.toEpochDay(), (epochDay, day) ->
+                schedules.add(new Schedule(getTeacherLectures(day, teacherId), LocalDate.ofEpochDay(epochDay))));
+    }
+
+    private void addStudentSchedules(List<Schedule> schedules, Integer groupId, LocalDate fromDate,
+                                     LocalDate toDate) {
+        days.forEach(fromDate.toEpochDay(), toDate.toEpochDay(), (epochDay, day) ->
+                schedules.add(new Schedule(getGroupLectures(day, groupId), LocalDate.ofEpochDay(epochDay))));
+    }
+
+    private List<Lecture> getTeacherLectures(Day day, Integer teacherId) {
+        List<Lecture> lectures = new ArrayList<>();
+        if (teacherId == null) {
+            return lectures;
+        }
+        for (int i = day.lowerBound(day.rowsByTeacher, day.teacherIds, teacherId);
+             i < day.rowsByTeacher.size() && day.teacherIds.get(day.rowsByTeacher.get(i)) == teacherId; i++) {
+            lectures.add(getLecture(day, day.rowsByTeacher.get(i)));
+        }
+        return lectures;
+    }
+
+    private List<Lecture> getGroupLectures(Day day, Integer groupId) {
+        List<Lecture> lectures = new ArrayList<>();
+        if (groupId == null) {
+            return lectures;
+        }
+        for (int i = day.lowerBound(day.entriesByGroup, day.groupIds, groupId);
+             i < day.entriesByGroup.size() && day.groupIds.get(day.entriesByGroup.get(i)) == groupId; i++) {
+            lectures.add(getLecture(day, day.getRow(day.entriesByGroup.get(i))));
+        }
+        return lectures;
+    }
+
+    private List<Lecture> getLectures(Day day) {
+        List<Lecture> lectures = new ArrayList<>(day.size());
+        for (int row = 0; row < day.size(); row++) {
+            lectures.add(getLecture(day, row));
+        }
+        return lectures;
+    }
+
+    private Lecture getLecture(Day day, int row) {
+        rowsRead.increment();
+        int from = day.getFirstEntry(row);
+        int to = day.getFirstEntry(row + 1);
+        List<Group> lectureGroups = new ArrayList<>(to - from);
+        for (int entry = from; entry < to; entry++) {
+            lectureGroups.add(get(groups, day.groupIds.get(entry)));
+        }
+        int slot = day.times.get(row);
+        return new Lecture(fromId(day.lectureIds.get(row)), get(subjects, day.subjectIds.get(row)),
+                get(teachers, day.teacherIds.get(row)), get(classRooms, day.classRoomIds.get(row)), lectureGroups,
+                toTime(day.timeSlots[2 * slot]), toTime(day.timeSlots[2 * slot + 1]));
+    }
+
+    private static <T> PersistentLongMap<T> register(PersistentLongMap<T> entities, Integer id, T entity) {
+        return id == null ? entities : entities.with(id, entity);
+    }
+
+    private static boolean contains(PersistentLongMap<?> entities, Integer id) {
+        return id != null && entities.get(id) != null;
+    }
+
+    private static <T> T get(PersistentLongMap<T> entities, int id) {
+        return id == NONE ? null : entities.get(id);
+    }
+
+    private static Integer getGroupId(Student student) {
+        return student.getGroup() == null ? null : student.getGroup().getId();
+    }
+
+    private static List<Lecture> getLectures(Schedule schedule) {
+        return schedule.getLectures() == null ? Collections.emptyList() : schedule.getLectures();
+    }
+
+    private static List<Group> getGroups(Lecture lecture) {
+        return lecture.getGroups() == null ? Collections.emptyList() : lecture.getGroups();
+    }
+
+    private static int toId(Integer id) {
+        return id == null ? NONE : id;
+    }
+
+    private static Integer fromId(int id) {
+        return id == NONE ? null : id;
+    }
+
+    private static long toNanos(LocalTime time) {
+        return time == null ? NO_TIME : time.toNanoOfDay();
+    }
+
+    private static LocalTime toTime(long nanos) {
+        return nanos == NO_TIME ? null : LocalTime.ofNanoOfDay(nanos);
+    }
+
+    private static final class Day {
+        private final Integer scheduleId;
+        private final Faculty faculty;
+        private final IntColumn lectureIds;
+        private final IntColumn teacherIds;
+        private final IntColumn classRoomIds;
+        private final IntColumn subjectIds;
+        private final IntColumn times;
+        private final long[] timeSlots;
+        private final IntColumn groupOffsets;
+        private final IntColumn groupIds;
+        private final IntColumn rowsByTeacher;
+        private final IntColumn entriesByGroup;
+        private volatile OccupancyGrid occupancy;
+        private volatile LectureConflictIndex conflictIndex;
+
+        private Day(Integer scheduleId, Faculty faculty, List<Lecture> dayLectures) {
+            this.scheduleId = scheduleId;
+            this.faculty = faculty;
+            List<Lecture> lectures = new ArrayList<>(dayLectures);
+            lectures.sort(Comparator.comparingInt(lecture -> toId(lecture.getId())));
+            int rows = lectures.size();
+            int[] lectureColumn = new int[rows];
+            int[] teacherColumn = new int[rows];
+            int[] classRoomColumn = new int[rows];
+            int[] subjectColumn = new int[rows];
+            int[] timeColumn = new int[rows];
+            int[] offsets = new int[rows + 1];
+            Map<List<Long>, Integer> slots = new HashMap<>();
+            List<Long> slotTimes = new ArrayList<>();
+            boolean singleGroups = true;
+            for (int row = 0; row < rows; row++) {
+                Lecture lecture = lectures.get(row);
+                lectureColumn[row] = toId(lecture.getId());
+                teacherColumn[row] = lecture.getTeacher() == null ? NONE : toId(lecture.getTeacher().getId());
+                classRoomColumn[row] = lecture.getClassRoom() == null ? NONE : toId(lecture.getClassRoom().getId());
+                subjectColumn[row] = lecture.getSubject() == null ? NONE : toId(lecture.getSubject().getId());
+                List<Long> slotKey = Arrays.asList(toNanos(lecture.getStartTime()), toNanos(lecture.getEndTime()));
+                Integer slot = slots.get(slotKey);
+                if (slot == null) {
+                    slot = slots.size();
+                    slots.put(slotKey, slot);
+                    slotTimes.addAll(slotKey);
+                }
+                timeColumn[row] = slot;
+                offsets[row + 1] = offsets[row] + getGroups(lecture).size();
+                singleGroups &= getGroups(lecture).size() == 1;
+            }
+            int[] groupColumn = new int[offsets[rows]];
+            for (int row = 0; row < rows; row++) {
+                int entry = offsets[row];
+                for (Group group : getGroups(lectures.get(row))) {
+                    groupColumn[entry++] = toId(group.getId());
+                }
+            }
+            lectureIds = IntColumn.of(lectureColumn);
+            teacherIds = IntColumn.of(teacherColumn);
+            classRoomIds = IntColumn.of(classRoomColumn);
+            subjectIds = IntColumn.of(subjectColumn);
+            times = IntColumn.of(timeColumn);
+            timeSlots = slotTimes.stream().mapToLong(Long::longValue).toArray();
+            groupOffsets = singleGroups ? null : IntColumn.of(offsets);
+            groupIds = IntColumn.of(groupColumn);
+            rowsByTeacher = sortByKey(teacherColumn, null);
+            entriesByGroup = sortByKey(groupColumn, offsets);
+        }
+
+        private int size() {
+            return lectureIds.size();
+        }
+
+        private int indexOf(int lectureId) {
+            int row = lowerBound(null, lectureIds, lectureId);
+            return row < size() && lectureIds.get(row) == lectureId ? row : -1;
+        }
+
+        private int getFirstEntry(int row) {
+            return groupOffsets == null ? row : groupOffsets.get(row);
+        }
+
+        private int getRow(int entry) {
+            if (groupOffsets == null) {
+                return entry;
+            }
+            int low = 0;
+            int high = size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (groupOffsets.get(middle + 1) <= entry) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private int lowerBound(IntColumn order, IntColumn keys, int key) {
+            int low = 0;
+            int high = order == null ? keys.size() : order.size();
+            while (low < high) {
+                int middle = (low + high) >>> 1;
+                if (keys.get(order == null ? middle : order.get(middle)) < key) {
+                    low = middle + 1;
+                } else {
+                    high = middle;
+                }
+            }
+            return low;
+        }
+
+        private static IntColumn sortByKey(int[] keys, int[] rowOffsets) {
+            long[] entries = new long[keys.length];
+            int count = 0;
+            for (int entry = 0; entry < keys.length; entry++) {
+                if (keys[entry] != NONE) {
+                    entries[count++] = (long) keys[entry] << Integer.SIZE | entry;
+                }
+            }
+            Arrays.sort(entries, 0, count);
+            int[] order = new int[count];
+            int size = 0;
+            int previousRow = -1;
+            for (int i = 0; i < count; i++) {
+                int entry = (int) entries[i];
+                int row = rowOffsets == null ? entry : rowOf(rowOffsets, entry);
+                if (size > 0 && row == previousRow && keys[order[size - 1]] == keys[entry]) {
+                    continue;
+                }
+                order[size++] = entry;
+                previousRow = row;
+            }
+            return IntColumn.of(order, size);
+        }
+
+        private static int rowOf(int[] rowOffsets, int entry) {
+            int row = Arrays.binarySearch(rowOffsets, entry);
+            if (row < 0) {
+                return -row - 2;
+            }
+            while (rowOffsets[row + 1] == entry) {
+                row++;
+            }
+            return row;
+        }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,52 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+
+public interface TimeTableService {
+
+    TimeTable getTimeTable();
+
+    Schedule getTeacherDaySchedule(Teacher teacher, LocalDate date);
+
+    Schedule getStudentDaySchedule(Student student, LocalDate date);
+
+    List<Schedule> getTeacherMonthSchedule(Teacher teacher, Month month);
+
+    List<Schedule> getStudentMonthSchedule(Student student, Month month);
+
+    List<Schedule> getTeacherSchedule(Teacher teacher, LocalDate fromDate, LocalDate toDate);
+
+    List<Schedule> getStudentSchedule(Student student, LocalDate fromDate, LocalDate toDate);
+
+    OccupancyGrid getOccupancy(LocalDate date);
+
+    LectureConflictIndex getConflictIndex(LocalDate date);
+
+    void scheduleChanged(Schedule schedule);
+
+    void scheduleDeleted(Integer scheduleId);
+
+    void lectureChanged(Lecture lecture);
+
+    void teacherChanged(Teacher teacher);
+
+    void classRoomChanged(ClassRoom classRoom);
+
+    void subjectChanged(Subject subject);
+
+    void groupChanged(Group group);
+
+    void reload();
+
+    void maintainSnapshot();
+}
@@ -0,0 +1,472 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.function.ToIntFunction;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedOutputStream;
+
+public class TimeTableSnapshot {
+
+    private static final int MAGIC = 0x54544253;
+    private static final int FORMAT_VERSION = 1;
+    private static final int NONE = Integer.MIN_VALUE;
+    private static final int FACULTIES = 1;
+    private static final int SUBJECTS = 2;
+    private static final int TEACHERS = 3;
+    private static final int GROUPS = 4;
+    private static final int CLASSROOMS = 5;
+    private static final int SCHEDULES = 6;
+    private static final int LECTURES = 7;
+    private static final int SECTIONS = 7;
+    private static final int SECTION_ENTRY_SIZE = 20;
+    private static final int SECTION_TABLE_OFFSET = 28;
+    private static final int HEADER_SIZE = SECTION_TABLE_OFFSET + SECTIONS * SECTION_ENTRY_SIZE;
+
+    private final long changeId;
+    private final List<Schedule> schedules;
+
+    private TimeTableSnapshot(long changeId, List<Schedule> schedules) {
+        this.changeId = changeId;
+        this.schedules = schedules;
+    }
+
+    public long getChangeId() {
+        return changeId;
+    }
+
+    public List<Schedule> getSchedules() {
+        return schedules;
+    }
+
+    public static void write(Path path, long changeId, Collection<Schedule> schedules) throws IOException {
+        Path target = path.toAbsolutePath();
+        Path temporary = Files.createTempFile(target.getParent(), target.getFileName().toString(), ".tmp");
+        try {
+            try (FileChannel channel = FileChannel.open(temporary, StandardOpenOption.WRITE)) {
+                channel.position(HEADER_SIZE);
+                CRC32 checksum = new CRC32();
+                DataOutputStream out = new DataOutputStream(new CheckedOutputStream(
+                        new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16), checksum));
+                ByteBuffer header = ByteBuffer.allocate(HEADER_SIZE);
+                header.putInt(MAGIC).putInt(FORMAT_VERSION).putLong(changeId).putLong(0).putInt(SECTIONS);
+                new Encoder(schedules).write(out, header);
+                out.flush();
+                header.putLong(16, checksum.getValue());
+                header.rewind();
+                while (header.hasRemaining()) {
+                    channel.write(header, header.position());
+                }
+                channel.force(true);
+            }
+            Files.move(temporary, target, StandardCopyOption.ATOMIC_MOVE, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    public static TimeTableSnapshot read(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size < HEADER_SIZE) {
+                throw new IOException("Timetable snapshot " + path + " is truncated");
+            }
+            MappedByteBuffer buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            if (buffer.getInt(0) != MAGIC) {
+                throw new IOException(path + " is not a timetable snapshot");
+            }
+            if (buffer.getInt(4) != FORMAT_VERSION) {
+                throw new IOException("Timetable snapshot " + path + " has unsupported format version " + buffer.getInt(4));
+            }
+            ByteBuffer body = buffer.duplicate();
+            body.position(HEADER_SIZE);
+            CRC32 checksum = new CRC32();
+            checksum.update(body);
+            if (checksum.getValue() != buffer.getLong(16) || buffer.getInt(24) != SECTIONS) {
+                throw new IOException("Timetable snapshot " + path + " is corrupted");
+            }
+            Map<Integer, ByteBuffer> sections = new HashMap<>();
+            for (int i = 0; i < SECTIONS; i++) {
+                int entry = SECTION_TABLE_OFFSET + i * SECTION_ENTRY_SIZE;
+                long offset = buffer.getLong(entry + 4);
+                long length = buffer.getLong(entry + 12);
+                if (offset < HEADER_SIZE || length < 0 || offset + length > size) {
+                    throw new IOException("Timetable snapshot " + path + " is corrupted");
+                }
+                ByteBuffer section = buffer.duplicate();
+                section.position((int) offset).limit((int) (offset + length));
+                sections.put(buffer.getInt(entry), section.slice());
+            }
+            try {
+                return new TimeTableSnapshot(buffer.getLong(8), new Decoder(sections).readSchedules());
+            } catch (RuntimeException e) {
+                throw new IOException("Timetable snapshot " + path + " is corrupted", e);
+            }
+        }
+    }
+
+    private static int toId(Integer id) {
+        return id == null ? NONE : id;
+    }
+
+    private static Integer fromId(int id) {
+        return id == NONE ? null : id;
+    }
+
+    private static class Encoder {
+        private final Collection<Schedule> schedules;
+        private final Map<Integer, Faculty> faculties = new LinkedHashMap<>();
+        private final Map<Integer, Subject> subjects = new LinkedHashMap<>();
+        private final Map<Integer, Teacher> teachers = new LinkedHashMap<>();
+        private final Map<Integer, Group> groups = new LinkedHashMap<>();
+        private final Map<Integer, ClassRoom> classRooms = new LinkedHashMap<>();
+        private final List<Lecture> lectures = new ArrayList<>();
+
+        private Encoder(Collection<Schedule> schedules) {
+            this.schedules = schedules;
+            for (Schedule schedule : schedules) {
+                register(faculties, schedule.getFaculty(), Faculty::getId);
+                if (schedule.getLectures() != null) {
+                    for (Lecture lecture : schedule.getLectures()) {
+                        register(lecture);
+                    }
+                }
+            }
+        }
+
+        private void register(Lecture lecture) {
+            lectures.add(lecture);
+            register(subjects, lecture.getSubject(), Subject::getId);
+            if (register(teachers, lecture.getTeacher(), Teacher::getId) && lecture.getTeacher().getSubjects() != null) {
+                lecture.getTeacher().getSubjects().forEach(subject -> register(subjects, subject, Subject::getId));
+            }
+            if (register(classRooms, lecture.getClassRoom(), ClassRoom::getId)) {
+                register(faculties, lecture.getClassRoom().getFaculty(), Faculty::getId);
+            }
+            if (lecture.getGroups() != null) {
+                for (Group group : lecture.getGroups()) {
+                    if (register(groups, group, Group::getId)) {
+                        register(faculties, group.getFaculty(), Faculty::getId);
+                        if (group.getSubjects() != null) {
+                            group.getSubjects().forEach(subject -> register(subjects, subject, Subject::getId));
+                        }
+                    }
+                }
+            }
+        }
+
+        private <T> boolean register(Map<Integer, T> dictionary, T entity, Function<T, Integer> id) {
+            return entity != null && dictionary.putIfAbsent(toId(id.apply(entity)), entity) == null;
+        }
+
+        private void write(DataOutputStream out, ByteBuffer header) throws IOException {
+            writeSection(out, header, FACULTIES, () -> {
+                out.writeInt(faculties.size());
+                writeInts(out, faculties.values(), faculty -> toId(faculty.getId()));
+                writeStrings(out, faculties.values(), Faculty::getName);
+            });
+            writeSection(out, header, SUBJECTS, () -> {
+                out.writeInt(subjects.size());
+                writeInts(out, subjects.values(), subject -> toId(subject.getId()));
+                writeStrings(out, subjects.values(), Subject::getName);
+                writeStrings(out, subjects.values(), Subject::getDescription);
+            });
+            writeSection(out, header, TEACHERS, () -> {
+                out.writeInt(teachers.size());
+                writeInts(out, teachers.values(), teacher -> toId(teacher.getId()));
+                writeStrings(out, teachers.values(), Teacher::getFirstName);
+                writeStrings(out, teachers.values(), Teacher::getLastName);
+                writeLists(out, teachers.values(), Teacher::getSubjects, subject -> toId(subject.getId()));
+            });
+            writeSection(out, header, GROUPS, () -> {
+                out.writeInt(groups.size());
+                writeInts(out, groups.values(), group -> toId(group.getId()));
+                writeStrings(out, groups.values(), Group::getName);
+                writeInts(out, groups.values(), group -> getFacultyId(group.getFaculty()));
+                writeLists(out, groups.values(), Group::getSubjects, subject -> toId(subject.getId()));
+            });
+            writeSection(out, header, CLASSROOMS, () -> {
+                out.writeInt(classRooms.size());
+                writeInts(out, classRooms.values(), classRoom -> toId(classRoom.getId()));
+                writeInts(out, classRooms.values(), ClassRoom::getBuildingNumber);
+                writeInts(out, classRooms.values(), ClassRoom::getRoomNumber);
+                writeInts(out, classRooms.values(), classRoom -> getFacultyId(classRoom.getFaculty()));
+            });
+            writeSection(out, header, SCHEDULES, () -> {
+                out.writeInt(schedules.size());
+                writeInts(out, schedules, schedule -> toId(schedule.getId()));
+                writeInts(out, schedules, schedule -> (int) schedule.getDate().toEpochDay());
+                writeInts(out, schedules, schedule -> getFacultyId(schedule.getFaculty()));
+                writeInts(out, schedules, schedule -> schedule.getLectures() == null ? -1 : schedule.getLectures().size());
+            });
+            writeSection(out, header, LECTURES, () -> {
+                out.writeInt(lectures.size());
+                writeInts(out, lectures, lecture -> toId(lecture.getId()));
+                writeTimes(out, lectures, Lecture::getStartTime);
+                writeTimes(out, lectures, Lecture::getEndTime);
+                writeInts(out, lectures, lecture -> lecture.getSubject() == null ? NONE : toId(lecture.getSubject().getId()));
+                writeInts(out, lectures, lecture -> lecture.getTeacher() == null ? NONE : toId(lecture.getTeacher().getId()));
+                writeInts(out, lectures, lecture -> lecture.getClassRoom() == null ? NONE
+                        : toId(lecture.getClassRoom().getId()));
+                writeLists(out, lectures, Lecture::getGroups, group -> toId(group.getId()));
+            });
+        }
+
+        private void writeSection(DataOutputStream out, ByteBuffer header, int section, SectionBody body)
+                throws IOException {
+            long offset = HEADER_SIZE + (long) out.size();
+            body.write();
+            header.putInt(section).putLong(offset).putLong(HEADER_SIZE + (long) out.size() - offset);
+        }
+
+        private int getFacultyId(Faculty faculty) {
+            return faculty == null ? NONE : toId(faculty.getId());
+        }
+
+        private <T> void writeInts(DataOutputStream out, Collection<T> rows, ToIntFunction<T> column) throws IOException {
+            for (T row : rows) {
+                out.writeInt(column.applyAsInt(row));
+            }
+        }
+
+        private void writeTimes(DataOutputStream out, Collection<Lecture> rows, Function<Lecture, LocalTime> column)
+                throws IOException {
+            for (Lecture row : rows) {
+                LocalTime time = column.apply(row);
+                out.writeLong(time == null ? -1 : time.toNanoOfDay());
+            }
+        }
+
+        private <T> void writeStrings(DataOutputStream out, Collection<T> rows, Function<T, String> column)
+                throws IOException {
+            List<byte[]> values = new ArrayList<>(rows.size());
+            int total = 0;
+            for (T row : rows) {
+                String value = column.apply(row);
+                byte[] bytes = value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+                values.add(bytes);
+                out.writeInt(bytes == null ? -1 : bytes.length);
+                total += bytes == null ? 0 : bytes.length;
+            }
+            out.writeInt(total);
+            for (byte[] bytes : values) {
+                if (bytes != null) {
+                    out.write(bytes);
+                }
+            }
+        }
+
+        private <T, E> void writeLists(DataOutputStream out, Collection<T> rows, Function<T, List<E>> column,
+                                       ToIntFunction<E> id) throws IOException {
+            int total = 0;
+            for (T row : rows) {
+                List<E> values = column.apply(row);
+                out.writeInt(values == null ? -1 : values.size());
+                total += values == null ? 0 : values.size();
+            }
+            out.writeInt(total);
+            for (T row : rows) {
+                List<E> values = column.apply(row);
+                if (values != null) {
+                    for (E value : values) {
+                        out.writeInt(id.applyAsInt(value));
+                    }
+                }
+            }
+        }
+    }
+
+    private interface SectionBody {
+        void write() throws IOException;
+    }
+
+    private static class Decoder {
+        private final Map<Integer, ByteBuffer> sections;
+        private final Map<Integer, Faculty> faculties = new HashMap<>();
+        private final Map<Integer, Subject> subjects = new HashMap<>();
+        private final Map<Integer, Teacher> teachers = new HashMap<>();
+        private final Map<Integer, Group> groups = new HashMap<>();
+        private final Map<Integer, ClassRoom> classRooms = new HashMap<>();
+
+        private Decoder(Map<Integer, ByteBuffer> sections) {
+            this.sections = sections;
+        }
+
+        private List<Schedule> readSchedules() {
+            readFaculties(sections.get(FACULTIES));
+            readSubjects(sections.get(SUBJECTS));
+            readTeachers(sections.get(TEACHERS));
+            readGroups(sections.get(GROUPS));
+            readClassRooms(sections.get(CLASSROOMS));
+            ByteBuffer section = sections.get(SCHEDULES);
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            int[] epochDays = readInts(section, size);
+            int[] facultyIds = readInts(section, size);
+            int[] lectureCounts = readInts(section, size);
+            List<Lecture> lectures = readLectures(sections.get(LECTURES));
+            List<Schedule> schedules = new ArrayList<>(size);
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                List<Lecture> scheduleLectures = null;
+                if (lectureCounts[i] >= 0) {
+                    scheduleLectures = new ArrayList<>(lectures.subList(next, next + lectureCounts[i]));
+                    next += lectureCounts[i];
+                }
+                schedules.add(new Schedule(fromId(ids[i]), scheduleLectures, LocalDate.ofEpochDay(epochDays[i]),
+                        faculties.get(facultyIds[i])));
+            }
+            return schedules;
+        }
+
+        private void readFaculties(ByteBuffer section) {
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            String[] names = readStrings(section, size);
+            for (int i = 0; i < size; i++) {
+                faculties.put(ids[i], new Faculty(fromId(ids[i]), names[i]));
+            }
+        }
+
+        private void readSubjects(ByteBuffer section) {
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            String[] names = readStrings(section, size);
+            String[] descriptions = readStrings(section, size);
+            for (int i = 0; i < size; i++) {
+                subjects.put(ids[i], new Subject(fromId(ids[i]), names[i], descriptions[i]));
+            }
+        }
+
+        private void readTeachers(ByteBuffer section) {
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            String[] firstNames = readStrings(section, size);
+            String[] lastNames = readStrings(section, size);
+            List<List<Subject>> teacherSubjects = readLists(section, size, subjects);
+            for (int i = 0; i < size; i++) {
+                teachers.put(ids[i], new Teacher(fromId(ids[i]), firstNames[i], lastNames[i], teacherSubjects.get(i)));
+            }
+        }
+
+        private void readGroups(ByteBuffer section) {
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            String[] names = readStrings(section, size);
+            int[] facultyIds = readInts(section, size);
+            List<List<Subject>> groupSubjects = readLists(section, size, subjects);
+            for (int i = 0; i < size; i++) {
+                groups.put(ids[i], new Group(fromId(ids[i]), names[i], groupSubjects.get(i), faculties.get(facultyIds[i])));
+            }
+        }
+
+        private void readClassRooms(ByteBuffer section) {
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            int[] buildingNumbers = readInts(section, size);
+            int[] roomNumbers = readInts(section, size);
+            int[] facultyIds = readInts(section, size);
+            for (int i = 0; i < size; i++) {
+                classRooms.put(ids[i], new ClassRoom(fromId(ids[i]), buildingNumbers[i], roomNumbers[i],
+                        faculties.get(facultyIds[i])));
+            }
+        }
+
+        private List<Lecture> readLectures(ByteBuffer section) {
+            int size = section.getInt();
+            int[] ids = readInts(section, size);
+            long[] startTimes = readLongs(section, size);
+            long[] endTimes = readLongs(section, size);
+            int[] subjectIds = readInts(section, size);
+            int[] teacherIds = readInts(section, size);
+            int[] classRoomIds = readInts(section, size);
+            List<List<Group>> lectureGroups = readLists(section, size, groups);
+            List<Lecture> lectures = new ArrayList<>(size);
+            for (int i = 0; i < size; i++) {
+                lectures.add(new Lecture(fromId(ids[i]), subjects.get(subjectIds[i]), teachers.get(teacherIds[i]),
+                        classRooms.get(classRoomIds[i]), lectureGroups.get(i), toTime(startTimes[i]),
+                        toTime(endTimes[i])));
+            }
+            return lectures;
+        }
+
+        private LocalTime toTime(long nanoOfDay) {
+            return nanoOfDay < 0 ? null : LocalTime.ofNanoOfDay(nanoOfDay);
+        }
+
+        private int[] readInts(ByteBuffer section, int size) {
+            int[] values = new int[size];
+            section.asIntBuffer().get(values);
+            section.position(section.position() + size * Integer.BYTES);
+            return values;
+        }
+
+        private long[] readLongs(ByteBuffer section, int size) {
+            long[] values = new long[size];
+            section.asLongBuffer().get(values);
+            section.position(section.position() + size * Long.BYTES);
+            return values;
+        }
+
+        private String[] readStrings(ByteBuffer section, int size) {
+            int[] lengths = readInts(section, size);
+            int total = section.getInt();
+            byte[] bytes = new byte[total];
+            section.get(bytes);
+            String[] values = new String[size];
+            int offset = 0;
+            for (int i = 0; i < size; i++) {
+                if (lengths[i] >= 0) {
+                    values[i] = new String(bytes, offset, lengths[i], StandardCharsets.UTF_8);
+                    offset += lengths[i];
+                }
+            }
+            return values;
+        }
+
+        private <E> List<List<E>> readLists(ByteBuffer section, int size, Map<Integer, E> dictionary) {
+            int[] counts = readInts(section, size);
+            int[] ids = readInts(section, section.getInt());
+            List<List<E>> lists = new ArrayList<>(size);
+            int next = 0;
+            for (int i = 0; i < size; i++) {
+                List<E> values = null;
+                if (counts[i] >= 0) {
+                    values = new ArrayList<>(counts[i]);
+                    for (int j = 0; j < counts[i]; j++) {
+                        values.add(dictionary.get(ids[next++]));
+                    }
+                }
+                lists.add(values);
+            }
+            return lists;
+        }
+    }
+}
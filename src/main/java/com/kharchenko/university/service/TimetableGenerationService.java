@@ -0,0 +1,18 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.GeneratedTimetable;
+import com.kharchenko.university.model.LectureDemand;
+import com.kharchenko.university.model.TimetableProgress;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.function.Consumer;
+
+public interface TimetableGenerationService {
+
+    GeneratedTimetable generate(Faculty faculty, LocalDate fromDate, LocalDate toDate, List<LectureDemand> demands);
+
+    GeneratedTimetable generate(Faculty faculty, LocalDate fromDate, LocalDate toDate, List<LectureDemand> demands,
+                                Consumer<TimetableProgress> listener);
+}
@@ -0,0 +1,355 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.exception.InvalidGroupException;
+import com.kharchenko.university.exception.InvalidTeacherException;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.GeneratedTimetable;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.LectureDemand;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TimeSlot;
+import com.kharchenko.university.model.TimetableProgress;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+public class TimetableGenerator {
+
+    private static final int CANDIDATES = 48;
+    private static final int RANDOM_PICKS = 16;
+    private static final int CHECK_INTERVAL = 1024;
+    private static final double NOISE = 0.02;
+
+    private final Faculty faculty;
+    private final List<LocalDate> days = new ArrayList<>();
+    private final List<TimeSlot> slots;
+    private final List<ClassRoom> classRooms = new ArrayList<>();
+    private final List<Teacher> teachers;
+    private final List<Group> groups = new ArrayList<>();
+    private final List<Subject> variableSubjects = new ArrayList<>();
+    private final int[] variableGroups;
+    private final int[][] variableTeachers;
+
+    public TimetableGenerator(Faculty faculty, LocalDate fromDate, LocalDate toDate, List<TimeSlot> slots,
+                              List<LectureDemand> demands, List<Teacher> teachers, List<ClassRoom> classRooms) {
+        this.faculty = faculty;
+        this.slots = slots;
+        this.teachers = teachers;
+        for (LocalDate date = fromDate; !date.isAfter(toDate); date = date.plusDays(1)) {
+            if (date.getDayOfWeek() != DayOfWeek.SATURDAY && date.getDayOfWeek() != DayOfWeek.SUNDAY) {
+                days.add(date);
+            }
+        }
+        for (ClassRoom classRoom : classRooms) {
+            if (faculty.equals(classRoom.getFaculty())) {
+                this.classRooms.add(classRoom);
+            }
+        }
+        Map<Integer, List<Integer>> teachersBySubject = new HashMap<>();
+        for (int i = 0; i < teachers.size(); i++) {
+            if (teachers.get(i).getSubjects() != null) {
+                for (Subject subject : teachers.get(i).getSubjects()) {
+                    teachersBySubject.computeIfAbsent(subject.getId(), id -> new ArrayList<>()).add(i);
+                }
+            }
+        }
+        Map<Integer, Integer> groupIndexes = new HashMap<>();
+        Map<Integer, Integer> groupLoads = new HashMap<>();
+        List<Integer> groupsOfVariables = new ArrayList<>();
+        List<int[]> teachersOfVariables = new ArrayList<>();
+        for (LectureDemand demand : demands) {
+            Group group = demand.getGroup();
+            Subject subject = demand.getSubject();
+            validateDemand(demand);
+            List<Integer> qualified = teachersBySubject.getOrDefault(subject.getId(), Collections.emptyList());
+            if (qualified.isEmpty()) {
+                throw new InvalidTeacherException("There is no teacher qualified in subject " + subject.getName());
+            }
+            int groupIndex = groupIndexes.computeIfAbsent(group.getId(), id -> {
+                groups.add(group);
+                return groups.size() - 1;
+            });
+            if (groupLoads.merge(group.getId(), demand.getLecturesCount(), Integer::sum) > days.size() * slots.size()) {
+                throw new InvalidEntityFieldException("The group " + group.getName()
+                        + " has more lectures than time slots in the period");
+            }
+            int[] qualifiedTeachers = qualified.stream().mapToInt(Integer::intValue).toArray();
+            for (int i = 0; i < demand.getLecturesCount(); i++) {
+                variableSubjects.add(subject);
+                groupsOfVariables.add(groupIndex);
+                teachersOfVariables.add(qualifiedTeachers);
+            }
+        }
+        if (!variableSubjects.isEmpty() && this.classRooms.isEmpty()) {
+            throw new InvalidEntityFieldException("The faculty doesn't have classrooms");
+        }
+        variableGroups = groupsOfVariables.stream().mapToInt(Integer::intValue).toArray();
+        variableTeachers = teachersOfVariables.toArray(new int[0][]);
+    }
+
+    public GeneratedTimetable generate(Duration budget, int workers) {
+        return generate(budget, workers, progress -> {
+        });
+    }
+
+    public GeneratedTimetable generate(Duration budget, int workers, Consumer<TimetableProgress> listener) {
+        return generate(budget, workers, listener, new SplittableRandom());
+    }
+
+    GeneratedTimetable generate(Duration budget, int workers, Consumer<TimetableProgress> listener,
+                                SplittableRandom seeds) {
+        Progress progress = new Progress(System.nanoTime(), budget, listener);
+        List<Search> searches = new ArrayList<>();
+        for (int i = 0; i < workers; i++) {
+            searches.add(new Search(seeds.split()));
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(workers);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (Search search : searches) {
+                futures.add(executor.submit(() -> search.run(progress)));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Timetable generation was interrupted", e);
+        } catch (ExecutionException e) {
+            throw new IllegalStateException("Timetable generation failed", e.getCause());
+        } finally {
+            executor.shutdownNow();
+        }
+        Search best = Collections.min(searches, Comparator.<Search>comparingInt(search -> search.bestConflicts)
+                .thenComparingLong(search -> search.bestSteps));
+        return new GeneratedTimetable(best.getSchedules(), best.bestConflicts, progress.iterations.get(),
+                best.bestSteps);
+    }
+
+    private void validateDemand(LectureDemand demand) {
+        if (demand.getGroup() == null || demand.getSubject() == null) {
+            throw new InvalidEntityFieldException("Demand's group and subject can't be null");
+        }
+        if (demand.getLecturesCount() < 0) {
+            throw new InvalidEntityFieldException("Demand's lectures count can't be negative");
+        }
+        if (!faculty.equals(demand.getGroup().getFaculty())) {
+            throw new InvalidEntityFieldException("The faculty's schedule must include only faculty's groups");
+        }
+        if (demand.getGroup().getSubjects() == null || !demand.getGroup().getSubjects().contains(demand.getSubject())) {
+            throw new InvalidGroupException("The group doesn't have this subject in its study program.");
+        }
+    }
+
+    private static class Progress {
+        private final long startNanos;
+        private final long deadlineNanos;
+        private final Consumer<TimetableProgress> listener;
+        private final AtomicBoolean solved = new AtomicBoolean();
+        private final AtomicLong iterations = new AtomicLong();
+        private int bestConflicts = Integer.MAX_VALUE;
+
+        private Progress(long startNanos, Duration budget, Consumer<TimetableProgress> listener) {
+            this.startNanos = startNanos;
+            this.deadlineNanos = startNanos + budget.toNanos();
+            this.listener = listener;
+        }
+
+        private boolean isOver() {
+            return solved.get() || System.nanoTime() > deadlineNanos;
+        }
+
+        private synchronized void improved(int conflicts) {
+            if (conflicts == 0) {
+                solved.set(true);
+            }
+            if (conflicts < bestConflicts) {
+                bestConflicts = conflicts;
+                listener.accept(new TimetableProgress(iterations.get(), conflicts,
+                        (System.nanoTime() - startNanos) / 1_000_000));
+            }
+        }
+    }
+
+    private class Search {
+        private final SplittableRandom random;
+        private final int slotsCount = slots.size();
+        private final int classRoomsCount = classRooms.size();
+        private final int teachersCount = teachers.size();
+        private final int groupsCount = groups.size();
+        private final int[] day = new int[variableGroups.length];
+        private final int[] slot = new int[variableGroups.length];
+        private final int[] classRoom = new int[variableGroups.length];
+        private final int[] teacher = new int[variableGroups.length];
+        private final int[] classRoomUse = new int[days.size() * slotsCount * classRoomsCount];
+        private final int[] teacherUse = new int[days.size() * slotsCount * teachersCount];
+        private final int[] groupUse = new int[days.size() * slotsCount * groupsCount];
+        private final int[][] best = new int[4][];
+        private int conflicts;
+        private int bestConflicts = Integer.MAX_VALUE;
+        private long steps;
+        private long bestSteps;
+
+        private Search(SplittableRandom random) {
+            this.random = random;
+        }
+
+        private void run(Progress progress) {
+            for (int variable = 0; variable < variableGroups.length; variable++) {
+                place(variable);
+            }
+            saveBest(progress);
+            while (conflicts > 0) {
+                if (++steps % CHECK_INTERVAL == 0) {
+                    progress.iterations.addAndGet(CHECK_INTERVAL);
+                    if (progress.isOver()) {
+                        break;
+                    }
+                }
+                int variable = pickConflicted();
+                unassign(variable);
+                if (random.nextDouble() < NOISE) {
+                    assign(variable, random.nextInt(days.size()), random.nextInt(slotsCount),
+                            random.nextInt(classRoomsCount), randomTeacher(variable));
+                } else {
+                    place(variable);
+                }
+                if (conflicts < bestConflicts) {
+                    saveBest(progress);
+                }
+            }
+            progress.iterations.addAndGet(steps % CHECK_INTERVAL);
+        }
+
+        private void place(int variable) {
+            int bestCost = Integer.MAX_VALUE;
+            int ties = 0;
+            int bestDay = 0;
+            int bestSlot = 0;
+            int bestClassRoom = 0;
+            int bestTeacher = 0;
+            for (int i = 0; i < CANDIDATES; i++) {
+                int candidateDay = random.nextInt(days.size());
+                int candidateSlot = random.nextInt(slotsCount);
+                int candidateClassRoom = random.nextInt(classRoomsCount);
+                int candidateTeacher = randomTeacher(variable);
+                int cost = cost(variable, candidateDay, candidateSlot, candidateClassRoom, candidateTeacher);
+                if (cost < bestCost) {
+                    ties = 0;
+                }
+                if (cost < bestCost || cost == bestCost && random.nextInt(++ties + 1) == 0) {
+                    bestCost = cost;
+                    bestDay = candidateDay;
+                    bestSlot = candidateSlot;
+                    bestClassRoom = candidateClassRoom;
+                    bestTeacher = candidateTeacher;
+                }
+            }
+            assign(variable, bestDay, bestSlot, bestClassRoom, bestTeacher);
+        }
+
+        private int pickConflicted() {
+            for (int i = 0; i < RANDOM_PICKS; i++) {
+                int variable = random.nextInt(variableGroups.length);
+                if (isConflicted(variable)) {
+                    return variable;
+                }
+            }
+            int start = random.nextInt(variableGroups.length);
+            for (int i = 0; i < variableGroups.length; i++) {
+                int variable = (start + i) % variableGroups.length;
+                if (isConflicted(variable)) {
+                    return variable;
+                }
+            }
+            return start;
+        }
+
+        private boolean isConflicted(int variable) {
+            int cell = day[variable] * slotsCount + slot[variable];
+            return classRoomUse[cell * classRoomsCount + classRoom[variable]] > 1
+                    || teacherUse[cell * teachersCount + teacher[variable]] > 1
+                    || groupUse[cell * groupsCount + variableGroups[variable]] > 1;
+        }
+
+        private int cost(int variable, int candidateDay, int candidateSlot, int candidateClassRoom, int candidateTeacher) {
+            int cell = candidateDay * slotsCount + candidateSlot;
+            return Math.min(classRoomUse[cell * classRoomsCount + candidateClassRoom], 1)
+                    + Math.min(teacherUse[cell * teachersCount + candidateTeacher], 1)
+                    + Math.min(groupUse[cell * groupsCount + variableGroups[variable]], 1);
+        }
+
+        private void assign(int variable, int newDay, int newSlot, int newClassRoom, int newTeacher) {
+            day[variable] = newDay;
+            slot[variable] = newSlot;
+            classRoom[variable] = newClassRoom;
+            teacher[variable] = newTeacher;
+            int cell = newDay * slotsCount + newSlot;
+            conflicts += Math.min(classRoomUse[cell * classRoomsCount + newClassRoom]++, 1)
+                    + Math.min(teacherUse[cell * teachersCount + newTeacher]++, 1)
+                    + Math.min(groupUse[cell * groupsCount + variableGroups[variable]]++, 1);
+        }
+
+        private void unassign(int variable) {
+            int cell = day[variable] * slotsCount + slot[variable];
+            conflicts -= Math.min(--classRoomUse[cell * classRoomsCount + classRoom[variable]], 1)
+                    + Math.min(--teacherUse[cell * teachersCount + teacher[variable]], 1)
+                    + Math.min(--groupUse[cell * groupsCount + variableGroups[variable]], 1);
+        }
+
+        private int randomTeacher(int variable) {
+            int[] qualified = variableTeachers[variable];
+            return qualified[random.nextInt(qualified.length)];
+        }
+
+        private void saveBest(Progress progress) {
+            bestConflicts = conflicts;
+            bestSteps = steps;
+            best[0] = day.clone();
+            best[1] = slot.clone();
+            best[2] = classRoom.clone();
+            best[3] = teacher.clone();
+            progress.improved(conflicts);
+        }
+
+        private List<Schedule> getSchedules() {
+            List<List<Lecture>> dayLectures = new ArrayList<>();
+            for (int i = 0; i < days.size(); i++) {
+                dayLectures.add(new ArrayList<>());
+            }
+            for (int variable = 0; variable < variableGroups.length; variable++) {
+                TimeSlot timeSlot = slots.get(best[1][variable]);
+                dayLectures.get(best[0][variable]).add(new Lecture(null, variableSubjects.get(variable),
+                        teachers.get(best[3][variable]), classRooms.get(best[2][variable]),
+                        Collections.singletonList(groups.get(variableGroups[variable])),
+                        timeSlot.getStartTime(), timeSlot.getEndTime()));
+            }
+            List<Schedule> schedules = new ArrayList<>();
+            for (int i = 0; i < days.size(); i++) {
+                dayLectures.get(i).sort(Comparator.comparing(Lecture::getStartTime));
+                schedules.add(new Schedule(null, dayLectures.get(i), days.get(i), faculty));
+            }
+            return schedules;
+        }
+    }
+}
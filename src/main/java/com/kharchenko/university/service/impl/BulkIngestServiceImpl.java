@@ -0,0 +1,191 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.BulkIngestDao;
+import com.kharchenko.university.dao.LectureDao;
+import com.kharchenko.university.exception.EnitityAlreadyExistsException;
+import com.kharchenko.university.exception.EntityNotFoundException;
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.exception.InvalidGroupException;
+import com.kharchenko.university.exception.InvalidTeacherException;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.IngestReport;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.service.BatchValidator;
+import com.kharchenko.university.service.BulkIngestService;
+import com.kharchenko.university.service.LectureService;
+import com.kharchenko.university.service.ScheduleService;
+import com.kharchenko.university.service.TimeTableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+@Service
+public class BulkIngestServiceImpl implements BulkIngestService {
+
+    @Autowired
+    private BulkIngestDao bulkIngestDao;
+    @Autowired
+    private TimeTableService timeTableService;
+    @Autowired
+    private LectureDao lectureDao;
+    @Autowired
+    private LectureService lectureService;
+    @Autowired
+    private ScheduleService scheduleService;
+
+    @Override
+    public IngestReport ingestStudents(List<Student> students) {
+        Set<Integer> groupIds = new HashSet<>();
+        for (Student student : students) {
+            if (student.getFirstName() == null || student.getLastName() == null) {
+                throw new InvalidEntityFieldException("Student's name can't be null");
+            }
+            if (student.getGroup() == null || student.getGroup().getId() == null) {
+                throw new InvalidEntityFieldException("Student's group must be saved before bulk ingest");
+            }
+            groupIds.add(student.getGroup().getId());
+        }
+        checkIfExist("groups", groupIds);
+        return measure(() -> bulkIngestDao.copyStudents(students));
+    }
+
+    @Override
+    public IngestReport ingestLectures(List<Lecture> lectures) {
+        Set<Integer> subjectIds = new HashSet<>();
+        Set<Integer> teacherIds = new HashSet<>();
+        Set<Integer> classRoomIds = new HashSet<>();
+        Set<Integer> groupIds = new HashSet<>();
+        List<int[]> teacherSubjects = new ArrayList<>();
+        List<int[]> groupSubjects = new ArrayList<>();
+        new BatchValidator<>("lecture", this::validateLectureFields, LectureServiceImpl::getUniqueKey,
+                lectureDao::getIndexesWithSameFields).check(lectures);
+        for (Lecture lecture : lectures) {
+            subjectIds.add(lecture.getSubject().getId());
+            teacherIds.add(lecture.getTeacher().getId());
+            classRoomIds.add(lecture.getClassRoom().getId());
+            teacherSubjects.add(new int[]{lecture.getTeacher().getId(), lecture.getSubject().getId()});
+            for (Group group : lecture.getGroups()) {
+                if (group.getId() == null) {
+                    throw new InvalidEntityFieldException("Lecture's groups must be saved before bulk ingest");
+                }
+                groupIds.add(group.getId());
+                groupSubjects.add(new int[]{group.getId(), lecture.getSubject().getId()});
+            }
+        }
+        checkIfExist("subjects", subjectIds);
+        checkIfExist("teachers", teacherIds);
+        checkIfExist("classrooms", classRoomIds);
+        checkIfExist("groups", groupIds);
+        List<int[]> unqualifiedTeachers = bulkIngestDao.getMissingSubjectLinks("teachers_subjects", teacherSubjects);
+        if (!unqualifiedTeachers.isEmpty()) {
+            throw new InvalidTeacherException("The teacher with id " + unqualifiedTeachers.get(0)[0] +
+                    " is not qualified in the subject with id " + unqualifiedTeachers.get(0)[1]);
+        }
+        List<int[]> unlearnedSubjects = bulkIngestDao.getMissingSubjectLinks("groups_subjects", groupSubjects);
+        if (!unlearnedSubjects.isEmpty()) {
+            throw new InvalidGroupException("The group with id " + unlearnedSubjects.get(0)[0] +
+                    " doesn't have the subject with id " + unlearnedSubjects.get(0)[1] + " in its study program.");
+        }
+        return measure(() -> bulkIngestDao.copyLectures(lectures));
+    }
+
+    @Override
+    public IngestReport ingestSchedules(List<Schedule> schedules) {
+        Set<Integer> facultyIds = new HashSet<>();
+        Set<Integer> lectureIds = new HashSet<>();
+        Set<LocalDate> dates = new HashSet<>();
+        for (Schedule schedule : schedules) {
+            validateScheduleFields(schedule);
+            if (!dates.add(schedule.getDate())) {
+                throw new EnitityAlreadyExistsException("Schedule with date " + schedule.getDate() + " is already exists");
+            }
+            facultyIds.add(schedule.getFaculty().getId());
+            if (schedule.getLectures() != null) {
+                for (Lecture lecture : schedule.getLectures()) {
+                    if (lecture == null || lecture.getId() == null) {
+                        throw new InvalidEntityFieldException("Schedule's lectures must be saved before bulk ingest");
+                    }
+                    lectureIds.add(lecture.getId());
+                }
+            }
+        }
+        List<LocalDate> existingDates = bulkIngestDao.getExistingScheduleDates(dates);
+        if (!existingDates.isEmpty()) {
+            throw new EnitityAlreadyExistsException("Schedule with date " + existingDates.get(0) + " is already exists");
+        }
+        checkIfExist("faculties", facultyIds);
+        scheduleService.checkAll(withSavedLectures(schedules, lectureIds));
+        IngestReport report = measure(() -> bulkIngestDao.copySchedules(schedules));
+        timeTableService.reload();
+        return report;
+    }
+
+    private List<Schedule> withSavedLectures(List<Schedule> schedules, Set<Integer> lectureIds) {
+        Map<Integer, Lecture> lectures = lectureService.getByIds(lectureIds).stream()
+                .collect(Collectors.toMap(Lecture::getId, Function.identity()));
+        return schedules.stream()
+                .map(schedule -> new Schedule(schedule.getId(), schedule.getLectures() == null ? null :
+                        schedule.getLectures().stream()
+                                .map(lecture -> lectures.get(lecture.getId()))
+                                .collect(Collectors.toList()), schedule.getDate(), schedule.getFaculty()))
+                .collect(Collectors.toList());
+    }
+
+    private IngestReport measure(Supplier<Map<String, Long>> copy) {
+        long start = System.nanoTime();
+        Map<String, Long> copiedRows = copy.get();
+        return new IngestReport(copiedRows, (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void checkIfExist(String tableName, Set<Integer> ids) {
+        List<Integer> missingIds = bulkIngestDao.getMissingIds(tableName, ids);
+        if (!missingIds.isEmpty()) {
+            throw new EntityNotFoundException("Some of " + tableName + " don't exist with ids " + missingIds);
+        }
+    }
+
+    private void validateLectureFields(Lecture lecture) {
+        if (lecture.getSubject() == null || lecture.getSubject().getId() == null) {
+            throw new InvalidEntityFieldException("Lecture's subject must be saved before bulk ingest");
+        }
+        if (lecture.getTeacher() == null || lecture.getTeacher().getId() == null) {
+            throw new InvalidEntityFieldException("Lecture's teacher must be saved before bulk ingest");
+        }
+        if (lecture.getClassRoom() == null || lecture.getClassRoom().getId() == null) {
+            throw new InvalidEntityFieldException("Lecture's classroom must be saved before bulk ingest");
+        }
+        if (lecture.getStartTime() == null) {
+            throw new InvalidEntityFieldException("Lecture's start time can't be null");
+        }
+        if (lecture.getEndTime() == null) {
+            throw new InvalidEntityFieldException("Lecture's end time can't be null");
+        }
+        if (lecture.getGroups() == null) {
+            lecture.setGroups(new ArrayList<>());
+        }
+    }
+
+    private void validateScheduleFields(Schedule schedule) {
+        if (schedule.getDate() == null) {
+            throw new InvalidEntityFieldException("Schedule's date can't be null");
+        }
+        if (schedule.getFaculty() == null || schedule.getFaculty().getId() == null) {
+            throw new InvalidEntityFieldException("Schedule's faculty must be saved before bulk ingest");
+        }
+        if (schedule.getDate().getDayOfWeek() == DayOfWeek.SATURDAY || schedule.getDate().getDayOfWeek() == DayOfWeek.SUNDAY) {
+            throw new InvalidEntityFieldException("Lectures mustn't be on the weekend");
+        }
+    }
+}
@@ -0,0 +1,139 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.service.CalendarService;
+import com.kharchenko.university.service.ICalendarWriter;
+import com.kharchenko.university.service.TimeTableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.Month;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.util.Base64;
+import java.util.List;
+
+@Service
+public class CalendarServiceImpl implements CalendarService {
+
+    private static final ZonedDateTime TAG_TIMESTAMP = Instant.EPOCH.atZone(ZoneOffset.UTC);
+
+    @Autowired
+    private TimeTableService timeTableService;
+
+    @Override
+    public String getTeacherTag(Teacher teacher, Month month) {
+        return getTag("teacher-" + teacher.getId(), getName(teacher),
+                timeTableService.getTeacherMonthSchedule(teacher, month));
+    }
+
+    @Override
+    public String getTeacherTag(Teacher teacher, LocalDate fromDate, LocalDate toDate) {
+        validatePeriod(fromDate, toDate);
+        return getTag("teacher-" + teacher.getId(), getName(teacher),
+                timeTableService.getTeacherSchedule(teacher, fromDate, toDate));
+    }
+
+    @Override
+    public String getStudentTag(Student student, Month month) {
+        return getTag("student-" + student.getId(), getName(student),
+                timeTableService.getStudentMonthSchedule(student, month));
+    }
+
+    @Override
+    public String getStudentTag(Student student, LocalDate fromDate, LocalDate toDate) {
+        validatePeriod(fromDate, toDate);
+        return getTag("student-" + student.getId(), getName(student),
+                timeTableService.getStudentSchedule(student, fromDate, toDate));
+    }
+
+    @Override
+    public void writeTeacherCalendar(Teacher teacher, Month month, Writer writer) throws IOException {
+        new ICalendarWriter(writer).writeCalendar(getName(teacher),
+                timeTableService.getTeacherMonthSchedule(teacher, month));
+    }
+
+    @Override
+    public void writeTeacherCalendar(Teacher teacher, LocalDate fromDate, LocalDate toDate, Writer writer) throws IOException {
+        validatePeriod(fromDate, toDate);
+        new ICalendarWriter(writer).writeCalendar(getName(teacher),
+                timeTableService.getTeacherSchedule(teacher, fromDate, toDate));
+    }
+
+    @Override
+    public void writeStudentCalendar(Student student, Month month, Writer writer) throws IOException {
+        new ICalendarWriter(writer).writeCalendar(getName(student),
+                timeTableService.getStudentMonthSchedule(student, month));
+    }
+
+    @Override
+    public void writeStudentCalendar(Student student, LocalDate fromDate, LocalDate toDate, Writer writer) throws IOException {
+        validatePeriod(fromDate, toDate);
+        new ICalendarWriter(writer).writeCalendar(getName(student),
+                timeTableService.getStudentSchedule(student, fromDate, toDate));
+    }
+
+    private String getTag(String owner, String name, List<Schedule> schedules) {
+        DigestWriter writer = new DigestWriter();
+        try {
+            new ICalendarWriter(writer, TAG_TIMESTAMP).writeCalendar(name, schedules);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return owner + "-" + Base64.getUrlEncoder().withoutPadding().encodeToString(writer.digest.digest());
+    }
+
+    private String getName(Teacher teacher) {
+        return teacher.getFirstName() + " " + teacher.getLastName();
+    }
+
+    private String getName(Student student) {
+        return student.getFirstName() + " " + student.getLastName();
+    }
+
+    private void validatePeriod(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null) {
+            throw new InvalidEntityFieldException("Period's dates can't be null");
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidEntityFieldException("Period's start date can't be after its end date");
+        }
+    }
+
+    private static class DigestWriter extends Writer {
+        private final MessageDigest digest;
+
+        private DigestWriter() {
+            try {
+                digest = MessageDigest.getInstance("SHA-256");
+            } catch (NoSuchAlgorithmException e) {
+                throw new IllegalStateException(e);
+            }
+        }
+
+        @Override
+        public void write(char[] buffer, int offset, int length) {
+            digest.update(StandardCharsets.UTF_8.encode(CharBuffer.wrap(buffer, offset, length)));
+        }
+
+        @Override
+        public void flush() {
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+}
@@ -9,10 +9,19 @@ import com.kharchenko.university.exception.InvalidEntityFieldException;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.service.ClassRoomService;
+import com.kharchenko.university.service.OccupancyGrid;
+import com.kharchenko.university.service.TimeTableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class ClassRoomServiceImpl implements ClassRoomService {
@@ -21,11 +30,18 @@ public class ClassRoomServiceImpl implements ClassRoomService {
     private ClassRoomDao classRoomDao;
     @Autowired
     private LectureDao lectureDao;
+    @Autowired
+    private TimeTableService timeTableService;
 
     @Override
     public ClassRoom add(ClassRoom classRoom) {
         validateClassRoom(classRoom);
-        return classRoomDao.add(classRoom);
+        try {
+            return classRoomDao.add(classRoom);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Classroom with building number " + classRoom.getBuildingNumber()
+                    + " and room number " + classRoom.getRoomNumber() + " is already exists");
+        }
     }
 
     @Override
@@ -33,18 +49,43 @@ public class ClassRoomServiceImpl implements ClassRoomService {
         return classRoomDao.getAll();
     }
 
+    @Override
+    public List<ClassRoom> getPage(Integer afterId, int limit) {
+        return classRoomDao.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<ClassRoom> getPage(Integer afterId, int limit, String sortKey) {
+        return classRoomDao.getPage(afterId, limit, sortKey);
+    }
+
     @Override
     public ClassRoom getById(Integer id) {
         return classRoomDao.getById(id).orElseThrow(() -> new EntityNotFoundException("Classroom doesn't exist with id " + id));
     }
 
+    @Override
+    public List<ClassRoom> getByIds(Collection<Integer> ids) {
+        List<ClassRoom> classRooms = classRoomDao.getByIds(ids);
+        if (classRooms.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of classrooms don't exist with ids " + ids);
+        }
+        return classRooms;
+    }
+
     @Override
     public void update(ClassRoom classRoom) {
         if (classRoom.getId() == null) {
             throw new EntityNotFoundException("Classroom doesn't exist with id " + classRoom.getId());
         }
         validateClassRoom(classRoom);
-        classRoomDao.update(classRoom);
+        try {
+            classRoomDao.update(classRoom);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Classroom with building number " + classRoom.getBuildingNumber()
+                    + " and room number " + classRoom.getRoomNumber() + " is already exists");
+        }
+        timeTableService.classRoomChanged(classRoom);
     }
 
     @Override
@@ -57,11 +98,15 @@ public class ClassRoomServiceImpl implements ClassRoomService {
     }
 
     @Override
-    public void addAll(List<ClassRoom> classRooms) {
+    public List<ClassRoom> addAll(List<ClassRoom> classRooms) {
         for (ClassRoom classRoom : classRooms) {
             validateClassRoom(classRoom);
         }
-        classRoomDao.addAll(classRooms);
+        try {
+            return classRoomDao.addAll(classRooms);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Some of classrooms already exist");
+        }
     }
 
     @Override
@@ -74,17 +119,27 @@ public class ClassRoomServiceImpl implements ClassRoomService {
         return classRoomDao.getByFaculty(faculty);
     }
 
+    @Override
+    public List<ClassRoom> findFree(LocalDate date, LocalTime startTime, LocalTime endTime, Faculty faculty) {
+        if (faculty == null) {
+            throw new InvalidEntityFieldException("Faculty can't be null");
+        }
+        OccupancyGrid.validateInterval(date, startTime, endTime);
+        BitSet occupied = timeTableService.getOccupancy(date).getOccupiedClassRooms(startTime, endTime);
+        return classRoomDao.getByFaculty(faculty).stream()
+                .filter(classRoom -> !occupied.get(classRoom.getId()))
+                .collect(Collectors.toList());
+    }
+
     private void checkIfUnique(ClassRoom classRoom) {
-        List<ClassRoom> classRooms = classRoomDao.getByBuildingNumber(classRoom.getBuildingNumber());
-        if (classRooms.stream().mapToInt(ClassRoom::getRoomNumber)
-                .anyMatch(roomNumber -> roomNumber == classRoom.getRoomNumber())) {
+        if (classRoomDao.existsByBuildingNumberAndRoomNumber(classRoom.getBuildingNumber(), classRoom.getRoomNumber())) {
             throw new EnitityAlreadyExistsException("Classroom with building number " + classRoom.getBuildingNumber()
                     + " and room number " + classRoom.getRoomNumber() + " is already exists");
         }
     }
 
     private boolean hasLectures(ClassRoom classRoom) {
-        return !lectureDao.getByClassRoom(classRoom).isEmpty();
+        return lectureDao.existsByClassRoom(classRoom);
     }
 
     private void validateClassRoom(ClassRoom classRoom) {
@@ -11,8 +11,11 @@ import com.kharchenko.university.exception.InvalidEntityFieldException;
 import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.service.FacultyService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 @Service
@@ -31,7 +34,11 @@ public class FacultyServiceImpl implements FacultyService {
     @Override
     public Faculty add(Faculty faculty) {
         validateFaculty(faculty);
-        return facultyDao.add(faculty);
+        try {
+            return facultyDao.add(faculty);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Faculty with name " + faculty.getName() + " is already exists");
+        }
     }
 
     @Override
@@ -39,18 +46,41 @@ public class FacultyServiceImpl implements FacultyService {
         return facultyDao.getAll();
     }
 
+    @Override
+    public List<Faculty> getPage(Integer afterId, int limit) {
+        return facultyDao.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Faculty> getPage(Integer afterId, int limit, String sortKey) {
+        return facultyDao.getPage(afterId, limit, sortKey);
+    }
+
     @Override
     public Faculty getById(Integer id) {
         return facultyDao.getById(id).orElseThrow(() -> new EntityNotFoundException("Faculty doesn't exist with id " + id));
     }
 
+    @Override
+    public List<Faculty> getByIds(Collection<Integer> ids) {
+        List<Faculty> faculties = facultyDao.getByIds(ids);
+        if (faculties.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of faculties don't exist with ids " + ids);
+        }
+        return faculties;
+    }
+
     @Override
     public void update(Faculty faculty) {
         if (faculty.getId() == null) {
             throw new EntityNotFoundException("Faculty doesn't exist with id " + faculty.getId());
         }
         validateFaculty(faculty);
-        facultyDao.update(faculty);
+        try {
+            facultyDao.update(faculty);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Faculty with name " + faculty.getName() + " is already exists");
+        }
     }
 
     @Override
@@ -69,11 +99,15 @@ public class FacultyServiceImpl implements FacultyService {
     }
 
     @Override
-    public void addAll(List<Faculty> faculties) {
+    public List<Faculty> addAll(List<Faculty> faculties) {
         for (Faculty faculty : faculties) {
             validateFaculty(faculty);
         }
-        facultyDao.addAll(faculties);
+        try {
+            return facultyDao.addAll(faculties);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Some of faculties already exist");
+        }
     }
 
     private void validateFacultyFields(Faculty faculty) {
@@ -83,8 +117,7 @@ public class FacultyServiceImpl implements FacultyService {
     }
 
     private void checkIfUnique(Faculty faculty) {
-        if (facultyDao.getAll().stream().map(Faculty::getName)
-                .anyMatch(name -> name.equals(faculty.getName()))) {
+        if (facultyDao.existsByName(faculty.getName())) {
             throw new EnitityAlreadyExistsException("Faculty with name " + faculty.getName() + " is already exists");
         }
     }
@@ -95,14 +128,14 @@ public class FacultyServiceImpl implements FacultyService {
     }
 
     private boolean hasSchedules(Faculty faculty) {
-        return !scheduleDao.getByFaculty(faculty).isEmpty();
+        return scheduleDao.existsByFaculty(faculty);
     }
 
     private boolean hasClassRooms(Faculty faculty) {
-        return !classRoomDao.getByFaculty(faculty).isEmpty();
+        return classRoomDao.existsByFaculty(faculty);
     }
 
     private boolean hasGroups(Faculty faculty) {
-        return !groupDao.getByFaculty(faculty).isEmpty();
+        return groupDao.existsByFaculty(faculty);
     }
 }
\ No newline at end of file
@@ -11,10 +11,15 @@ import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.dto.GroupSummary;
 import com.kharchenko.university.service.GroupService;
+import com.kharchenko.university.service.TimeTableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 @Service
@@ -26,11 +31,17 @@ public class GroupServiceImpl implements GroupService {
     private StudentDao studentDao;
     @Autowired
     private LectureDao lectureDao;
+    @Autowired
+    private TimeTableService timeTableService;
 
     @Override
     public Group add(Group group) {
         validateGroup(group);
-        return groupDao.add(group);
+        try {
+            return groupDao.add(group);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Group with name " + group.getName() + " is already exists");
+        }
     }
 
     @Override
@@ -38,18 +49,42 @@ public class GroupServiceImpl implements GroupService {
         return groupDao.getAll();
     }
 
+    @Override
+    public List<Group> getPage(Integer afterId, int limit) {
+        return groupDao.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Group> getPage(Integer afterId, int limit, String sortKey) {
+        return groupDao.getPage(afterId, limit, sortKey);
+    }
+
     @Override
     public Group getById(Integer id) {
         return groupDao.getById(id).orElseThrow(() -> new EntityNotFoundException("Group doesn't exist with id " + id));
     }
 
+    @Override
+    public List<Group> getByIds(Collection<Integer> ids) {
+        List<Group> groups = groupDao.getByIds(ids);
+        if (groups.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of groups don't exist with ids " + ids);
+        }
+        return groups;
+    }
+
     @Override
     public void update(Group group) {
         if (group.getId() == null) {
             throw new EntityNotFoundException("Group doesn't exist with id " + group.getId());
         }
         validateGroup(group);
-        groupDao.update(group);
+        try {
+            groupDao.update(group);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Group with name " + group.getName() + " is already exists");
+        }
+        timeTableService.groupChanged(group);
     }
 
     @Override
@@ -68,21 +103,27 @@ public class GroupServiceImpl implements GroupService {
     }
 
     @Override
-    public void addAll(List<Group> groups) {
+    public List<Group> addAll(List<Group> groups) {
         for (Group group : groups) {
             validateGroup(group);
         }
-        groupDao.addAll(groups);
+        try {
+            return groupDao.addAll(groups);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Some of groups already exist");
+        }
     }
 
     @Override
     public void addLectureToGroup(Lecture lecture, Group group) {
         groupDao.addLectureToGroup(lecture, group);
+        timeTableService.lectureChanged(lecture);
     }
 
     @Override
     public void removeLectureFromGroup(Lecture lecture, Group group) {
         groupDao.removeLectureFromGroup(lecture, group);
+        timeTableService.lectureChanged(lecture);
     }
 
     @Override
@@ -95,6 +136,11 @@ public class GroupServiceImpl implements GroupService {
         return groupDao.getByFaculty(faculty);
     }
 
+    @Override
+    public List<GroupSummary> getSummaries() {
+        return groupDao.getSummaries();
+    }
+
     private void validateGroup(Group group) {
         validateGroupFields(group);
         checkIfUnique(group);
@@ -110,8 +156,7 @@ public class GroupServiceImpl implements GroupService {
     }
 
     private void checkIfUnique(Group group) {
-        if (groupDao.getAll().stream().map(Group::getName)
-                .anyMatch(name -> name.equals(group.getName()))) {
+        if (groupDao.existsByName(group.getName())) {
             throw new EnitityAlreadyExistsException("Group with name " + group.getName() + " is already exists");
         }
     }
@@ -121,10 +166,10 @@ public class GroupServiceImpl implements GroupService {
     }
 
     private boolean hasStudents(Group group) {
-        return !studentDao.getGroupStudents(group).isEmpty();
+        return studentDao.existsByGroup(group);
     }
 
     private boolean hasLectures(Group group) {
-        return !lectureDao.getGroupLectures(group).isEmpty();
+        return lectureDao.existsByGroup(group);
     }
 }
@@ -10,18 +10,31 @@ import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
 import com.kharchenko.university.exception.InvalidTeacherException;
 import com.kharchenko.university.exception.InvalidGroupException;
-import com.kharchenko.university.exception.InvalidClassRoomException;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.RowError;
+import com.kharchenko.university.model.dto.LectureSummary;
+import com.kharchenko.university.service.BatchValidator;
+import com.kharchenko.university.service.LectureConflictIndex;
 import com.kharchenko.university.service.LectureService;
+import com.kharchenko.university.service.TimeTableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 public class LectureServiceImpl implements LectureService {
@@ -34,11 +47,17 @@ public class LectureServiceImpl implements LectureService {
     private GroupDao groupDao;
     @Autowired
     private ScheduleDao scheduleDao;
+    @Autowired
+    private TimeTableService timeTableService;
 
     @Override
     public Lecture add(Lecture lecture) {
         validateLecture(lecture);
-        return lectureDao.add(lecture);
+        try {
+            return lectureDao.add(lecture);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("The lecture is already exists");
+        }
     }
 
     @Override
@@ -46,21 +65,45 @@ public class LectureServiceImpl implements LectureService {
         return getWithAllFields(lectureDao.getAll());
     }
 
+    @Override
+    public List<Lecture> getPage(Integer afterId, int limit) {
+        return getWithAllFields(lectureDao.getPage(afterId, limit));
+    }
+
+    @Override
+    public List<Lecture> getPage(Integer afterId, int limit, String sortKey) {
+        return getWithAllFields(lectureDao.getPage(afterId, limit, sortKey));
+    }
+
     @Override
     public Lecture getById(Integer id) {
         Lecture lecture = lectureDao.getById(id)
                 .orElseThrow(() -> new EntityNotFoundException("The lecture doesn't exist with id " + id));
-        setAbsentFields(lecture);
+        getWithAllFields(Collections.singletonList(lecture));
         return lecture;
     }
 
+    @Override
+    public List<Lecture> getByIds(Collection<Integer> ids) {
+        List<Lecture> lectures = lectureDao.getByIds(ids);
+        if (lectures.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of lectures don't exist with ids " + ids);
+        }
+        return getWithAllFields(lectures);
+    }
+
     @Override
     public void update(Lecture lecture) {
         if (lecture.getId() == null) {
             throw new EntityNotFoundException("The lecture doesn't exist with id " + lecture.getId());
         }
         validateLecture(lecture);
-        lectureDao.update(lecture);
+        try {
+            lectureDao.update(lecture);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("The lecture is already exists");
+        }
+        timeTableService.lectureChanged(lecture);
     }
 
     @Override
@@ -76,30 +119,34 @@ public class LectureServiceImpl implements LectureService {
     }
 
     @Override
-    public void addAll(List<Lecture> lectures) {
-        for (Lecture lecture : lectures) {
-            validateLecture(lecture);
+    public List<Lecture> addAll(List<Lecture> lectures) {
+        getBatchValidator().check(lectures);
+        try {
+            return lectureDao.addAll(lectures);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Some of lectures already exist");
         }
-        lectureDao.addAll(lectures);
+    }
+
+    @Override
+    public List<RowError> validateAll(List<Lecture> lectures) {
+        return getBatchValidator().validate(lectures);
     }
 
     @Override
     public void addLectureToSchedule(Lecture lecture, Schedule schedule) {
-        if (!isClassRoomFree(lecture, schedule)) {
-            throw new InvalidClassRoomException("The classroom has already occupied at this time.");
-        }
-        if (!isTeacherFree(lecture, schedule)) {
-            throw new InvalidTeacherException("The teacher already has lecture at this time.");
-        }
-        if (!isGroupFree(lecture, schedule)) {
-            throw new InvalidGroupException("The group already has lecture at this time.");
+        LectureConflictIndex conflictIndex = timeTableService.getConflictIndex(schedule.getDate());
+        if (!conflictIndex.contains(lecture)) {
+            conflictIndex.checkFree(lecture);
         }
         lectureDao.addLectureToSchedule(lecture, schedule);
+        timeTableService.scheduleChanged(schedule);
     }
 
     @Override
     public void removeLectureFromSchedule(Lecture lecture, Schedule schedule) {
         lectureDao.removeLectureFromSchedule(lecture, schedule);
+        timeTableService.scheduleChanged(schedule);
     }
 
     @Override
@@ -122,50 +169,42 @@ public class LectureServiceImpl implements LectureService {
         return getWithAllFields(lectureDao.getGroupLectures(group));
     }
 
-    private void setAbsentFields(Lecture lecture) {
-        Teacher teacher = teacherDao.getById(lecture.getTeacher().getId())
-                .orElseThrow(() -> new EntityNotFoundException("The teacher doesn't exist with id " + lecture.getTeacher().getId()));
+    @Override
+    public List<LectureSummary> getSummaryPage(Integer afterId, int limit, String sortKey) {
+        return lectureDao.getSummaryPage(afterId, limit, sortKey);
+    }
+
+    private void setAbsentFields(Lecture lecture, Map<Integer, Teacher> teachers, Map<Integer, Group> groups) {
+        Teacher teacher = teachers.get(lecture.getTeacher().getId());
+        if (teacher == null) {
+            throw new EntityNotFoundException("The teacher doesn't exist with id " + lecture.getTeacher().getId());
+        }
         lecture.getTeacher().setSubjects(teacher.getSubjects());
-        if (!lecture.getGroups().isEmpty()) {
-            for (Group lectureGroup : lecture.getGroups()) {
-                Group group = groupDao.getById(lectureGroup.getId())
-                        .orElseThrow(() -> new EntityNotFoundException("The group doesn't exist with id " + lectureGroup.getId()));
-                lectureGroup.setSubjects(group.getSubjects());
+        for (Group lectureGroup : lecture.getGroups()) {
+            Group group = groups.get(lectureGroup.getId());
+            if (group == null) {
+                throw new EntityNotFoundException("The group doesn't exist with id " + lectureGroup.getId());
             }
+            lectureGroup.setSubjects(group.getSubjects());
+            lectureGroup.setFaculty(group.getFaculty());
         }
     }
 
     private List<Lecture> getWithAllFields(List<Lecture> lectures) {
+        Set<Integer> teacherIds = new HashSet<>();
+        Set<Integer> groupIds = new HashSet<>();
         for (Lecture lecture : lectures) {
-            setAbsentFields(lecture);
+            teacherIds.add(lecture.getTeacher().getId());
+            lecture.getGroups().forEach(group -> groupIds.add(group.getId()));
         }
-        return lectures;
-    }
-
-    private boolean isClassRoomFree(Lecture lecture, Schedule schedule) {
-        return schedule.getLectures().stream()
-                .filter(l -> l.getClassRoom().equals(lecture.getClassRoom()))
-                .noneMatch(l -> l.getStartTime().equals(lecture.getStartTime()) &&
-                        l.getEndTime().equals(lecture.getEndTime()) && !l.getId().equals(lecture.getId()));
-    }
-
-    private boolean isTeacherFree(Lecture lecture, Schedule schedule) {
-        return schedule.getLectures().stream()
-                .filter(l -> l.getTeacher().equals(lecture.getTeacher()))
-                .noneMatch(l -> l.getStartTime().equals(lecture.getStartTime()) &&
-                        l.getEndTime().equals(lecture.getEndTime()) && !l.getId().equals(lecture.getId()));
-    }
-
-    private boolean isGroupFree(Lecture lecture, Schedule schedule) {
-        for (Group group : lecture.getGroups()) {
-            if (schedule.getLectures().stream()
-                    .filter(l -> l.getGroups().contains(group))
-                    .anyMatch(l -> l.getStartTime().equals(lecture.getStartTime()) &&
-                            l.getEndTime().equals(lecture.getEndTime()) && !l.getId().equals(lecture.getId()))) {
-                return false;
-            }
+        Map<Integer, Teacher> teachers = teacherDao.getByIds(teacherIds).stream()
+                .collect(Collectors.toMap(Teacher::getId, Function.identity()));
+        Map<Integer, Group> groups = groupDao.getByIds(groupIds).stream()
+                .collect(Collectors.toMap(Group::getId, Function.identity()));
+        for (Lecture lecture : lectures) {
+            setAbsentFields(lecture, teachers, groups);
         }
-        return true;
+        return lectures;
     }
 
     private void validateLecture(Lecture lecture) {
@@ -174,7 +213,7 @@ public class LectureServiceImpl implements LectureService {
     }
 
     private boolean isUsedInSchedule(Lecture lecture) {
-        return !scheduleDao.getByLecture(lecture).isEmpty();
+        return scheduleDao.existsByLecture(lecture);
     }
 
     private boolean isVisitedByGroups(Lecture lecture) {
@@ -192,6 +231,11 @@ public class LectureServiceImpl implements LectureService {
         return group.getSubjects().contains(subject);
     }
 
+    private BatchValidator<Lecture> getBatchValidator() {
+        return new BatchValidator<>("lecture", this::validateLectureFields, LectureServiceImpl::getUniqueKey,
+                lectureDao::getIndexesWithSameFields);
+    }
+
     private void validateLectureFields(Lecture lecture) {
         if (lecture.getSubject() == null) {
             throw new InvalidEntityFieldException("Lecture's subject can't be null");
@@ -220,14 +264,26 @@ public class LectureServiceImpl implements LectureService {
         }
     }
 
+    private static boolean isSaved(Lecture lecture) {
+        return lecture.getSubject().getId() != null && lecture.getTeacher().getId() != null &&
+                lecture.getClassRoom().getId() != null &&
+                (lecture.getGroups() == null || lecture.getGroups().stream().allMatch(group -> group.getId() != null));
+    }
+
+    static Object getUniqueKey(Lecture lecture) {
+        if (!isSaved(lecture)) {
+            return null;
+        }
+        List<Integer> groupIds = lecture.getGroups() == null ? Collections.emptyList() : lecture.getGroups().stream()
+                .map(Group::getId)
+                .sorted()
+                .collect(Collectors.toList());
+        return Arrays.asList(lecture.getSubject().getId(), lecture.getTeacher().getId(), lecture.getClassRoom().getId(),
+                lecture.getStartTime(), lecture.getEndTime(), groupIds);
+    }
+
     private void checkIfUnique(Lecture lecture) {
-        if (getAll().stream()
-                .anyMatch(l -> l.getSubject().equals(lecture.getSubject()) &&
-                        l.getTeacher().equals(lecture.getTeacher()) &&
-                        l.getClassRoom().equals(lecture.getClassRoom()) &&
-                        l.getGroups().equals(lecture.getGroups()) &&
-                        l.getStartTime().equals(lecture.getStartTime()) &&
-                        l.getEndTime().equals(lecture.getEndTime()))) {
+        if (isSaved(lecture) && lectureDao.existsWithSameFields(lecture)) {
             throw new EnitityAlreadyExistsException("The lecture is already exists");
         }
     }
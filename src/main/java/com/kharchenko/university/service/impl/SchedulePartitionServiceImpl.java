@@ -0,0 +1,50 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.SchedulePartitionDao;
+import com.kharchenko.university.service.SchedulePartitionService;
+import com.kharchenko.university.service.TimeTableService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.time.YearMonth;
+
+@Service
+public class SchedulePartitionServiceImpl implements SchedulePartitionService {
+
+    @Autowired
+    private SchedulePartitionDao schedulePartitionDao;
+    @Autowired
+    private TimeTableService timeTableService;
+    @Value("${schedule.partitions.monthsAhead:6}")
+    private int monthsAhead;
+    @Value("${schedule.partitions.retainMonths:24}")
+    private int retainMonths;
+
+    @Override
+    @Scheduled(fixedDelayString = "${schedule.partitions.maintenanceIntervalMillis:86400000}")
+    public void maintainPartitions() {
+        maintainPartitions(YearMonth.now());
+    }
+
+    @Override
+    public void maintainPartitions(YearMonth currentMonth) {
+        for (YearMonth month : schedulePartitionDao.getDefaultPartitionMonths()) {
+            schedulePartitionDao.createPartition(month);
+        }
+        for (int i = 0; i <= monthsAhead; i++) {
+            schedulePartitionDao.createPartition(currentMonth.plusMonths(i));
+        }
+        YearMonth oldestRetained = currentMonth.minusMonths(retainMonths);
+        boolean detached = false;
+        for (YearMonth month : schedulePartitionDao.getPartitions()) {
+            if (month.isBefore(oldestRetained)) {
+                detached |= schedulePartitionDao.detachPartition(month);
+            }
+        }
+        if (detached) {
+            timeTableService.reload();
+        }
+    }
+}
@@ -2,6 +2,7 @@ package com.kharchenko.university.service.impl;
 
 import com.kharchenko.university.dao.LectureDao;
 import com.kharchenko.university.dao.ScheduleDao;
+import com.kharchenko.university.dao.ScheduleGraphLoader;
 import com.kharchenko.university.dao.TeacherDao;
 import com.kharchenko.university.exception.EntityHasReferenceException;
 import com.kharchenko.university.exception.EnitityAlreadyExistsException;
@@ -12,14 +13,27 @@ import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.RowError;
+import com.kharchenko.university.model.SubstitutionPlan;
+import com.kharchenko.university.service.BatchValidator;
+import com.kharchenko.university.service.LectureConflictIndex;
 import com.kharchenko.university.service.ScheduleService;
+import com.kharchenko.university.service.TeacherSubstitutionEngine;
+import com.kharchenko.university.service.TimeTableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
 import java.time.DayOfWeek;
 import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Objects;
+import java.util.Set;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class ScheduleServiceImpl implements ScheduleService {
@@ -27,29 +41,47 @@ public class ScheduleServiceImpl implements ScheduleService {
     @Autowired
     private ScheduleDao scheduleDao;
     @Autowired
-    private LectureDao lectureDao;
+    private ScheduleGraphLoader scheduleGraphLoader;
     @Autowired
     private TeacherDao teacherDao;
+    @Autowired
+    private LectureDao lectureDao;
+    @Autowired
+    private TimeTableService timeTableService;
 
     @Override
-    public void changeTeacher(Teacher teacher, LocalDate fromDate, LocalDate toDate) {
-        List<Teacher> teachers = teacherDao.getAll();
-        for (Schedule schedule : getSchedulesByPeriod(fromDate, toDate)) {
-            for (Teacher otherTeacher : teachers) {
-                for (Lecture lecture : schedule.getLectures()) {
-                    if (lecture.getTeacher().equals(teacher) && otherTeacher.getSubjects().contains(lecture.getSubject())
-                            && isOtherTeacherFree(schedule, lecture, otherTeacher)) {
-                        lecture.setTeacher(otherTeacher);
-                    }
-                }
-            }
+    public SubstitutionPlan planTeacherChange(Teacher teacher, LocalDate fromDate, LocalDate toDate) {
+        return planTeacherChange(teacher, getByPeriod(fromDate, toDate));
+    }
+
+    @Override
+    public SubstitutionPlan changeTeacher(Teacher teacher, LocalDate fromDate, LocalDate toDate) {
+        List<Schedule> schedules = getByPeriod(fromDate, toDate);
+        SubstitutionPlan plan = planTeacherChange(teacher, schedules);
+        if (!plan.getSubstitutions().isEmpty()) {
+            lectureDao.updateTeachers(plan.getSubstitutions(), fromDate, toDate);
+            Set<Integer> lectureIds = plan.getSubstitutions().stream()
+                    .map(substitution -> substitution.getLecture().getId())
+                    .collect(Collectors.toSet());
+            schedules.stream()
+                    .filter(schedule -> schedule.getLectures().stream()
+                            .anyMatch(lecture -> lectureIds.contains(lecture.getId())))
+                    .forEach(timeTableService::scheduleChanged);
+            plan.setCommitted(true);
         }
+        return plan;
     }
 
     @Override
     public Schedule add(Schedule schedule) {
         validateSchedule(schedule);
-        return scheduleDao.add(schedule);
+        try {
+            Schedule added = scheduleDao.add(schedule);
+            timeTableService.scheduleChanged(added);
+            return added;
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Schedule with date " + schedule.getDate().toString() + " is already exists");
+        }
     }
 
     @Override
@@ -57,12 +89,30 @@ public class ScheduleServiceImpl implements ScheduleService {
         return getWithAllFields(scheduleDao.getAll());
     }
 
+    @Override
+    public List<Schedule> getPage(Integer afterId, int limit) {
+        return getWithAllFields(scheduleDao.getPage(afterId, limit));
+    }
+
+    @Override
+    public List<Schedule> getPage(Integer afterId, int limit, String sortKey) {
+        return getWithAllFields(scheduleDao.getPage(afterId, limit, sortKey));
+    }
+
     @Override
     public Schedule getById(Integer id) {
         Schedule schedule = scheduleDao.getById(id)
                 .orElseThrow(() -> new EntityNotFoundException("The schedule doesn't exist with id " + id));
-        setLectureFields(schedule);
-        return schedule;
+        return getWithAllFields(Collections.singletonList(schedule)).get(0);
+    }
+
+    @Override
+    public List<Schedule> getByIds(Collection<Integer> ids) {
+        List<Schedule> schedules = scheduleDao.getByIds(ids);
+        if (schedules.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of schedules don't exist with ids " + ids);
+        }
+        return getWithAllFields(schedules);
     }
 
     @Override
@@ -71,7 +121,12 @@ public class ScheduleServiceImpl implements ScheduleService {
             throw new EntityNotFoundException("The schedule doesn't exist with id " + schedule.getId());
         }
         validateSchedule(schedule);
-        scheduleDao.update(schedule);
+        try {
+            scheduleDao.update(schedule);
+            timeTableService.scheduleChanged(schedule);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Schedule with date " + schedule.getDate().toString() + " is already exists");
+        }
     }
 
     @Override
@@ -79,15 +134,31 @@ public class ScheduleServiceImpl implements ScheduleService {
         if (hasLectures(getById(id))) {
             throw new EntityHasReferenceException("Schedule with id " + id + " has lectures.");
         }
-        return scheduleDao.deleteById(id);
+        boolean deleted = scheduleDao.deleteById(id);
+        timeTableService.scheduleDeleted(id);
+        return deleted;
     }
 
     @Override
-    public void addAll(List<Schedule> schedules) {
-        for (Schedule schedule : schedules) {
-            validateSchedule(schedule);
+    public List<Schedule> addAll(List<Schedule> schedules) {
+        checkAll(schedules);
+        try {
+            List<Schedule> added = scheduleDao.addAll(schedules);
+            timeTableService.reload();
+            return added;
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Some of schedules already exist");
         }
-        scheduleDao.addAll(schedules);
+    }
+
+    @Override
+    public List<RowError> validateAll(List<Schedule> schedules) {
+        return getBatchValidator().validate(schedules);
+    }
+
+    @Override
+    public void checkAll(List<Schedule> schedules) {
+        getBatchValidator().check(schedules);
     }
 
     @Override
@@ -100,16 +171,24 @@ public class ScheduleServiceImpl implements ScheduleService {
         return getWithAllFields(scheduleDao.getByFaculty(faculty));
     }
 
-    private void setLectureFields(Schedule schedule) {
-        if (!schedule.getLectures().isEmpty()) {
-            schedule.setLectures(schedule.getLectures().stream()
-                    .map(lecture -> lecture = lectureDao.getById(lecture.getId()).get())
-                    .collect(Collectors.toList()));
-        }
+    @Override
+    public List<Schedule> getByPeriod(LocalDate fromDate, LocalDate toDate) {
+        validatePeriod(fromDate, toDate);
+        return getWithAllFields(scheduleDao.getByPeriod(fromDate, toDate));
+    }
+
+    @Override
+    public List<Schedule> getByPeriodAndFaculty(LocalDate fromDate, LocalDate toDate, Faculty faculty) {
+        validatePeriod(fromDate, toDate);
+        return getWithAllFields(scheduleDao.getByPeriodAndFaculty(fromDate, toDate, faculty));
+    }
+
+    private SubstitutionPlan planTeacherChange(Teacher teacher, List<Schedule> schedules) {
+        return new TeacherSubstitutionEngine(teacherDao.getAll(), schedules).plan(teacher);
     }
 
     private List<Schedule> getWithAllFields(List<Schedule> schedules) {
-        return schedules.stream().peek(this::setLectureFields).collect(Collectors.toList());
+        return scheduleGraphLoader.loadLectures(schedules);
     }
 
     private boolean hasLectures(Schedule schedule) {
@@ -121,6 +200,10 @@ public class ScheduleServiceImpl implements ScheduleService {
         checkIfUnique(schedule);
     }
 
+    private BatchValidator<Schedule> getBatchValidator() {
+        return new BatchValidator<>("schedule", this::validateScheduleFields, Schedule::getDate, this::getExistingRows);
+    }
+
     private void validateScheduleFields(Schedule schedule) {
         if (schedule.getDate() == null) {
             throw new InvalidEntityFieldException("Schedule's date can't be null");
@@ -138,34 +221,49 @@ public class ScheduleServiceImpl implements ScheduleService {
 
     private void validateLectures(Schedule schedule) {
         if (schedule.getLectures().stream()
-                .noneMatch(lecture -> lecture.getClassRoom().getFaculty().equals(schedule.getFaculty()))) {
+                .noneMatch(lecture -> isFacultyOf(schedule, lecture.getClassRoom().getFaculty()))) {
             throw new InvalidEntityFieldException("The faculty's schedule must include only faculty's classrooms");
         }
         for (Lecture lecture : schedule.getLectures()) {
             for (Group group : lecture.getGroups()) {
-                if (!group.getFaculty().equals(schedule.getFaculty())) {
+                if (!isFacultyOf(schedule, group.getFaculty())) {
                     throw new InvalidEntityFieldException("The faculty's schedule must include only faculty's groups");
                 }
             }
         }
+        LectureConflictIndex conflictIndex = new LectureConflictIndex();
+        for (Lecture lecture : schedule.getLectures()) {
+            conflictIndex.checkFree(lecture);
+            conflictIndex.add(lecture);
+        }
     }
 
-    private void checkIfUnique(Schedule schedule) {
-        if (scheduleDao.getAll().stream().map(Schedule::getDate)
-                .anyMatch(date -> date.isEqual(schedule.getDate()))) {
-            throw new EnitityAlreadyExistsException("Schedule with date " + schedule.getDate().toString() + " is already exists");
-        }
+    private boolean isFacultyOf(Schedule schedule, Faculty faculty) {
+        return faculty != null && Objects.equals(faculty.getId(), schedule.getFaculty().getId());
     }
 
-    private List<Schedule> getSchedulesByPeriod(LocalDate fromDate, LocalDate toDate) {
-        return getAll().stream()
-                .filter(schedule -> !schedule.getDate().isBefore(fromDate) && !schedule.getDate().isAfter(toDate))
+    private List<Integer> getExistingRows(List<Schedule> schedules) {
+        Set<LocalDate> existingDates = new HashSet<>(scheduleDao.getExistingDates(schedules.stream()
+                .map(Schedule::getDate)
+                .collect(Collectors.toList())));
+        return IntStream.range(0, schedules.size())
+                .filter(i -> existingDates.contains(schedules.get(i).getDate()))
+                .boxed()
                 .collect(Collectors.toList());
     }
 
-    private boolean isOtherTeacherFree(Schedule schedule, Lecture lecture, Teacher teacher) {
-        return schedule.getLectures().stream()
-                .filter(l -> l.getTeacher().equals(teacher))
-                .noneMatch(l -> l.getStartTime().equals(lecture.getStartTime()) && l.getEndTime().equals(lecture.getEndTime()));
+    private void checkIfUnique(Schedule schedule) {
+        if (scheduleDao.existsByDate(schedule.getDate())) {
+            throw new EnitityAlreadyExistsException("Schedule with date " + schedule.getDate().toString() + " is already exists");
+        }
+    }
+
+    private void validatePeriod(LocalDate fromDate, LocalDate toDate) {
+        if (fromDate == null || toDate == null) {
+            throw new InvalidEntityFieldException("Period's dates can't be null");
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidEntityFieldException("Period's start date can't be after its end date");
+        }
     }
 }
\ No newline at end of file
@@ -5,10 +5,13 @@ import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.dto.StudentSummary;
 import com.kharchenko.university.service.StudentService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 @Service
@@ -28,11 +31,30 @@ public class StudentServiceImpl implements StudentService {
         return studentDao.getAll();
     }
 
+    @Override
+    public List<Student> getPage(Integer afterId, int limit) {
+        return studentDao.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Student> getPage(Integer afterId, int limit, String sortKey) {
+        return studentDao.getPage(afterId, limit, sortKey);
+    }
+
     @Override
     public Student getById(Integer id) {
         return studentDao.getById(id).orElseThrow(() -> new EntityNotFoundException("Student doesn't exist with id " + id));
     }
 
+    @Override
+    public List<Student> getByIds(Collection<Integer> ids) {
+        List<Student> students = studentDao.getByIds(ids);
+        if (students.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of students don't exist with ids " + ids);
+        }
+        return students;
+    }
+
     @Override
     public void update(Student student) {
         if (student.getId() == null) {
@@ -49,11 +71,11 @@ public class StudentServiceImpl implements StudentService {
     }
 
     @Override
-    public void addAll(List<Student> students) {
+    public List<Student> addAll(List<Student> students) {
         for (Student student : students) {
             validateStudentFields(student);
         }
-        studentDao.addAll(students);
+        return studentDao.addAll(students);
     }
 
     @Override
@@ -61,6 +83,11 @@ public class StudentServiceImpl implements StudentService {
         return studentDao.getGroupStudents(group);
     }
 
+    @Override
+    public List<StudentSummary> getSummaryPage(Integer afterId, int limit, String sortKey) {
+        return studentDao.getSummaryPage(afterId, limit, sortKey);
+    }
+
     private void validateStudentFields(Student student) {
         if (student.getFirstName() == null || student.getFirstName().isEmpty()) {
             throw new InvalidEntityFieldException("Student's first name can't be empty or null");
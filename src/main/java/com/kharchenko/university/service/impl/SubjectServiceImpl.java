@@ -12,9 +12,13 @@ import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.service.SubjectService;
+import com.kharchenko.university.service.TimeTableService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.stereotype.Service;
 
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
 
 @Service
@@ -28,11 +32,17 @@ public class SubjectServiceImpl implements SubjectService {
     private TeacherDao teacherDao;
     @Autowired
     private LectureDao lectureDao;
+    @Autowired
+    private TimeTableService timeTableService;
 
     @Override
     public Subject add(Subject subject) {
         validateSubject(subject);
-        return subjectDao.add(subject);
+        try {
+            return subjectDao.add(subject);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Subject with name " + subject.getName() + " is already exists");
+        }
     }
 
     @Override
@@ -40,19 +50,43 @@ public class SubjectServiceImpl implements SubjectService {
         return subjectDao.getAll();
     }
 
+    @Override
+    public List<Subject> getPage(Integer afterId, int limit) {
+        return subjectDao.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Subject> getPage(Integer afterId, int limit, String sortKey) {
+        return subjectDao.getPage(afterId, limit, sortKey);
+    }
+
     @Override
     public Subject getById(Integer id) {
         return subjectDao.getById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Subject doesn't exist with id " + id));
     }
 
+    @Override
+    public List<Subject> getByIds(Collection<Integer> ids) {
+        List<Subject> subjects = subjectDao.getByIds(ids);
+        if (subjects.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of subjects don't exist with ids " + ids);
+        }
+        return subjects;
+    }
+
     @Override
     public void update(Subject subject) {
         if (subject.getId() == null) {
             throw new EntityNotFoundException("Subject doesn't exist with id " + subject.getId());
         }
         validateSubject(subject);
-        subjectDao.update(subject);
+        try {
+            subjectDao.update(subject);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Subject with name " + subject.getName() + " is already exists");
+        }
+        timeTableService.subjectChanged(subject);
     }
 
     @Override
@@ -71,11 +105,15 @@ public class SubjectServiceImpl implements SubjectService {
     }
 
     @Override
-    public void addAll(List<Subject> subjects) {
+    public List<Subject> addAll(List<Subject> subjects) {
         for (Subject subject : subjects) {
             validateSubject(subject);
         }
-        subjectDao.addAll(subjects);
+        try {
+            return subjectDao.addAll(subjects);
+        } catch (DuplicateKeyException e) {
+            throw new EnitityAlreadyExistsException("Some of subjects already exist");
+        }
     }
 
     @Override
@@ -113,21 +151,20 @@ public class SubjectServiceImpl implements SubjectService {
     }
 
     private void checkIfUnique(Subject subject) {
-        if (subjectDao.getAll().stream().map(Subject::getName)
-                .anyMatch(name -> name.equals(subject.getName()))) {
+        if (subjectDao.existsByName(subject.getName())) {
             throw new EnitityAlreadyExistsException("Subject with name " + subject.getName() + " is already exists");
         }
     }
 
     private boolean isLearntByGroups(Subject subject) {
-        return !groupDao.getBySubject(subject).isEmpty();
+        return groupDao.existsBySubject(subject);
     }
 
     private boolean isTaughtByTeachers(Subject subject) {
-        return !teacherDao.getBySubject(subject).isEmpty();
+        return teacherDao.existsBySubject(subject);
     }
 
     private boolean isTaughtOnLectures(Subject subject) {
-        return !lectureDao.getBySubject(subject).isEmpty();
+        return lectureDao.existsBySubject(subject);
     }
 }
\ No newline at end of file
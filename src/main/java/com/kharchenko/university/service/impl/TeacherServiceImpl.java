@@ -7,11 +7,19 @@ import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.service.OccupancyGrid;
 import com.kharchenko.university.service.TeacherService;
+import com.kharchenko.university.service.TimeTableService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.HashSet;
 import java.util.List;
+import java.util.stream.Collectors;
 
 @Service
 public class TeacherServiceImpl implements TeacherService {
@@ -20,6 +28,8 @@ public class TeacherServiceImpl implements TeacherService {
     private TeacherDao teacherDao;
     @Autowired
     private LectureDao lectureDao;
+    @Autowired
+    private TimeTableService timeTableService;
 
     @Override
     public Teacher add(Teacher teacher) {
@@ -32,12 +42,31 @@ public class TeacherServiceImpl implements TeacherService {
         return teacherDao.getAll();
     }
 
+    @Override
+    public List<Teacher> getPage(Integer afterId, int limit) {
+        return teacherDao.getPage(afterId, limit);
+    }
+
+    @Override
+    public List<Teacher> getPage(Integer afterId, int limit, String sortKey) {
+        return teacherDao.getPage(afterId, limit, sortKey);
+    }
+
     @Override
     public Teacher getById(Integer id) {
         return teacherDao.getById(id)
                 .orElseThrow(() -> new EntityNotFoundException("Teacher doesn't exist with id " + id));
     }
 
+    @Override
+    public List<Teacher> getByIds(Collection<Integer> ids) {
+        List<Teacher> teachers = teacherDao.getByIds(ids);
+        if (teachers.size() < new HashSet<>(ids).size()) {
+            throw new EntityNotFoundException("Some of teachers don't exist with ids " + ids);
+        }
+        return teachers;
+    }
+
     @Override
     public void update(Teacher teacher) {
         if (teacher.getId() == null) {
@@ -45,6 +74,7 @@ public class TeacherServiceImpl implements TeacherService {
         }
         validateTeacherFields(teacher);
         teacherDao.update(teacher);
+        timeTableService.teacherChanged(teacher);
     }
 
     @Override
@@ -60,11 +90,11 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     @Override
-    public void addAll(List<Teacher> teachers) {
+    public List<Teacher> addAll(List<Teacher> teachers) {
         for (Teacher teacher : teachers) {
             validateTeacherFields(teacher);
         }
-        teacherDao.addAll(teachers);
+        return teacherDao.addAll(teachers);
     }
 
     @Override
@@ -72,6 +102,18 @@ public class TeacherServiceImpl implements TeacherService {
         return teacherDao.getBySubject(subject);
     }
 
+    @Override
+    public List<Teacher> findFreeQualified(Subject subject, LocalDate date, LocalTime startTime, LocalTime endTime) {
+        if (subject == null) {
+            throw new InvalidEntityFieldException("Subject can't be null");
+        }
+        OccupancyGrid.validateInterval(date, startTime, endTime);
+        BitSet occupied = timeTableService.getOccupancy(date).getOccupiedTeachers(startTime, endTime);
+        return teacherDao.getBySubject(subject).stream()
+                .filter(teacher -> !occupied.get(teacher.getId()))
+                .collect(Collectors.toList());
+    }
+
     private void validateTeacherFields(Teacher teacher) {
         if (teacher.getFirstName() == null || teacher.getFirstName().isEmpty()) {
             throw new InvalidEntityFieldException("Teacher's first name can't be empty or null");
@@ -86,6 +128,6 @@ public class TeacherServiceImpl implements TeacherService {
     }
 
     private boolean hasLectures(Teacher teacher) {
-        return !lectureDao.getTeacherLectures(teacher).isEmpty();
+        return lectureDao.existsByTeacher(teacher);
     }
 }
\ No newline at end of file
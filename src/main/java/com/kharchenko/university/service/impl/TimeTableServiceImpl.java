@@ -0,0 +1,385 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.ClassRoomDao;
+import com.kharchenko.university.dao.GroupDao;
+import com.kharchenko.university.dao.ScheduleDao;
+import com.kharchenko.university.dao.ScheduleGraphLoader;
+import com.kharchenko.university.dao.SubjectDao;
+import com.kharchenko.university.dao.TeacherDao;
+import com.kharchenko.university.dao.TimeTableChangeDao;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TimeTableChange;
+import com.kharchenko.university.service.LectureConflictIndex;
+import com.kharchenko.university.service.OccupancyGrid;
+import com.kharchenko.university.service.TimeTable;
+import com.kharchenko.university.service.TimeTableService;
+import com.kharchenko.university.service.TimeTableSnapshot;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Supplier;
+import java.util.function.UnaryOperator;
+
+@Service
+public class TimeTableServiceImpl implements TimeTableService {
+
+    private static final String TEACHER = "teacher";
+    private static final String CLASSROOM = "classroom";
+    private static final String SUBJECT = "subject";
+    private static final String GROUP = "group";
+
+    @Autowired
+    private ScheduleDao scheduleDao;
+    @Autowired
+    private ScheduleGraphLoader scheduleGraphLoader;
+    @Autowired
+    private TimeTableChangeDao timeTableChangeDao;
+    @Autowired
+    private TeacherDao teacherDao;
+    @Autowired
+    private ClassRoomDao classRoomDao;
+    @Autowired
+    private SubjectDao subjectDao;
+    @Autowired
+    private GroupDao groupDao;
+    @Value("${timetable.snapshot.path:}")
+    private String snapshotPath;
+    @Value("${timetable.changes.lateCommitWindow:1000}")
+    private long lateCommitWindow;
+
+    private volatile TimeTable timeTable;
+    private long appliedChangeId;
+    private final NavigableSet<Long> seenChangeIds = new TreeSet<>();
+    private final Map<String, Long> latestLoads = new ConcurrentHashMap<>();
+    private final AtomicLong loads = new AtomicLong();
+    private boolean snapshotStale;
+    private boolean started;
+
+    @Override
+    public TimeTable getTimeTable() {
+        TimeTable current = timeTable;
+        if (current == null) {
+            synchronized (this) {
+                if (timeTable == null) {
+                    timeTable = isSnapshotEnabled() && !started ? loadSnapshot() : loadAll();
+                    started = true;
+                }
+                current = timeTable;
+            }
+        }
+        return current;
+    }
+
+    @Override
+    public Schedule getTeacherDaySchedule(Teacher teacher, LocalDate date) {
+        return getTimeTable().getTeacherDaySchedule(teacher, date);
+    }
+
+    @Override
+    public Schedule getStudentDaySchedule(Student student, LocalDate date) {
+        return getTimeTable().getStudentDaySchedule(student, date);
+    }
+
+    @Override
+    public List<Schedule> getTeacherMonthSchedule(Teacher teacher, Month month) {
+        return getTimeTable().getTeacherMonthSchedule(teacher, month);
+    }
+
+    @Override
+    public List<Schedule> getStudentMonthSchedule(Student student, Month month) {
+        return getTimeTable().getStudentMonthSchedule(student, month);
+    }
+
+    @Override
+    public List<Schedule> getTeacherSchedule(Teacher teacher, LocalDate fromDate, LocalDate toDate) {
+        return getTimeTable().getTeacherSchedule(teacher, fromDate, toDate);
+    }
+
+    @Override
+    public List<Schedule> getStudentSchedule(Student student, LocalDate fromDate, LocalDate toDate) {
+        return getTimeTable().getStudentSchedule(student, fromDate, toDate);
+    }
+
+    @Override
+    public OccupancyGrid getOccupancy(LocalDate date) {
+        return getTimeTable().getOccupancy(date);
+    }
+
+    @Override
+    public LectureConflictIndex getConflictIndex(LocalDate date) {
+        return getTimeTable().getConflictIndex(date);
+    }
+
+    @Override
+    public void scheduleChanged(Schedule schedule) {
+        long changeId = recordChange(schedule.getId(), null);
+        apply(changeId, "schedule:" + schedule.getId(), () -> loadSchedule(schedule.getId()));
+    }
+
+    @Override
+    public void scheduleDeleted(Integer scheduleId) {
+        long changeId = recordChange(scheduleId, null);
+        apply(changeId, "schedule:" + scheduleId, () -> current -> current.withoutSchedule(scheduleId));
+    }
+
+    @Override
+    public void lectureChanged(Lecture lecture) {
+        long changeId = recordChange(null, lecture.getId());
+        apply(changeId, "lecture:" + lecture.getId(), () -> loadLecture(lecture));
+    }
+
+    @Override
+    public void teacherChanged(Teacher teacher) {
+        entityChanged(TEACHER, teacher.getId());
+    }
+
+    @Override
+    public void classRoomChanged(ClassRoom classRoom) {
+        entityChanged(CLASSROOM, classRoom.getId());
+    }
+
+    @Override
+    public void subjectChanged(Subject subject) {
+        entityChanged(SUBJECT, subject.getId());
+    }
+
+    @Override
+    public void groupChanged(Group group) {
+        entityChanged(GROUP, group.getId());
+    }
+
+    @Override
+    public synchronized void reload() {
+        recordChange(null, null);
+        timeTable = null;
+    }
+
+    @Override
+    @Scheduled(fixedDelayString = "${timetable.snapshot.intervalMillis:60000}")
+    public void maintainSnapshot() {
+        if (!isSnapshotEnabled()) {
+            return;
+        }
+        getTimeTable();
+        TimeTable current;
+        long changeId;
+        synchronized (this) {
+            if (timeTable == null) {
+                return;
+            }
+            catchUp();
+            if (!snapshotStale) {
+                return;
+            }
+            current = timeTable;
+            changeId = appliedChangeId;
+            snapshotStale = false;
+        }
+        try {
+            TimeTableSnapshot.write(Paths.get(snapshotPath), changeId, current.getSchedules());
+        } catch (IOException e) {
+            synchronized (this) {
+                snapshotStale = true;
+            }
+            throw new UncheckedIOException("Can't write timetable snapshot to " + snapshotPath, e);
+        }
+        timeTableChangeDao.deleteBefore(changeId - lateCommitWindow);
+    }
+
+    private boolean isSnapshotEnabled() {
+        return snapshotPath != null && !snapshotPath.isEmpty();
+    }
+
+    private long recordChange(Integer scheduleId, Integer lectureId) {
+        return isSnapshotEnabled() ? timeTableChangeDao.add(scheduleId, lectureId) : 0;
+    }
+
+    private long recordEntityChange(String entity, Integer entityId) {
+        return isSnapshotEnabled() ? timeTableChangeDao.addEntityChange(entity, entityId) : 0;
+    }
+
+    private void entityChanged(String entity, Integer entityId) {
+        long changeId = recordEntityChange(entity, entityId);
+        apply(changeId, entity + ":" + entityId, () -> loadEntities(entity, Collections.singleton(entityId)));
+    }
+
+    private long getWindowStart() {
+        return Math.max(0, appliedChangeId - lateCommitWindow);
+    }
+
+    private TimeTable loadAll() {
+        if (isSnapshotEnabled()) {
+            appliedChangeId = timeTableChangeDao.getLastId();
+            seenChangeIds.clear();
+            if (lateCommitWindow > 0) {
+                for (TimeTableChange change : timeTableChangeDao.getAfter(getWindowStart())) {
+                    seenChangeIds.add(change.getId());
+                    appliedChangeId = Math.max(appliedChangeId, change.getId());
+                }
+            }
+            snapshotStale = true;
+        }
+        return new TimeTable(scheduleGraphLoader.loadLectures(scheduleDao.getAll()));
+    }
+
+    private TimeTable loadSnapshot() {
+        Path path = Paths.get(snapshotPath);
+        if (!Files.exists(path)) {
+            return loadAll();
+        }
+        TimeTableSnapshot snapshot;
+        try {
+            snapshot = TimeTableSnapshot.read(path);
+        } catch (IOException e) {
+            return loadAll();
+        }
+        timeTable = new TimeTable(snapshot.getSchedules());
+        appliedChangeId = snapshot.getChangeId();
+        catchUp();
+        return timeTable;
+    }
+
+    private void catchUp() {
+        if (appliedChangeId < timeTableChangeDao.getFirstId()) {
+            timeTable = loadAll();
+            return;
+        }
+        List<TimeTableChange> changes = timeTableChangeDao.getAfter(getWindowStart());
+        Set<Integer> scheduleIds = new LinkedHashSet<>();
+        Set<Integer> lectureIds = new LinkedHashSet<>();
+        Map<String, Set<Integer>> entityIds = new LinkedHashMap<>();
+        List<Long> changeIds = new ArrayList<>();
+        for (TimeTableChange change : changes) {
+            if (seenChangeIds.contains(change.getId())) {
+                continue;
+            }
+            changeIds.add(change.getId());
+            if (change.getEntity() != null) {
+                entityIds.computeIfAbsent(change.getEntity(), entity -> new LinkedHashSet<>()).add(change.getEntityId());
+            } else if (change.getScheduleId() != null) {
+                scheduleIds.add(change.getScheduleId());
+            } else if (change.getLectureId() != null) {
+                lectureIds.add(change.getLectureId());
+            } else {
+                timeTable = loadAll();
+                return;
+            }
+        }
+        if (!changeIds.isEmpty()) {
+            timeTable = applyChanges(scheduleIds, lectureIds, entityIds);
+            seenChangeIds.addAll(changeIds);
+            snapshotStale = true;
+        }
+        if (!changes.isEmpty()) {
+            appliedChangeId = Math.max(appliedChangeId, changes.get(changes.size() - 1).getId());
+            seenChangeIds.headSet(getWindowStart(), true).clear();
+        }
+    }
+
+    private TimeTable applyChanges(Set<Integer> scheduleIds, Set<Integer> lectureIds, Map<String, Set<Integer>> entityIds) {
+        TimeTable current = timeTable;
+        for (Integer scheduleId : scheduleIds) {
+            current = loadSchedule(scheduleId).apply(current);
+        }
+        for (Integer lectureId : lectureIds) {
+            Lecture lecture = new Lecture();
+            lecture.setId(lectureId);
+            current = loadLecture(lecture).apply(current);
+        }
+        for (Map.Entry<String, Set<Integer>> entry : entityIds.entrySet()) {
+            current = loadEntities(entry.getKey(), entry.getValue()).apply(current);
+        }
+        return current;
+    }
+
+    private UnaryOperator<TimeTable> loadSchedule(Integer scheduleId) {
+        Optional<Schedule> stored = scheduleDao.getById(scheduleId);
+        if (!stored.isPresent()) {
+            return current -> current.withoutSchedule(scheduleId);
+        }
+        Schedule schedule = scheduleGraphLoader.loadLectures(Collections.singletonList(stored.get())).get(0);
+        return current -> current.withSchedule(schedule);
+    }
+
+    private UnaryOperator<TimeTable> loadLecture(Lecture lecture) {
+        Schedule stub = new Schedule(null, Collections.singletonList(lecture), null, null);
+        List<Lecture> stored = scheduleGraphLoader.loadLectures(Collections.singletonList(stub)).get(0).getLectures();
+        return stored.isEmpty() ? UnaryOperator.identity() : current -> current.withLecture(stored.get(0));
+    }
+
+    private UnaryOperator<TimeTable> loadEntities(String entity, Collection<Integer> ids) {
+        switch (entity) {
+            case TEACHER:
+                return withEach(teacherDao.getByIds(ids), TimeTable::withTeacher);
+            case CLASSROOM:
+                return withEach(classRoomDao.getByIds(ids), TimeTable::withClassRoom);
+            case SUBJECT:
+                return withEach(subjectDao.getByIds(ids), TimeTable::withSubject);
+            case GROUP:
+                return withEach(groupDao.getByIds(ids), TimeTable::withGroup);
+            default:
+                throw new IllegalArgumentException("Unknown timetable entity " + entity);
+        }
+    }
+
+    private static <T> UnaryOperator<TimeTable> withEach(List<T> entities, BiFunction<TimeTable, T, TimeTable> with) {
+        return current -> {
+            for (T entity : entities) {
+                current = with.apply(current, entity);
+            }
+            return current;
+        };
+    }
+
+    private void apply(long changeId, String entity, Supplier<UnaryOperator<TimeTable>> load) {
+        long ticket = loads.incrementAndGet();
+        latestLoads.put(entity, ticket);
+        UnaryOperator<TimeTable> delta = timeTable == null ? null : load.get();
+        synchronized (this) {
+            boolean latest = latestLoads.remove(entity, ticket);
+            if (timeTable == null) {
+                return;
+            }
+            if (latest && delta != null) {
+                timeTable = delta.apply(timeTable);
+                snapshotStale = true;
+            }
+            if (changeId > getWindowStart()) {
+                seenChangeIds.add(changeId);
+                while (seenChangeIds.contains(appliedChangeId + 1)) {
+                    appliedChangeId++;
+                }
+                seenChangeIds.headSet(getWindowStart(), true).clear();
+            }
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.ClassRoomDao;
+import com.kharchenko.university.dao.GroupDao;
+import com.kharchenko.university.dao.TeacherDao;
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.GeneratedTimetable;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.LectureDemand;
+import com.kharchenko.university.model.TimeSlot;
+import com.kharchenko.university.model.TimetableProgress;
+import com.kharchenko.university.service.TimetableGenerationService;
+import com.kharchenko.university.service.TimetableGenerator;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class TimetableGenerationServiceImpl implements TimetableGenerationService {
+
+    @Autowired
+    private TeacherDao teacherDao;
+    @Autowired
+    private ClassRoomDao classRoomDao;
+    @Autowired
+    private GroupDao groupDao;
+    @Value("${timetable.slots:09:00-10:30,10:45-12:15,13:00-14:30,14:45-16:15,16:30-18:00}")
+    private String slots;
+    @Value("${timetable.generation.budgetMillis:10000}")
+    private long budgetMillis;
+    @Value("${timetable.generation.workers:0}")
+    private int workers;
+
+    @Override
+    public GeneratedTimetable generate(Faculty faculty, LocalDate fromDate, LocalDate toDate, List<LectureDemand> demands) {
+        return generate(faculty, fromDate, toDate, demands, progress -> {
+        });
+    }
+
+    @Override
+    public GeneratedTimetable generate(Faculty faculty, LocalDate fromDate, LocalDate toDate, List<LectureDemand> demands,
+                                       Consumer<TimetableProgress> listener) {
+        validatePeriod(faculty, fromDate, toDate);
+        Map<Integer, Group> groups = groupDao.getByFaculty(faculty).stream()
+                .collect(Collectors.toMap(Group::getId, Function.identity()));
+        List<LectureDemand> facultyDemands = new ArrayList<>();
+        for (LectureDemand demand : demands) {
+            Group group = demand.getGroup() == null ? null : groups.get(demand.getGroup().getId());
+            if (group == null) {
+                throw new InvalidEntityFieldException("The faculty's schedule must include only faculty's groups");
+            }
+            facultyDemands.add(new LectureDemand(group, demand.getSubject(), demand.getLecturesCount()));
+        }
+        TimetableGenerator generator = new TimetableGenerator(faculty, fromDate, toDate, getTimeSlots(), facultyDemands,
+                teacherDao.getAll(), classRoomDao.getByFaculty(faculty));
+        int threads = workers > 0 ? workers : Runtime.getRuntime().availableProcessors();
+        return generator.generate(Duration.ofMillis(budgetMillis), threads, listener);
+    }
+
+    private List<TimeSlot> getTimeSlots() {
+        List<TimeSlot> timeSlots = new ArrayList<>();
+        for (String slot : slots.split(",")) {
+            String[] times = slot.trim().split("-");
+            timeSlots.add(new TimeSlot(LocalTime.parse(times[0]), LocalTime.parse(times[1])));
+        }
+        return timeSlots;
+    }
+
+    private void validatePeriod(Faculty faculty, LocalDate fromDate, LocalDate toDate) {
+        if (faculty == null) {
+            throw new InvalidEntityFieldException("Faculty can't be null");
+        }
+        if (fromDate == null || toDate == null) {
+            throw new InvalidEntityFieldException("Period's dates can't be null");
+        }
+        if (fromDate.isAfter(toDate)) {
+            throw new InvalidEntityFieldException("Period's start date can't be after its end date");
+        }
+    }
+}
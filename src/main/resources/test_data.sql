@@ -91,9 +91,9 @@ VALUES (3, 2);
 INSERT INTO groups_lectures (group_id, lecture_id)
 VALUES (3, 3);
 
-INSERT INTO schedules_lectures (schedule_id, lecture_id)
-VALUES (1, 1);
-INSERT INTO schedules_lectures (schedule_id, lecture_id)
-VALUES (1, 2);
-INSERT INTO schedules_lectures (schedule_id, lecture_id)
-VALUES (2, 1);
\ No newline at end of file
+INSERT INTO schedules_lectures (schedule_id, lecture_id, date)
+VALUES (1, 1, '2021-05-24');
+INSERT INTO schedules_lectures (schedule_id, lecture_id, date)
+VALUES (1, 2, '2021-05-24');
+INSERT INTO schedules_lectures (schedule_id, lecture_id, date)
+VALUES (2, 1, '2021-05-25');
\ No newline at end of file
@@ -1,12 +1,15 @@
 package com.kharchenko.university.config;
 
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.PropertySource;
 import org.springframework.jdbc.core.JdbcTemplate;
-import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import javax.sql.DataSource;
 
@@ -23,19 +26,47 @@ public class TestDaoConfig {
     private String databaseUser;
     @Value("${db.password}")
     private String databasePassword;
+    @Value("${db.fetchSize}")
+    private int fetchSize;
+    @Value("${db.pool.minimumIdle}")
+    private int poolMinimumIdle;
+    @Value("${db.pool.maximumSize}")
+    private int poolMaximumSize;
+    @Value("${db.pool.connectionTimeout}")
+    private long poolConnectionTimeout;
+    @Value("${db.pool.leakDetectionThreshold}")
+    private long poolLeakDetectionThreshold;
+    @Value("${db.statementCache.prepareThreshold}")
+    private int statementPrepareThreshold;
+    @Value("${db.statementCache.queries}")
+    private int statementCacheQueries;
 
-    @Bean
+    @Bean(destroyMethod = "close")
     public DataSource dataSource() {
-        DriverManagerDataSource dataSource = new DriverManagerDataSource();
-        dataSource.setDriverClassName(databaseDriver);
-        dataSource.setUrl(databaseUrl);
-        dataSource.setUsername(databaseUser);
-        dataSource.setPassword(databasePassword);
-        return dataSource;
+        HikariConfig config = new HikariConfig();
+        config.setPoolName("university-test-pool");
+        config.setDriverClassName(databaseDriver);
+        config.setJdbcUrl(databaseUrl);
+        config.setUsername(databaseUser);
+        config.setPassword(databasePassword);
+        config.setMinimumIdle(poolMinimumIdle);
+        config.setMaximumPoolSize(poolMaximumSize);
+        config.setConnectionTimeout(poolConnectionTimeout);
+        config.setLeakDetectionThreshold(poolLeakDetectionThreshold);
+        config.addDataSourceProperty("prepareThreshold", statementPrepareThreshold);
+        config.addDataSourceProperty("preparedStatementCacheQueries", statementCacheQueries);
+        return new HikariDataSource(config);
     }
 
     @Bean
     public JdbcTemplate jdbcTemplate() {
-        return new JdbcTemplate(dataSource());
+        JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource());
+        jdbcTemplate.setFetchSize(fetchSize);
+        return jdbcTemplate;
+    }
+
+    @Bean
+    public PlatformTransactionManager transactionManager() {
+        return new DataSourceTransactionManager(dataSource());
     }
 }
\ No newline at end of file
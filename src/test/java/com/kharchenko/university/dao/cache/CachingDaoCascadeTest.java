@@ -0,0 +1,95 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.config.TestDaoConfig;
+import com.kharchenko.university.dao.ClassRoomDao;
+import com.kharchenko.university.dao.SubjectDao;
+import com.kharchenko.university.dao.impl.LectureDaoImpl;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.service.FacultyService;
+import com.kharchenko.university.service.GroupService;
+import com.kharchenko.university.service.TimeTableService;
+import com.kharchenko.university.service.impl.FacultyServiceImpl;
+import com.kharchenko.university.service.impl.GroupServiceImpl;
+import com.kharchenko.university.service.impl.TimeTableServiceImpl;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.ComponentScan;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import java.time.LocalTime;
+import java.util.ArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {CachingDaoCascadeTest.CachingDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
+@SqlGroup({@Sql("classpath:create_tables.sql"), @Sql("classpath:test_data.sql")})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class CachingDaoCascadeTest {
+
+    @Autowired
+    private FacultyService facultyService;
+    @Autowired
+    private GroupService groupService;
+    @Autowired
+    private LectureDaoImpl lectureDao;
+    @Autowired
+    private SubjectDao subjectDao;
+    @Autowired
+    private ClassRoomDao classRoomDao;
+
+    @Test
+    void getAll_shouldReturnNewFaculty_whenGroupWithNewFacultyIsAdded() {
+        assertEquals(2, facultyService.getAll().size());
+        groupService.add(new Group(null, "EE-555", new ArrayList<>(), new Faculty(null, "Design")));
+        assertTrue(facultyService.getAll().contains(new Faculty(3, "Design")));
+    }
+
+    @Test
+    void getAll_shouldReturnNewSubjectAndClassRoom_whenLectureWithThemIsAdded() {
+        assertEquals(5, subjectDao.getAll().size());
+        assertEquals(3, classRoomDao.getAll().size());
+        Subject subject = new Subject(null, "Design", "Learn design");
+        ClassRoom classRoom = new ClassRoom(null, 4, 400, new Faculty(1, "Programming"));
+        lectureDao.add(new Lecture(null, subject, new Teacher(1, "Bruce", "Eckel", null), classRoom, new ArrayList<>(),
+                LocalTime.of(7, 0), LocalTime.of(9, 0)));
+        assertTrue(subjectDao.getAll().contains(subject));
+        assertTrue(classRoomDao.getAll().contains(classRoom));
+    }
+
+    @Configuration
+    @Import(TestDaoConfig.class)
+    @ComponentScan("com.kharchenko.university.dao.cache")
+    static class CachingDaoConfig {
+
+        @Bean
+        public FacultyService facultyService() {
+            return new FacultyServiceImpl();
+        }
+
+        @Bean
+        public GroupService groupService() {
+            return new GroupServiceImpl();
+        }
+
+        @Bean
+        public TimeTableService timeTableService() {
+            return new TimeTableServiceImpl();
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.dao.impl.FacultyDaoImpl;
+import com.kharchenko.university.model.Faculty;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CachingFacultyDaoTest {
+
+    @Mock
+    private FacultyDaoImpl delegate;
+    @Mock
+    private CachingClassRoomDao classRoomDao;
+    private CachingFacultyDao facultyDao;
+
+    private final List<Faculty> faculties = Arrays.asList(new Faculty(1, "Programming"), new Faculty(2, "Management"));
+
+    @BeforeEach
+    void setUp() {
+        facultyDao = new CachingFacultyDao(delegate, classRoomDao, 100, 600);
+    }
+
+    @Test
+    void getAll_shouldQueryDatabaseOnce_whenCalledRepeatedly() {
+        when(delegate.getAll()).thenReturn(faculties);
+        assertEquals(faculties, facultyDao.getAll());
+        assertEquals(faculties, facultyDao.getAll());
+        assertEquals(Optional.of(faculties.get(0)), facultyDao.getById(1));
+        verify(delegate, times(1)).getAll();
+        assertEquals(2, facultyDao.getHits());
+        assertEquals(1, facultyDao.getMisses());
+    }
+
+    @Test
+    void getById_shouldQueryDatabaseOnce_whenCalledRepeatedly() {
+        when(delegate.getById(1)).thenReturn(Optional.of(faculties.get(0)));
+        facultyDao.getById(1);
+        facultyDao.getById(1);
+        verify(delegate, times(1)).getById(1);
+    }
+
+    @Test
+    void add_shouldInvalidateFacultiesAndClassRooms() {
+        Faculty faculty = new Faculty(null, "Design");
+        when(delegate.getAll()).thenReturn(faculties);
+        facultyDao.getAll();
+        facultyDao.add(faculty);
+        facultyDao.getAll();
+        verify(delegate, times(2)).getAll();
+        verify(classRoomDao).invalidate();
+    }
+
+    @Test
+    void update_shouldInvalidateCache_whenDatabaseUpdateFails() {
+        Faculty faculty = new Faculty(1, "Management");
+        when(delegate.getById(1)).thenReturn(Optional.of(faculties.get(0)));
+        doThrow(DuplicateKeyException.class).when(delegate).update(faculty);
+        facultyDao.getById(1);
+        assertThrows(DuplicateKeyException.class, () -> facultyDao.update(faculty));
+        facultyDao.getById(1);
+        verify(delegate, times(2)).getById(1);
+    }
+
+    @Test
+    void deleteByIdAndAddAll_shouldInvalidateCache() {
+        when(delegate.getAll()).thenReturn(faculties);
+        facultyDao.getAll();
+        facultyDao.deleteById(2);
+        facultyDao.getAll();
+        facultyDao.addAll(faculties);
+        facultyDao.getAll();
+        verify(delegate, times(3)).getAll();
+    }
+
+    @Test
+    void existsByName_shouldAlwaysQueryDatabase() {
+        when(delegate.existsByName("Programming")).thenReturn(true);
+        facultyDao.existsByName("Programming");
+        facultyDao.existsByName("Programming");
+        verify(delegate, times(2)).existsByName("Programming");
+    }
+}
@@ -0,0 +1,121 @@
+package com.kharchenko.university.dao.cache;
+
+import com.kharchenko.university.model.Faculty;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ReferenceDataCacheTest {
+
+    private final AtomicLong clock = new AtomicLong();
+    private final AtomicInteger loads = new AtomicInteger();
+    private final ReferenceDataCache<Faculty> cache = new ReferenceDataCache<>(Faculty::getId,
+            faculty -> new Faculty(faculty.getId(), faculty.getName()), 2, 10, TimeUnit.NANOSECONDS, clock::get);
+
+    @Test
+    void get_shouldLoadOnce_whenEntryIsCached() {
+        assertEquals(Optional.of(new Faculty(1, "Faculty 1")), cache.get(1, this::load));
+        assertEquals(Optional.of(new Faculty(1, "Faculty 1")), cache.get(1, this::load));
+        assertEquals(1, loads.get());
+        assertEquals(1, cache.getHits());
+        assertEquals(1, cache.getMisses());
+    }
+
+    @Test
+    void get_shouldNotCacheAbsentEntity() {
+        cache.get(1, id -> Optional.empty());
+        cache.get(1, id -> Optional.empty());
+        assertEquals(2, cache.getMisses());
+        assertEquals(0, cache.size());
+    }
+
+    @Test
+    void get_shouldReload_whenEntryIsExpired() {
+        cache.get(1, this::load);
+        clock.addAndGet(10);
+        cache.get(1, this::load);
+        assertEquals(2, loads.get());
+        assertEquals(1, cache.getEvictions());
+    }
+
+    @Test
+    void get_shouldEvictLeastRecentlyUsedEntry_whenMaximumSizeIsExceeded() {
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        cache.get(1, this::load);
+        cache.get(3, this::load);
+        assertEquals(2, cache.size());
+        assertEquals(1, cache.getEvictions());
+        cache.get(1, this::load);
+        cache.get(2, this::load);
+        assertEquals(4, loads.get());
+    }
+
+    @Test
+    void getAll_shouldLoadOnceAndFillEntries_whenListIsCached() {
+        List<Faculty> expected = Arrays.asList(new Faculty(1, "Faculty 1"), new Faculty(2, "Faculty 2"));
+        cache.getAll(() -> new ArrayList<>(expected));
+        List<Faculty> actual = cache.getAll(() -> {
+            throw new IllegalStateException();
+        });
+        assertEquals(expected, actual);
+        cache.get(2, this::load);
+        assertEquals(0, loads.get());
+        assertEquals(2, cache.getHits());
+    }
+
+    @Test
+    void getByIds_shouldLoadOnlyMissingIds() {
+        cache.get(1, this::load);
+        List<Faculty> actual = cache.getByIds(Arrays.asList(1, 2), ids -> {
+            assertEquals(Arrays.asList(2), ids);
+            return Arrays.asList(new Faculty(2, "Faculty 2"));
+        });
+        assertEquals(Arrays.asList(new Faculty(1, "Faculty 1"), new Faculty(2, "Faculty 2")), actual);
+    }
+
+    @Test
+    void getByIds_shouldKeepIdOrderAndSkipDuplicates_whenSomeIdsAreCached() {
+        cache.get(3, this::load);
+        List<Faculty> actual = cache.getByIds(Arrays.asList(3, 1, 3), ids -> {
+            assertEquals(Arrays.asList(1), ids);
+            return Arrays.asList(new Faculty(1, "Faculty 1"));
+        });
+        assertEquals(Arrays.asList(new Faculty(1, "Faculty 1"), new Faculty(3, "Faculty 3")), actual);
+    }
+
+    @Test
+    void get_shouldReturnCopy_whenCallerChangesReturnedEntity() {
+        cache.get(1, this::load).get().setName("Changed");
+        cache.getAll(() -> new ArrayList<>(Arrays.asList(new Faculty(2, "Faculty 2")))).get(0).setName("Changed");
+        assertEquals(Optional.of(new Faculty(1, "Faculty 1")), cache.get(1, this::load));
+        assertEquals(Arrays.asList(new Faculty(2, "Faculty 2")), cache.getAll(ArrayList::new));
+        assertEquals(Optional.of(new Faculty(2, "Faculty 2")), cache.get(2, this::load));
+    }
+
+    @Test
+    void invalidateAll_shouldDropEntries_andIgnoreLoadsStartedBeforeInvalidation() {
+        cache.getAll(() -> {
+            cache.invalidateAll();
+            return Arrays.asList(new Faculty(1, "Faculty 1"));
+        });
+        assertEquals(0, cache.size());
+        cache.get(1, this::load);
+        cache.invalidateAll();
+        cache.get(1, this::load);
+        assertEquals(2, loads.get());
+    }
+
+    private Optional<Faculty> load(Integer id) {
+        loads.incrementAndGet();
+        return Optional.of(new Faculty(id, "Faculty " + id));
+    }
+}
@@ -0,0 +1,130 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.config.TestDaoConfig;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
+@SqlGroup({@Sql("classpath:create_tables.sql"), @Sql("classpath:test_data.sql")})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BulkIngestDaoImplTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private BulkIngestDaoImpl bulkIngestDao;
+    @Autowired
+    private StudentDaoImpl studentDao;
+
+    @Test
+    void copyStudents_shouldInsertStudentsWithReservedIds_whenNamesNeedQuoting() {
+        Group group = new Group(1, "AA-111", null, null);
+        List<Student> students = new ArrayList<>();
+        students.add(new Student(null, "Anna, \"Ann\"", "Smith", group));
+        students.add(new Student(null, "Oleg", "O'Neil", group));
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("students", 2L);
+        Map<String, Long> actual = bulkIngestDao.copyStudents(students);
+        assertEquals(expected, actual);
+        assertEquals(8, JdbcTestUtils.countRowsInTable(jdbcTemplate, "students"));
+        assertEquals("Anna, \"Ann\"", studentDao.getById(students.get(0).getId()).get().getFirstName());
+        assertEquals("O'Neil", studentDao.getById(8).get().getLastName());
+    }
+
+    @Test
+    void copyLectures_shouldInsertLecturesAndGroupsLectures_whenLecturesHaveGroups() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = Arrays.asList(new Group(1, "AA-111", null, faculty), new Group(2, "BB-222", null, faculty));
+        List<Lecture> lectures = new ArrayList<>();
+        lectures.add(new Lecture(null, new Subject(1, null, null), new Teacher(1, null, null, null),
+                new ClassRoom(3, 3, 300, faculty), groups, LocalTime.of(16, 0), LocalTime.of(18, 0)));
+        lectures.add(new Lecture(null, new Subject(2, null, null), new Teacher(2, null, null, null),
+                new ClassRoom(3, 3, 300, faculty), new ArrayList<>(), LocalTime.of(18, 0), LocalTime.of(20, 0)));
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("lectures", 2L);
+        expected.put("groups_lectures", 2L);
+        Map<String, Long> actual = bulkIngestDao.copyLectures(lectures);
+        assertEquals(expected, actual);
+        assertEquals(4, lectures.get(0).getId());
+        assertEquals(2, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "groups_lectures", "lecture_id=4"));
+    }
+
+    @Test
+    void copyLectures_shouldInsertGroupLinkOnce_whenLectureListsSameGroupTwice() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Group group = new Group(1, "AA-111", null, faculty);
+        List<Lecture> lectures = new ArrayList<>();
+        lectures.add(new Lecture(null, new Subject(1, null, null), new Teacher(1, null, null, null),
+                new ClassRoom(3, 3, 300, faculty), Arrays.asList(group, group), LocalTime.of(16, 0), LocalTime.of(18, 0)));
+        Map<String, Long> expected = new LinkedHashMap<>();
+        expected.put("lectures", 1L);
+        expected.put("groups_lectures", 1L);
+        Map<String, Long> actual = bulkIngestDao.copyLectures(lectures);
+        assertEquals(expected, actual);
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "groups_lectures", "lecture_id=4"));
+    }
+
+    @Test
+    void copySchedules_shouldRollbackSchedules_whenScheduleLectureDoesNotExist() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Lecture lecture = new Lecture(10, null, null, null, null, null, null);
+        List<Schedule> schedules = new ArrayList<>();
+        schedules.add(new Schedule(null, Arrays.asList(lecture), LocalDate.of(2021, 5, 26), faculty));
+        assertThrows(DataIntegrityViolationException.class, () -> bulkIngestDao.copySchedules(schedules));
+        assertEquals(2, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules"));
+    }
+
+    @Test
+    void getMissingIds_shouldReturnOnlyIdsAbsentInTable() {
+        List<Integer> expected = Arrays.asList(5, 9);
+        List<Integer> actual = bulkIngestDao.getMissingIds("groups", Arrays.asList(9, 1, 5, 4));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getMissingSubjectLinks_shouldReturnPairsAbsentInLinkTable() {
+        List<int[]> links = Arrays.asList(new int[]{1, 1}, new int[]{1, 2}, new int[]{2, 2});
+        List<int[]> actual = bulkIngestDao.getMissingSubjectLinks("teachers_subjects", links);
+        assertEquals(1, actual.size());
+        assertArrayEquals(new int[]{1, 2}, actual.get(0));
+    }
+
+    @Test
+    void getExistingScheduleDates_shouldReturnDatesAlreadyInSchedules() {
+        List<LocalDate> expected = Arrays.asList(LocalDate.of(2021, 5, 25));
+        List<LocalDate> actual = bulkIngestDao.getExistingScheduleDates(Arrays.asList(LocalDate.of(2021, 5, 25),
+                LocalDate.of(2021, 5, 26)));
+        assertEquals(expected, actual);
+    }
+}
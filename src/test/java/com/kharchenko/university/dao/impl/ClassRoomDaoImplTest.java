@@ -3,6 +3,7 @@ package com.kharchenko.university.dao.impl;
 import com.kharchenko.university.config.TestDaoConfig;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.exception.InvalidPageRequestException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -24,6 +25,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -135,4 +138,37 @@ class ClassRoomDaoImplTest {
         List<ClassRoom> actual = classroomDao.getByFaculty(faculty);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void existsByBuildingNumberAndRoomNumber_shouldReturnTrue_whenClassRoomExists() {
+        assertTrue(classroomDao.existsByBuildingNumberAndRoomNumber(2, 200));
+    }
+
+    @Test
+    void existsByBuildingNumberAndRoomNumber_shouldReturnFalse_whenClassRoomNotExist() {
+        assertFalse(classroomDao.existsByBuildingNumberAndRoomNumber(1, 200));
+    }
+
+    @Test
+    void existsByFaculty_shouldReturnTrue_whenFacultyHasClassRooms() {
+        assertTrue(classroomDao.existsByFaculty(new Faculty(1, "Programming")));
+    }
+
+    @Test
+    void existsByFaculty_shouldReturnFalse_whenFacultyHasNoClassRooms() {
+        assertFalse(classroomDao.existsByFaculty(new Faculty(2, "Management")));
+    }
+
+    @Test
+    void getPage_shouldReturnClassRoomsAfterGivenClassRoom_whenSortedByRoomNumber() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<ClassRoom> expected = Arrays.asList(new ClassRoom(2, 2, 200, faculty), new ClassRoom(3, 3, 300, faculty));
+        List<ClassRoom> actual = classroomDao.getPage(1, 5, "roomNumber");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPage_shouldThrowException_whenPageSizeIsNotPositive() {
+        assertThrows(InvalidPageRequestException.class, () -> classroomDao.getPage(null, 0));
+    }
+}
@@ -21,6 +21,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -108,4 +110,30 @@ class FacultyDaoImplTest {
         facultyDao.addAll(faculties);
         assertEquals(4, JdbcTestUtils.countRowsInTable(jdbcTemplate, "faculties"));
     }
+
+    @Test
+    void existsByName_shouldReturnTrue_whenFacultyWithGivenNameExists() {
+        assertTrue(facultyDao.existsByName("Programming"));
+    }
+
+    @Test
+    void existsByName_shouldReturnFalse_whenFacultyWithGivenNameNotExist() {
+        assertFalse(facultyDao.existsByName("Foreign languages"));
+    }
+
+    @Test
+    void getPage_shouldReturnFacultiesAfterGivenFaculty_whenSortedByName() {
+        List<Faculty> expected = new ArrayList<>();
+        expected.add(new Faculty(1, "Programming"));
+        List<Faculty> actual = facultyDao.getPage(2, 5, "name");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPage_shouldReturnFirstFacultiesByName_whenCursorIsNull() {
+        List<Faculty> expected = new ArrayList<>();
+        expected.add(new Faculty(2, "Management"));
+        List<Faculty> actual = facultyDao.getPage(null, 1, "name");
+        assertEquals(expected, actual);
+    }
 }
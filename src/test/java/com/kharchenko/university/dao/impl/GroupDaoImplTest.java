@@ -5,6 +5,8 @@ import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.dto.GroupSummary;
+import com.kharchenko.university.exception.InvalidPageRequestException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -25,6 +27,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -154,6 +158,19 @@ class GroupDaoImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getSummaries_shouldReturnAllGroupsWithFacultyAndSubjectNames() {
+        List<GroupSummary> expected = new ArrayList<>();
+        expected.add(new GroupSummary(1, "AA-111", "Programming", Arrays.asList("Java", "Sql"),
+                Arrays.asList("Learn Java", "Learn Sql")));
+        expected.add(new GroupSummary(2, "BB-222", "Programming", Arrays.asList("Spring", "Hibernate"),
+                Arrays.asList("Learn Spring", "Learn Hibernate")));
+        expected.add(new GroupSummary(3, "CC-333", "Programming", new ArrayList<>(), new ArrayList<>()));
+        expected.add(new GroupSummary(4, "DD-444", "Programming", new ArrayList<>(), new ArrayList<>()));
+        List<GroupSummary> actual = groupDao.getSummaries();
+        assertEquals(expected, actual);
+    }
+
     @Test
     void getByFaculty_shouldReturnAllGroupsByGivenFaculty() {
         Faculty faculty = new Faculty(1, "Programming");
@@ -181,4 +198,63 @@ class GroupDaoImplTest {
         assertEquals(0, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate,
                 "groups_lectures", "group_id=1 and lecture_id=1"));
     }
+
+    @Test
+    void existsByName_shouldReturnTrue_whenGroupWithGivenNameExists() {
+        assertTrue(groupDao.existsByName("AA-111"));
+    }
+
+    @Test
+    void existsByName_shouldReturnFalse_whenGroupWithGivenNameNotExist() {
+        assertFalse(groupDao.existsByName("EE-555"));
+    }
+
+    @Test
+    void existsBySubject_shouldReturnTrue_whenSubjectIsLearntByGroups() {
+        assertTrue(groupDao.existsBySubject(new Subject(4, "Hibernate", "Learn Hibernate")));
+    }
+
+    @Test
+    void existsBySubject_shouldReturnFalse_whenSubjectIsNotLearntByGroups() {
+        assertFalse(groupDao.existsBySubject(new Subject(5, "Junit", "Learn Junit")));
+    }
+
+    @Test
+    void getPage_shouldReturnGroupsAfterGivenGroup() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> expected = new ArrayList<>();
+        expected.add(new Group(3, "CC-333", new ArrayList<>(), faculty));
+        expected.add(new Group(4, "DD-444", new ArrayList<>(), faculty));
+        List<Group> actual = groupDao.getPage(2, 5);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPage_shouldThrowException_whenCursorGroupDoesNotExist() {
+        assertThrows(InvalidPageRequestException.class, () -> groupDao.getPage(99, 5, "name"));
+    }
+
+    @Test
+    void addAll_shouldInsertGroupsSubjects_whenGroupsHaveSubjects() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(null, "EE-555", Arrays.asList(new Subject(1, "Java", "Learn Java")), faculty));
+        groups.add(new Group(null, "FF-666", Arrays.asList(new Subject(null, "Name", "description")), faculty));
+        groups.add(new Group(null, "GG-777", new ArrayList<>(), faculty));
+        groupDao.addAll(groups);
+        assertEquals(7, JdbcTestUtils.countRowsInTable(jdbcTemplate, "groups"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "groups_subjects",
+                "group_id=6 AND subject_id=6"));
+    }
+
+    @Test
+    void addAll_shouldNotInsertGroups_whenSubjectLinkFails() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(null, "EE-555", new ArrayList<>(), faculty));
+        groups.add(new Group(null, "FF-666", Arrays.asList(new Subject(99, "Name", "description")), faculty));
+        assertThrows(DataIntegrityViolationException.class, () -> groupDao.addAll(groups));
+        assertEquals(4, JdbcTestUtils.countRowsInTable(jdbcTemplate, "groups"));
+        assertEquals(5, JdbcTestUtils.countRowsInTable(jdbcTemplate, "subjects"));
+    }
 }
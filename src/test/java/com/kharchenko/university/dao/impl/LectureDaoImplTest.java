@@ -4,14 +4,17 @@ import com.kharchenko.university.config.TestDaoConfig;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TeacherSubstitution;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.dto.LectureSummary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
 import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.ContextConfiguration;
@@ -21,6 +24,7 @@ import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.test.jdbc.JdbcTestUtils;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -29,6 +33,9 @@ import java.util.Arrays;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -77,6 +84,40 @@ class LectureDaoImplTest {
         assertEquals(4, JdbcTestUtils.countRowsInTable(jdbcTemplate, "lectures"));
     }
 
+    @Test
+    void add_shouldThrowException_whenLectureWithSameFieldsAndGroupsExists() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, "BB-222", null, faculty));
+        groups.add(new Group(1, "AA-111", null, faculty));
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, faculty), groups, LocalTime.of(9, 00), LocalTime.of(11, 00));
+        assertThrows(DuplicateKeyException.class, () -> lectureDao.add(lecture));
+        assertEquals(3, JdbcTestUtils.countRowsInTable(jdbcTemplate, "lectures"));
+    }
+
+    @Test
+    void add_shouldInsertNewRecord_whenOnlyLectureGroupsDiffer() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(1, "AA-111", null, faculty));
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, faculty), groups, LocalTime.of(9, 00), LocalTime.of(11, 00));
+        lectureDao.add(lecture);
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures",
+                "lecture_id=4 and group_ids='{1}'"));
+    }
+
+    @Test
+    void existsWithSameFields_shouldFollowGroupLinks_whenLectureGroupIsRemoved() {
+        jdbcTemplate.update("DELETE FROM groups_lectures WHERE group_id = 1 AND lecture_id = 1;");
+        Faculty faculty = new Faculty(1, "Programming");
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, faculty), Arrays.asList(new Group(2, "BB-222", null, faculty)),
+                LocalTime.of(9, 00), LocalTime.of(11, 00));
+        assertTrue(lectureDao.existsWithSameFields(lecture));
+    }
+
     @Test
     void getById_shouldReturnCorrectLectureByGivenId() {
         Subject subject = new Subject(1, "Java", "Learn Java");
@@ -99,6 +140,17 @@ class LectureDaoImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getAll_shouldShareReferencedEntities_whenLecturesReferToSameRows() {
+        List<Lecture> lectures = lectureDao.getAll();
+        Lecture first = lectures.get(0);
+        Lecture third = lectures.get(2);
+        assertSame(first.getTeacher(), third.getTeacher());
+        assertSame(first.getSubject(), third.getSubject());
+        assertSame(first.getClassRoom().getFaculty(), third.getClassRoom().getFaculty());
+        assertSame(first.getGroups().get(1), lectures.get(1).getGroups().get(0));
+    }
+
     @Test
     void getAll_shouldReturnAllLectures() {
         Faculty faculty = new Faculty(1, "Programming");
@@ -126,6 +178,54 @@ class LectureDaoImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void streamAll_shouldPassEveryLectureWithAllGroupsToAction() {
+        List<Lecture> expected = lectureDao.getAll();
+        List<Lecture> actual = new ArrayList<>();
+        lectureDao.streamAll(actual::add);
+        assertEquals(expected, actual);
+        assertEquals(2, actual.get(0).getGroups().size());
+        assertEquals(2, actual.get(1).getGroups().size());
+    }
+
+    @Test
+    void getPage_shouldReturnLecturesAfterGivenId_whenPageIsSmallerThanJoinedRows() {
+        Faculty faculty = new Faculty(1, "Programming");
+        ClassRoom classRoom = new ClassRoom(2, 2, 200, faculty);
+        Subject subject = new Subject(2, "Sql", "Learn Sql");
+        Teacher teacher = new Teacher(2, "Robert", "Martin", null);
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, "BB-222", null, faculty));
+        groups.add(new Group(3, "CC-333", null, faculty));
+        Lecture lecture = new Lecture(2, subject, teacher, classRoom, groups,
+                LocalTime.of(12, 00), LocalTime.of(14, 00));
+        List<Lecture> expected = Arrays.asList(lecture);
+        List<Lecture> actual = lectureDao.getPage(1, 1);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getSummaryPage_shouldReturnLectureSummariesWithGroupNames() {
+        List<LectureSummary> expected = new ArrayList<>();
+        expected.add(new LectureSummary(1, "Java", "Bruce", "Eckel", 1, 100, Arrays.asList("AA-111", "BB-222"),
+                LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        expected.add(new LectureSummary(2, "Sql", "Robert", "Martin", 2, 200, Arrays.asList("BB-222", "CC-333"),
+                LocalTime.of(12, 0), LocalTime.of(14, 0)));
+        List<LectureSummary> actual = lectureDao.getSummaryPage(null, 2, null);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getSummaryPage_shouldReturnEmptyGroupNames_whenLectureHasNoGroups() {
+        List<LectureSummary> expected = new ArrayList<>();
+        expected.add(new LectureSummary(2, "Sql", "Robert", "Martin", 2, 200, Arrays.asList("BB-222", "CC-333"),
+                LocalTime.of(12, 0), LocalTime.of(14, 0)));
+        expected.add(new LectureSummary(3, "Java", "Bruce", "Eckel", 2, 200, new ArrayList<>(),
+                LocalTime.of(14, 0), LocalTime.of(16, 0)));
+        List<LectureSummary> actual = lectureDao.getSummaryPage(1, 5, "startTime");
+        assertEquals(expected, actual);
+    }
+
     @Test
     void update_shouldCorrectlyUpdateLectureRecord() {
         Subject subject = new Subject(1, "Java", "Learn Java");
@@ -162,6 +262,75 @@ class LectureDaoImplTest {
                 "schedules_lectures", "lecture_id=1 and schedule_id=1"));
     }
 
+    @Test
+    void updateTeachers_shouldReassignAllGivenLecturesInOneUpdate() {
+        Lecture first = new Lecture(1, null, null, null, null, null, null);
+        Lecture third = new Lecture(3, null, null, null, null, null, null);
+        lectureDao.updateTeachers(Arrays.asList(new TeacherSubstitution(first, new Teacher(3, "James", "Gosling", null)),
+                new TeacherSubstitution(third, new Teacher(2, "Robert", "Martin", null))), LocalDate.of(2021, 5, 24),
+                LocalDate.of(2021, 5, 25));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id=1 and teacher_id=3"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id=2 and teacher_id=2"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id=3 and teacher_id=2"));
+    }
+
+    @Test
+    void updateTeachers_shouldReassignLectureOnlyInsidePeriod_whenLectureIsAlsoScheduledOutsideIt() {
+        jdbcTemplate.update("INSERT INTO schedules_lectures (schedule_id, lecture_id, date) VALUES (2, 1, '2021-05-25');");
+        Lecture first = new Lecture(1, null, null, null, null, null, null);
+        lectureDao.updateTeachers(Arrays.asList(new TeacherSubstitution(first, new Teacher(3, "James", "Gosling", null))),
+                LocalDate.of(2021, 5, 25), LocalDate.of(2021, 5, 25));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id=1 and teacher_id=1"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures",
+                "lecture_id=4 and teacher_id=3 and subject_id=1 and classroom_id=1"));
+        assertEquals(2, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "groups_lectures", "lecture_id=4"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "schedules_lectures",
+                "schedule_id=1 and lecture_id=1"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "schedules_lectures",
+                "schedule_id=2 and lecture_id=4"));
+    }
+
+    @Test
+    void updateTeachers_shouldMoveAllSharedLecturesInOneStatement_whenSeveralLecturesAreScheduledOutsidePeriod() {
+        jdbcTemplate.update("INSERT INTO schedules_lectures (schedule_id, lecture_id, date) VALUES (2, 1, '2021-05-25');");
+        jdbcTemplate.update("INSERT INTO schedules_lectures (schedule_id, lecture_id, date) VALUES (2, 2, '2021-05-25');");
+        Lecture first = new Lecture(1, null, null, null, null, null, null);
+        Lecture second = new Lecture(2, null, null, null, null, null, null);
+        lectureDao.updateTeachers(Arrays.asList(new TeacherSubstitution(first, new Teacher(3, "James", "Gosling", null)),
+                new TeacherSubstitution(second, new Teacher(3, "James", "Gosling", null))),
+                LocalDate.of(2021, 5, 25), LocalDate.of(2021, 5, 25));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id=1 and teacher_id=1"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id=2 and teacher_id=2"));
+        assertEquals(2, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "lectures", "lecture_id > 3 and teacher_id=3"));
+        assertEquals(4, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "groups_lectures", "lecture_id > 3"));
+        assertEquals(2, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "schedules_lectures",
+                "schedule_id=2 and lecture_id > 3"));
+        assertEquals(2, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "schedules_lectures",
+                "schedule_id=1 and lecture_id < 3"));
+    }
+
+    @Test
+    void updateTeachers_shouldReuseExistingLecture_whenSubstituteAlreadyHasSameLecture() {
+        jdbcTemplate.update("INSERT INTO schedules_lectures (schedule_id, lecture_id, date) VALUES (2, 1, '2021-05-25');");
+        jdbcTemplate.update("INSERT INTO lectures (subject_id, teacher_id, classroom_id, start_time, end_time, group_ids) " +
+                "SELECT subject_id, 3, classroom_id, start_time, end_time, group_ids FROM lectures WHERE lecture_id = 1;");
+        Lecture first = new Lecture(1, null, null, null, null, null, null);
+        lectureDao.updateTeachers(Arrays.asList(new TeacherSubstitution(first, new Teacher(3, "James", "Gosling", null))),
+                LocalDate.of(2021, 5, 25), LocalDate.of(2021, 5, 25));
+        assertEquals(4, JdbcTestUtils.countRowsInTable(jdbcTemplate, "lectures"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "schedules_lectures",
+                "schedule_id=2 and lecture_id=4"));
+    }
+
+    @Test
+    void updateTeachers_shouldSkipLecture_whenLectureWasDeleted() {
+        jdbcTemplate.update("INSERT INTO schedules_lectures (schedule_id, lecture_id, date) VALUES (2, 1, '2021-05-25');");
+        Lecture deleted = new Lecture(10, null, null, null, null, null, null);
+        lectureDao.updateTeachers(Arrays.asList(new TeacherSubstitution(deleted, new Teacher(3, "James", "Gosling", null))),
+                LocalDate.of(2021, 5, 25), LocalDate.of(2021, 5, 25));
+        assertEquals(3, JdbcTestUtils.countRowsInTable(jdbcTemplate, "lectures"));
+    }
+
     @Test
     void getByClassRoom_shouldReturnAllLecturesByGivenClassRoom() {
         Faculty faculty = new Faculty(1, "Programming");
@@ -259,4 +428,76 @@ class LectureDaoImplTest {
         List<Lecture> actual = lectureDao.getGroupLectures(group);
         assertEquals(expected, actual);
     }
+
+    @Test
+    void existsWithSameFields_shouldReturnTrue_whenLectureWithSameFieldsExists() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, "BB-222", null, faculty));
+        groups.add(new Group(1, "AA-111", null, faculty));
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, faculty), groups, LocalTime.of(9, 00), LocalTime.of(11, 00));
+        assertTrue(lectureDao.existsWithSameFields(lecture));
+    }
+
+    @Test
+    void existsWithSameFields_shouldReturnFalse_whenLectureGroupsDiffer() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(1, "AA-111", null, faculty));
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, faculty), groups, LocalTime.of(9, 00), LocalTime.of(11, 00));
+        assertFalse(lectureDao.existsWithSameFields(lecture));
+    }
+
+    @Test
+    void existsWithSameFields_shouldReturnTrue_whenLectureWithoutGroupsExists() {
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(2, 2, 200, new Faculty(1, "Programming")), new ArrayList<>(),
+                LocalTime.of(14, 00), LocalTime.of(16, 00));
+        assertTrue(lectureDao.existsWithSameFields(lecture));
+    }
+
+    @Test
+    void getIndexesWithSameFields_shouldReturnIndexesOfAlreadyExistingLectures() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject subject = new Subject(1, "Java", "Learn Java");
+        Teacher teacher = new Teacher(1, "Bruce", "Eckel", null);
+        List<Group> groups = new ArrayList<>();
+        groups.add(new Group(2, "BB-222", null, faculty));
+        groups.add(new Group(1, "AA-111", null, faculty));
+        List<Lecture> lectures = new ArrayList<>();
+        lectures.add(new Lecture(null, subject, teacher, new ClassRoom(1, 1, 100, faculty), groups.subList(1, 2),
+                LocalTime.of(9, 00), LocalTime.of(11, 00)));
+        lectures.add(new Lecture(null, subject, teacher, new ClassRoom(1, 1, 100, faculty), groups,
+                LocalTime.of(9, 00), LocalTime.of(11, 00)));
+        lectures.add(new Lecture(null, subject, teacher, new ClassRoom(2, 2, 200, faculty), new ArrayList<>(),
+                LocalTime.of(14, 00), LocalTime.of(16, 00)));
+        assertEquals(Arrays.asList(1, 2), lectureDao.getIndexesWithSameFields(lectures));
+    }
+
+    @Test
+    void existsByTeacher_shouldReturnTrue_whenTeacherHasLectures() {
+        assertTrue(lectureDao.existsByTeacher(new Teacher(2, "Robert", "Martin", null)));
+    }
+
+    @Test
+    void existsByTeacher_shouldReturnFalse_whenTeacherHasNoLectures() {
+        assertFalse(lectureDao.existsByTeacher(new Teacher(3, "James", "Gosling", null)));
+    }
+
+    @Test
+    void existsByGroup_shouldReturnTrue_whenGroupVisitsLectures() {
+        assertTrue(lectureDao.existsByGroup(new Group(3, "CC-333", null, new Faculty(1, "Programming"))));
+    }
+
+    @Test
+    void existsByGroup_shouldReturnFalse_whenGroupVisitsNoLectures() {
+        assertFalse(lectureDao.existsByGroup(new Group(4, "DD-444", null, new Faculty(1, "Programming"))));
+    }
+
+    @Test
+    void existsByClassRoom_shouldReturnFalse_whenClassRoomHasNoLectures() {
+        assertFalse(lectureDao.existsByClassRoom(new ClassRoom(3, 3, 300, new Faculty(1, "Programming"))));
+    }
 }
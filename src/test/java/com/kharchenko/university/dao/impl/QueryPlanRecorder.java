@@ -0,0 +1,135 @@
+package com.kharchenko.university.dao.impl;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+class QueryPlanRecorder {
+
+    private static final Pattern SCAN = Pattern.compile("(Seq Scan|Index Scan|Index Only Scan)(?: Backward)?(?: using \\w+)? on (\\w+)");
+    private static final Pattern PARTITION_SUFFIX = Pattern.compile("_(p\\d{4}_\\d{2}|default)$");
+
+    private final Map<String, String> plans = new LinkedHashMap<>();
+
+    DataSource wrap(DataSource dataSource) {
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            if (method.getName().equals("equals")) {
+                return proxy == args[0];
+            }
+            Object result = invoke(dataSource, method, args);
+            return method.getName().equals("getConnection") ? wrap((Connection) result) : result;
+        });
+    }
+
+    Map<String, String> getPlans() {
+        return plans;
+    }
+
+    List<String> getFullScans(List<String> tableNames) {
+        List<String> scans = new ArrayList<>();
+        for (Map.Entry<String, String> entry : plans.entrySet()) {
+            String[] lines = entry.getValue().split("\n");
+            for (int i = 0; i < lines.length; i++) {
+                Matcher matcher = SCAN.matcher(lines[i]);
+                if (matcher.find() && tableNames.contains(getTableName(matcher.group(2)))
+                        && (matcher.group(1).equals("Seq Scan") || !hasIndexCondition(lines, i) && !isLimited(lines, i))) {
+                    scans.add(matcher.group(2) + " in " + entry.getKey() + "\n" + entry.getValue());
+                }
+            }
+        }
+        return scans;
+    }
+
+    private String getTableName(String relationName) {
+        return PARTITION_SUFFIX.matcher(relationName).replaceFirst("");
+    }
+
+    private boolean hasIndexCondition(String[] lines, int nodeIndex) {
+        for (int i = nodeIndex + 1; i < lines.length && !lines[i].contains("->"); i++) {
+            if (lines[i].contains("Index Cond")) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private boolean isLimited(String[] lines, int nodeIndex) {
+        return nodeIndex > 0 && lines[nodeIndex - 1].trim().replace("->", "").trim().startsWith("Limit");
+    }
+
+    private Connection wrap(Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            Object result = invoke(connection, method, args);
+            if (method.getName().equals("prepareStatement") && isSelect((String) args[0])) {
+                return wrap(connection, (PreparedStatement) result, (String) args[0]);
+            }
+            return result;
+        });
+    }
+
+    private PreparedStatement wrap(Connection connection, PreparedStatement statement, String query) {
+        List<Object[]> parameters = new ArrayList<>();
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            if (method.getName().startsWith("set") && args != null && args.length > 1 && args[0] instanceof Integer) {
+                parameters.add(new Object[]{method, args});
+            } else if (method.getName().equals("clearParameters")) {
+                parameters.clear();
+            } else if (method.getName().startsWith("execute") && !plans.containsKey(query)) {
+                plans.put(query, explain(connection, query, parameters));
+            }
+            return invoke(statement, method, args);
+        });
+    }
+
+    private String explain(Connection connection, String query, List<Object[]> parameters) throws Exception {
+        try (Statement statement = connection.createStatement()) {
+            statement.execute("SET enable_seqscan = off;");
+        }
+        try (PreparedStatement statement = connection.prepareStatement("EXPLAIN " + query)) {
+            for (Object[] parameter : parameters) {
+                ((Method) parameter[0]).invoke(statement, (Object[]) parameter[1]);
+            }
+            StringBuilder plan = new StringBuilder();
+            try (ResultSet resultSet = statement.executeQuery()) {
+                while (resultSet.next()) {
+                    plan.append(resultSet.getString(1)).append('\n');
+                }
+            }
+            return plan.toString();
+        } finally {
+            try (Statement statement = connection.createStatement()) {
+                statement.execute("RESET enable_seqscan;");
+            }
+        }
+    }
+
+    private boolean isSelect(String query) {
+        String trimmed = query.trim().toUpperCase();
+        return trimmed.startsWith("SELECT") || trimmed.startsWith("WITH");
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+}
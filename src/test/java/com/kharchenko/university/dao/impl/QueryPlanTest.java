@@ -0,0 +1,210 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.config.TestDaoConfig;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.context.annotation.Primary;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.DataSourceTransactionManager;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlConfig;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.transaction.PlatformTransactionManager;
+
+import javax.sql.DataSource;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {QueryPlanTest.QueryPlanConfig.class}, loader = AnnotationConfigContextLoader.class)
+@SqlGroup({@Sql("classpath:create_tables.sql"), @Sql("classpath:test_data.sql"), @Sql("classpath:plan_data.sql")})
+@SqlConfig(dataSource = "recordingDataSource", transactionManager = "recordingTransactionManager")
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class QueryPlanTest {
+
+    private static final List<String> LARGE_TABLES = Arrays.asList("students", "lectures", "schedules",
+            "groups_subjects", "teachers_subjects", "groups_lectures", "schedules_lectures", "timetable_changes");
+
+    @Autowired
+    private QueryPlanRecorder recorder;
+    @Autowired
+    private ClassRoomDaoImpl classRoomDao;
+    @Autowired
+    private FacultyDaoImpl facultyDao;
+    @Autowired
+    private GroupDaoImpl groupDao;
+    @Autowired
+    private LectureDaoImpl lectureDao;
+    @Autowired
+    private ScheduleDaoImpl scheduleDao;
+    @Autowired
+    private StudentDaoImpl studentDao;
+    @Autowired
+    private SubjectDaoImpl subjectDao;
+    @Autowired
+    private TeacherDaoImpl teacherDao;
+    @Autowired
+    private ScheduleGraphLoaderImpl scheduleGraphLoader;
+    @Autowired
+    private TimeTableChangeDaoImpl timeTableChangeDao;
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final Subject subject = new Subject(1, "Java", "Learn Java");
+    private final Teacher teacher = new Teacher(1, "Bruce", "Eckel", null);
+    private final ClassRoom classRoom = new ClassRoom(1, 1, 100, faculty);
+    private final Group group = new Group(1, "AA-111", null, faculty);
+
+    @AfterEach
+    void assertNoFullScans() {
+        assertFalse(recorder.getPlans().isEmpty());
+        List<String> scans = recorder.getFullScans(LARGE_TABLES);
+        assertTrue(scans.isEmpty(), () -> "Full scans found:\n" + String.join("\n", scans));
+    }
+
+    @Test
+    void lectureQueries_shouldUseIndexes() {
+        lectureDao.getById(1);
+        lectureDao.getByIds(Arrays.asList(1, 2));
+        lectureDao.getByClassRoom(classRoom);
+        lectureDao.getBySubject(subject);
+        lectureDao.getTeacherLectures(teacher);
+        lectureDao.getGroupLectures(group);
+        lectureDao.getSummaryPage(null, 50, null);
+        lectureDao.getSummaryPage(1, 50, "startTime");
+        lectureDao.existsByClassRoom(classRoom);
+        lectureDao.existsBySubject(subject);
+        lectureDao.existsByTeacher(teacher);
+        lectureDao.existsByGroup(group);
+        lectureDao.existsWithSameFields(new Lecture(null, subject, teacher, classRoom, Arrays.asList(group),
+                LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        lectureDao.getIndexesWithSameFields(Arrays.asList(new Lecture(null, subject, teacher, classRoom,
+                Arrays.asList(group), LocalTime.of(9, 0), LocalTime.of(11, 0))));
+    }
+
+    @Test
+    void scheduleQueries_shouldUseIndexes() {
+        Lecture lecture = new Lecture(1, null, null, null, null, null, null);
+        scheduleDao.getById(1);
+        scheduleDao.getByIds(Arrays.asList(1, 2));
+        scheduleDao.getByLecture(lecture);
+        scheduleDao.getByFaculty(faculty);
+        scheduleDao.existsByDate(LocalDate.of(2021, 5, 24));
+        scheduleDao.getExistingDates(Arrays.asList(LocalDate.of(2021, 5, 24), LocalDate.of(2021, 5, 25)));
+        scheduleDao.existsByLecture(lecture);
+        scheduleDao.existsByFaculty(faculty);
+        scheduleDao.getByPeriod(LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 31));
+        scheduleDao.getByPeriodAndFaculty(LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 31), faculty);
+        List<Schedule> schedules = scheduleDao.getByIds(Arrays.asList(1, 2));
+        scheduleGraphLoader.loadLectures(schedules);
+    }
+
+    @Test
+    void timeTableChangeQueries_shouldUseIndexes() {
+        timeTableChangeDao.add(1, null);
+        timeTableChangeDao.getLastId();
+        timeTableChangeDao.getAfter(0);
+    }
+
+    @Test
+    void periodQueries_shouldScanOnlyPartitionsOfGivenMonth() {
+        scheduleDao.getByPeriod(LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 31));
+        scheduleDao.getByPeriodAndFaculty(LocalDate.of(2030, 3, 1), LocalDate.of(2030, 3, 31), faculty);
+        for (String plan : recorder.getPlans().values()) {
+            assertTrue(plan.contains("schedules_p2030_03") && plan.contains("schedules_lectures_p2030_03"), plan);
+            assertFalse(plan.contains("p2030_02") || plan.contains("p2030_04") || plan.contains("_default"), plan);
+        }
+    }
+
+    @Test
+    void groupAndStudentQueries_shouldUseIndexes() {
+        groupDao.getById(1);
+        groupDao.getByIds(Arrays.asList(1, 2));
+        groupDao.getBySubject(subject);
+        groupDao.getByFaculty(faculty);
+        groupDao.existsByName("AA-111");
+        groupDao.existsBySubject(subject);
+        groupDao.existsByFaculty(faculty);
+        studentDao.getById(1);
+        studentDao.getByIds(Arrays.asList(1, 2));
+        studentDao.getGroupStudents(group);
+        studentDao.getSummaryPage(1, 50, "lastName");
+        groupDao.getSummaries();
+        studentDao.existsByGroup(group);
+    }
+
+    @Test
+    void teacherSubjectClassRoomAndFacultyQueries_shouldUseIndexes() {
+        teacherDao.getById(1);
+        teacherDao.getByIds(Arrays.asList(1, 2));
+        teacherDao.getBySubject(subject);
+        teacherDao.existsBySubject(subject);
+        subjectDao.getById(1);
+        subjectDao.getByIds(Arrays.asList(1, 2));
+        subjectDao.existsByName("Java");
+        classRoomDao.getById(1);
+        classRoomDao.getByIds(Arrays.asList(1, 2));
+        classRoomDao.getByBuildingNumber(1);
+        classRoomDao.getByFaculty(faculty);
+        classRoomDao.existsByBuildingNumberAndRoomNumber(1, 100);
+        classRoomDao.existsByFaculty(faculty);
+        facultyDao.getById(1);
+        facultyDao.getByIds(Arrays.asList(1, 2));
+        facultyDao.existsByName("Programming");
+    }
+
+    @Configuration
+    @Import(TestDaoConfig.class)
+    static class QueryPlanConfig {
+
+        @Value("${db.fetchSize}")
+        private int fetchSize;
+
+        @Bean
+        public QueryPlanRecorder queryPlanRecorder() {
+            return new QueryPlanRecorder();
+        }
+
+        @Bean
+        @Primary
+        public DataSource recordingDataSource(@Qualifier("dataSource") DataSource dataSource) {
+            return queryPlanRecorder().wrap(dataSource);
+        }
+
+        @Bean
+        @Primary
+        public JdbcTemplate recordingJdbcTemplate(DataSource dataSource) {
+            JdbcTemplate jdbcTemplate = new JdbcTemplate(dataSource);
+            jdbcTemplate.setFetchSize(fetchSize);
+            return jdbcTemplate;
+        }
+
+        @Bean
+        @Primary
+        public PlatformTransactionManager recordingTransactionManager(DataSource dataSource) {
+            return new DataSourceTransactionManager(dataSource);
+        }
+    }
+}
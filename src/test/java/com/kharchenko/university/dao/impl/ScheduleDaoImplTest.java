@@ -19,11 +19,14 @@ import org.springframework.test.jdbc.JdbcTestUtils;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -108,6 +111,17 @@ class ScheduleDaoImplTest {
                 "schedules", "schedule_id=2 and date='2021-05-26' and faculty_id=2"));
     }
 
+    @Test
+    void update_shouldMoveScheduleLectures_whenDateChanged() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Schedule schedule = new Schedule(1, null, LocalDate.of(2021, 06, 01), faculty);
+        scheduleDao.update(schedule);
+        assertEquals(2, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate,
+                "schedules_lectures", "schedule_id=1 and date='2021-06-01'"));
+        assertEquals(0, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate,
+                "schedules_lectures", "date='2021-05-24'"));
+    }
+
     @Test
     void deleteById_shouldThrowException_whenExistReferencesToTheSchedule() {
         assertThrows(DataIntegrityViolationException.class, () -> {
@@ -165,4 +179,87 @@ class ScheduleDaoImplTest {
         List<Schedule> actual = scheduleDao.getByFaculty(faculty);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getByPeriod_shouldReturnOnlySchedulesWithinGivenDates() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Lecture> lectures = new ArrayList<>();
+        lectures.add(new Lecture(0, null, null, null, null, null, null));
+        List<Schedule> expected = new ArrayList<>();
+        expected.add(new Schedule(2, lectures, LocalDate.of(2021, 5, 25), faculty));
+        List<Schedule> actual = scheduleDao.getByPeriod(LocalDate.of(2021, 5, 25), LocalDate.of(2021, 5, 31));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getByPeriod_shouldReturnEmptyList_whenNoSchedulesWithinGivenDates() {
+        List<Schedule> actual = scheduleDao.getByPeriod(LocalDate.of(2021, 6, 1), LocalDate.of(2021, 6, 30));
+        assertTrue(actual.isEmpty());
+    }
+
+    @Test
+    void getByPeriodAndFaculty_shouldReturnSchedulesOfGivenFacultyWithinGivenDates() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Lecture> lectures = new ArrayList<>();
+        lectures.add(new Lecture(1, null, null, null, null, null, null));
+        lectures.add(new Lecture(2, null, null, null, null, null, null));
+        List<Schedule> expected = new ArrayList<>();
+        expected.add(new Schedule(1, lectures, LocalDate.of(2021, 5, 24), faculty));
+        LocalDate date = LocalDate.of(2021, 5, 24);
+        assertEquals(expected, scheduleDao.getByPeriodAndFaculty(date, date, faculty));
+        assertTrue(scheduleDao.getByPeriodAndFaculty(date, date, new Faculty(2, "Management")).isEmpty());
+    }
+
+    @Test
+    void streamByPeriod_shouldPassSchedulesInDateOrder() {
+        List<LocalDate> actual = new ArrayList<>();
+        scheduleDao.streamByPeriod(LocalDate.of(2021, 5, 1), LocalDate.of(2021, 5, 31),
+                schedule -> actual.add(schedule.getDate()));
+        List<LocalDate> expected = new ArrayList<>();
+        expected.add(LocalDate.of(2021, 5, 24));
+        expected.add(LocalDate.of(2021, 5, 25));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void existsByDate_shouldReturnTrue_whenScheduleWithGivenDateExists() {
+        assertTrue(scheduleDao.existsByDate(LocalDate.of(2021, 5, 24)));
+    }
+
+    @Test
+    void existsByDate_shouldReturnFalse_whenScheduleWithGivenDateNotExist() {
+        assertFalse(scheduleDao.existsByDate(LocalDate.of(2021, 5, 26)));
+    }
+
+    @Test
+    void getExistingDates_shouldReturnOnlyDatesThatHaveSchedules() {
+        List<LocalDate> dates = Arrays.asList(LocalDate.of(2021, 5, 25), LocalDate.of(2021, 5, 26),
+                LocalDate.of(2021, 5, 24));
+        List<LocalDate> expected = Arrays.asList(LocalDate.of(2021, 5, 24), LocalDate.of(2021, 5, 25));
+        assertEquals(expected, scheduleDao.getExistingDates(dates));
+    }
+
+    @Test
+    void existsByLecture_shouldReturnTrue_whenLectureIsUsedInSchedule() {
+        Lecture lecture = new Lecture(2, null, null, null, null, null, null);
+        assertTrue(scheduleDao.existsByLecture(lecture));
+    }
+
+    @Test
+    void existsByLecture_shouldReturnFalse_whenLectureIsNotUsedInSchedule() {
+        Lecture lecture = new Lecture(3, null, null, null, null, null, null);
+        assertFalse(scheduleDao.existsByLecture(lecture));
+    }
+
+    @Test
+    void existsByFaculty_shouldReturnFalse_whenFacultyHasNoSchedules() {
+        assertFalse(scheduleDao.existsByFaculty(new Faculty(2, "Management")));
+    }
+
+    @Test
+    void getPage_shouldReturnSchedulesAfterGivenSchedule_whenSortedByDate() {
+        List<Schedule> actual = scheduleDao.getPage(1, 5, "date");
+        assertEquals(1, actual.size());
+        assertEquals(LocalDate.of(2021, 05, 25), actual.get(0).getDate());
+    }
+}
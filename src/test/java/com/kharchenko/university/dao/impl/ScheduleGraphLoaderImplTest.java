@@ -0,0 +1,70 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.config.TestDaoConfig;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
+@SqlGroup({@Sql("classpath:create_tables.sql"), @Sql("classpath:test_data.sql")})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ScheduleGraphLoaderImplTest {
+
+    @Autowired
+    private ScheduleGraphLoaderImpl scheduleGraphLoader;
+    @Autowired
+    private ScheduleDaoImpl scheduleDao;
+
+    @Test
+    void loadLectures_shouldFillLecturesWithAllNestedEntities_whenGivenSchedulesFromDao() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject java = new Subject(1, "Java", "Learn Java");
+        Subject sql = new Subject(2, "Sql", "Learn Sql");
+        Subject spring = new Subject(3, "Spring", "Learn Spring");
+        Subject hibernate = new Subject(4, "Hibernate", "Learn Hibernate");
+        Teacher firstTeacher = new Teacher(1, "Bruce", "Eckel", Arrays.asList(java, spring));
+        Teacher secondTeacher = new Teacher(2, "Robert", "Martin", Arrays.asList(sql, hibernate));
+        Group firstGroup = new Group(1, "AA-111", Arrays.asList(java, sql), faculty);
+        Group secondGroup = new Group(2, "BB-222", Arrays.asList(spring, hibernate), faculty);
+        Group thirdGroup = new Group(3, "CC-333", new ArrayList<>(), faculty);
+        Lecture firstLecture = new Lecture(1, java, firstTeacher, new ClassRoom(1, 1, 100, faculty),
+                Arrays.asList(firstGroup, secondGroup), LocalTime.of(9, 0), LocalTime.of(11, 0));
+        Lecture secondLecture = new Lecture(2, sql, secondTeacher, new ClassRoom(2, 2, 200, faculty),
+                Arrays.asList(secondGroup, thirdGroup), LocalTime.of(12, 0), LocalTime.of(14, 0));
+        List<Schedule> expected = new ArrayList<>();
+        expected.add(new Schedule(1, Arrays.asList(firstLecture, secondLecture), LocalDate.of(2021, 5, 24), faculty));
+        expected.add(new Schedule(2, new ArrayList<>(), LocalDate.of(2021, 5, 25), faculty));
+        List<Schedule> actual = scheduleGraphLoader.loadLectures(scheduleDao.getAll());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void loadLectures_shouldShareGroupInstance_whenGroupVisitsSeveralLectures() {
+        List<Schedule> schedules = scheduleGraphLoader.loadLectures(scheduleDao.getAll());
+        List<Lecture> lectures = schedules.get(0).getLectures();
+        assertSame(lectures.get(0).getGroups().get(1), lectures.get(1).getGroups().get(0));
+    }
+}
@@ -0,0 +1,122 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.config.TestDaoConfig;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+import org.springframework.test.jdbc.JdbcTestUtils;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
+@SqlGroup({@Sql("classpath:create_tables.sql"), @Sql("classpath:test_data.sql")})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SchedulePartitionDaoImplTest {
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+    @Autowired
+    private SchedulePartitionDaoImpl schedulePartitionDao;
+    @Autowired
+    private ScheduleDaoImpl scheduleDao;
+
+    @AfterEach
+    void dropDetachedPartitions() {
+        jdbcTemplate.execute("DROP TABLE IF EXISTS schedules_lectures_p2021_05, schedules_p2021_05 CASCADE;");
+    }
+
+    @Test
+    void getPartitions_shouldReturnEmptyList_whenOnlyDefaultPartitionExists() {
+        assertEquals(Collections.emptyList(), schedulePartitionDao.getPartitions());
+    }
+
+    @Test
+    void getDefaultPartitionMonths_shouldReturnMonthsOfSchedulesWithoutPartition() {
+        jdbcTemplate.update("INSERT INTO schedules (date, faculty_id) VALUES ('2019-11-03', 1), ('2019-11-20', 2);");
+        assertEquals(Arrays.asList(YearMonth.of(2019, 11), YearMonth.of(2021, 5)),
+                schedulePartitionDao.getDefaultPartitionMonths());
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 5));
+        assertEquals(Arrays.asList(YearMonth.of(2019, 11)), schedulePartitionDao.getDefaultPartitionMonths());
+    }
+
+    @Test
+    void createPartition_shouldAddMonthlyPartitions() {
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 6));
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 5));
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 6));
+        assertEquals(Arrays.asList(YearMonth.of(2021, 5), YearMonth.of(2021, 6)), schedulePartitionDao.getPartitions());
+    }
+
+    @Test
+    void createPartition_shouldMoveRowsOutOfDefaultPartitions() {
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 5));
+        assertEquals(0, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_default"));
+        assertEquals(0, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_lectures_default"));
+        assertEquals(2, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_p2021_05"));
+        assertEquals(2, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_lectures_p2021_05"));
+        assertEquals(2, scheduleDao.getById(1).get().getLectures().size());
+    }
+
+    @Test
+    void detachPartition_shouldRemoveRowsFromSchedulesAndKeepArchivedTables() {
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 5));
+        schedulePartitionDao.detachPartition(YearMonth.of(2021, 5));
+        assertEquals(Collections.emptyList(), schedulePartitionDao.getPartitions());
+        assertEquals(0, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules"));
+        assertEquals(0, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_lectures"));
+        assertEquals(2, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_p2021_05"));
+        assertEquals(2, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_lectures_p2021_05"));
+    }
+
+    @Test
+    void detachPartition_shouldReportWhetherPartitionWasDetached() {
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 5));
+        assertTrue(schedulePartitionDao.detachPartition(YearMonth.of(2021, 5)));
+        assertFalse(schedulePartitionDao.detachPartition(YearMonth.of(2021, 5)));
+    }
+
+    @Test
+    void createPartition_shouldCreatePartitionOnce_whenCalledConcurrently() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> futures = new ArrayList<>();
+            for (int i = 0; i < 4; i++) {
+                futures.add(executor.submit(() -> schedulePartitionDao.createPartition(YearMonth.of(2021, 5))));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+        assertEquals(Arrays.asList(YearMonth.of(2021, 5)), schedulePartitionDao.getPartitions());
+        assertEquals(2, JdbcTestUtils.countRowsInTable(jdbcTemplate, "schedules_p2021_05"));
+    }
+
+    @Test
+    void getByPeriod_shouldReadSchedulesFromPartitions() {
+        schedulePartitionDao.createPartition(YearMonth.of(2021, 5));
+        assertEquals(2, scheduleDao.getByPeriod(LocalDate.of(2021, 5, 1), LocalDate.of(2021, 5, 31)).size());
+    }
+}
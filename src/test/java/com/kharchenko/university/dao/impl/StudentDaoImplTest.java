@@ -5,6 +5,8 @@ import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.dto.StudentSummary;
+import com.kharchenko.university.exception.InvalidPageRequestException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -21,7 +23,10 @@ import java.util.List;
 import java.util.ArrayList;
 import java.util.Optional;
 
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -146,4 +151,33 @@ class StudentDaoImplTest {
         List<Student> actual = studentDao.getGroupStudents(group);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSummaryPage_shouldReturnStudentSummariesAfterGivenStudent_whenSortedByLastName() {
+        List<StudentSummary> expected = new ArrayList<>();
+        expected.add(new StudentSummary(5, "Mariia", "Mariyk", 1, "AA-111"));
+        expected.add(new StudentSummary(4, "Olha", "Olhova", 2, "BB-222"));
+        List<StudentSummary> actual = studentDao.getSummaryPage(1, 2, "lastName");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void existsByGroup_shouldReturnTrue_whenGroupHasStudents() {
+        assertTrue(studentDao.existsByGroup(new Group(1, "AA-111", null, new Faculty(1, "Programming"))));
+    }
+
+    @Test
+    void existsByGroup_shouldReturnFalse_whenGroupHasNoStudents() {
+        assertFalse(studentDao.existsByGroup(new Group(3, "CC-333", null, new Faculty(1, "Programming"))));
+    }
+
+    @Test
+    void getSummaryPage_shouldThrowException_whenCursorStudentDoesNotExist() {
+        assertThrows(InvalidPageRequestException.class, () -> studentDao.getSummaryPage(42, 2, "lastName"));
+    }
+
+    @Test
+    void getSummaryPage_shouldReturnEmptyPage_whenSortedByIdAfterLastStudent() {
+        assertTrue(studentDao.getSummaryPage(42, 2, null).isEmpty());
+    }
+}
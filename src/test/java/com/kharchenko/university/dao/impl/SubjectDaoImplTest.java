@@ -4,6 +4,7 @@ import com.kharchenko.university.config.TestDaoConfig;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.exception.InvalidPageRequestException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -23,6 +24,8 @@ import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 
 @ExtendWith(SpringExtension.class)
 @ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
@@ -158,4 +161,28 @@ class SubjectDaoImplTest {
         assertEquals(0, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate,
                 "teachers_subjects", "subject_id=1 and teacher_id=1"));
     }
+
+    @Test
+    void existsByName_shouldReturnTrue_whenSubjectWithGivenNameExists() {
+        assertTrue(subjectDao.existsByName("Java"));
+    }
+
+    @Test
+    void existsByName_shouldReturnFalse_whenSubjectWithGivenNameNotExist() {
+        assertFalse(subjectDao.existsByName("Jdbc"));
+    }
+
+    @Test
+    void getPage_shouldReturnSubjectsAfterGivenSubject_whenSortedByName() {
+        List<Subject> expected = new ArrayList<>();
+        expected.add(new Subject(5, "Junit", "Learn Junit"));
+        expected.add(new Subject(3, "Spring", "Learn Spring"));
+        List<Subject> actual = subjectDao.getPage(1, 2, "name");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPage_shouldThrowException_whenSortKeyIsNotSupported() {
+        assertThrows(InvalidPageRequestException.class, () -> subjectDao.getPage(null, 2, "description"));
+    }
 }
@@ -1,6 +1,7 @@
 package com.kharchenko.university.dao.impl;
 
 import com.kharchenko.university.config.TestDaoConfig;
+import com.kharchenko.university.exception.InvalidPageRequestException;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 import org.junit.jupiter.api.Test;
@@ -15,12 +16,16 @@ import org.springframework.test.context.jdbc.SqlGroup;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.context.support.AnnotationConfigContextLoader;
 import org.springframework.test.jdbc.JdbcTestUtils;
+import org.springframework.transaction.PlatformTransactionManager;
 
 import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
 @ExtendWith(SpringExtension.class)
@@ -32,6 +37,8 @@ class TeacherDaoImplTest {
     @Autowired
     private JdbcTemplate jdbcTemplate;
     @Autowired
+    private PlatformTransactionManager transactionManager;
+    @Autowired
     private TeacherDaoImpl teacherDao;
     @Autowired
     private SubjectDaoImpl subjectDao;
@@ -83,6 +90,56 @@ class TeacherDaoImplTest {
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getByIds_shouldReturnExistingTeachersWithAllSubjects_whenGivenIds() {
+        List<Subject> subjects = new ArrayList<>();
+        subjects.add(new Subject(1, "Java", "Learn Java"));
+        subjects.add(new Subject(3, "Spring", "Learn Spring"));
+        List<Teacher> expected = new ArrayList<>();
+        expected.add(new Teacher(1, "Bruce", "Eckel", subjects));
+        expected.add(new Teacher(3, "James", "Gosling", new ArrayList<>()));
+        List<Teacher> actual = teacherDao.getByIds(Arrays.asList(3, 7, 1, 3));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getByIds_shouldReturnEmptyList_whenIdsAreEmpty() {
+        List<Teacher> actual = teacherDao.getByIds(new ArrayList<>());
+        assertEquals(new ArrayList<>(), actual);
+    }
+
+    @Test
+    void getPage_shouldReturnTeachersWithAllSubjects_whenLimitIsLessThanJoinedRows() {
+        List<Subject> firstSubjects = new ArrayList<>();
+        firstSubjects.add(new Subject(1, "Java", "Learn Java"));
+        firstSubjects.add(new Subject(3, "Spring", "Learn Spring"));
+        List<Subject> secondSubjects = new ArrayList<>();
+        secondSubjects.add(new Subject(2, "Sql", "Learn Sql"));
+        secondSubjects.add(new Subject(4, "Hibernate", "Learn Hibernate"));
+        List<Teacher> expected = new ArrayList<>();
+        expected.add(new Teacher(1, "Bruce", "Eckel", firstSubjects));
+        expected.add(new Teacher(2, "Robert", "Martin", secondSubjects));
+        List<Teacher> actual = teacherDao.getPage(null, 2);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPage_shouldReturnTeachersAfterGivenTeacher_whenSortedByLastName() {
+        List<Subject> secondSubjects = new ArrayList<>();
+        secondSubjects.add(new Subject(2, "Sql", "Learn Sql"));
+        secondSubjects.add(new Subject(4, "Hibernate", "Learn Hibernate"));
+        List<Teacher> expected = new ArrayList<>();
+        expected.add(new Teacher(3, "James", "Gosling", new ArrayList<>()));
+        expected.add(new Teacher(2, "Robert", "Martin", secondSubjects));
+        List<Teacher> actual = teacherDao.getPage(1, 2, "lastName");
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getPage_shouldThrowException_whenSortKeyIsNotSupported() {
+        assertThrows(InvalidPageRequestException.class, () -> teacherDao.getPage(null, 2, "subject_name"));
+    }
+
     @Test
     void getAll_shouldReturnCorrectTeacherRecordsCount() {
         int teachersSize = teacherDao.getAll().size();
@@ -125,6 +182,38 @@ class TeacherDaoImplTest {
         assertEquals(5, JdbcTestUtils.countRowsInTable(jdbcTemplate, "teachers"));
     }
 
+    @Test
+    void addAll_shouldReturnTeachersWithGeneratedIds_whenListIsLargerThanBatch() {
+        List<Teacher> teachers = new ArrayList<>();
+        teachers.add(new Teacher(null, "First", "Surname", null));
+        teachers.add(new Teacher(null, "Second", "Surname", null));
+        teachers.add(new Teacher(null, "Third", "Surname", null));
+        List<Teacher> expected = new ArrayList<>();
+        expected.add(new Teacher(4, "First", "Surname", null));
+        expected.add(new Teacher(5, "Second", "Surname", null));
+        expected.add(new Teacher(6, "Third", "Surname", null));
+        List<Teacher> actual = teacherDao.addAll(teachers);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void addAll_shouldInsertTeachersSubjects_whenTeachersHaveSubjects() {
+        List<Teacher> teachers = new ArrayList<>();
+        teachers.add(new Teacher(null, "First", "Surname", Arrays.asList(new Subject(1, "Java", "Learn Java"),
+                new Subject(2, "Sql", "Learn Sql"))));
+        teachers.add(new Teacher(null, "Second", "Surname", Arrays.asList(new Subject(null, "Name", "description"))));
+        teacherDao.addAll(teachers);
+        assertEquals(7, JdbcTestUtils.countRowsInTable(jdbcTemplate, "teachers_subjects"));
+        assertEquals(6, JdbcTestUtils.countRowsInTable(jdbcTemplate, "subjects"));
+        assertEquals(1, JdbcTestUtils.countRowsInTableWhere(jdbcTemplate, "teachers_subjects",
+                "teacher_id=5 AND subject_id=6"));
+    }
+
+    @Test
+    void constructor_shouldThrowException_whenBatchSizeIsNotPositive() {
+        assertThrows(IllegalArgumentException.class, () -> new TeacherDaoImpl(jdbcTemplate, transactionManager, 0));
+    }
+
     @Test
     void getBySubject_shouldReturnAllTeachersByGivenSubject() {
         List<Subject> subjects = new ArrayList<>();
@@ -136,4 +225,14 @@ class TeacherDaoImplTest {
         List<Teacher> actual = teacherDao.getBySubject(subject);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void existsBySubject_shouldReturnTrue_whenSubjectIsTaughtByTeachers() {
+        assertTrue(teacherDao.existsBySubject(new Subject(1, "Java", "Learn Java")));
+    }
+
+    @Test
+    void existsBySubject_shouldReturnFalse_whenSubjectIsNotTaughtByTeachers() {
+        assertFalse(teacherDao.existsBySubject(new Subject(5, "Junit", "Learn Junit")));
+    }
+}
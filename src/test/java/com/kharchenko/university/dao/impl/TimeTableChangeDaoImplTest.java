@@ -0,0 +1,75 @@
+package com.kharchenko.university.dao.impl;
+
+import com.kharchenko.university.config.TestDaoConfig;
+import com.kharchenko.university.model.TimeTableChange;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.ContextConfiguration;
+import org.springframework.test.context.jdbc.Sql;
+import org.springframework.test.context.jdbc.SqlGroup;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.test.context.support.AnnotationConfigContextLoader;
+
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@ExtendWith(SpringExtension.class)
+@ContextConfiguration(classes = {TestDaoConfig.class}, loader = AnnotationConfigContextLoader.class)
+@SqlGroup({@Sql("classpath:create_tables.sql"), @Sql("classpath:test_data.sql")})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class TimeTableChangeDaoImplTest {
+
+    @Autowired
+    private TimeTableChangeDaoImpl timeTableChangeDao;
+
+    @Test
+    void getLastId_shouldReturnZero_whenNoChangesRecorded() {
+        assertEquals(0, timeTableChangeDao.getLastId());
+    }
+
+    @Test
+    void getFirstId_shouldReturnZero_whenNoChangesRecorded() {
+        assertEquals(0, timeTableChangeDao.getFirstId());
+    }
+
+    @Test
+    void add_shouldReturnIncreasingIds() {
+        long first = timeTableChangeDao.add(1, null);
+        long second = timeTableChangeDao.add(null, 2);
+        assertEquals(first + 1, second);
+        assertEquals(second, timeTableChangeDao.getLastId());
+    }
+
+    @Test
+    void getAfter_shouldReturnOnlyLaterChangesInOrder() {
+        long first = timeTableChangeDao.add(1, null);
+        long second = timeTableChangeDao.add(null, 2);
+        long third = timeTableChangeDao.add(null, null);
+        assertEquals(Arrays.asList(new TimeTableChange(second, null, 2), new TimeTableChange(third, null, null)),
+                timeTableChangeDao.getAfter(first));
+        assertEquals(Collections.emptyList(), timeTableChangeDao.getAfter(third));
+    }
+
+    @Test
+    void getAfter_shouldReturnEntityChanges() {
+        long first = timeTableChangeDao.add(1, null);
+        long second = timeTableChangeDao.addEntityChange("teacher", 3);
+        assertEquals(Collections.singletonList(new TimeTableChange(second, null, null, "teacher", 3)),
+                timeTableChangeDao.getAfter(first));
+    }
+
+    @Test
+    void deleteBefore_shouldKeepGivenAndLaterChanges() {
+        long first = timeTableChangeDao.add(1, null);
+        long second = timeTableChangeDao.add(null, 2);
+        long third = timeTableChangeDao.add(null, null);
+        timeTableChangeDao.deleteBefore(second);
+        assertEquals(second, timeTableChangeDao.getFirstId());
+        assertEquals(Arrays.asList(new TimeTableChange(second, null, 2), new TimeTableChange(third, null, null)),
+                timeTableChangeDao.getAfter(first - 1));
+    }
+}
@@ -0,0 +1,76 @@
+package com.kharchenko.university.dao.mappers;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class IdentityMapTest {
+
+    @Test
+    void faculty_shouldReturnNewInstances_whenScopeIsNotOpen() {
+        assertNotSame(IdentityMap.faculty(1, "Programming"), IdentityMap.faculty(1, "Programming"));
+    }
+
+    @Test
+    void faculty_shouldReturnSameInstance_whenScopeIsOpen() {
+        IdentityMap.Scope scope = IdentityMap.open();
+        try {
+            Faculty faculty = IdentityMap.faculty(1, "Programming");
+            assertSame(faculty, IdentityMap.faculty(1, "Programming"));
+            assertNotSame(faculty, IdentityMap.faculty(2, "Programming"));
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Test
+    void faculty_shouldReplaceInstance_whenRowHasChanged() {
+        IdentityMap.Scope scope = IdentityMap.open();
+        try {
+            IdentityMap.faculty(1, "Programming");
+            Faculty changed = IdentityMap.faculty(1, "Management");
+            assertEquals(new Faculty(1, "Management"), changed);
+            assertSame(changed, IdentityMap.faculty(1, "Management"));
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Test
+    void classRoom_shouldReturnSameInstance_whenFieldsAndFacultyMatch() {
+        IdentityMap.Scope scope = IdentityMap.open();
+        try {
+            Faculty faculty = IdentityMap.faculty(1, "Programming");
+            ClassRoom classRoom = IdentityMap.classRoom(1, 1, 100, faculty);
+            assertSame(classRoom, IdentityMap.classRoom(1, 1, 100, faculty));
+            assertNotSame(classRoom, IdentityMap.classRoom(1, 1, 101, faculty));
+        } finally {
+            scope.close();
+        }
+    }
+
+    @Test
+    void open_shouldKeepOuterScope_whenNestedScopeIsClosed() {
+        IdentityMap.Scope outer = IdentityMap.open();
+        try {
+            Faculty faculty = IdentityMap.faculty(1, "Programming");
+            IdentityMap.Scope inner = IdentityMap.open();
+            try {
+                assertSame(faculty, IdentityMap.faculty(1, "Programming"));
+            } finally {
+                inner.close();
+            }
+            assertTrue(IdentityMap.isOpen());
+            assertSame(faculty, IdentityMap.faculty(1, "Programming"));
+        } finally {
+            outer.close();
+        }
+        assertFalse(IdentityMap.isOpen());
+    }
+}
@@ -0,0 +1,65 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class ICalendarWriterTest {
+
+    @Test
+    void writeCalendar_shouldWriteEventForEveryLecture() throws IOException {
+        String calendar = write(TestData.getSchedules());
+        List<String> lines = Arrays.asList(calendar.split("\r\n"));
+        assertEquals("BEGIN:VCALENDAR", lines.get(0));
+        assertEquals("END:VCALENDAR", lines.get(lines.size() - 1));
+        assertEquals(3, lines.stream().filter(line -> line.equals("BEGIN:VEVENT")).count());
+        assertTrue(lines.contains("UID:lecture-1-20210402@university"));
+        assertTrue(lines.contains("DTSTART:20210402T090000"));
+        assertTrue(lines.contains("LOCATION:Building 1\\, room 5"));
+        assertTrue(calendar.endsWith("\r\n"));
+    }
+
+    @Test
+    void writeCalendar_shouldEscapeText() throws IOException {
+        Lecture lecture = lectureWithSubject("Java; Spring, JDBC\\n");
+        String calendar = write(Collections.singletonList(new Schedule(Collections.singletonList(lecture),
+                LocalDate.of(2021, 4, 2))));
+        assertTrue(calendar.contains("SUMMARY:Java\\; Spring\\, JDBC\\\\n\r\n"));
+    }
+
+    @Test
+    void writeCalendar_shouldFoldLinesLongerThan75Octets() throws IOException {
+        String name = String.join("", Collections.nCopies(100, "ї"));
+        Lecture lecture = lectureWithSubject(name);
+        String calendar = write(Collections.singletonList(new Schedule(Collections.singletonList(lecture),
+                LocalDate.of(2021, 4, 2))));
+        for (String line : calendar.split("\r\n")) {
+            assertTrue(line.getBytes(StandardCharsets.UTF_8).length <= 75, line);
+        }
+        assertTrue(calendar.replace("\r\n ", "").contains("SUMMARY:" + name + "\r\n"));
+    }
+
+    private Lecture lectureWithSubject(String name) {
+        Lecture lecture = TestData.getTwoDayLectures().get(0);
+        return new Lecture(lecture.getId(), new Subject(1, name, null), lecture.getTeacher(), lecture.getClassRoom(),
+                lecture.getGroups(), lecture.getStartTime(), lecture.getEndTime());
+    }
+
+    private String write(List<Schedule> schedules) throws IOException {
+        StringWriter writer = new StringWriter();
+        new ICalendarWriter(writer).writeCalendar("Ivan Ivanov", schedules);
+        return writer.toString();
+    }
+}
@@ -0,0 +1,60 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.InvalidTeacherException;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class LectureConflictIndexTest {
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final ClassRoom room = new ClassRoom(1, 1, 100, faculty);
+    private final Teacher teacher = new Teacher(1, "Bruce", "Eckel", null);
+    private final Group group = new Group(1, "AA-111", null, faculty);
+
+    @Test
+    void isClassRoomFree_shouldDetectPartialOverlap() {
+        LectureConflictIndex index = new LectureConflictIndex(Arrays.asList(
+                lecture(room, teacher, group, 9, 11), lecture(room, teacher, group, 13, 15)));
+        assertFalse(index.isClassRoomFree(lecture(room, null, null, 10, 12)));
+        assertFalse(index.isClassRoomFree(lecture(room, null, null, 12, 14)));
+        assertFalse(index.isClassRoomFree(lecture(room, null, null, 8, 16)));
+        assertTrue(index.isClassRoomFree(lecture(room, null, null, 11, 13)));
+        assertTrue(index.isClassRoomFree(lecture(new ClassRoom(2, 1, 101, faculty), null, null, 9, 11)));
+    }
+
+    @Test
+    void isGroupFree_shouldDetectOverlap_whenOccupiedIntervalsWereMerged() {
+        LectureConflictIndex index = new LectureConflictIndex(Arrays.asList(
+                lecture(room, teacher, group, 9, 12), lecture(room, teacher, group, 10, 11)));
+        assertFalse(index.isGroupFree(lecture(null, null, group, 11, 13)));
+        assertTrue(index.isGroupFree(lecture(null, null, group, 12, 13)));
+        assertTrue(index.isGroupFree(lecture(null, null, new Group(2, "BB-222", null, faculty), 11, 13)));
+    }
+
+    @Test
+    void checkFree_shouldThrowInvalidTeacherException_whenTeacherHasOverlappingLecture() {
+        LectureConflictIndex index = new LectureConflictIndex();
+        index.add(lecture(room, teacher, group, 9, 11));
+        Lecture lecture = lecture(new ClassRoom(2, 1, 101, faculty), teacher,
+                new Group(2, "BB-222", null, faculty), 10, 12);
+        assertThrows(InvalidTeacherException.class, () -> index.checkFree(lecture));
+    }
+
+    private Lecture lecture(ClassRoom classRoom, Teacher teacher, Group group, int startHour, int endHour) {
+        return new Lecture(null, null, teacher, classRoom,
+                group == null ? null : Collections.singletonList(group),
+                LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+}
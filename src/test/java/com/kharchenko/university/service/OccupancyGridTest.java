@@ -0,0 +1,72 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class OccupancyGridTest {
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final OccupancyGrid grid = new OccupancyGrid(Arrays.asList(
+            lecture(1, 1, 1, 9, 11),
+            lecture(2, 2, 2, 10, 12),
+            lecture(3, 1, 3, 13, 15)));
+
+    @Test
+    void getOccupiedClassRooms_shouldReturnRoomsOverlappingGivenTime() {
+        assertEquals(bits(1, 2), grid.getOccupiedClassRooms(LocalTime.of(10, 30), LocalTime.of(13, 0)));
+        assertEquals(bits(2, 3), grid.getOccupiedClassRooms(LocalTime.of(11, 0), LocalTime.of(13, 30)));
+        assertEquals(bits(1, 2, 3), grid.getOccupiedClassRooms(LocalTime.of(8, 0), LocalTime.of(16, 0)));
+    }
+
+    @Test
+    void getOccupiedTeachers_shouldReturnEmptySet_whenNoLectureOverlapsGivenTime() {
+        assertTrue(grid.getOccupiedTeachers(LocalTime.of(12, 0), LocalTime.of(13, 0)).isEmpty());
+        assertTrue(grid.getOccupiedTeachers(LocalTime.of(7, 0), LocalTime.of(9, 0)).isEmpty());
+        assertTrue(grid.getOccupiedTeachers(LocalTime.of(15, 0), LocalTime.of(17, 0)).isEmpty());
+    }
+
+    @Test
+    void getOccupiedGroups_shouldReturnGroupsOfOverlappingLectures() {
+        assertEquals(bits(1, 2), grid.getOccupiedGroups(LocalTime.of(9, 30), LocalTime.of(10, 30)));
+        assertTrue(OccupancyGrid.EMPTY.getOccupiedGroups(LocalTime.of(9, 0), LocalTime.of(10, 0)).isEmpty());
+    }
+
+    @Test
+    void validateInterval_shouldThrowInvalidEntityFieldException_whenIntervalIsNullOrEmpty() {
+        LocalDate date = LocalDate.of(2021, 3, 1);
+        assertThrows(InvalidEntityFieldException.class,
+                () -> OccupancyGrid.validateInterval(null, LocalTime.of(9, 0), LocalTime.of(10, 0)));
+        assertThrows(InvalidEntityFieldException.class,
+                () -> OccupancyGrid.validateInterval(date, LocalTime.of(10, 0), LocalTime.of(10, 0)));
+    }
+
+    private Lecture lecture(int classRoomId, int teacherId, int groupId, int startHour, int endHour) {
+        return new Lecture(null, null, new Teacher(teacherId, "Name", "Surname", null),
+                new ClassRoom(classRoomId, 1, 100 + classRoomId, faculty),
+                Collections.singletonList(new Group(groupId, "G-" + groupId, null, faculty)),
+                LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    private BitSet bits(int... ids) {
+        BitSet bitSet = new BitSet();
+        for (int id : ids) {
+            bitSet.set(id);
+        }
+        return bitSet;
+    }
+}
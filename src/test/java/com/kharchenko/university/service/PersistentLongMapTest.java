@@ -0,0 +1,60 @@
+package com.kharchenko.university.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class PersistentLongMapTest {
+
+    @Test
+    void with_shouldReturnNewMapAndKeepOriginalUnchanged() {
+        PersistentLongMap<String> original = PersistentLongMap.<String>empty().with(1, "one").with(2, "two");
+        PersistentLongMap<String> updated = original.with(2, "second").without(1);
+        assertEquals("one", original.get(1));
+        assertEquals("two", original.get(2));
+        assertNull(updated.get(1));
+        assertEquals("second", updated.get(2));
+        assertEquals(2, original.size());
+        assertEquals(1, updated.size());
+    }
+
+    @Test
+    void without_shouldReturnSameMap_whenKeyIsAbsent() {
+        PersistentLongMap<String> map = PersistentLongMap.<String>empty().with(1, "one");
+        assertSame(map, map.without(2));
+        assertTrue(map.without(1).isEmpty());
+    }
+
+    @Test
+    void forEach_shouldVisitKeysInOrderWithinRange() {
+        Map<Long, String> entries = new HashMap<>();
+        for (long key : new long[]{-40, -1, 0, 7, 18_750, 18_751, Long.MAX_VALUE}) {
+            entries.put(key, String.valueOf(key));
+        }
+        PersistentLongMap<String> map = PersistentLongMap.of(entries);
+        List<Long> all = new ArrayList<>();
+        map.forEach((key, value) -> all.add(key));
+        assertEquals(Arrays.asList(-40L, -1L, 0L, 7L, 18_750L, 18_751L, Long.MAX_VALUE), all);
+        List<Long> range = new ArrayList<>();
+        map.forEach(-1, 18_751, (key, value) -> range.add(key));
+        assertEquals(Arrays.asList(-1L, 0L, 7L, 18_750L), range);
+        assertEquals(-40, map.firstKey());
+        assertEquals(Long.MAX_VALUE, map.lastKey());
+    }
+
+    @Test
+    void firstKey_shouldThrowNoSuchElementException_whenMapIsEmpty() {
+        assertThrows(NoSuchElementException.class, () -> PersistentLongMap.empty().firstKey());
+    }
+}
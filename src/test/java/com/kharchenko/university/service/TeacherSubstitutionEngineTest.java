@@ -0,0 +1,95 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.SubstitutionPlan;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TeacherSubstitution;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TeacherSubstitutionEngineTest {
+
+    private final Subject java = new Subject(1, "Java", "Learn Java");
+    private final Subject sql = new Subject(2, "Sql", "Learn Sql");
+    private final Teacher absent = new Teacher(1, "Bruce", "Eckel", Arrays.asList(java, sql));
+    private final Teacher busy = new Teacher(2, "Robert", "Martin", Arrays.asList(java, sql));
+    private final Teacher free = new Teacher(3, "James", "Gosling", Collections.singletonList(java));
+    private final List<Teacher> teachers = Arrays.asList(absent, busy, free);
+
+    @Test
+    void plan_shouldPickQualifiedTeacherWithoutOverlappingLectures() {
+        Lecture javaLecture = lecture(1, java, absent, 9, 11);
+        Lecture busyLecture = lecture(2, sql, busy, 10, 12);
+        List<Schedule> schedules = Collections.singletonList(schedule(24, javaLecture, busyLecture));
+        SubstitutionPlan plan = new TeacherSubstitutionEngine(teachers, schedules).plan(absent);
+        assertEquals(Collections.singletonList(new TeacherSubstitution(javaLecture, free)), plan.getSubstitutions());
+        assertTrue(plan.getUnassignedLectures().isEmpty());
+        assertFalse(plan.isCommitted());
+    }
+
+    @Test
+    void plan_shouldLeaveLectureUnassigned_whenNoQualifiedTeacherIsFree() {
+        Lecture sqlLecture = lecture(1, sql, absent, 9, 11);
+        Lecture busyLecture = lecture(2, java, busy, 9, 11);
+        List<Schedule> schedules = Collections.singletonList(schedule(24, sqlLecture, busyLecture));
+        SubstitutionPlan plan = new TeacherSubstitutionEngine(teachers, schedules).plan(absent);
+        assertTrue(plan.getSubstitutions().isEmpty());
+        assertEquals(Collections.singletonList(sqlLecture), plan.getUnassignedLectures());
+    }
+
+    @Test
+    void plan_shouldRequireSubstituteToBeFreeOnEveryDayOfLecture() {
+        Lecture javaLecture = lecture(1, java, absent, 9, 11);
+        Lecture freeLecture = lecture(2, java, free, 9, 11);
+        Lecture firstBusyLecture = lecture(3, sql, busy, 14, 16);
+        Lecture secondBusyLecture = lecture(4, sql, busy, 16, 18);
+        List<Schedule> schedules = Arrays.asList(schedule(24, javaLecture, firstBusyLecture, secondBusyLecture),
+                schedule(25, javaLecture, freeLecture));
+        SubstitutionPlan plan = new TeacherSubstitutionEngine(teachers, schedules).plan(absent);
+        assertEquals(Collections.singletonList(new TeacherSubstitution(javaLecture, busy)), plan.getSubstitutions());
+    }
+
+    @Test
+    void plan_shouldNotGiveSubstituteTwoLecturesAtSameTime() {
+        Lecture firstLecture = lecture(1, java, absent, 9, 11);
+        Lecture secondLecture = lecture(2, java, absent, 9, 11);
+        Lecture thirdLecture = lecture(3, java, absent, 9, 11);
+        List<Schedule> schedules = Collections.singletonList(schedule(24, firstLecture, secondLecture, thirdLecture));
+        SubstitutionPlan plan = new TeacherSubstitutionEngine(teachers, schedules).plan(absent);
+        assertEquals(Arrays.asList(new TeacherSubstitution(firstLecture, busy), new TeacherSubstitution(secondLecture, free)),
+                plan.getSubstitutions());
+        assertEquals(Collections.singletonList(thirdLecture), plan.getUnassignedLectures());
+    }
+
+    @Test
+    void plan_shouldNotPickTeacher_whenLectureFallsInsideLongerNestedBooking() {
+        Lecture javaLecture = new Lecture(1, java, absent, null, null, LocalTime.of(10, 45), LocalTime.of(11, 0));
+        Lecture longLecture = lecture(2, sql, busy, 9, 12);
+        Lecture shortLecture = new Lecture(3, sql, busy, null, null, LocalTime.of(10, 0), LocalTime.of(10, 30));
+        Lecture freeLecture = lecture(4, java, free, 10, 12);
+        List<Schedule> schedules = Collections.singletonList(schedule(24, javaLecture, longLecture, shortLecture,
+                freeLecture));
+        SubstitutionPlan plan = new TeacherSubstitutionEngine(teachers, schedules).plan(absent);
+        assertTrue(plan.getSubstitutions().isEmpty());
+        assertEquals(Collections.singletonList(javaLecture), plan.getUnassignedLectures());
+    }
+
+    private Lecture lecture(Integer id, Subject subject, Teacher teacher, int startHour, int endHour) {
+        return new Lecture(id, subject, teacher, null, null, LocalTime.of(startHour, 0), LocalTime.of(endHour, 0));
+    }
+
+    private Schedule schedule(int day, Lecture... lectures) {
+        return new Schedule(day, Arrays.asList(lectures), LocalDate.of(2021, 5, day), null);
+    }
+}
@@ -0,0 +1,89 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jol.info.GraphLayout;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.function.Supplier;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeTableHeapBenchmarkIT {
+
+    private static final int DAYS = 250;
+    private static final int LECTURES_PER_DAY = 2000;
+    private static final int TEACHERS = 1000;
+    private static final int GROUPS = 500;
+    private static final int ROOMS = 400;
+    private static final int RATIO = 10;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 1, 1);
+
+    @Test
+    void timeTable_shouldUseAnOrderOfMagnitudeLessHeapThanSchedules() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject subject = new Subject(1, "Java", "Learn Java");
+        List<Teacher> teachers = new ArrayList<>();
+        List<Group> groups = new ArrayList<>();
+        List<ClassRoom> classRooms = new ArrayList<>();
+        for (int i = 0; i < TEACHERS; i++) {
+            teachers.add(new Teacher(i, "Name " + i, "Surname " + i, Collections.singletonList(subject)));
+        }
+        for (int i = 0; i < GROUPS; i++) {
+            groups.add(new Group(i, "G-" + i, null, faculty));
+        }
+        for (int i = 0; i < ROOMS; i++) {
+            classRooms.add(new ClassRoom(i, 1 + i / 100, i, faculty));
+        }
+        Supplier<List<Schedule>> schedules = () -> {
+            List<Schedule> days = new ArrayList<>();
+            for (int day = 0; day < DAYS; day++) {
+                List<Lecture> lectures = new ArrayList<>(LECTURES_PER_DAY);
+                for (int i = 0; i < LECTURES_PER_DAY; i++) {
+                    int id = day * LECTURES_PER_DAY + i;
+                    List<Group> lectureGroups = new ArrayList<>();
+                    lectureGroups.add(groups.get((i + day) % GROUPS));
+                    lectures.add(new Lecture(id, subject, teachers.get(i % TEACHERS), classRooms.get(i % ROOMS),
+                            lectureGroups, LocalTime.of(8 + i % 5 * 2, 15), LocalTime.of(9 + i % 5 * 2, 45)));
+                }
+                days.add(new Schedule(day, lectures, FIRST_DAY.plusDays(day), faculty));
+            }
+            return days;
+        };
+        List<Schedule> days = schedules.get();
+        TimeTable timeTable = new TimeTable(days);
+        long scheduleSize = GraphLayout.parseInstance(days).totalSize();
+        long timeTableSize = GraphLayout.parseInstance(timeTable).totalSize();
+        Student student = new Student(1, "Name", "Surname", groups.get(3));
+        assertEquals(days.stream()
+                        .filter(day -> day.getDate().getMonth() == Month.MARCH)
+                        .map(day -> new Schedule(day.getLectures().stream()
+                                .filter(lecture -> lecture.getGroups().contains(student.getGroup()))
+                                .collect(Collectors.toList()), day.getDate()))
+                        .collect(Collectors.toList()),
+                timeTable.getStudentMonthSchedule(student, Month.MARCH));
+        assertTrue(timeTableSize * RATIO < scheduleSize, "time table is not " + RATIO + " times smaller: "
+                + timeTableSize + " vs " + scheduleSize + " bytes");
+        Schedule changed = schedules.get().get(DAYS / 2);
+        Lecture lecture = changed.getLectures().get(0);
+        TimeTable updated = timeTable.withSchedule(changed).withLecture(new Lecture(lecture.getId(), subject,
+                teachers.get(1), classRooms.get(1), lecture.getGroups(), lecture.getStartTime(), lecture.getEndTime()));
+        long updatedSize = GraphLayout.parseInstance(updated).totalSize();
+        assertTrue(updatedSize * RATIO < scheduleSize, "changed time table is not " + RATIO + " times smaller: "
+                + updatedSize + " vs " + scheduleSize + " bytes");
+    }
+}
@@ -0,0 +1,117 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class TimeTableLargeScaleIT {
+
+    private static final int DAYS = 250;
+    private static final int LECTURES_PER_DAY = 1000;
+    private static final int TEACHERS = 500;
+    private static final int GROUPS = 250;
+    private static final int SAMPLES = 200;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 1, 1);
+
+    private static final List<Teacher> teachers = new ArrayList<>();
+    private static final List<Student> students = new ArrayList<>();
+    private static List<Schedule> schedules;
+    private static TimeTable timeTable;
+
+    @BeforeAll
+    static void setUp() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject subject = new Subject(1, "Java", "Learn Java");
+        List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < TEACHERS; i++) {
+            teachers.add(new Teacher(i, "Name " + i, "Surname " + i, Collections.singletonList(subject)));
+        }
+        for (int i = 0; i < GROUPS; i++) {
+            groups.add(new Group(i, "G-" + i, null, faculty));
+            students.add(new Student(i, "Name " + i, "Surname " + i, groups.get(i)));
+        }
+        schedules = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            List<Lecture> lectures = new ArrayList<>(LECTURES_PER_DAY);
+            for (int i = 0; i < LECTURES_PER_DAY; i++) {
+                int id = day * LECTURES_PER_DAY + i;
+                LocalTime startTime = LocalTime.of(8 + i % 5 * 2, 0);
+                lectures.add(new Lecture(id, subject, teachers.get(i % TEACHERS), null,
+                        Collections.singletonList(groups.get((i + day) % GROUPS)), startTime, startTime.plusMinutes(90)));
+            }
+            schedules.add(new Schedule(day, lectures, FIRST_DAY.plusDays(day), faculty));
+        }
+        timeTable = new TimeTable(schedules);
+    }
+
+    @Test
+    void getTeacherDaySchedule_shouldMatchLinearScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            Teacher teacher = teachers.get(random.nextInt(TEACHERS));
+            LocalDate date = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            assertEquals(scanTeacherDay(teacher, date), timeTable.getTeacherDaySchedule(teacher, date).getLectures());
+        }
+    }
+
+    @Test
+    void getStudentDaySchedule_shouldMatchLinearScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES; i++) {
+            Student student = students.get(random.nextInt(GROUPS));
+            LocalDate date = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            assertEquals(scanStudentDay(student, date), timeTable.getStudentDaySchedule(student, date).getLectures());
+        }
+    }
+
+    @Test
+    void getTeacherMonthSchedule_shouldMatchLinearScan() {
+        Random random = new Random(42);
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            Teacher teacher = teachers.get(random.nextInt(TEACHERS));
+            assertEquals(scanTeacherMonth(teacher, Month.MARCH), timeTable.getTeacherMonthSchedule(teacher, Month.MARCH));
+        }
+    }
+
+    private static List<Lecture> scanTeacherDay(Teacher teacher, LocalDate date) {
+        return schedules.stream()
+                .filter(schedule -> schedule.getDate().equals(date))
+                .findFirst().get().getLectures().stream()
+                .filter(lecture -> lecture.getTeacher().equals(teacher))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Lecture> scanStudentDay(Student student, LocalDate date) {
+        return schedules.stream()
+                .filter(schedule -> schedule.getDate().equals(date))
+                .findFirst().get().getLectures().stream()
+                .filter(lecture -> lecture.getGroups().contains(student.getGroup()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Schedule> scanTeacherMonth(Teacher teacher, Month month) {
+        return schedules.stream()
+                .filter(schedule -> schedule.getDate().getMonth().equals(month))
+                .map(schedule -> new Schedule(schedule.getLectures().stream()
+                        .filter(lecture -> lecture.getTeacher().equals(teacher))
+                        .collect(Collectors.toList()), schedule.getDate()))
+                .collect(Collectors.toList());
+    }
+}
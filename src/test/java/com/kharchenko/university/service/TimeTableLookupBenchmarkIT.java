@@ -0,0 +1,148 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimeTableLookupBenchmarkIT {
+
+    private static final int DAYS = 250;
+    private static final int LECTURES_PER_DAY = 4000;
+    private static final int TEACHERS = 2000;
+    private static final int GROUPS = 1000;
+    private static final int SAMPLES = 1000;
+    private static final int OPERATIONS_RATIO = 10;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 1, 1);
+
+    private static final List<Teacher> teachers = new ArrayList<>();
+    private static final List<Student> students = new ArrayList<>();
+    private static final Random random = new Random(42);
+    private static List<Schedule> schedules;
+    private static TimeTable timeTable;
+
+    @BeforeAll
+    static void setUp() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject subject = new Subject(1, "Java", "Learn Java");
+        List<Group> groups = new ArrayList<>();
+        for (int i = 0; i < TEACHERS; i++) {
+            teachers.add(new Teacher(i, "Name " + i, "Surname " + i, Collections.singletonList(subject)));
+        }
+        for (int i = 0; i < GROUPS; i++) {
+            groups.add(new Group(i, "G-" + i, null, faculty));
+            students.add(new Student(i, "Name " + i, "Surname " + i, groups.get(i)));
+        }
+        schedules = new ArrayList<>();
+        for (int day = 0; day < DAYS; day++) {
+            List<Lecture> lectures = new ArrayList<>(LECTURES_PER_DAY);
+            for (int i = 0; i < LECTURES_PER_DAY; i++) {
+                int id = day * LECTURES_PER_DAY + i;
+                LocalTime startTime = LocalTime.of(8 + i % 5 * 2, 0);
+                lectures.add(new Lecture(id, subject, teachers.get(i % TEACHERS), null,
+                        Collections.singletonList(groups.get((i + day) % GROUPS)), startTime, startTime.plusMinutes(90)));
+            }
+            schedules.add(new Schedule(day, lectures, FIRST_DAY.plusDays(day), faculty));
+        }
+        timeTable = new TimeTable(schedules);
+    }
+
+    @Test
+    void getTeacherDaySchedule_shouldReadOnlyReturnedRows() {
+        for (int i = 0; i < SAMPLES; i++) {
+            Teacher teacher = teachers.get(random.nextInt(TEACHERS));
+            LocalDate date = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            long indexed = timeTable.getRowsIndexed();
+            long read = timeTable.getRowsRead();
+            List<Lecture> lectures = timeTable.getTeacherDaySchedule(teacher, date).getLectures();
+            assertEquals(scanTeacherDay(teacher, date), lectures);
+            assertEquals(indexed, timeTable.getRowsIndexed());
+            assertEquals(lectures.size(), timeTable.getRowsRead() - read);
+        }
+    }
+
+    @Test
+    void getStudentDaySchedule_shouldReadOnlyReturnedRows() {
+        for (int i = 0; i < SAMPLES; i++) {
+            Student student = students.get(random.nextInt(GROUPS));
+            LocalDate date = FIRST_DAY.plusDays(random.nextInt(DAYS));
+            long indexed = timeTable.getRowsIndexed();
+            long read = timeTable.getRowsRead();
+            List<Lecture> lectures = timeTable.getStudentDaySchedule(student, date).getLectures();
+            assertEquals(scanStudentDay(student, date), lectures);
+            assertEquals(indexed, timeTable.getRowsIndexed());
+            assertEquals(lectures.size(), timeTable.getRowsRead() - read);
+        }
+    }
+
+    @Test
+    void getTeacherMonthSchedule_shouldReindexOnlyChangedDay_whenReadRightAfterWrite() {
+        for (int i = 0; i < SAMPLES / 10; i++) {
+            int day = random.nextInt(DAYS - 31);
+            List<Lecture> lectures = schedules.get(day).getLectures();
+            int row = random.nextInt(LECTURES_PER_DAY);
+            Lecture lecture = lectures.get(row);
+            Teacher teacher = teachers.get(random.nextInt(TEACHERS));
+            Lecture changed = new Lecture(lecture.getId(), lecture.getSubject(), teacher, null, lecture.getGroups(),
+                    lecture.getStartTime(), lecture.getEndTime());
+            lectures.set(row, changed);
+            LocalDate date = schedules.get(day).getDate();
+            long indexed = timeTable.getRowsIndexed();
+            long read = timeTable.getRowsRead();
+            timeTable = timeTable.withLecture(changed);
+            long writeRows = timeTable.getRowsIndexed() - indexed + timeTable.getRowsRead() - read;
+            read = timeTable.getRowsRead();
+            List<Schedule> month = timeTable.getTeacherMonthSchedule(teacher, date.getMonth());
+            long readRows = timeTable.getRowsRead() - read;
+            assertEquals(scanTeacherMonth(teacher, date.getMonth()), month);
+            assertEquals(2 * LECTURES_PER_DAY, writeRows);
+            assertEquals(indexed + LECTURES_PER_DAY, timeTable.getRowsIndexed());
+            assertEquals(month.stream().mapToInt(schedule -> schedule.getLectures().size()).sum(), readRows);
+            long monthRows = (long) LECTURES_PER_DAY * month.size();
+            assertTrue((writeRows + readRows) * OPERATIONS_RATIO < monthRows, "read after write touched "
+                    + (writeRows + readRows) + " rows of a " + monthRows + " rows month");
+        }
+    }
+
+    private static List<Lecture> scanTeacherDay(Teacher teacher, LocalDate date) {
+        return schedules.stream()
+                .filter(schedule -> schedule.getDate().equals(date))
+                .findFirst().get().getLectures().stream()
+                .filter(lecture -> lecture.getTeacher().equals(teacher))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Lecture> scanStudentDay(Student student, LocalDate date) {
+        return schedules.stream()
+                .filter(schedule -> schedule.getDate().equals(date))
+                .findFirst().get().getLectures().stream()
+                .filter(lecture -> lecture.getGroups().contains(student.getGroup()))
+                .collect(Collectors.toList());
+    }
+
+    private static List<Schedule> scanTeacherMonth(Teacher teacher, Month month) {
+        return schedules.stream()
+                .filter(schedule -> schedule.getDate().getMonth().equals(month))
+                .map(schedule -> new Schedule(schedule.getLectures().stream()
+                        .filter(lecture -> lecture.getTeacher().equals(teacher))
+                        .collect(Collectors.toList()), schedule.getDate()))
+                .collect(Collectors.toList());
+    }
+}
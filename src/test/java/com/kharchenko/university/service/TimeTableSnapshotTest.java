@@ -0,0 +1,99 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class TimeTableSnapshotTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void read_shouldRestoreWrittenSchedules() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        List<Schedule> schedules = getSchedules();
+        TimeTableSnapshot.write(path, 42, schedules);
+        TimeTableSnapshot snapshot = TimeTableSnapshot.read(path);
+        assertEquals(42, snapshot.getChangeId());
+        assertEquals(schedules, snapshot.getSchedules());
+    }
+
+    @Test
+    void read_shouldShareEntitiesBetweenLectures() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 1, getSchedules());
+        List<Schedule> schedules = TimeTableSnapshot.read(path).getSchedules();
+        assertSame(schedules.get(0).getLectures().get(0).getTeacher(), schedules.get(1).getLectures().get(0).getTeacher());
+    }
+
+    @Test
+    void write_shouldReplaceSnapshotWithoutLeavingTemporaryFiles() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 1, getSchedules());
+        TimeTableSnapshot.write(path, 2, Collections.emptyList());
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(Collections.singletonList(path), files.collect(Collectors.toList()));
+        }
+        assertEquals(Collections.emptyList(), TimeTableSnapshot.read(path).getSchedules());
+    }
+
+    @Test
+    void read_shouldThrowIOException_whenSnapshotIsCorrupted() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 1, getSchedules());
+        try (RandomAccessFile file = new RandomAccessFile(path.toFile(), "rw")) {
+            file.seek(file.length() - 3);
+            file.write(0x7f);
+        }
+        assertThrows(IOException.class, () -> TimeTableSnapshot.read(path));
+    }
+
+    @Test
+    void read_shouldThrowIOException_whenFileIsNotSnapshot() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        Files.write(path, new byte[]{1, 2, 3});
+        assertThrows(IOException.class, () -> TimeTableSnapshot.read(path));
+        Files.write(path, new byte[512]);
+        assertThrows(IOException.class, () -> TimeTableSnapshot.read(path));
+    }
+
+    private List<Schedule> getSchedules() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject java = new Subject(1, "Java", "Learn Java");
+        Subject sql = new Subject(2, "SQL", null);
+        Teacher teacher = new Teacher(1, "Bruce", "Eckel", Arrays.asList(java, sql));
+        Group first = new Group(1, "AA-111", Collections.singletonList(java), faculty);
+        Group second = new Group(2, "Група-112", null, faculty);
+        ClassRoom classRoom = new ClassRoom(1, 1, 100, faculty);
+        Lecture javaLecture = new Lecture(1, java, teacher, classRoom, Arrays.asList(first, second),
+                LocalTime.of(9, 0), LocalTime.of(10, 30, 15));
+        Lecture sqlLecture = new Lecture(2, sql, teacher, null, new ArrayList<>(), LocalTime.of(11, 0), null);
+        return Arrays.asList(new Schedule(1, Arrays.asList(javaLecture, sqlLecture), LocalDate.of(2021, 5, 24), faculty),
+                new Schedule(2, Collections.singletonList(javaLecture), LocalDate.of(2021, 5, 25), null),
+                new Schedule(3, new ArrayList<>(), LocalDate.of(2021, 5, 26), faculty));
+    }
+}
@@ -1,6 +1,10 @@
 package com.kharchenko.university.service;
 
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.Lecture;
@@ -9,12 +13,21 @@ import org.junit.jupiter.api.Test;
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.Collection;
 import java.util.List;
 import java.util.Arrays;
+import java.util.Comparator;
+import java.util.NoSuchElementException;
+import java.util.Random;
+import java.util.function.Predicate;
 import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 
@@ -113,4 +126,237 @@ class TimeTableTest {
                 .collect(Collectors.toList());
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getTeacherDaySchedule_shouldReturnEmptyDay_whenTeacherHasNoLecturesThatDay() {
+        Teacher teacher = new Teacher(2, "Petr", "Petrov", null);
+        assertTrue(timeTable.getTeacherDaySchedule(teacher, LocalDate.of(2021, 4, 1)).getLectures().isEmpty());
+    }
+
+    @Test
+    void getStudentDaySchedule_shouldThrowNoSuchElementException_whenNoScheduleForDate() {
+        Student student = TestData.getFirstStudent();
+        assertThrows(NoSuchElementException.class,
+                () -> timeTable.getStudentDaySchedule(student, LocalDate.of(2021, 4, 3)));
+    }
+
+    @Test
+    void getTeacherMonthSchedule_shouldReturnDaysInDateOrder_whenSchedulesAreNotSorted() {
+        List<Schedule> schedules = new ArrayList<>(TestData.getSchedules());
+        Collections.reverse(schedules);
+        List<LocalDate> expected = Arrays.asList(LocalDate.of(2021, 4, 1), LocalDate.of(2021, 4, 2));
+        List<LocalDate> actual = new TimeTable(schedules).getTeacherMonthSchedule(TestData.getTeacher(), Month.APRIL)
+                .stream()
+                .map(Schedule::getDate)
+                .collect(Collectors.toList());
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void withSchedule_shouldReturnNewTimeTableAndKeepOriginalUnchanged() {
+        Schedule schedule = new Schedule(null, TestData.getTwoDayLectures(), LocalDate.of(2021, 4, 5), null);
+        TimeTable updated = timeTable.withSchedule(schedule);
+        assertEquals(1, updated.getTeacherDaySchedule(TestData.getTeacher(), LocalDate.of(2021, 4, 5)).getLectures().size());
+        assertThrows(NoSuchElementException.class,
+                () -> timeTable.getTeacherDaySchedule(TestData.getTeacher(), LocalDate.of(2021, 4, 5)));
+    }
+
+    @Test
+    void withSchedule_shouldMoveLectures_whenScheduleDateChanged() {
+        Schedule schedule = new Schedule(7, TestData.getTwoDayLectures(), LocalDate.of(2021, 4, 5), null);
+        TimeTable updated = timeTable.withSchedule(schedule)
+                .withSchedule(new Schedule(7, TestData.getTwoDayLectures(), LocalDate.of(2021, 4, 6), null));
+        assertEquals(1, updated.getTeacherDaySchedule(TestData.getTeacher(), LocalDate.of(2021, 4, 6)).getLectures().size());
+        assertThrows(NoSuchElementException.class,
+                () -> updated.getTeacherDaySchedule(TestData.getTeacher(), LocalDate.of(2021, 4, 5)));
+        assertEquals(1, updated.withoutSchedule(7).getTeacherMonthSchedule(TestData.getTeacher(), Month.APRIL).stream()
+                .filter(day -> day.getDate().equals(LocalDate.of(2021, 4, 2))).count());
+    }
+
+    @Test
+    void withLecture_shouldReindexChangedLectureOnEveryDay() {
+        Lecture lecture = TestData.getTwoDayLectures().get(0);
+        Teacher otherTeacher = new Teacher(2, "Petr", "Petrov", null);
+        Lecture changed = new Lecture(lecture.getId(), lecture.getSubject(), otherTeacher, lecture.getClassRoom(),
+                lecture.getGroups(), LocalTime.of(15, 0), LocalTime.of(16, 0));
+        TimeTable updated = timeTable.withLecture(changed);
+        long otherTeacherDays = updated.getTeacherMonthSchedule(otherTeacher, Month.APRIL).stream()
+                .filter(schedule -> !schedule.getLectures().isEmpty()).count();
+        assertEquals(2, otherTeacherDays);
+        assertEquals(LocalTime.of(16, 0), updated.getStudentDaySchedule(TestData.getFirstStudent(),
+                LocalDate.of(2021, 4, 2)).getLectures().get(0).getEndTime());
+    }
+
+    @Test
+    void withTeacher_shouldRenameTeacherInEveryLecture() {
+        Teacher renamed = new Teacher(1, "Ivan", "Petrenko", null);
+        long indexed = timeTable.getRowsIndexed();
+        TimeTable updated = timeTable.withTeacher(renamed);
+        assertEquals(indexed, updated.getRowsIndexed());
+        assertTrue(updated.getTeacherMonthSchedule(renamed, Month.APRIL).stream()
+                .map(Schedule::getLectures)
+                .flatMap(Collection::stream)
+                .allMatch(lecture -> lecture.getTeacher().getLastName().equals("Petrenko")));
+        assertTrue(timeTable.getTeacherMonthSchedule(renamed, Month.APRIL).stream()
+                .map(Schedule::getLectures)
+                .flatMap(Collection::stream)
+                .allMatch(lecture -> lecture.getTeacher().getLastName().equals("Ivanov")));
+    }
+
+    @Test
+    void withGroup_shouldRenameGroupInEveryLecture() {
+        Group group = TestData.getFirstStudent().getGroup();
+        Group renamed = new Group(group.getId(), "ZZ-999", group.getSubjects(), group.getFaculty());
+        TimeTable updated = timeTable.withGroup(renamed);
+        assertTrue(updated.getStudentDaySchedule(TestData.getFirstStudent(), LocalDate.of(2021, 4, 2)).getLectures()
+                .stream().allMatch(lecture -> lecture.getGroups().contains(renamed)));
+    }
+
+    @Test
+    void withSubject_shouldReturnSameTimeTable_whenSubjectIsNotScheduled() {
+        assertSame(timeTable, timeTable.withSubject(new Subject(100, "Go", "Learn Go")));
+        assertSame(timeTable, timeTable.withClassRoom(new ClassRoom(100, 9, 900, null)));
+    }
+
+    @Test
+    void withSchedule_shouldIndexOnlyChangedDay() {
+        long indexed = timeTable.getRowsIndexed();
+        TimeTable updated = timeTable.withSchedule(new Schedule(7, TestData.getTwoDayLectures(), LocalDate.of(2021, 4, 5), null));
+        assertEquals(1, updated.getRowsIndexed() - indexed);
+        long read = updated.getRowsRead();
+        updated.getTeacherMonthSchedule(TestData.getTeacher(), Month.APRIL);
+        assertEquals(4, updated.getRowsRead() - read);
+    }
+
+    @Test
+    void getOccupancy_shouldReflectChangedLecture() {
+        LocalDate date = LocalDate.of(2021, 4, 2);
+        Lecture lecture = TestData.getTwoDayLectures().get(0);
+        Lecture changed = new Lecture(lecture.getId(), lecture.getSubject(), new Teacher(2, "Petr", "Petrov", null),
+                lecture.getClassRoom(), lecture.getGroups(), lecture.getStartTime(), lecture.getEndTime());
+        assertTrue(timeTable.getOccupancy(date).getOccupiedTeachers(lecture.getStartTime(), lecture.getEndTime()).get(1));
+        TimeTable updated = timeTable.withLecture(changed);
+        assertEquals(2, updated.getOccupancy(date).getOccupiedTeachers(lecture.getStartTime(), lecture.getEndTime())
+                .nextSetBit(0));
+        assertTrue(updated.getOccupancy(LocalDate.of(2021, 4, 5)).getOccupiedTeachers(LocalTime.MIN, LocalTime.MAX)
+                .isEmpty());
+    }
+
+    @Test
+    void getConflictIndex_shouldReflectChangedLecture() {
+        LocalDate date = LocalDate.of(2021, 4, 2);
+        Lecture lecture = TestData.getTwoDayLectures().get(0);
+        Teacher otherTeacher = new Teacher(2, "Petr", "Petrov", null);
+        Lecture candidate = new Lecture(9, null, otherTeacher, null, Collections.emptyList(),
+                lecture.getStartTime(), lecture.getEndTime());
+        assertTrue(timeTable.getConflictIndex(date).isTeacherFree(candidate));
+        assertSame(timeTable.getConflictIndex(date), timeTable.getConflictIndex(date));
+        Lecture changed = new Lecture(lecture.getId(), lecture.getSubject(), otherTeacher, lecture.getClassRoom(),
+                lecture.getGroups(), lecture.getStartTime(), lecture.getEndTime());
+        assertFalse(timeTable.withLecture(changed).getConflictIndex(date).isTeacherFree(candidate));
+        assertThrows(UnsupportedOperationException.class, () -> timeTable.getConflictIndex(date).add(candidate));
+    }
+
+    @Test
+    void withSchedule_shouldShareUnchangedDaysWithOriginal() {
+        LocalDate unchanged = LocalDate.of(2021, 4, 1);
+        OccupancyGrid occupancy = timeTable.getOccupancy(unchanged);
+        TimeTable updated = timeTable.withSchedule(new Schedule(7, TestData.getTwoDayLectures(), LocalDate.of(2021, 4, 5), null));
+        assertSame(occupancy, updated.getOccupancy(unchanged));
+        assertSame(occupancy, updated.withoutSchedule(7).getOccupancy(unchanged));
+    }
+
+    @Test
+    void getTeacherSchedule_shouldReturnOnlyDaysWithinPeriod() {
+        List<LocalDate> actual = timeTable.getTeacherSchedule(TestData.getTeacher(), LocalDate.of(2021, 4, 2),
+                LocalDate.of(2021, 4, 30)).stream()
+                .map(Schedule::getDate)
+                .collect(Collectors.toList());
+        assertEquals(Collections.singletonList(LocalDate.of(2021, 4, 2)), actual);
+    }
+
+    @Test
+    void getStudentSchedule_shouldIncludeBothEndsOfPeriod() {
+        assertEquals(2, timeTable.getStudentSchedule(TestData.getFirstStudent(), LocalDate.of(2021, 4, 1),
+                LocalDate.of(2021, 4, 2)).size());
+    }
+
+    @Test
+    void getStudentDaySchedule_shouldRestoreLectureFields() {
+        Lecture expected = TestData.getOneDayLectures().get(1);
+        List<Lecture> actual = timeTable.getStudentDaySchedule(TestData.getFirstStudent(),
+                LocalDate.of(2021, 4, 1)).getLectures();
+        assertEquals(2, actual.size());
+        assertEquals(expected, actual.get(1));
+    }
+
+    @Test
+    void getStudentSchedule_shouldReturnEmptyDays_whenStudentHasNoGroup() {
+        List<Schedule> schedules = timeTable.getStudentSchedule(new Student(5, "Anna", "Kovalenko", null),
+                LocalDate.of(2021, 4, 1), LocalDate.of(2021, 4, 30));
+        assertEquals(2, schedules.size());
+        assertTrue(schedules.stream().allMatch(schedule -> schedule.getLectures().isEmpty()));
+    }
+
+    @Test
+    void getSchedules_shouldRestoreStoredSchedules() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Lecture withoutTimes = new Lecture(3, null, null, null, Collections.emptyList(), null, null);
+        Lecture withSeconds = new Lecture(2, null, TestData.getTeacher(), null, TestData.getJavaGroups(),
+                LocalTime.of(9, 0, 30), LocalTime.of(10, 30, 15));
+        Schedule schedule = new Schedule(7, Arrays.asList(withSeconds, withoutTimes), LocalDate.of(2021, 4, 5), faculty);
+        assertEquals(Collections.singletonList(schedule),
+                new TimeTable(Collections.singletonList(schedule)).getSchedules());
+    }
+
+    @Test
+    void queries_shouldMatchLinearScan_whenTimetableIsRandom() {
+        Random random = new Random(7);
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Teacher> teachers = new ArrayList<>();
+        List<Group> groups = new ArrayList<>();
+        List<Subject> subjects = Arrays.asList(new Subject(1, "Java", null), new Subject(2, "SQL", null));
+        for (int i = 1; i <= 10; i++) {
+            teachers.add(new Teacher(i, "Name " + i, "Surname " + i, null));
+            groups.add(new Group(i, "G-" + i, null, faculty));
+        }
+        List<Schedule> schedules = new ArrayList<>();
+        int lectureId = 1;
+        for (int day = 0; day < 120; day += 1 + random.nextInt(3)) {
+            List<Lecture> lectures = new ArrayList<>();
+            for (int i = random.nextInt(6); i > 0; i--) {
+                LocalTime startTime = LocalTime.of(8 + random.nextInt(8), random.nextInt(4) * 15);
+                lectures.add(new Lecture(lectureId++, subjects.get(random.nextInt(2)),
+                        teachers.get(random.nextInt(teachers.size())), new ClassRoom(i, 1, i, faculty),
+                        Arrays.asList(groups.get(random.nextInt(5)), groups.get(5 + random.nextInt(5))),
+                        startTime, startTime.plusMinutes(90)));
+            }
+            schedules.add(new Schedule(day, lectures, LocalDate.of(2021, 2, 1).plusDays(day), faculty));
+        }
+        Collections.shuffle(schedules, random);
+        TimeTable actual = new TimeTable(schedules);
+        LocalDate fromDate = LocalDate.of(2021, 3, 10);
+        LocalDate toDate = LocalDate.of(2021, 4, 20);
+        for (int i = 0; i < 10; i++) {
+            Teacher teacher = teachers.get(i);
+            Group group = groups.get(i);
+            Student student = new Student(i, "Name", "Surname", group);
+            assertEquals(scan(schedules, fromDate, toDate, lecture -> lecture.getTeacher().equals(teacher)),
+                    actual.getTeacherSchedule(teacher, fromDate, toDate));
+            assertEquals(scan(schedules, fromDate, toDate, lecture -> lecture.getGroups().contains(group)),
+                    actual.getStudentSchedule(student, fromDate, toDate));
+            assertEquals(scan(schedules, LocalDate.of(2021, 3, 1), LocalDate.of(2021, 3, 31),
+                    lecture -> lecture.getTeacher().equals(teacher)), actual.getTeacherMonthSchedule(teacher, Month.MARCH));
+        }
+    }
+
+    private static List<Schedule> scan(List<Schedule> schedules, LocalDate fromDate, LocalDate toDate,
+                                       Predicate<Lecture> filter) {
+        return schedules.stream()
+                .filter(schedule -> !schedule.getDate().isBefore(fromDate) && !schedule.getDate().isAfter(toDate))
+                .sorted(Comparator.comparing(Schedule::getDate))
+                .map(schedule -> new Schedule(schedule.getLectures().stream().filter(filter)
+                        .collect(Collectors.toList()), schedule.getDate()))
+                .collect(Collectors.toList());
+    }
+}
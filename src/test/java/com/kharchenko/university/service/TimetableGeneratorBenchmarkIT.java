@@ -0,0 +1,117 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.GeneratedTimetable;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.LectureDemand;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TimeSlot;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimetableGeneratorBenchmarkIT {
+
+    private static final int GROUPS = 40;
+    private static final int SUBJECTS = 12;
+    private static final int SUBJECTS_PER_GROUP = 6;
+    private static final int LECTURES_PER_SUBJECT = 8;
+    private static final int TEACHERS = 21;
+    private static final int TIGHT_TEACHERS = 20;
+    private static final int CLASSROOMS = 20;
+    private static final int SEEDS = 10;
+    private static final int WORKERS = 4;
+    private static final int STEPS_RATIO = 2;
+    private static final LocalDate FIRST_DAY = LocalDate.of(2021, 9, 6);
+    private static final LocalDate LAST_DAY = LocalDate.of(2021, 10, 1);
+    private static final Duration BUDGET = Duration.ofSeconds(5);
+    private static final Duration BENCHMARK_BUDGET = Duration.ofSeconds(60);
+
+    private static final Faculty faculty = new Faculty(1, "Programming");
+    private static final List<TimeSlot> slots = Arrays.asList(
+            new TimeSlot(LocalTime.of(9, 0), LocalTime.of(10, 30)),
+            new TimeSlot(LocalTime.of(10, 45), LocalTime.of(12, 15)),
+            new TimeSlot(LocalTime.of(13, 0), LocalTime.of(14, 30)),
+            new TimeSlot(LocalTime.of(14, 45), LocalTime.of(16, 15)),
+            new TimeSlot(LocalTime.of(16, 30), LocalTime.of(18, 0)));
+    private static final List<Teacher> teachers = new ArrayList<>();
+    private static final List<ClassRoom> classRooms = new ArrayList<>();
+    private static final List<LectureDemand> demands = new ArrayList<>();
+
+    @BeforeAll
+    static void setUp() {
+        List<Subject> subjects = new ArrayList<>();
+        for (int i = 0; i < SUBJECTS; i++) {
+            subjects.add(new Subject(i, "Subject " + i, "Learn subject " + i));
+        }
+        for (int i = 0; i < TEACHERS; i++) {
+            teachers.add(new Teacher(i, "Name " + i, "Surname " + i,
+                    Arrays.asList(subjects.get(i % SUBJECTS), subjects.get((i + 5) % SUBJECTS))));
+        }
+        for (int i = 0; i < CLASSROOMS; i++) {
+            classRooms.add(new ClassRoom(i, i / 10 + 1, 100 + i, faculty));
+        }
+        for (int i = 0; i < GROUPS; i++) {
+            List<Subject> groupSubjects = new ArrayList<>();
+            for (int j = 0; j < SUBJECTS_PER_GROUP; j++) {
+                groupSubjects.add(subjects.get((i + j * 2) % SUBJECTS));
+            }
+            Group group = new Group(i, "G-" + i, groupSubjects, faculty);
+            for (Subject subject : groupSubjects) {
+                demands.add(new LectureDemand(group, subject, LECTURES_PER_SUBJECT));
+            }
+        }
+    }
+
+    @Test
+    void generate_shouldSolveRealisticFacultyWithinBudget_whenSingleWorker() {
+        assertSolved(generate(TEACHERS, BUDGET, 1, new SplittableRandom()));
+    }
+
+    @Test
+    void generate_shouldSolveRealisticFacultyWithinBudget_whenWorkerPerProcessor() {
+        int workers = Math.max(2, Runtime.getRuntime().availableProcessors());
+        assertSolved(generate(TEACHERS, BUDGET, workers, new SplittableRandom()));
+    }
+
+    @Test
+    void generate_shouldReachZeroConflictsInFewerSteps_whenWorkersRace() {
+        long singleSteps = 0;
+        long raceSteps = 0;
+        for (int seed = 0; seed < SEEDS; seed++) {
+            GeneratedTimetable single = generate(TIGHT_TEACHERS, BENCHMARK_BUDGET, 1, new SplittableRandom(seed));
+            GeneratedTimetable race = generate(TIGHT_TEACHERS, BENCHMARK_BUDGET, WORKERS, new SplittableRandom(seed));
+            assertSolved(single);
+            assertSolved(race);
+            singleSteps += single.getSteps();
+            raceSteps += race.getSteps();
+        }
+        assertTrue(raceSteps * STEPS_RATIO < singleSteps, WORKERS + " workers reached zero conflicts in "
+                + raceSteps + " steps against " + singleSteps + " steps of one worker");
+    }
+
+    private static GeneratedTimetable generate(int teachersCount, Duration budget, int workers,
+                                               SplittableRandom seeds) {
+        return new TimetableGenerator(faculty, FIRST_DAY, LAST_DAY, slots, demands,
+                teachers.subList(0, teachersCount), classRooms).generate(budget, workers, progress -> {
+        }, seeds);
+    }
+
+    private static void assertSolved(GeneratedTimetable timetable) {
+        assertEquals(0, timetable.getConflicts());
+        assertEquals(GROUPS * SUBJECTS_PER_GROUP * LECTURES_PER_SUBJECT, timetable.getSchedules().stream()
+                .mapToInt(schedule -> schedule.getLectures().size()).sum());
+    }
+}
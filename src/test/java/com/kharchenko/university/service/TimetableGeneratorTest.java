@@ -0,0 +1,138 @@
+package com.kharchenko.university.service;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.exception.InvalidGroupException;
+import com.kharchenko.university.exception.InvalidTeacherException;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.GeneratedTimetable;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.LectureDemand;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TimeSlot;
+import com.kharchenko.university.model.TimetableProgress;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TimetableGeneratorTest {
+
+    private static final LocalDate MONDAY = LocalDate.of(2021, 9, 6);
+    private static final LocalDate SUNDAY = LocalDate.of(2021, 9, 12);
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final Subject java = new Subject(1, "Java", "Learn Java");
+    private final Subject sql = new Subject(2, "Sql", "Learn Sql");
+    private final Subject spring = new Subject(3, "Spring", "Learn Spring");
+    private final List<Group> groups = Arrays.asList(
+            new Group(1, "AA-111", Arrays.asList(java, sql, spring), faculty),
+            new Group(2, "BB-222", Arrays.asList(java, sql, spring), faculty),
+            new Group(3, "CC-333", Arrays.asList(java, sql, spring), faculty),
+            new Group(4, "DD-444", Arrays.asList(java, sql, spring), faculty));
+    private final List<Teacher> teachers = Arrays.asList(
+            new Teacher(1, "Bruce", "Eckel", Arrays.asList(java, spring)),
+            new Teacher(2, "Robert", "Martin", Arrays.asList(sql, java)),
+            new Teacher(3, "James", "Gosling", Arrays.asList(spring, sql)));
+    private final List<ClassRoom> classRooms = Arrays.asList(
+            new ClassRoom(1, 1, 100, faculty),
+            new ClassRoom(2, 1, 101, faculty),
+            new ClassRoom(3, 2, 200, new Faculty(2, "Management")));
+    private final List<TimeSlot> slots = Arrays.asList(
+            new TimeSlot(LocalTime.of(9, 0), LocalTime.of(10, 30)),
+            new TimeSlot(LocalTime.of(10, 45), LocalTime.of(12, 15)),
+            new TimeSlot(LocalTime.of(13, 0), LocalTime.of(14, 30)),
+            new TimeSlot(LocalTime.of(14, 45), LocalTime.of(16, 15)));
+
+    @Test
+    void generate_shouldProduceConflictFreeSchedulesOnWorkingDays() {
+        List<LectureDemand> demands = getDemands(2);
+        GeneratedTimetable timetable = new TimetableGenerator(faculty, MONDAY, SUNDAY, slots, demands, teachers, classRooms)
+                .generate(Duration.ofSeconds(10), 2);
+        assertEquals(0, timetable.getConflicts());
+        assertEquals(5, timetable.getSchedules().size());
+        int lecturesCount = 0;
+        for (Schedule schedule : timetable.getSchedules()) {
+            assertFalse(schedule.getDate().getDayOfWeek() == DayOfWeek.SATURDAY
+                    || schedule.getDate().getDayOfWeek() == DayOfWeek.SUNDAY);
+            LectureConflictIndex index = new LectureConflictIndex();
+            for (Lecture lecture : schedule.getLectures()) {
+                index.checkFree(lecture);
+                index.add(lecture);
+                assertTrue(lecture.getTeacher().getSubjects().contains(lecture.getSubject()));
+                assertEquals(faculty, lecture.getClassRoom().getFaculty());
+                lecturesCount++;
+            }
+        }
+        assertEquals(24, lecturesCount);
+    }
+
+    @Test
+    void generate_shouldReportProgressUntilSolved() {
+        List<TimetableProgress> progress = Collections.synchronizedList(new ArrayList<>());
+        new TimetableGenerator(faculty, MONDAY, SUNDAY, slots, getDemands(1), teachers, classRooms)
+                .generate(Duration.ofSeconds(10), 2, progress::add);
+        assertFalse(progress.isEmpty());
+        assertEquals(0, progress.get(progress.size() - 1).getConflicts());
+    }
+
+    @Test
+    void generate_shouldRepeatSearch_whenSeedIsSame() {
+        TimetableGenerator generator = new TimetableGenerator(faculty, MONDAY, SUNDAY, slots, getDemands(1), teachers,
+                classRooms);
+        GeneratedTimetable first = generator.generate(Duration.ofSeconds(10), 1, progress -> {
+        }, new SplittableRandom(7));
+        GeneratedTimetable second = generator.generate(Duration.ofSeconds(10), 1, progress -> {
+        }, new SplittableRandom(7));
+        assertEquals(first.getSteps(), second.getSteps());
+        assertEquals(first.getSchedules(), second.getSchedules());
+    }
+
+    @Test
+    void constructor_shouldThrowInvalidTeacherException_whenNoTeacherQualifiedInSubject() {
+        List<Teacher> javaTeachers = Collections.singletonList(teachers.get(0));
+        List<LectureDemand> demands = Collections.singletonList(new LectureDemand(groups.get(0), sql, 1));
+        assertThrows(InvalidTeacherException.class,
+                () -> new TimetableGenerator(faculty, MONDAY, SUNDAY, slots, demands, javaTeachers, classRooms));
+    }
+
+    @Test
+    void constructor_shouldThrowInvalidGroupException_whenGroupDoesNotStudySubject() {
+        Group group = new Group(5, "EE-555", Collections.singletonList(java), faculty);
+        List<LectureDemand> demands = Collections.singletonList(new LectureDemand(group, sql, 1));
+        assertThrows(InvalidGroupException.class,
+                () -> new TimetableGenerator(faculty, MONDAY, SUNDAY, slots, demands, teachers, classRooms));
+    }
+
+    @Test
+    void constructor_shouldThrowInvalidEntityFieldException_whenGroupHasMoreLecturesThanTimeSlots() {
+        List<LectureDemand> demands = Collections.singletonList(new LectureDemand(groups.get(0), java, 21));
+        assertThrows(InvalidEntityFieldException.class,
+                () -> new TimetableGenerator(faculty, MONDAY, SUNDAY, slots, demands, teachers, classRooms));
+    }
+
+    private List<LectureDemand> getDemands(int lecturesCount) {
+        List<LectureDemand> demands = new ArrayList<>();
+        for (Group group : groups) {
+            for (Subject subject : group.getSubjects()) {
+                demands.add(new LectureDemand(group, subject, lecturesCount));
+            }
+        }
+        return demands;
+    }
+}
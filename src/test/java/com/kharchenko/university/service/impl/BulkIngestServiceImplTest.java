@@ -0,0 +1,171 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.BulkIngestDao;
+import com.kharchenko.university.dao.LectureDao;
+import com.kharchenko.university.exception.EnitityAlreadyExistsException;
+import com.kharchenko.university.exception.EntityNotFoundException;
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.exception.InvalidTeacherException;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.IngestReport;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.service.LectureService;
+import com.kharchenko.university.service.ScheduleService;
+import com.kharchenko.university.service.TimeTableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class BulkIngestServiceImplTest {
+
+    @Mock
+    private BulkIngestDao bulkIngestDao;
+    @Mock
+    private TimeTableService timeTableService;
+    @Mock
+    private LectureDao lectureDao;
+    @Mock
+    private LectureService lectureService;
+    @Mock
+    private ScheduleService scheduleService;
+    @InjectMocks
+    private BulkIngestServiceImpl bulkIngestService;
+
+    @Test
+    void ingestStudents_shouldReturnCopiedRows_whenStudentsAreValid() {
+        Group group = new Group(1, "AA-111", null, null);
+        List<Student> students = Arrays.asList(new Student(null, "Ivan", "Ivanov", group),
+                new Student(null, "Petr", "Petrov", group));
+        Map<String, Long> copiedRows = new LinkedHashMap<>();
+        copiedRows.put("students", 2L);
+        when(bulkIngestDao.getMissingIds("groups", new HashSet<>(Arrays.asList(1)))).thenReturn(new ArrayList<>());
+        when(bulkIngestDao.copyStudents(students)).thenReturn(copiedRows);
+        IngestReport actual = bulkIngestService.ingestStudents(students);
+        assertEquals(copiedRows, actual.getCopiedRows());
+        assertEquals(2, actual.getTotalRows());
+    }
+
+    @Test
+    void ingestStudents_shouldThrowEntityNotFoundException_whenGroupNotExist() {
+        List<Student> students = Arrays.asList(new Student(null, "Ivan", "Ivanov", new Group(7, null, null, null)));
+        when(bulkIngestDao.getMissingIds("groups", new HashSet<>(Arrays.asList(7)))).thenReturn(Arrays.asList(7));
+        assertThrows(EntityNotFoundException.class, () -> bulkIngestService.ingestStudents(students));
+        verify(bulkIngestDao, never()).copyStudents(students);
+    }
+
+    @Test
+    void ingestStudents_shouldThrowInvalidEntityFieldException_whenGroupIsNotSaved() {
+        List<Student> students = Arrays.asList(new Student(null, "Ivan", "Ivanov", new Group(null, "AA-111", null, null)));
+        assertThrows(InvalidEntityFieldException.class, () -> bulkIngestService.ingestStudents(students));
+    }
+
+    @Test
+    void ingestLectures_shouldThrowInvalidTeacherException_whenTeacherIsNotQualified() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Lecture> lectures = Arrays.asList(new Lecture(null, new Subject(2, "Sql", "Learn Sql"),
+                new Teacher(1, "Bruce", "Eckel", null), new ClassRoom(1, 1, 100, faculty), new ArrayList<>(),
+                LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        when(bulkIngestDao.getMissingIds(anyString(), eq(new HashSet<>()))).thenReturn(new ArrayList<>());
+        when(bulkIngestDao.getMissingIds(anyString(), eq(new HashSet<>(Arrays.asList(1))))).thenReturn(new ArrayList<>());
+        when(bulkIngestDao.getMissingIds("subjects", new HashSet<>(Arrays.asList(2)))).thenReturn(new ArrayList<>());
+        when(bulkIngestDao.getMissingSubjectLinks(eq("teachers_subjects"), anyList()))
+                .thenReturn(Arrays.asList(new int[]{1, 2}));
+        assertThrows(InvalidTeacherException.class, () -> bulkIngestService.ingestLectures(lectures));
+        verify(bulkIngestDao, never()).copyLectures(lectures);
+    }
+
+    @Test
+    void ingestSchedules_shouldThrowEnitityAlreadyExistsException_whenDatesRepeatInList() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        List<Schedule> schedules = Arrays.asList(new Schedule(null, null, date, faculty),
+                new Schedule(null, null, date, faculty));
+        assertThrows(EnitityAlreadyExistsException.class, () -> bulkIngestService.ingestSchedules(schedules));
+    }
+
+    @Test
+    void ingestSchedules_shouldThrowEnitityAlreadyExistsException_whenDateAlreadyInDatabase() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        List<Schedule> schedules = Arrays.asList(new Schedule(null, null, date, faculty));
+        when(bulkIngestDao.getExistingScheduleDates(new HashSet<>(Arrays.asList(date)))).thenReturn(Arrays.asList(date));
+        assertThrows(EnitityAlreadyExistsException.class, () -> bulkIngestService.ingestSchedules(schedules));
+    }
+
+    @Test
+    void ingestLectures_shouldThrowEnitityAlreadyExistsException_whenLecturesRepeatInList() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Lecture lecture = new Lecture(null, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, faculty), new ArrayList<>(), LocalTime.of(9, 0), LocalTime.of(11, 0));
+        List<Lecture> lectures = Arrays.asList(lecture, lecture);
+        assertThrows(EnitityAlreadyExistsException.class, () -> bulkIngestService.ingestLectures(lectures));
+        verify(bulkIngestDao, never()).copyLectures(lectures);
+    }
+
+    @Test
+    void ingestLectures_shouldThrowEnitityAlreadyExistsException_whenLectureAlreadyInDatabase() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Lecture> lectures = Arrays.asList(new Lecture(null, new Subject(1, "Java", "Learn Java"),
+                new Teacher(1, "Bruce", "Eckel", null), new ClassRoom(1, 1, 100, faculty), new ArrayList<>(),
+                LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        when(lectureDao.getIndexesWithSameFields(lectures)).thenReturn(Arrays.asList(0));
+        assertThrows(EnitityAlreadyExistsException.class, () -> bulkIngestService.ingestLectures(lectures));
+        verify(bulkIngestDao, never()).copyLectures(lectures);
+    }
+
+    @Test
+    void ingestSchedules_shouldThrowInvalidEntityFieldException_whenLectureIsNotSaved() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Lecture> lectures = Arrays.asList(new Lecture(null, null, null, null, null, null, null));
+        List<Schedule> schedules = Arrays.asList(new Schedule(null, lectures, LocalDate.of(2021, 9, 1), faculty));
+        assertThrows(InvalidEntityFieldException.class, () -> bulkIngestService.ingestSchedules(schedules));
+        verify(bulkIngestDao, never()).copySchedules(schedules);
+    }
+
+    @Test
+    void ingestSchedules_shouldValidateSchedulesWithSavedLectures_whenLecturesAreGivenByIds() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Faculty otherFaculty = new Faculty(2, "Management");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture savedLecture = new Lecture(1, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null),
+                new ClassRoom(1, 1, 100, otherFaculty), new ArrayList<>(), LocalTime.of(9, 0), LocalTime.of(11, 0));
+        List<Lecture> lectures = Arrays.asList(new Lecture(1, null, null, null, null, null, null));
+        List<Schedule> schedules = Arrays.asList(new Schedule(null, lectures, date, faculty));
+        List<Schedule> savedSchedules = Arrays.asList(new Schedule(null, Arrays.asList(savedLecture), date, faculty));
+        when(bulkIngestDao.getExistingScheduleDates(new HashSet<>(Arrays.asList(date)))).thenReturn(new ArrayList<>());
+        when(bulkIngestDao.getMissingIds("faculties", new HashSet<>(Arrays.asList(1)))).thenReturn(new ArrayList<>());
+        when(lectureService.getByIds(new HashSet<>(Arrays.asList(1)))).thenReturn(Arrays.asList(savedLecture));
+        doThrow(new InvalidEntityFieldException("The faculty's schedule must include only faculty's classrooms"))
+                .when(scheduleService).checkAll(savedSchedules);
+        assertThrows(InvalidEntityFieldException.class, () -> bulkIngestService.ingestSchedules(schedules));
+        verify(bulkIngestDao, never()).copySchedules(schedules);
+    }
+}
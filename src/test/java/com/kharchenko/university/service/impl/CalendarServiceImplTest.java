@@ -0,0 +1,113 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.service.TimeTableService;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.time.Month;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarServiceImplTest {
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final Subject java = new Subject(1, "Java", "Learn Java");
+    private final Teacher bruce = new Teacher(1, "Bruce", "Eckel", null);
+    private final Group group = new Group(1, "AA-111", null, faculty);
+    private final Student student = new Student(1, "Ivan", "Ivanov", group);
+    private final Lecture lecture = new Lecture(1, java, bruce, null, Collections.singletonList(group),
+            LocalTime.of(9, 0), LocalTime.of(11, 0));
+    private final Schedule schedule = new Schedule(1, Collections.singletonList(lecture), LocalDate.of(2021, 5, 24), faculty);
+
+    @Mock
+    private TimeTableService timeTableService;
+    @InjectMocks
+    private CalendarServiceImpl calendarService;
+
+    @Test
+    void getTeacherTag_shouldChange_whenTeacherLecturesChanged() {
+        Lecture moved = new Lecture(1, java, bruce, null, Collections.singletonList(group),
+                LocalTime.of(12, 0), LocalTime.of(14, 0));
+        when(timeTableService.getTeacherMonthSchedule(bruce, Month.MAY)).thenReturn(
+                Collections.singletonList(schedule), Collections.singletonList(schedule),
+                Collections.singletonList(new Schedule(1, Collections.singletonList(moved), schedule.getDate(), faculty)));
+        String tag = calendarService.getTeacherTag(bruce, Month.MAY);
+        assertEquals(tag, calendarService.getTeacherTag(bruce, Month.MAY));
+        assertNotEquals(tag, calendarService.getTeacherTag(bruce, Month.MAY));
+    }
+
+    @Test
+    void getStudentTag_shouldChange_whenTeacherRenamed() {
+        LocalDate fromDate = LocalDate.of(2021, 5, 1);
+        LocalDate toDate = LocalDate.of(2021, 5, 31);
+        Teacher renamed = new Teacher(1, "Bruce", "Lee", null);
+        Lecture renamedLecture = new Lecture(1, java, renamed, null, Collections.singletonList(group),
+                LocalTime.of(9, 0), LocalTime.of(11, 0));
+        when(timeTableService.getStudentSchedule(student, fromDate, toDate)).thenReturn(
+                Collections.singletonList(schedule),
+                Collections.singletonList(new Schedule(1, Collections.singletonList(renamedLecture), schedule.getDate(), faculty)));
+        assertNotEquals(calendarService.getStudentTag(student, fromDate, toDate),
+                calendarService.getStudentTag(student, fromDate, toDate));
+    }
+
+    @Test
+    void getStudentTag_shouldNotChange_whenScheduleIsLoadedAgain() {
+        Lecture copy = new Lecture(1, new Subject(1, "Java", "Learn Java"), new Teacher(1, "Bruce", "Eckel", null), null,
+                Collections.singletonList(new Group(1, "AA-111", null, faculty)), LocalTime.of(9, 0), LocalTime.of(11, 0));
+        when(timeTableService.getStudentMonthSchedule(student, Month.MAY)).thenReturn(Collections.singletonList(schedule),
+                Collections.singletonList(new Schedule(1, Collections.singletonList(copy), schedule.getDate(), faculty)));
+        assertEquals(calendarService.getStudentTag(student, Month.MAY), calendarService.getStudentTag(student, Month.MAY));
+    }
+
+    @Test
+    void getTeacherTag_shouldThrowInvalidEntityFieldException_whenPeriodIsReversed() {
+        assertThrows(InvalidEntityFieldException.class, () -> calendarService.getTeacherTag(bruce,
+                LocalDate.of(2021, 5, 31), LocalDate.of(2021, 5, 1)));
+    }
+
+    @Test
+    void writeTeacherCalendar_shouldWriteMonthSchedule() throws IOException {
+        when(timeTableService.getTeacherMonthSchedule(bruce, Month.MAY)).thenReturn(Collections.singletonList(schedule));
+        StringWriter writer = new StringWriter();
+        calendarService.writeTeacherCalendar(bruce, Month.MAY, writer);
+        assertTrue(writer.toString().contains("X-WR-CALNAME:Bruce Eckel\r\n"));
+        assertTrue(writer.toString().contains("DTEND:20210524T110000\r\n"));
+    }
+
+    @Test
+    void writeStudentCalendar_shouldWritePeriodSchedule() throws IOException {
+        LocalDate fromDate = LocalDate.of(2021, 5, 1);
+        LocalDate toDate = LocalDate.of(2021, 5, 31);
+        when(timeTableService.getStudentSchedule(student, fromDate, toDate)).thenReturn(Collections.singletonList(schedule));
+        StringWriter writer = new StringWriter();
+        calendarService.writeStudentCalendar(student, fromDate, toDate, writer);
+        assertTrue(writer.toString().contains("SUMMARY:Java\r\n"));
+    }
+
+    @Test
+    void writeStudentCalendar_shouldThrowInvalidEntityFieldException_whenPeriodIsReversed() {
+        assertThrows(InvalidEntityFieldException.class, () -> calendarService.writeStudentCalendar(student,
+                LocalDate.of(2021, 5, 31), LocalDate.of(2021, 5, 1), new StringWriter()));
+    }
+}
@@ -6,12 +6,11 @@ import com.kharchenko.university.exception.EntityHasReferenceException;
 import com.kharchenko.university.exception.EnitityAlreadyExistsException;
 import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
-import com.kharchenko.university.model.Group;
-import com.kharchenko.university.model.Lecture;
-import com.kharchenko.university.model.Teacher;
-import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.service.OccupancyGrid;
+import com.kharchenko.university.service.TimeTableService;
 
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +18,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -41,6 +41,8 @@ class ClassRoomServiceImplTest {
     private ClassRoomDao classRoomDao;
     @Mock
     private LectureDao lectureDao;
+    @Mock
+    private TimeTableService timeTableService;
     @InjectMocks
     private ClassRoomServiceImpl classRoomService;
 
@@ -52,18 +54,14 @@ class ClassRoomServiceImplTest {
 
     @Test
     void add_shouldThrowEntityIsAlreadyExistsException_whenClassRomIsAlreadyExists() {
-        List<ClassRoom> classRooms = new ArrayList<>();
-        classRooms.add(new ClassRoom(1, 1, 100, new Faculty(1, "Programming")));
-        when(classRoomDao.getByBuildingNumber(1)).thenReturn(classRooms);
+        when(classRoomDao.existsByBuildingNumberAndRoomNumber(1, 100)).thenReturn(true);
         ClassRoom classRoom = new ClassRoom(null, 1, 100, new Faculty(null, "Name"));
         assertThrows(EnitityAlreadyExistsException.class, () -> classRoomService.add(classRoom));
     }
 
     @Test
     void add_shouldReturnNewClassRoom_whenAddNewClassRoom() {
-        List<ClassRoom> classRooms = new ArrayList<>();
-        classRooms.add(new ClassRoom(1, 1, 100, new Faculty(1, "Programming")));
-        when(classRoomDao.getByBuildingNumber(1)).thenReturn(classRooms);
+        when(classRoomDao.existsByBuildingNumberAndRoomNumber(1, 101)).thenReturn(false);
         ClassRoom classRoom = new ClassRoom(null, 1, 101, new Faculty(null, "Name"));
         ClassRoom expected = new ClassRoom(4, 1, 101, new Faculty(3, "Name"));
         when(classRoomDao.add(classRoom)).thenReturn(expected);
@@ -111,38 +109,26 @@ class ClassRoomServiceImplTest {
 
     @Test
     void update_shouldThrowEntityIsAlreadyExistsException_whenClassRoomIsAlreadyExists() {
-        List<ClassRoom> classRooms = new ArrayList<>();
         ClassRoom classRoom = new ClassRoom(1, 1, 100, new Faculty(1, "Programming"));
-        classRooms.add(classRoom);
-        when(classRoomDao.getByBuildingNumber(1)).thenReturn(classRooms);
+        when(classRoomDao.existsByBuildingNumberAndRoomNumber(1, 100)).thenReturn(true);
         assertThrows(EnitityAlreadyExistsException.class, () -> classRoomService.update(classRoom));
     }
 
     @Test
     void update_shouldCorrectlyUpdateClassRoom() {
-        List<ClassRoom> classRooms = new ArrayList<>();
-        classRooms.add(new ClassRoom(1, 1, 100, new Faculty(1, "Programming")));
-        when(classRoomDao.getByBuildingNumber(1)).thenReturn(classRooms);
+        when(classRoomDao.existsByBuildingNumberAndRoomNumber(1, 110)).thenReturn(false);
         ClassRoom classRoom = new ClassRoom(1, 1, 110, new Faculty(1, "Programming"));
         classRoomService.update(classRoom);
-        verify(classRoomDao, times(1)).getByBuildingNumber(1);
+        verify(classRoomDao, times(1)).existsByBuildingNumberAndRoomNumber(1, 110);
         verify(classRoomDao, times(1)).update(classRoom);
+        verify(timeTableService, times(1)).classRoomChanged(classRoom);
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenClassRoomHasLectures() {
-        Subject subject = new Subject(1, "Java", "Learn Java");
-        Teacher teacher = new Teacher(1, "Bruce", "Eckel", null);
-        Faculty faculty = new Faculty(1, "Programming");
-        ClassRoom classRoom = new ClassRoom(1, 1, 100, faculty);
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", null, faculty));
-        groups.add(new Group(2, "BB-222", null, faculty));
-
-        List<Lecture> lectures = Arrays.asList(new Lecture(1, subject, teacher, classRoom, groups,
-                LocalTime.of(9, 00), LocalTime.of(11, 00)));
+        ClassRoom classRoom = new ClassRoom(1, 1, 100, new Faculty(1, "Programming"));
         when(classRoomDao.getById(1)).thenReturn(Optional.of(classRoom));
-        when(lectureDao.getByClassRoom(classRoom)).thenReturn(lectures);
+        when(lectureDao.existsByClassRoom(classRoom)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> classRoomService.deleteById(1));
     }
 
@@ -156,7 +142,7 @@ class ClassRoomServiceImplTest {
     void deleteById_shouldDeleteClassroom_whenClassRoomHasNoLectures() {
         ClassRoom classRoom = new ClassRoom(3, 3, 300, new Faculty(1, "Programming"));
         when(classRoomDao.getById(3)).thenReturn(Optional.of(classRoom));
-        when(lectureDao.getByClassRoom(classRoom)).thenReturn(new ArrayList<>());
+        when(lectureDao.existsByClassRoom(classRoom)).thenReturn(false);
         when(classRoomDao.deleteById(3)).thenReturn(true);
         boolean isDeleted = classRoomService.deleteById(3);
         assertTrue(isDeleted);
@@ -164,10 +150,7 @@ class ClassRoomServiceImplTest {
 
     @Test
     void addAll_shouldCorrectlyAddAllClassRooms() {
-        List<ClassRoom> classRooms = new ArrayList<>();
-        classRooms.add(new ClassRoom(1, 1, 100, new Faculty(1, "Programming")));
-        when(classRoomDao.getByBuildingNumber(1)).thenReturn(classRooms);
-
+        when(classRoomDao.existsByBuildingNumberAndRoomNumber(1, 150)).thenReturn(false);
         List<ClassRoom> classRoomsForAddAll = new ArrayList<>();
         classRoomsForAddAll.add(new ClassRoom(null, 1, 150, new Faculty(null, "Name")));
         classRoomService.addAll(classRoomsForAddAll);
@@ -176,9 +159,7 @@ class ClassRoomServiceImplTest {
 
     @Test
     void addAll_shouldThrowEntityIsAlreadyExistsException_whenClassRomIsAlreadyExists() {
-        List<ClassRoom> classRooms = new ArrayList<>();
-        classRooms.add(new ClassRoom(1, 1, 100, new Faculty(1, "Programming")));
-        when(classRoomDao.getByBuildingNumber(1)).thenReturn(classRooms);
+        when(classRoomDao.existsByBuildingNumberAndRoomNumber(1, 100)).thenReturn(true);
         List<ClassRoom> classRoomsForAddAll = new ArrayList<>();
         classRoomsForAddAll.add(new ClassRoom(null, 1, 100, new Faculty(null, "Name")));
         assertThrows(EnitityAlreadyExistsException.class, () -> classRoomService.addAll(classRoomsForAddAll));
@@ -199,4 +180,26 @@ class ClassRoomServiceImplTest {
         List<ClassRoom> actual = classRoomService.getByBuildingNumber(1);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findFree_shouldReturnFacultyClassRoomsNotOccupiedWithinGivenTime() {
+        Faculty faculty = new Faculty(1, "Programming");
+        ClassRoom occupied = new ClassRoom(1, 1, 100, faculty);
+        ClassRoom free = new ClassRoom(2, 1, 101, faculty);
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture lecture = new Lecture(1, null, null, occupied, null, LocalTime.of(9, 0), LocalTime.of(11, 0));
+        when(timeTableService.getOccupancy(date)).thenReturn(new OccupancyGrid(Arrays.asList(lecture)));
+        when(classRoomDao.getByFaculty(faculty)).thenReturn(Arrays.asList(occupied, free));
+        List<ClassRoom> expected = Arrays.asList(free);
+        List<ClassRoom> actual = classRoomService.findFree(date, LocalTime.of(10, 0), LocalTime.of(12, 0), faculty);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void findFree_shouldThrowInvalidEntityFieldException_whenStartTimeIsNotBeforeEndTime() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        assertThrows(InvalidEntityFieldException.class,
+                () -> classRoomService.findFree(date, LocalTime.of(12, 0), LocalTime.of(10, 0), faculty));
+    }
+}
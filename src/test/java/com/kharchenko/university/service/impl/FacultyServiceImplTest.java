@@ -8,19 +8,14 @@ import com.kharchenko.university.exception.EntityHasReferenceException;
 import com.kharchenko.university.exception.EnitityAlreadyExistsException;
 import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
-import com.kharchenko.university.model.Group;
-import com.kharchenko.university.model.Lecture;
-import com.kharchenko.university.model.Subject;
-import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
-import com.kharchenko.university.model.Schedule;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
-import java.time.LocalDate;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -33,6 +28,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.doThrow;
 
 @ExtendWith(MockitoExtension.class)
 class FacultyServiceImplTest {
@@ -62,11 +58,7 @@ class FacultyServiceImplTest {
 
     @Test
     void add_shouldReturnNewFaculty_whenAddNewFaculty() {
-        List<Faculty> faculties = new ArrayList<>();
-        faculties.add(new Faculty(1, "Programming"));
-        faculties.add(new Faculty(2, "Management"));
-        when(facultyDao.getAll()).thenReturn(faculties);
-
+        when(facultyDao.existsByName("New Faculty")).thenReturn(false);
         Faculty faculty = new Faculty(null, "New Faculty");
         Faculty expected = new Faculty(3, "New Faculty");
         when(facultyDao.add(faculty)).thenReturn(expected);
@@ -118,59 +110,49 @@ class FacultyServiceImplTest {
 
     @Test
     void update_shouldThrowEntityIsAlreadyExistsException_whenFacultyIsAlreadyExists() {
-        Faculty firstFaculty = new Faculty(1, "Programming");
-        Faculty secondFaculty = new Faculty(2, "Management");
-        List<Faculty> faculties = Arrays.asList(firstFaculty, secondFaculty);
-        when(facultyDao.getAll()).thenReturn(faculties);
+        when(facultyDao.existsByName("Programming")).thenReturn(true);
         Faculty faculty = new Faculty(1, "Programming");
         assertThrows(EnitityAlreadyExistsException.class, () -> facultyService.update(faculty));
     }
 
+    @Test
+    void update_shouldThrowEntityIsAlreadyExistsException_whenUniqueConstraintIsViolated() {
+        Faculty faculty = new Faculty(1, "Management");
+        when(facultyDao.existsByName("Management")).thenReturn(false);
+        doThrow(DuplicateKeyException.class).when(facultyDao).update(faculty);
+        assertThrows(EnitityAlreadyExistsException.class, () -> facultyService.update(faculty));
+    }
+
     @Test
     void update_shouldCorrectlyUpdateFaculty() {
-        Faculty firstFaculty = new Faculty(1, "Programming");
-        Faculty secondFaculty = new Faculty(2, "Management");
-        List<Faculty> faculties = Arrays.asList(firstFaculty, secondFaculty);
-        when(facultyDao.getAll()).thenReturn(faculties);
+        when(facultyDao.existsByName("Updated Faculty")).thenReturn(false);
         Faculty faculty = new Faculty(1, "Updated Faculty");
         facultyService.update(faculty);
-        verify(facultyDao, times(1)).getAll();
+        verify(facultyDao, times(1)).existsByName("Updated Faculty");
         verify(facultyDao, times(1)).update(faculty);
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenFacultyHasClassRooms() {
         Faculty faculty = new Faculty(1, "Programming");
-        List<ClassRoom> classRooms = new ArrayList<>();
-        classRooms.add(new ClassRoom(1, 1, 100, faculty));
-        classRooms.add(new ClassRoom(2, 2, 200, faculty));
         when(facultyDao.getById(1)).thenReturn(Optional.of(faculty));
-        when(classRoomDao.getByFaculty(faculty)).thenReturn(classRooms);
+        when(classRoomDao.existsByFaculty(faculty)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> facultyService.deleteById(1));
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenFacultyHasSchedules() {
         Faculty faculty = new Faculty(1, "Programming");
-        List<Lecture> lectures = new ArrayList<>();
-        lectures.add(new Lecture(1, null, null, null, null,
-                null, null));
-        List<Schedule> schedules = new ArrayList<>();
-        schedules.add(new Schedule(1, lectures, LocalDate.of(2021, 05, 24), faculty));
         when(facultyDao.getById(1)).thenReturn(Optional.of(faculty));
-        when(scheduleDao.getByFaculty(faculty)).thenReturn(schedules);
+        when(scheduleDao.existsByFaculty(faculty)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> facultyService.deleteById(1));
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenFacultyHasGroups() {
         Faculty faculty = new Faculty(1, "Programming");
-        List<Subject> subjects = new ArrayList<>();
-        subjects.add(new Subject(1, "Java", "Learn Java"));
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", subjects, faculty));
         when(facultyDao.getById(1)).thenReturn(Optional.of(faculty));
-        when(groupDao.getByFaculty(faculty)).thenReturn(groups);
+        when(groupDao.existsByFaculty(faculty)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> facultyService.deleteById(1));
     }
 
@@ -184,9 +166,9 @@ class FacultyServiceImplTest {
     void deleteById_shouldDeleteFaculty_whenFacultyHasNoReferences() {
         Faculty faculty = new Faculty(2, "Management");
         when(facultyDao.getById(2)).thenReturn(Optional.of(faculty));
-        when(classRoomDao.getByFaculty(faculty)).thenReturn(new ArrayList<>());
-        when(scheduleDao.getByFaculty(faculty)).thenReturn(new ArrayList<>());
-        when(groupDao.getByFaculty(faculty)).thenReturn(new ArrayList<>());
+        when(classRoomDao.existsByFaculty(faculty)).thenReturn(false);
+        when(scheduleDao.existsByFaculty(faculty)).thenReturn(false);
+        when(groupDao.existsByFaculty(faculty)).thenReturn(false);
         when(facultyDao.deleteById(2)).thenReturn(true);
         boolean isDeleted = facultyService.deleteById(2);
         assertTrue(isDeleted);
@@ -208,20 +190,14 @@ class FacultyServiceImplTest {
 
     @Test
     void addAll_shouldThrowEntityIsAlreadyExistsException_whenFacultyIsAlreadyExists() {
-        List<Faculty> expected = new ArrayList<>();
-        expected.add(new Faculty(1, "Programming"));
-        expected.add(new Faculty(2, "Management"));
-        when(facultyDao.getAll()).thenReturn(expected);
+        when(facultyDao.existsByName("Programming")).thenReturn(true);
         List<Faculty> facultiesForAddAll = Arrays.asList(new Faculty(null, "Programming"));
         assertThrows(EnitityAlreadyExistsException.class, () -> facultyService.addAll(facultiesForAddAll));
     }
 
     @Test
     void addAll_shouldCorrectlyAddAllSubjects() {
-        List<Faculty> expected = new ArrayList<>();
-        expected.add(new Faculty(1, "Programming"));
-        expected.add(new Faculty(2, "Management"));
-        when(facultyDao.getAll()).thenReturn(expected);
+        when(facultyDao.existsByName("New Faculty")).thenReturn(false);
         List<Faculty> facultiesForAddAll = Arrays.asList(new Faculty(null, "New Faculty"));
         facultyService.addAll(facultiesForAddAll);
         verify(facultyDao, times(1)).addAll(facultiesForAddAll);
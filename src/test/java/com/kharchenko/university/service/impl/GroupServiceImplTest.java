@@ -13,7 +13,8 @@ import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
-import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.dto.GroupSummary;
+import com.kharchenko.university.service.TimeTableService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -42,6 +43,8 @@ class GroupServiceImplTest {
     private StudentDao studentDao;
     @Mock
     private LectureDao lectureDao;
+    @Mock
+    private TimeTableService timeTableService;
     @InjectMocks
     private GroupServiceImpl groupService;
 
@@ -66,10 +69,7 @@ class GroupServiceImplTest {
     @Test
     void add_shouldReturnNewGroup_whenAddNewGroup() {
         Faculty faculty = new Faculty(1, "Programming");
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", null, faculty));
-        groups.add(new Group(2, "BB-222", null, faculty));
-        when(groupDao.getAll()).thenReturn(groups);
+        when(groupDao.existsByName("New group")).thenReturn(false);
         Group group = new Group(null, "New group", null, new Faculty(null, "Name"));
         Group expected = new Group(3, "New group", null, new Faculty(null, "Name"));
         when(groupDao.add(group)).thenReturn(expected);
@@ -102,6 +102,14 @@ class GroupServiceImplTest {
         assertThrows(EntityNotFoundException.class, () -> groupService.getById(7));
     }
 
+    @Test
+    void getByIds_shouldThrowEntityNotFoundException_whenSomeGroupNotExist() {
+        List<Integer> ids = Arrays.asList(1, 7);
+        Group group = new Group(1, "A-11", new ArrayList<>(), new Faculty(null, "Name"));
+        when(groupDao.getByIds(ids)).thenReturn(Arrays.asList(group));
+        assertThrows(EntityNotFoundException.class, () -> groupService.getByIds(ids));
+    }
+
     @Test
     void update_shouldThrowEntityNotFoundException_whenGroupNotExist() {
         Group group = new Group(null, "A-11", new ArrayList<>(), new Faculty(null, "Name"));
@@ -122,22 +130,19 @@ class GroupServiceImplTest {
 
     @Test
     void update_shouldThrowEntityIsAlreadyExistsException_whenGroupIsAlreadyExists() {
-        List<Group> groups = new ArrayList<>();
         Group group = new Group(1, "A-11", new ArrayList<>(), new Faculty(null, "Name"));
-        groups.add(group);
-        when(groupDao.getAll()).thenReturn(groups);
+        when(groupDao.existsByName("A-11")).thenReturn(true);
         assertThrows(EnitityAlreadyExistsException.class, () -> groupService.update(group));
     }
 
     @Test
     void update_shouldCorrectlyUpdateGroup() {
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "A-11", new ArrayList<>(), new Faculty(null, "Name")));
-        when(groupDao.getAll()).thenReturn(groups);
+        when(groupDao.existsByName("A-12")).thenReturn(false);
         Group group = new Group(1, "A-12", null, new Faculty(null, "Name"));
         groupService.update(group);
-        verify(groupDao, times(1)).getAll();
+        verify(groupDao, times(1)).existsByName("A-12");
         verify(groupDao, times(1)).update(group);
+        verify(timeTableService, times(1)).groupChanged(group);
     }
 
     @Test
@@ -148,29 +153,17 @@ class GroupServiceImplTest {
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenGroupHasLectures() {
-        Faculty faculty = new Faculty(1, "Programming");
-        ClassRoom classRoom = new ClassRoom(1, 1, 100, faculty);
-        Subject subject = new Subject(1, "Java", "Learn Java");
-        Teacher teacher = new Teacher(1, "Bruce", "Eckel", null);
         Group group = new Group(1, "A-11", new ArrayList<>(), new Faculty(null, "Name"));
-        List<Group> groups = new ArrayList<>();
-        groups.add(group);
-        Lecture lecture = new Lecture(1, subject, teacher, classRoom, groups,
-                LocalTime.of(9, 00), LocalTime.of(11, 00));
-        List<Lecture> lectures = Arrays.asList(lecture);
         when(groupDao.getById(1)).thenReturn(Optional.of(group));
-        when(lectureDao.getGroupLectures(group)).thenReturn(lectures);
+        when(lectureDao.existsByGroup(group)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> groupService.deleteById(1));
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenGroupHasStudents() {
         Group group = new Group(1, "A-11", new ArrayList<>(), new Faculty(null, "Name"));
-        List<Student> students = new ArrayList<>();
-        students.add(new Student(1, "Ivan", "Ivanov", group));
-        students.add(new Student(2, "Petr", "Petrov", group));
         when(groupDao.getById(1)).thenReturn(Optional.of(group));
-        when(studentDao.getGroupStudents(group)).thenReturn(students);
+        when(studentDao.existsByGroup(group)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> groupService.deleteById(1));
     }
 
@@ -189,8 +182,8 @@ class GroupServiceImplTest {
         Faculty faculty = new Faculty(1, "Programming");
         Group group = new Group(1, "AA-111", new ArrayList<>(), faculty);
         when(groupDao.getById(1)).thenReturn(Optional.of(group));
-        when(studentDao.getGroupStudents(group)).thenReturn(new ArrayList<>());
-        when(lectureDao.getGroupLectures(group)).thenReturn(new ArrayList<>());
+        when(studentDao.existsByGroup(group)).thenReturn(false);
+        when(lectureDao.existsByGroup(group)).thenReturn(false);
         when(groupDao.deleteById(1)).thenReturn(true);
         boolean isDeleted = groupService.deleteById(1);
         assertTrue(isDeleted);
@@ -220,10 +213,7 @@ class GroupServiceImplTest {
     @Test
     void addAll_shouldCorrectlyAddAllGroups() {
         Faculty faculty = new Faculty(1, "Programming");
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", null, faculty));
-        groups.add(new Group(2, "BB-222", null, faculty));
-        when(groupDao.getAll()).thenReturn(groups);
+        when(groupDao.existsByName("CC-333")).thenReturn(false);
         List<Group> subjectsForAddAll = Arrays.asList(new Group(null, "CC-333", null, faculty));
         groupService.addAll(subjectsForAddAll);
         verify(groupDao, times(1)).addAll(subjectsForAddAll);
@@ -243,6 +233,7 @@ class GroupServiceImplTest {
         Group group = new Group(3, "CC-333", subjects, faculty);
         groupService.addLectureToGroup(lecture, group);
         verify(groupDao, times(1)).addLectureToGroup(lecture, group);
+        verify(timeTableService, times(1)).lectureChanged(lecture);
     }
 
     @Test
@@ -258,6 +249,7 @@ class GroupServiceImplTest {
                 LocalTime.of(12, 00), LocalTime.of(14, 00));
         groupService.removeLectureFromGroup(lecture, group);
         verify(groupDao, times(1)).removeLectureFromGroup(lecture, group);
+        verify(timeTableService, times(1)).lectureChanged(lecture);
     }
 
     @Test
@@ -284,4 +276,14 @@ class GroupServiceImplTest {
         List<Group> actual = groupService.getByFaculty(faculty);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSummaries_shouldReturnGroupSummariesFromDao() {
+        List<GroupSummary> expected = new ArrayList<>();
+        expected.add(new GroupSummary(1, "AA-111", "Programming", Arrays.asList("Java", "Sql"),
+                Arrays.asList("Learn Java", "Learn Sql")));
+        when(groupDao.getSummaries()).thenReturn(expected);
+        List<GroupSummary> actual = groupService.getSummaries();
+        assertEquals(expected, actual);
+    }
+}
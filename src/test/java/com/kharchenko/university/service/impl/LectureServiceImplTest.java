@@ -18,22 +18,29 @@ import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.RowError;
+import com.kharchenko.university.model.dto.LectureSummary;
+import com.kharchenko.university.service.LectureConflictIndex;
+import com.kharchenko.university.service.TimeTableService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
 
 import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.doThrow;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
@@ -49,6 +56,8 @@ class LectureServiceImplTest {
     private GroupDao groupDao;
     @Mock
     private ScheduleDao scheduleDao;
+    @Mock
+    private TimeTableService timeTableService;
     @InjectMocks
     private LectureServiceImpl lectureService;
 
@@ -126,11 +135,16 @@ class LectureServiceImplTest {
 
     @Test
     void add_shouldThrowEntityIsAlreadyExistsException_whenLectureIsAlreadyExists() {
-        Lecture lectureWithId = getLectures().get(0);
         Lecture lectureToAdd = getLectures().get(1);
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lectureWithId.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lectureWithId.getGroups().get(0)));
-        when(lectureDao.getAll()).thenReturn(Arrays.asList(lectureWithId));
+        when(lectureDao.existsWithSameFields(lectureToAdd)).thenReturn(true);
+        assertThrows(EnitityAlreadyExistsException.class, () -> lectureService.add(lectureToAdd));
+    }
+
+    @Test
+    void add_shouldThrowEntityIsAlreadyExistsException_whenUniqueConstraintIsViolated() {
+        Lecture lectureToAdd = getLectures().get(3);
+        when(lectureDao.existsWithSameFields(lectureToAdd)).thenReturn(false);
+        when(lectureDao.add(lectureToAdd)).thenThrow(DuplicateKeyException.class);
         assertThrows(EnitityAlreadyExistsException.class, () -> lectureService.add(lectureToAdd));
     }
 
@@ -138,9 +152,7 @@ class LectureServiceImplTest {
     void add_shouldReturnNewLecture_whenAddNewLecture() {
         Lecture lectureWithId = getLectures().get(2);
         Lecture lectureToAdd = getLectures().get(3);
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lectureWithId.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lectureWithId.getGroups().get(0)));
-        when(lectureDao.getAll()).thenReturn(Arrays.asList(getLectures().get(0)));
+        when(lectureDao.existsWithSameFields(lectureToAdd)).thenReturn(false);
         when(lectureDao.add(lectureToAdd)).thenReturn(lectureWithId);
         Lecture actual = lectureService.add(lectureToAdd);
         assertEquals(lectureWithId, actual);
@@ -156,19 +168,36 @@ class LectureServiceImplTest {
         Group group = new Group(1, "AA-111", groupSubjects, faculty);
 
         when(lectureDao.getAll()).thenReturn(getLecturesFromDao());
-        when(teacherDao.getById(1)).thenReturn(Optional.of(teacher));
-        when(groupDao.getById(1)).thenReturn(Optional.of(group));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(teacher));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(group));
         List<Lecture> expected = Arrays.asList(getLectures().get(0));
         List<Lecture> actual = lectureService.getAll();
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getPage_shouldReturnPageOfLecturesWithAllNestedEntities() {
+        Faculty faculty = new Faculty(1, "Programming");
+        Subject firstSubject = new Subject(1, "Java", "Learn Java");
+        Subject secondSubject = new Subject(3, "Spring", "Learn Spring");
+        Teacher teacher = new Teacher(1, "Bruce", "Eckel", Arrays.asList(firstSubject, secondSubject));
+        List<Subject> groupSubjects = Arrays.asList(firstSubject, secondSubject);
+        Group group = new Group(1, "AA-111", groupSubjects, faculty);
+
+        when(lectureDao.getPage(null, 1, "startTime")).thenReturn(getLecturesFromDao());
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(teacher));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(group));
+        List<Lecture> expected = Arrays.asList(getLectures().get(0));
+        List<Lecture> actual = lectureService.getPage(null, 1, "startTime");
+        assertEquals(expected, actual);
+    }
+
     @Test
     void getById_shouldReturnCorrectLectureByGivenId() {
         Lecture expected = getLectures().get(0);
         when(lectureDao.getById(1)).thenReturn(Optional.of(expected));
-        when(teacherDao.getById(1)).thenReturn(Optional.of(expected.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(expected.getGroups().get(0)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(expected.getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(expected.getGroups().get(0)));
         Lecture actual = lectureService.getById(1);
         assertEquals(expected, actual);
     }
@@ -260,22 +289,18 @@ class LectureServiceImplTest {
     @Test
     void update_shouldThrowEntityIsAlreadyExistsException_whenLectureIsAlreadyExists() {
         Lecture lecture = getLectures().get(0);
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lecture.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lecture.getGroups().get(0)));
-        when(lectureDao.getAll()).thenReturn(Arrays.asList(lecture));
+        when(lectureDao.existsWithSameFields(lecture)).thenReturn(true);
         assertThrows(EnitityAlreadyExistsException.class, () -> lectureService.update(lecture));
     }
 
     @Test
     void update_shouldCorrectlyUpdateLecture() {
-        Lecture lecture = getLectures().get(0);
         Lecture lectureToUpdate = getLectures().get(2);
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lecture.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lecture.getGroups().get(0)));
-        when(lectureDao.getAll()).thenReturn(Arrays.asList(lecture));
+        when(lectureDao.existsWithSameFields(lectureToUpdate)).thenReturn(false);
         lectureService.update(lectureToUpdate);
-        verify(lectureDao, times(1)).getAll();
+        verify(lectureDao, times(1)).existsWithSameFields(lectureToUpdate);
         verify(lectureDao, times(1)).update(lectureToUpdate);
+        verify(timeTableService, times(1)).lectureChanged(lectureToUpdate);
     }
 
     @Test
@@ -286,15 +311,11 @@ class LectureServiceImplTest {
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenLectureUsedInSchedule() {
-        Faculty faculty = new Faculty(1, "Programming");
-        LocalDate date = LocalDate.of(2021, 9, 1);
         Lecture lecture = getLectures().get(0);
-        Schedule schedule = new Schedule(1, Arrays.asList(lecture), date, faculty);
-
         when(lectureDao.getById(1)).thenReturn(Optional.of(lecture));
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lecture.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lecture.getGroups().get(0)));
-        when(scheduleDao.getByLecture(lecture)).thenReturn(Arrays.asList(schedule));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(lecture.getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(lecture.getGroups().get(0)));
+        when(scheduleDao.existsByLecture(lecture)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> lectureService.deleteById(1));
     }
 
@@ -302,8 +323,8 @@ class LectureServiceImplTest {
     void deleteById_shouldThrowEntityHasReferenceException_whenLectureVisitedByGroups() {
         Lecture lecture = getLectures().get(0);
         when(lectureDao.getById(1)).thenReturn(Optional.of(lecture));
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lecture.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lecture.getGroups().get(0)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(lecture.getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(lecture.getGroups().get(0)));
         assertThrows(EntityHasReferenceException.class, () -> lectureService.deleteById(1));
     }
 
@@ -311,8 +332,8 @@ class LectureServiceImplTest {
     void deleteById_shouldDeleteLecture_whenLectureHasNoReferences() {
         Lecture lecture = getLectures().get(5);
         when(lectureDao.getById(1)).thenReturn(Optional.of(lecture));
-        when(scheduleDao.getByLecture(lecture)).thenReturn(new ArrayList<>());
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lecture.getTeacher()));
+        when(scheduleDao.existsByLecture(lecture)).thenReturn(false);
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(lecture.getTeacher()));
         when(lectureDao.deleteById(1)).thenReturn(true);
         boolean isDeleted = lectureService.deleteById(1);
         assertTrue(isDeleted);
@@ -392,21 +413,39 @@ class LectureServiceImplTest {
 
     @Test
     void addAll_shouldThrowEntityIsAlreadyExistsException_whenLectureIsAlreadyExists() {
-        Lecture lectureWithId = getLectures().get(0);
         List<Lecture> lecturesToAdd = Arrays.asList(getLectures().get(1));
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lectureWithId.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lectureWithId.getGroups().get(0)));
-        when(lectureDao.getAll()).thenReturn(Arrays.asList(lectureWithId));
+        when(lectureDao.getIndexesWithSameFields(lecturesToAdd)).thenReturn(Arrays.asList(0));
+        assertThrows(EnitityAlreadyExistsException.class, () -> lectureService.addAll(lecturesToAdd));
+    }
+
+    @Test
+    void validateAll_shouldReportInvalidAndDuplicateRows() {
+        Lecture lecture = getLectures().get(1);
+        Lecture sameLecture = getLectures().get(1);
+        Lecture existingLecture = getLectures().get(3);
+        Lecture invalidLecture = getLectures().get(3);
+        invalidLecture.setSubject(null);
+        List<Lecture> lectures = Arrays.asList(lecture, existingLecture, sameLecture, invalidLecture);
+        when(lectureDao.getIndexesWithSameFields(Arrays.asList(lecture, existingLecture))).thenReturn(Arrays.asList(1));
+        List<RowError> expected = Arrays.asList(
+                new RowError(1, "The lecture is already exists"),
+                new RowError(2, "The lecture duplicates row 0 of the batch"),
+                new RowError(3, "Lecture's subject can't be null"));
+        assertEquals(expected, lectureService.validateAll(lectures));
+    }
+
+    @Test
+    void addAll_shouldThrowEntityIsAlreadyExistsException_whenUniqueConstraintIsViolated() {
+        List<Lecture> lecturesToAdd = Arrays.asList(getLectures().get(3));
+        when(lectureDao.getIndexesWithSameFields(lecturesToAdd)).thenReturn(new ArrayList<>());
+        when(lectureDao.addAll(lecturesToAdd)).thenThrow(DuplicateKeyException.class);
         assertThrows(EnitityAlreadyExistsException.class, () -> lectureService.addAll(lecturesToAdd));
     }
 
     @Test
     void addAll_shouldCorrectlyAddAllLectures() {
-        Lecture lectureWithId = getLectures().get(2);
         List<Lecture> lecturesToAddAll = Arrays.asList(getLectures().get(3));
-        when(teacherDao.getById(1)).thenReturn(Optional.of(lectureWithId.getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(lectureWithId.getGroups().get(0)));
-        when(lectureDao.getAll()).thenReturn(Arrays.asList(getLectures().get(0)));
+        when(lectureDao.getIndexesWithSameFields(lecturesToAddAll)).thenReturn(new ArrayList<>());
         lectureService.addAll(lecturesToAddAll);
         verify(lectureDao, times(1)).addAll(lecturesToAddAll);
     }
@@ -417,8 +456,10 @@ class LectureServiceImplTest {
         LocalDate date = LocalDate.of(2021, 9, 1);
         Lecture lecture = getLectures().get(7);
         Schedule schedule = new Schedule(1, Arrays.asList(getLectures().get(0)), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
         lectureService.addLectureToSchedule(lecture, schedule);
         verify(lectureDao, times(1)).addLectureToSchedule(lecture, schedule);
+        verify(timeTableService, times(1)).scheduleChanged(schedule);
     }
 
     @Test
@@ -427,6 +468,7 @@ class LectureServiceImplTest {
         LocalDate date = LocalDate.of(2021, 9, 1);
         Lecture lecture = getLectures().get(4);
         Schedule schedule = new Schedule(1, Arrays.asList(getLectures().get(0)), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
         assertThrows(InvalidClassRoomException.class, () -> lectureService.addLectureToSchedule(lecture, schedule));
     }
 
@@ -436,6 +478,7 @@ class LectureServiceImplTest {
         LocalDate date = LocalDate.of(2021, 9, 1);
         Lecture lecture = getLectures().get(5);
         Schedule schedule = new Schedule(1, Arrays.asList(getLectures().get(0)), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
         assertThrows(InvalidTeacherException.class, () -> lectureService.addLectureToSchedule(lecture, schedule));
     }
 
@@ -445,9 +488,46 @@ class LectureServiceImplTest {
         LocalDate date = LocalDate.of(2021, 9, 1);
         Lecture lecture = getLectures().get(6);
         Schedule schedule = new Schedule(1, Arrays.asList(getLectures().get(0)), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
         assertThrows(InvalidGroupException.class, () -> lectureService.addLectureToSchedule(lecture, schedule));
     }
 
+    @Test
+    void addLectureToSchedule_shouldThrowInvalidClassRoomException_whenLecturesOverlap() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture lecture = getLectures().get(4);
+        lecture.setStartTime(LocalTime.of(10, 00));
+        lecture.setEndTime(LocalTime.of(12, 00));
+        Schedule schedule = new Schedule(1, Arrays.asList(getLectures().get(0)), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
+        assertThrows(InvalidClassRoomException.class, () -> lectureService.addLectureToSchedule(lecture, schedule));
+    }
+
+    @Test
+    void addLectureToSchedule_shouldAddLecture_whenLectureStartsAtEndOfPrevious() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture lecture = getLectures().get(2);
+        lecture.setStartTime(LocalTime.of(11, 00));
+        lecture.setEndTime(LocalTime.of(13, 00));
+        Schedule schedule = new Schedule(1, Arrays.asList(getLectures().get(0)), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
+        lectureService.addLectureToSchedule(lecture, schedule);
+        verify(lectureDao, times(1)).addLectureToSchedule(lecture, schedule);
+    }
+
+    @Test
+    void addLectureToSchedule_shouldNotCheckLectureAgainstItself_whenDayAlreadyHasLecture() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture lecture = getLectures().get(0);
+        Schedule schedule = new Schedule(1, Arrays.asList(lecture), date, faculty);
+        when(timeTableService.getConflictIndex(date)).thenReturn(new LectureConflictIndex(schedule.getLectures()));
+        lectureService.addLectureToSchedule(lecture, schedule);
+        verify(lectureDao, times(1)).addLectureToSchedule(lecture, schedule);
+    }
+
     @Test
     void removeLectureFromSchedule_shouldCorrectlyRemoveLectureFromSchedule() {
         Faculty faculty = new Faculty(1, "Programming");
@@ -456,14 +536,15 @@ class LectureServiceImplTest {
         Schedule schedule = new Schedule(1, Arrays.asList(lecture), date, faculty);
         lectureService.removeLectureFromSchedule(lecture, schedule);
         verify(lectureDao, times(1)).removeLectureFromSchedule(lecture, schedule);
+        verify(timeTableService, times(1)).scheduleChanged(schedule);
     }
 
     @Test
     void getByClassRoom_shouldReturnAllLecturesByGivenClassRoom() {
         List<Lecture> expected = Arrays.asList(getLectures().get(0));
         ClassRoom classRoom = getLectures().get(0).getClassRoom();
-        when(teacherDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getGroups().get(0)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getGroups().get(0)));
         when(lectureDao.getByClassRoom(classRoom)).thenReturn(expected);
         List<Lecture> actual = lectureService.getByClassRoom(classRoom);
         assertEquals(expected, actual);
@@ -473,8 +554,8 @@ class LectureServiceImplTest {
     void getBySubject_shouldReturnAllLecturesByGivenSubject() {
         List<Lecture> expected = Arrays.asList(getLectures().get(0));
         Subject subject = getLectures().get(0).getSubject();
-        when(teacherDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getGroups().get(0)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getGroups().get(0)));
         when(lectureDao.getBySubject(subject)).thenReturn(expected);
         List<Lecture> actual = lectureService.getBySubject(subject);
         assertEquals(expected, actual);
@@ -484,8 +565,8 @@ class LectureServiceImplTest {
     void getTeacherLectures_shouldReturnAllLecturesByGivenTeacher() {
         List<Lecture> expected = Arrays.asList(getLectures().get(0));
         Teacher teacher = getLectures().get(0).getTeacher();
-        when(teacherDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getGroups().get(0)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getGroups().get(0)));
         when(lectureDao.getTeacherLectures(teacher)).thenReturn(expected);
         List<Lecture> actual = lectureService.getTeacherLectures(teacher);
         assertEquals(expected, actual);
@@ -495,8 +576,8 @@ class LectureServiceImplTest {
     void getGroupLectures_shouldReturnAllLecturesByGivenGroup() {
         List<Lecture> expected = Arrays.asList(getLectures().get(0));
         Group group = getLectures().get(0).getGroups().get(0);
-        when(teacherDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getTeacher()));
-        when(groupDao.getById(1)).thenReturn(Optional.of(getLectures().get(0).getGroups().get(0)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getTeacher()));
+        when(groupDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(getLectures().get(0).getGroups().get(0)));
         when(lectureDao.getGroupLectures(group)).thenReturn(expected);
         List<Lecture> actual = lectureService.getGroupLectures(group);
         assertEquals(expected, actual);
@@ -537,4 +618,14 @@ class LectureServiceImplTest {
         Lecture eigthLecture = new Lecture(6, secondSubject, new Teacher(), new ClassRoom(), new ArrayList<>(), startTime, endTime);
         return Arrays.asList(firstLecture, secondLecture, thirdLecture, fourthLecture, fifthLecture, sixthLecture, seventhLecture, eigthLecture);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSummaryPage_shouldReturnLectureSummariesFromDao() {
+        List<LectureSummary> expected = new ArrayList<>();
+        expected.add(new LectureSummary(1, "Java", "Bruce", "Eckel", 1, 100, Arrays.asList("AA-111"),
+                LocalTime.of(9, 0), LocalTime.of(11, 0)));
+        when(lectureDao.getSummaryPage(null, 50, "startTime")).thenReturn(expected);
+        List<LectureSummary> actual = lectureService.getSummaryPage(null, 50, "startTime");
+        assertEquals(expected, actual);
+    }
+}
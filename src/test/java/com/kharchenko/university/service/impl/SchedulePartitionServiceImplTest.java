@@ -0,0 +1,79 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.SchedulePartitionDao;
+import com.kharchenko.university.service.TimeTableService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.YearMonth;
+import java.util.Arrays;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SchedulePartitionServiceImplTest {
+
+    @Mock
+    private SchedulePartitionDao schedulePartitionDao;
+    @Mock
+    private TimeTableService timeTableService;
+    @InjectMocks
+    private SchedulePartitionServiceImpl schedulePartitionService;
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(schedulePartitionService, "monthsAhead", 2);
+        ReflectionTestUtils.setField(schedulePartitionService, "retainMonths", 12);
+    }
+
+    @Test
+    void maintainPartitions_shouldCreateCurrentAndUpcomingPartitions() {
+        when(schedulePartitionDao.getPartitions()).thenReturn(Arrays.asList(YearMonth.of(2021, 5)));
+        schedulePartitionService.maintainPartitions(YearMonth.of(2021, 5));
+        InOrder inOrder = inOrder(schedulePartitionDao);
+        inOrder.verify(schedulePartitionDao).createPartition(YearMonth.of(2021, 5));
+        inOrder.verify(schedulePartitionDao).createPartition(YearMonth.of(2021, 6));
+        inOrder.verify(schedulePartitionDao).createPartition(YearMonth.of(2021, 7));
+        verify(schedulePartitionDao, never()).createPartition(YearMonth.of(2021, 8));
+        verify(schedulePartitionDao, never()).detachPartition(any());
+        verify(timeTableService, never()).reload();
+    }
+
+    @Test
+    void maintainPartitions_shouldDetachOnlyPartitionsOlderThanRetentionPeriod() {
+        when(schedulePartitionDao.getPartitions()).thenReturn(Arrays.asList(YearMonth.of(2020, 4),
+                YearMonth.of(2020, 5), YearMonth.of(2021, 5)));
+        when(schedulePartitionDao.detachPartition(YearMonth.of(2020, 4))).thenReturn(true);
+        schedulePartitionService.maintainPartitions(YearMonth.of(2021, 5));
+        verify(schedulePartitionDao).detachPartition(YearMonth.of(2020, 4));
+        verify(schedulePartitionDao, never()).detachPartition(YearMonth.of(2020, 5));
+        verify(schedulePartitionDao, never()).detachPartition(YearMonth.of(2021, 5));
+        verify(timeTableService).reload();
+    }
+
+    @Test
+    void maintainPartitions_shouldPartitionAndArchiveHistoryLeftInDefaultPartition() {
+        when(schedulePartitionDao.getDefaultPartitionMonths()).thenReturn(Arrays.asList(YearMonth.of(2019, 3),
+                YearMonth.of(2021, 1)));
+        when(schedulePartitionDao.getPartitions()).thenReturn(Arrays.asList(YearMonth.of(2019, 3),
+                YearMonth.of(2021, 1), YearMonth.of(2021, 5)));
+        when(schedulePartitionDao.detachPartition(YearMonth.of(2019, 3))).thenReturn(true);
+        schedulePartitionService.maintainPartitions(YearMonth.of(2021, 5));
+        InOrder inOrder = inOrder(schedulePartitionDao);
+        inOrder.verify(schedulePartitionDao).createPartition(YearMonth.of(2019, 3));
+        inOrder.verify(schedulePartitionDao).createPartition(YearMonth.of(2021, 1));
+        inOrder.verify(schedulePartitionDao).detachPartition(YearMonth.of(2019, 3));
+        verify(schedulePartitionDao, never()).detachPartition(YearMonth.of(2021, 1));
+        verify(timeTableService).reload();
+    }
+}
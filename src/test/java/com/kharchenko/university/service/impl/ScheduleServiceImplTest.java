@@ -2,11 +2,14 @@ package com.kharchenko.university.service.impl;
 
 import com.kharchenko.university.dao.LectureDao;
 import com.kharchenko.university.dao.ScheduleDao;
+import com.kharchenko.university.dao.ScheduleGraphLoader;
 import com.kharchenko.university.dao.TeacherDao;
 import com.kharchenko.university.exception.EntityHasReferenceException;
 import com.kharchenko.university.exception.EnitityAlreadyExistsException;
 import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.exception.InvalidClassRoomException;
+import com.kharchenko.university.exception.InvalidGroupException;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
@@ -14,6 +17,10 @@ import com.kharchenko.university.model.Subject;
 import com.kharchenko.university.model.Schedule;
 import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.RowError;
+import com.kharchenko.university.model.SubstitutionPlan;
+import com.kharchenko.university.model.TeacherSubstitution;
+import com.kharchenko.university.service.TimeTableService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -30,6 +37,10 @@ import java.util.Optional;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.when;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.times;
@@ -40,27 +51,75 @@ class ScheduleServiceImplTest {
     @Mock
     private ScheduleDao scheduleDao;
     @Mock
-    private LectureDao lectureDao;
+    private ScheduleGraphLoader scheduleGraphLoader;
     @Mock
     private TeacherDao teacherDao;
+    @Mock
+    private LectureDao lectureDao;
+    @Mock
+    private TimeTableService timeTableService;
     @InjectMocks
     private ScheduleServiceImpl scheduleService;
 
     @Test
     void changeTeacher_shouldSetOtherTeacherInAllLectures_whenGivenPeriod() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
-        when(teacherDao.getAll()).thenReturn(getTeachers());
-        when(lectureDao.getById(1)).thenReturn(Optional.of(getLectures().get(0)));
-        when(lectureDao.getById(2)).thenReturn(Optional.of(getLectures().get(1)));
-        when(lectureDao.getById(3)).thenReturn(Optional.of(getLectures().get(2)));
-        when(lectureDao.getById(4)).thenReturn(Optional.of(getLectures().get(3)));
-
         LocalDate fromDate = LocalDate.of(2021, 9, 1);
         LocalDate toDate = LocalDate.of(2021, 9, 2);
+        when(scheduleDao.getByPeriod(fromDate, toDate)).thenReturn(getSchedulesFromDao());
+        when(teacherDao.getAll()).thenReturn(getTeachers());
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao())).thenReturn(getSchedules());
+
         Teacher teacher = getTeachers().get(0);
         scheduleService.changeTeacher(teacher, fromDate, toDate);
         verify(teacherDao, times(1)).getAll();
-        verify(scheduleDao, times(1)).getAll();
+        verify(scheduleDao, times(1)).getByPeriod(fromDate, toDate);
+    }
+
+    @Test
+    void changeTeacher_shouldPersistSubstitutionsInOneUpdate() {
+        LocalDate fromDate = LocalDate.of(2021, 9, 1);
+        LocalDate toDate = LocalDate.of(2021, 9, 2);
+        when(scheduleDao.getByPeriod(fromDate, toDate)).thenReturn(getSchedulesFromDao());
+        when(teacherDao.getAll()).thenReturn(getTeachers());
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao())).thenReturn(getSchedules());
+
+        SubstitutionPlan plan = scheduleService.changeTeacher(getTeachers().get(0), fromDate, toDate);
+        List<TeacherSubstitution> expected = Arrays.asList(
+                new TeacherSubstitution(getLectures().get(0), getTeachers().get(2)),
+                new TeacherSubstitution(getLectures().get(3), getTeachers().get(2)));
+        assertEquals(expected, plan.getSubstitutions());
+        assertTrue(plan.isCommitted());
+        verify(lectureDao, times(1)).updateTeachers(expected, fromDate, toDate);
+        verify(timeTableService).scheduleChanged(getSchedules().get(0));
+        verify(timeTableService).scheduleChanged(getSchedules().get(1));
+    }
+
+    @Test
+    void changeTeacher_shouldNotMarkPlanCommitted_whenTeacherHasNoLecturesInPeriod() {
+        LocalDate fromDate = LocalDate.of(2021, 9, 1);
+        LocalDate toDate = LocalDate.of(2021, 9, 2);
+        when(scheduleDao.getByPeriod(fromDate, toDate)).thenReturn(new ArrayList<>());
+        when(teacherDao.getAll()).thenReturn(getTeachers());
+        when(scheduleGraphLoader.loadLectures(new ArrayList<>())).thenReturn(new ArrayList<>());
+
+        SubstitutionPlan plan = scheduleService.changeTeacher(getTeachers().get(0), fromDate, toDate);
+        assertTrue(plan.getSubstitutions().isEmpty());
+        assertFalse(plan.isCommitted());
+        verify(lectureDao, never()).updateTeachers(anyList(), any(), any());
+    }
+
+    @Test
+    void planTeacherChange_shouldNotPersistSubstitutions() {
+        LocalDate fromDate = LocalDate.of(2021, 9, 1);
+        LocalDate toDate = LocalDate.of(2021, 9, 2);
+        when(scheduleDao.getByPeriod(fromDate, toDate)).thenReturn(getSchedulesFromDao());
+        when(teacherDao.getAll()).thenReturn(getTeachers());
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao())).thenReturn(getSchedules());
+
+        SubstitutionPlan plan = scheduleService.planTeacherChange(getTeachers().get(0), fromDate, toDate);
+        assertEquals(2, plan.getSubstitutions().size());
+        assertFalse(plan.isCommitted());
+        verify(lectureDao, never()).updateTeachers(anyList(), any(), any());
     }
 
     @Test
@@ -93,6 +152,28 @@ class ScheduleServiceImplTest {
         assertThrows(InvalidEntityFieldException.class, () -> scheduleService.add(schedule));
     }
 
+    @Test
+    void add_shouldThrowInvalidClassRoomException_whenScheduleLecturesOverlap() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture overlapping = getLectures().get(3);
+        overlapping.setStartTime(LocalTime.of(10, 30));
+        overlapping.setEndTime(LocalTime.of(12, 00));
+        Schedule schedule = new Schedule(null, Arrays.asList(getLectures().get(0), overlapping), date, faculty);
+        assertThrows(InvalidClassRoomException.class, () -> scheduleService.add(schedule));
+    }
+
+    @Test
+    void addAll_shouldThrowInvalidGroupException_whenScheduleLecturesOverlap() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture overlapping = getLectures().get(2);
+        overlapping.setStartTime(LocalTime.of(8, 00));
+        overlapping.setEndTime(LocalTime.of(9, 30));
+        Schedule schedule = new Schedule(null, Arrays.asList(getLectures().get(0), overlapping), date, faculty);
+        assertThrows(InvalidGroupException.class, () -> scheduleService.addAll(Arrays.asList(schedule)));
+    }
+
     @Test
     void add_shouldThrowInvalidEntityFieldException_whenWeekend() {
         Faculty faculty = new Faculty(1, "Programming");
@@ -103,18 +184,18 @@ class ScheduleServiceImplTest {
 
     @Test
     void add_shouldThrowEntityIsAlreadyExistsException_whenScheduleIsAlreadyExists() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
         Faculty faculty = new Faculty(1, "Programming");
         LocalDate date = LocalDate.of(2021, 9, 1);
+        when(scheduleDao.existsByDate(date)).thenReturn(true);
         Schedule schedule = new Schedule(null, null, date, faculty);
         assertThrows(EnitityAlreadyExistsException.class, () -> scheduleService.add(schedule));
     }
 
     @Test
     void add_shouldReturnNewSchedule_whenAddNewSchedule() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
         Faculty faculty = new Faculty(1, "Programming");
         LocalDate date = LocalDate.of(2021, 9, 6);
+        when(scheduleDao.existsByDate(date)).thenReturn(false);
         Schedule schedule = new Schedule(null, null, date, faculty);
         Schedule expected = new Schedule(3, null, date, faculty);
         when(scheduleDao.add(schedule)).thenReturn(expected);
@@ -124,11 +205,8 @@ class ScheduleServiceImplTest {
 
     @Test
     void getAll_shouldReturnAllSchedules() {
-        when(lectureDao.getById(1)).thenReturn(Optional.of(getLectures().get(0)));
-        when(lectureDao.getById(2)).thenReturn(Optional.of(getLectures().get(1)));
-        when(lectureDao.getById(3)).thenReturn(Optional.of(getLectures().get(2)));
-        when(lectureDao.getById(4)).thenReturn(Optional.of(getLectures().get(3)));
         when(scheduleDao.getAll()).thenReturn(getSchedulesFromDao());
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao())).thenReturn(getSchedules());
         List<Schedule> expected = getSchedules();
         List<Schedule> actual = scheduleService.getAll();
         assertEquals(expected, actual);
@@ -137,9 +215,9 @@ class ScheduleServiceImplTest {
     @Test
     void getById_shouldReturnCorrectScheduleByGivenId() {
         Schedule expected = getSchedules().get(0);
-        when(scheduleDao.getById(1)).thenReturn(Optional.of(expected));
-        when(lectureDao.getById(1)).thenReturn(Optional.of(getLectures().get(0)));
-        when(lectureDao.getById(2)).thenReturn(Optional.of(getLectures().get(1)));
+        Schedule scheduleFromDao = getSchedulesFromDao().get(0);
+        when(scheduleDao.getById(1)).thenReturn(Optional.of(scheduleFromDao));
+        when(scheduleGraphLoader.loadLectures(Arrays.asList(scheduleFromDao))).thenReturn(Arrays.asList(expected));
         Schedule actual = scheduleService.getById(1);
         assertEquals(expected, actual);
     }
@@ -198,22 +276,23 @@ class ScheduleServiceImplTest {
 
     @Test
     void update_shouldThrowEntityIsAlreadyExistsException_whenScheduleIsAlreadyExists() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
         Faculty faculty = new Faculty(1, "Programming");
         LocalDate date = LocalDate.of(2021, 9, 1);
+        when(scheduleDao.existsByDate(date)).thenReturn(true);
         Schedule schedule = new Schedule(1, null, date, faculty);
         assertThrows(EnitityAlreadyExistsException.class, () -> scheduleService.update(schedule));
     }
 
     @Test
     void update_shouldCorrectlyUpdateSchedule() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
         Faculty faculty = new Faculty(1, "Programming");
         LocalDate date = LocalDate.of(2021, 9, 6);
+        when(scheduleDao.existsByDate(date)).thenReturn(false);
         Schedule schedule = new Schedule(1, null, date, faculty);
         scheduleService.update(schedule);
-        verify(scheduleDao, times(1)).getAll();
+        verify(scheduleDao, times(1)).existsByDate(date);
         verify(scheduleDao, times(1)).update(schedule);
+        verify(timeTableService, times(1)).scheduleChanged(schedule);
     }
 
     @Test
@@ -226,8 +305,7 @@ class ScheduleServiceImplTest {
     void deleteById_shouldThrowEntityHasReferenceException_whenScheduleHasLectures() {
         Schedule schedule = getSchedules().get(0);
         when(scheduleDao.getById(1)).thenReturn(Optional.of(schedule));
-        when(lectureDao.getById(1)).thenReturn(Optional.of(getLectures().get(0)));
-        when(lectureDao.getById(2)).thenReturn(Optional.of(getLectures().get(1)));
+        when(scheduleGraphLoader.loadLectures(Arrays.asList(schedule))).thenReturn(Arrays.asList(schedule));
         assertThrows(EntityHasReferenceException.class, () -> scheduleService.deleteById(1));
     }
 
@@ -237,9 +315,11 @@ class ScheduleServiceImplTest {
         LocalDate date = LocalDate.of(2021, 9, 4);
         Schedule schedule = new Schedule(1, new ArrayList<>(), date, faculty);
         when(scheduleDao.getById(1)).thenReturn(Optional.of(schedule));
+        when(scheduleGraphLoader.loadLectures(Arrays.asList(schedule))).thenReturn(Arrays.asList(schedule));
         when(scheduleDao.deleteById(1)).thenReturn(true);
         boolean isDeleted = scheduleService.deleteById(1);
         assertTrue(isDeleted);
+        verify(timeTableService, times(1)).scheduleDeleted(1);
     }
 
     @Test
@@ -282,18 +362,49 @@ class ScheduleServiceImplTest {
 
     @Test
     void addAll_shouldThrowEntityIsAlreadyExistsException_whenScheduleIsAlreadyExists() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
         Faculty faculty = new Faculty(1, "Programming");
         LocalDate date = LocalDate.of(2021, 9, 1);
+        when(scheduleDao.getExistingDates(Arrays.asList(date))).thenReturn(Arrays.asList(date));
         List<Schedule> schedules = Arrays.asList(new Schedule(null, null, date, faculty));
         assertThrows(EnitityAlreadyExistsException.class, () -> scheduleService.addAll(schedules));
     }
 
+    @Test
+    void addAll_shouldThrowEntityIsAlreadyExistsException_whenBatchHasSameDateTwice() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate date = LocalDate.of(2021, 9, 6);
+        when(scheduleDao.getExistingDates(Arrays.asList(date))).thenReturn(new ArrayList<>());
+        List<Schedule> schedules = Arrays.asList(new Schedule(null, null, date, faculty),
+                new Schedule(null, null, date, faculty));
+        assertThrows(EnitityAlreadyExistsException.class, () -> scheduleService.addAll(schedules));
+        verify(scheduleDao, never()).addAll(anyList());
+    }
+
+    @Test
+    void validateAll_shouldReportEveryInvalidRowWithSingleLookupOfExistingDates() {
+        Faculty faculty = new Faculty(1, "Programming");
+        List<Schedule> schedules = Arrays.asList(
+                new Schedule(null, null, LocalDate.of(2021, 9, 6), faculty),
+                new Schedule(null, null, LocalDate.of(2021, 9, 4), faculty),
+                new Schedule(null, null, LocalDate.of(2021, 9, 7), faculty),
+                new Schedule(null, null, LocalDate.of(2021, 9, 6), faculty),
+                new Schedule(null, null, null, faculty));
+        when(scheduleDao.getExistingDates(Arrays.asList(LocalDate.of(2021, 9, 6), LocalDate.of(2021, 9, 7))))
+                .thenReturn(Arrays.asList(LocalDate.of(2021, 9, 7)));
+        List<RowError> expected = Arrays.asList(
+                new RowError(1, "Lectures mustn't be on the weekend"),
+                new RowError(2, "The schedule is already exists"),
+                new RowError(3, "The schedule duplicates row 0 of the batch"),
+                new RowError(4, "Schedule's date can't be null"));
+        assertEquals(expected, scheduleService.validateAll(schedules));
+        verify(scheduleDao, never()).existsByDate(any());
+    }
+
     @Test
     void addAll_shouldCorrectlyAddAllSchedules() {
-        when(scheduleDao.getAll()).thenReturn(getSchedules());
         Faculty faculty = new Faculty(1, "Programming");
         LocalDate date = LocalDate.of(2021, 9, 6);
+        when(scheduleDao.getExistingDates(Arrays.asList(date))).thenReturn(new ArrayList<>());
         List<Schedule> schedules = Arrays.asList(new Schedule(null, null, date, faculty));
         scheduleService.addAll(schedules);
         verify(scheduleDao, times(1)).addAll(schedules);
@@ -303,9 +414,8 @@ class ScheduleServiceImplTest {
     void getByLecture_shouldReturnAllSchedulesByGivenLecture() {
         List<Schedule> expected = Arrays.asList(getSchedules().get(0));
         Lecture lecture = getLectures().get(0);
-        when(lectureDao.getById(1)).thenReturn(Optional.of(lecture));
-        when(lectureDao.getById(2)).thenReturn(Optional.of(getLectures().get(1)));
         when(scheduleDao.getByLecture(lecture)).thenReturn(expected);
+        when(scheduleGraphLoader.loadLectures(expected)).thenReturn(expected);
         List<Schedule> actual = scheduleService.getByLecture(lecture);
         assertEquals(expected, actual);
     }
@@ -314,13 +424,48 @@ class ScheduleServiceImplTest {
     void getByFaculty_shouldReturnAllSchedulesByGivenFaculty() {
         Faculty faculty = new Faculty(1, "Programming");
         List<Schedule> expected = Arrays.asList(getSchedules().get(0));
-        when(lectureDao.getById(1)).thenReturn(Optional.of(getLectures().get(0)));
-        when(lectureDao.getById(2)).thenReturn(Optional.of(getLectures().get(1)));
-        when(scheduleDao.getByFaculty(faculty)).thenReturn(expected);
+        when(scheduleDao.getByFaculty(faculty)).thenReturn(getSchedulesFromDao().subList(0, 1));
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao().subList(0, 1))).thenReturn(expected);
         List<Schedule> actual = scheduleService.getByFaculty(faculty);
         assertEquals(expected, actual);
     }
 
+    @Test
+    void getByPeriod_shouldReturnSchedulesWithinGivenDatesWithAllLectures() {
+        LocalDate fromDate = LocalDate.of(2021, 9, 1);
+        LocalDate toDate = LocalDate.of(2021, 9, 30);
+        when(scheduleDao.getByPeriod(fromDate, toDate)).thenReturn(getSchedulesFromDao());
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao())).thenReturn(getSchedules());
+        List<Schedule> actual = scheduleService.getByPeriod(fromDate, toDate);
+        assertEquals(getSchedules(), actual);
+    }
+
+    @Test
+    void getByPeriod_shouldThrowInvalidEntityFieldException_whenStartDateIsAfterEndDate() {
+        LocalDate fromDate = LocalDate.of(2021, 9, 30);
+        LocalDate toDate = LocalDate.of(2021, 9, 1);
+        assertThrows(InvalidEntityFieldException.class, () -> scheduleService.getByPeriod(fromDate, toDate));
+    }
+
+    @Test
+    void getByPeriodAndFaculty_shouldReturnFacultySchedulesWithinGivenDates() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate fromDate = LocalDate.of(2021, 9, 1);
+        LocalDate toDate = LocalDate.of(2021, 9, 30);
+        List<Schedule> expected = Arrays.asList(getSchedules().get(0));
+        when(scheduleDao.getByPeriodAndFaculty(fromDate, toDate, faculty)).thenReturn(getSchedulesFromDao().subList(0, 1));
+        when(scheduleGraphLoader.loadLectures(getSchedulesFromDao().subList(0, 1))).thenReturn(expected);
+        List<Schedule> actual = scheduleService.getByPeriodAndFaculty(fromDate, toDate, faculty);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void getByPeriodAndFaculty_shouldThrowInvalidEntityFieldException_whenDateIsNull() {
+        Faculty faculty = new Faculty(1, "Programming");
+        LocalDate toDate = LocalDate.of(2021, 9, 30);
+        assertThrows(InvalidEntityFieldException.class, () -> scheduleService.getByPeriodAndFaculty(null, toDate, faculty));
+    }
+
     private List<Teacher> getTeachers() {
         Subject java = new Subject(1, "Java", "Learn Java");
         Subject spring = new Subject(3, "Spring", "Learn Spring");
@@ -7,6 +7,7 @@ import com.kharchenko.university.model.Faculty;
 import com.kharchenko.university.model.Group;
 import com.kharchenko.university.model.Student;
 import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.dto.StudentSummary;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
@@ -245,4 +246,13 @@ class StudentServiceImplTest {
         List<Student> actual = studentService.getGroupStudents(group);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void getSummaryPage_shouldReturnStudentSummariesFromDao() {
+        List<StudentSummary> expected = new ArrayList<>();
+        expected.add(new StudentSummary(1, "Ivan", "Ivanov", 1, "AA-111"));
+        when(studentDao.getSummaryPage(null, 50, "lastName")).thenReturn(expected);
+        List<StudentSummary> actual = studentService.getSummaryPage(null, 50, "lastName");
+        assertEquals(expected, actual);
+    }
+}
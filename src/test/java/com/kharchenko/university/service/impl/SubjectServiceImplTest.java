@@ -9,18 +9,16 @@ import com.kharchenko.university.exception.EnitityAlreadyExistsException;
 import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
 import com.kharchenko.university.model.Group;
-import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
-import com.kharchenko.university.model.ClassRoom;
 import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.service.TimeTableService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
-import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -45,6 +43,8 @@ class SubjectServiceImplTest {
     private TeacherDao teacherDao;
     @Mock
     private LectureDao lectureDao;
+    @Mock
+    private TimeTableService timeTableService;
     @InjectMocks
     private SubjectServiceImpl subjectService;
 
@@ -75,27 +75,14 @@ class SubjectServiceImplTest {
 
     @Test
     void add_shouldThrowEntityIsAlreadyExistsException_whenSubjectIsAlreadyExists() {
-        List<Subject> subjects = new ArrayList<>();
-        subjects.add(new Subject(1, "Java", "Learn Java"));
-        subjects.add(new Subject(2, "Sql", "Learn Sql"));
-        subjects.add(new Subject(3, "Spring", "Learn Spring"));
-        subjects.add(new Subject(4, "Hibernate", "Learn Hibernate"));
-        subjects.add(new Subject(5, "Junit", "Learn Junit"));
-        when(subjectDao.getAll()).thenReturn(subjects);
+        when(subjectDao.existsByName("Java")).thenReturn(true);
         Subject subject = new Subject(null, "Java", "Learn Java");
         assertThrows(EnitityAlreadyExistsException.class, () -> subjectService.add(subject));
     }
 
     @Test
     void add_shouldReturnNewSubject_whenAddNewSubject() {
-        List<Subject> subjects = new ArrayList<>();
-        subjects.add(new Subject(1, "Java", "Learn Java"));
-        subjects.add(new Subject(2, "Sql", "Learn Sql"));
-        subjects.add(new Subject(3, "Spring", "Learn Spring"));
-        subjects.add(new Subject(4, "Hibernate", "Learn Hibernate"));
-        subjects.add(new Subject(5, "Junit", "Learn Junit"));
-        when(subjectDao.getAll()).thenReturn(subjects);
-
+        when(subjectDao.existsByName("Jdbc")).thenReturn(false);
         Subject subject = new Subject(null, "Jdbc", "Learn Jdbc");
         Subject expected = new Subject(6, "Jdbc", "Learn Jdbc");
         when(subjectDao.add(subject)).thenReturn(expected);
@@ -162,24 +149,19 @@ class SubjectServiceImplTest {
 
     @Test
     void update_shouldThrowEntityIsAlreadyExistsException_whenSubjectIsAlreadyExists() {
-        List<Subject> expected = new ArrayList<>();
-        expected.add(new Subject(1, "Java", "Learn Java"));
-        expected.add(new Subject(2, "Sql", "Learn Sql"));
-        when(subjectDao.getAll()).thenReturn(expected);
+        when(subjectDao.existsByName("Java")).thenReturn(true);
         Subject subject = new Subject(1, "Java", "Learn Java8");
         assertThrows(EnitityAlreadyExistsException.class, () -> subjectService.update(subject));
     }
 
     @Test
     void update_shouldCorrectlyUpdateSubject() {
-        List<Subject> expected = new ArrayList<>();
-        expected.add(new Subject(1, "Java", "Learn Java"));
-        expected.add(new Subject(2, "Sql", "Learn Sql"));
-        when(subjectDao.getAll()).thenReturn(expected);
+        when(subjectDao.existsByName("Java8")).thenReturn(false);
         Subject subject = new Subject(1, "Java8", "Learn Java8");
         subjectService.update(subject);
-        verify(subjectDao, times(1)).getAll();
+        verify(subjectDao, times(1)).existsByName("Java8");
         verify(subjectDao, times(1)).update(subject);
+        verify(timeTableService, times(1)).subjectChanged(subject);
     }
 
     @Test
@@ -190,45 +172,25 @@ class SubjectServiceImplTest {
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenSubjectIsLearntByGroups() {
-        Faculty faculty = new Faculty(1, "Programming");
-        List<Subject> subjects = new ArrayList<>();
-        subjects.add(new Subject(1, "Java", "Learn Java"));
-        subjects.add(new Subject(2, "Sql", "Learn Sql"));
-
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", subjects, faculty));
         Subject subject = new Subject(1, "Java", "Learn Java");
         when(subjectDao.getById(1)).thenReturn(Optional.of(subject));
-        when(groupDao.getBySubject(subject)).thenReturn(groups);
+        when(groupDao.existsBySubject(subject)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> subjectService.deleteById(1));
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenSubjectIsTaughtByTeachers() {
-        List<Subject> subjects = new ArrayList<>();
-        subjects.add(new Subject(1, "Java", "Learn Java"));
-        subjects.add(new Subject(3, "Spring", "Learn Spring"));
-        List<Teacher> teachers = Arrays.asList(new Teacher(1, "Bruce", "Eckel", subjects));
         Subject subject = new Subject(1, "Java", "Learn Java");
         when(subjectDao.getById(1)).thenReturn(Optional.of(subject));
-        when(teacherDao.getBySubject(subject)).thenReturn(teachers);
+        when(teacherDao.existsBySubject(subject)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> subjectService.deleteById(1));
     }
 
     @Test
     void deleteById_shouldThrowEntityHasReferenceException_whenSubjectIsTaughtOnLectures() {
         Subject subject = new Subject(1, "Java", "Learn Java");
-        Teacher teacher = new Teacher(1, "Bruce", "Eckel", null);
-        Faculty faculty = new Faculty(1, "Programming");
-        ClassRoom classRoom = new ClassRoom(1, 1, 100, faculty);
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", null, faculty));
-        groups.add(new Group(2, "BB-222", null, faculty));
-
-        List<Lecture> lectures = Arrays.asList(new Lecture(1, subject, teacher, classRoom, groups,
-                LocalTime.of(9, 00), LocalTime.of(11, 00)));
         when(subjectDao.getById(1)).thenReturn(Optional.of(subject));
-        when(lectureDao.getBySubject(subject)).thenReturn(lectures);
+        when(lectureDao.existsBySubject(subject)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> subjectService.deleteById(1));
     }
 
@@ -236,9 +198,9 @@ class SubjectServiceImplTest {
     void deleteById_shouldDeleteSubject_whenSubjectHasNoReferences() {
         Subject subject = new Subject(5, "Junit", "Learn Junit");
         when(subjectDao.getById(5)).thenReturn(Optional.of(subject));
-        when(groupDao.getBySubject(subject)).thenReturn(new ArrayList<>());
-        when(teacherDao.getBySubject(subject)).thenReturn(new ArrayList<>());
-        when(lectureDao.getBySubject(subject)).thenReturn(new ArrayList<>());
+        when(groupDao.existsBySubject(subject)).thenReturn(false);
+        when(teacherDao.existsBySubject(subject)).thenReturn(false);
+        when(lectureDao.existsBySubject(subject)).thenReturn(false);
         when(subjectDao.deleteById(5)).thenReturn(true);
         boolean isDeleted = subjectService.deleteById(5);
         assertTrue(isDeleted);
@@ -274,26 +236,14 @@ class SubjectServiceImplTest {
 
     @Test
     void addAll_shouldThrowEntityIsAlreadyExistsException_whenSubjectIsAlreadyExists() {
-        List<Subject> expected = new ArrayList<>();
-        expected.add(new Subject(1, "Java", "Learn Java"));
-        expected.add(new Subject(2, "Sql", "Learn Sql"));
-        expected.add(new Subject(3, "Spring", "Learn Spring"));
-        expected.add(new Subject(4, "Hibernate", "Learn Hibernate"));
-        expected.add(new Subject(5, "Junit", "Learn Junit"));
-        when(subjectDao.getAll()).thenReturn(expected);
+        when(subjectDao.existsByName("Java")).thenReturn(true);
         List<Subject> subjectsForAddAll = Arrays.asList(new Subject(null, "Java", "Learn Java"));
         assertThrows(EnitityAlreadyExistsException.class, () -> subjectService.addAll(subjectsForAddAll));
     }
 
     @Test
     void addAll_shouldCorrectlyAddAllSubjects() {
-        List<Subject> expected = new ArrayList<>();
-        expected.add(new Subject(1, "Java", "Learn Java"));
-        expected.add(new Subject(2, "Sql", "Learn Sql"));
-        expected.add(new Subject(3, "Spring", "Learn Spring"));
-        expected.add(new Subject(4, "Hibernate", "Learn Hibernate"));
-        expected.add(new Subject(5, "Junit", "Learn Junit"));
-        when(subjectDao.getAll()).thenReturn(expected);
+        when(subjectDao.existsByName("Java8")).thenReturn(false);
         List<Subject> subjectsForAddAll = Arrays.asList(new Subject(null, "Java8", "Learn Java8"));
         subjectService.addAll(subjectsForAddAll);
         verify(subjectDao, times(1)).addAll(subjectsForAddAll);
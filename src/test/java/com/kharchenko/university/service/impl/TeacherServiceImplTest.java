@@ -5,18 +5,18 @@ import com.kharchenko.university.dao.TeacherDao;
 import com.kharchenko.university.exception.EntityHasReferenceException;
 import com.kharchenko.university.exception.EntityNotFoundException;
 import com.kharchenko.university.exception.InvalidEntityFieldException;
-import com.kharchenko.university.model.Group;
-import com.kharchenko.university.model.Lecture;
 import com.kharchenko.university.model.Teacher;
 import com.kharchenko.university.model.Subject;
-import com.kharchenko.university.model.ClassRoom;
-import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.service.OccupancyGrid;
+import com.kharchenko.university.service.TimeTableService;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDate;
 import java.time.LocalTime;
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -38,6 +38,8 @@ class TeacherServiceImplTest {
     private TeacherDao teacherDao;
     @Mock
     private LectureDao lectureDao;
+    @Mock
+    private TimeTableService timeTableService;
     @InjectMocks
     private TeacherServiceImpl teacherService;
 
@@ -147,6 +149,7 @@ class TeacherServiceImplTest {
         Teacher teacher = new Teacher(1, "Neil", "Alishev", null);
         teacherService.update(teacher);
         verify(teacherDao, times(1)).update(teacher);
+        verify(timeTableService, times(1)).teacherChanged(teacher);
     }
 
     @Test
@@ -160,19 +163,9 @@ class TeacherServiceImplTest {
         List<Subject> subjects = new ArrayList<>();
         subjects.add(new Subject(1, "Java", "Learn Java"));
         subjects.add(new Subject(3, "Spring", "Learn Spring"));
-
         Teacher teacher = new Teacher(1, "Bruce", "Eckel", subjects);
-        Subject subject = new Subject(1, "Java", "Learn Java");
-        Faculty faculty = new Faculty(1, "Programming");
-        ClassRoom classRoom = new ClassRoom(1, 1, 100, faculty);
-        List<Group> groups = new ArrayList<>();
-        groups.add(new Group(1, "AA-111", null, faculty));
-        groups.add(new Group(2, "BB-222", null, faculty));
-
-        List<Lecture> lectures = Arrays.asList(new Lecture(1, subject, teacher, classRoom, groups,
-                LocalTime.of(9, 00), LocalTime.of(11, 00)));
         when(teacherDao.getById(1)).thenReturn(Optional.of(teacher));
-        when(lectureDao.getTeacherLectures(teacher)).thenReturn(lectures);
+        when(lectureDao.existsByTeacher(teacher)).thenReturn(true);
         assertThrows(EntityHasReferenceException.class, () -> teacherService.deleteById(1));
     }
 
@@ -190,7 +183,7 @@ class TeacherServiceImplTest {
     void deleteById_shouldDeleteTeacher_whenTeacherHasNoReferences() {
         Teacher teacher = new Teacher(3, "James", "Gosling", new ArrayList<>());
         when(teacherDao.getById(3)).thenReturn(Optional.of(teacher));
-        when(lectureDao.getTeacherLectures(teacher)).thenReturn(new ArrayList<>());
+        when(lectureDao.existsByTeacher(teacher)).thenReturn(false);
         when(teacherDao.deleteById(3)).thenReturn(true);
         boolean isDeleted = teacherService.deleteById(3);
         assertTrue(isDeleted);
@@ -244,4 +237,25 @@ class TeacherServiceImplTest {
         List<Teacher> actual = teacherService.getBySubject(subject);
         assertEquals(expected, actual);
     }
-}
\ No newline at end of file
+
+    @Test
+    void findFreeQualified_shouldReturnQualifiedTeachersWithoutLecturesWithinGivenTime() {
+        Subject subject = new Subject(1, "Java", "Learn Java");
+        Teacher busy = new Teacher(1, "Bruce", "Eckel", null);
+        Teacher free = new Teacher(3, "James", "Gosling", null);
+        LocalDate date = LocalDate.of(2021, 9, 1);
+        Lecture lecture = new Lecture(1, subject, busy, null, null, LocalTime.of(9, 0), LocalTime.of(11, 0));
+        when(timeTableService.getOccupancy(date)).thenReturn(new OccupancyGrid(Arrays.asList(lecture)));
+        when(teacherDao.getBySubject(subject)).thenReturn(Arrays.asList(busy, free));
+        List<Teacher> expected = Arrays.asList(free);
+        List<Teacher> actual = teacherService.findFreeQualified(subject, date, LocalTime.of(8, 0), LocalTime.of(9, 30));
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    void findFreeQualified_shouldThrowInvalidEntityFieldException_whenDateIsNull() {
+        Subject subject = new Subject(1, "Java", "Learn Java");
+        assertThrows(InvalidEntityFieldException.class,
+                () -> teacherService.findFreeQualified(subject, null, LocalTime.of(8, 0), LocalTime.of(9, 0)));
+    }
+}
@@ -0,0 +1,325 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.ScheduleDao;
+import com.kharchenko.university.dao.ScheduleGraphLoader;
+import com.kharchenko.university.dao.TeacherDao;
+import com.kharchenko.university.dao.TimeTableChangeDao;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Student;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import com.kharchenko.university.model.TimeTableChange;
+import com.kharchenko.university.service.TimeTableSnapshot;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimeTableServiceImplTest {
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final Subject java = new Subject(1, "Java", "Learn Java");
+    private final Teacher bruce = new Teacher(1, "Bruce", "Eckel", null);
+    private final Teacher robert = new Teacher(2, "Robert", "Martin", null);
+    private final Group group = new Group(1, "AA-111", null, faculty);
+    private final Student student = new Student(1, "Ivan", "Ivanov", group);
+    private final Lecture lecture = new Lecture(1, java, bruce, null, Collections.singletonList(group),
+            LocalTime.of(9, 0), LocalTime.of(11, 0));
+    private final LocalDate date = LocalDate.of(2021, 5, 24);
+
+    @Mock
+    private ScheduleDao scheduleDao;
+    @Mock
+    private ScheduleGraphLoader scheduleGraphLoader;
+    @Mock
+    private TimeTableChangeDao timeTableChangeDao;
+    @Mock
+    private TeacherDao teacherDao;
+    @InjectMocks
+    private TimeTableServiceImpl timeTableService;
+    @TempDir
+    Path directory;
+
+    @Test
+    void getTeacherDaySchedule_shouldLoadTimeTableOnlyOnce() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        assertEquals(Collections.singletonList(lecture), timeTableService.getTeacherDaySchedule(bruce, date).getLectures());
+        assertEquals(Collections.singletonList(lecture), timeTableService.getStudentDaySchedule(student, date).getLectures());
+        verify(scheduleDao, times(1)).getAll();
+    }
+
+    @Test
+    void scheduleChanged_shouldApplyStoredScheduleToLoadedTimeTable() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        Schedule moved = new Schedule(1, Collections.singletonList(lecture), date.plusDays(1), faculty);
+        List<Schedule> stored = Collections.singletonList(moved);
+        when(scheduleDao.getById(1)).thenReturn(Optional.of(moved));
+        when(scheduleGraphLoader.loadLectures(stored)).thenReturn(stored);
+        timeTableService.scheduleChanged(new Schedule(1, null, date.plusDays(1), faculty));
+        assertEquals(Collections.singletonList(lecture),
+                timeTableService.getTeacherDaySchedule(bruce, date.plusDays(1)).getLectures());
+        assertEquals(1, timeTableService.getTimeTable().getSchedules().size());
+    }
+
+    @Test
+    void teacherChanged_shouldRenameStoredTeacherInLoadedTimeTable() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        Teacher renamed = new Teacher(1, "Bruce", "Wayne", null);
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(renamed));
+        timeTableService.teacherChanged(new Teacher(1, null, null, null));
+        assertEquals(renamed, timeTableService.getTeacherDaySchedule(bruce, date).getLectures().get(0).getTeacher());
+        verify(scheduleDao, times(1)).getAll();
+    }
+
+    @Test
+    void scheduleChanged_shouldLoadScheduleWithoutHoldingLock() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        when(scheduleDao.getById(1)).thenAnswer(invocation -> {
+            assertFalse(Thread.holdsLock(timeTableService));
+            return Optional.of(schedules.get(0));
+        });
+        timeTableService.scheduleChanged(schedules.get(0));
+        verify(scheduleDao).getById(1);
+    }
+
+    @Test
+    void scheduleChanged_shouldNotApplyStaleSchedule_whenScheduleIsDeletedWhileLoading() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        when(scheduleDao.getById(1)).thenAnswer(invocation -> {
+            timeTableService.scheduleDeleted(1);
+            return Optional.of(schedules.get(0));
+        });
+        timeTableService.scheduleChanged(schedules.get(0));
+        assertTrue(timeTableService.getTimeTable().getSchedules().isEmpty());
+    }
+
+    @Test
+    void scheduleChanged_shouldNotTouchDatabase_whenTimeTableIsNotLoaded() {
+        timeTableService.scheduleChanged(new Schedule(1, null, date, faculty));
+        verify(scheduleDao, never()).getById(1);
+        verify(scheduleGraphLoader, never()).loadLectures(anyList());
+    }
+
+    @Test
+    void scheduleChanged_shouldNotRecordChange_whenSnapshotIsDisabled() {
+        timeTableService.scheduleChanged(new Schedule(1, null, date, faculty));
+        timeTableService.reload();
+        verify(timeTableChangeDao, never()).add(any(), any());
+    }
+
+    @Test
+    void lectureChanged_shouldMoveLectureToNewTeacher() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        Lecture changed = new Lecture(1, java, robert, null, Collections.singletonList(group),
+                LocalTime.of(9, 0), LocalTime.of(11, 0));
+        Schedule stub = new Schedule(null, Collections.singletonList(changed), null, null);
+        when(scheduleGraphLoader.loadLectures(Collections.singletonList(stub))).thenReturn(Collections.singletonList(stub));
+        timeTableService.lectureChanged(changed);
+        assertTrue(timeTableService.getTeacherDaySchedule(bruce, date).getLectures().isEmpty());
+        assertEquals(Collections.singletonList(changed), timeTableService.getTeacherDaySchedule(robert, date).getLectures());
+    }
+
+    @Test
+    void scheduleDeleted_shouldRemoveScheduleFromTimeTable() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        timeTableService.scheduleDeleted(1);
+        assertTrue(timeTableService.getTimeTable().getSchedules().isEmpty());
+    }
+
+    @Test
+    void reload_shouldLoadTimeTableAgainOnNextRead() {
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        timeTableService.reload();
+        timeTableService.getTimeTable();
+        verify(scheduleDao, times(2)).getAll();
+    }
+
+    @Test
+    void maintainSnapshot_shouldWriteSnapshotUsedOnNextStart() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        ReflectionTestUtils.setField(timeTableService, "snapshotPath", path.toString());
+        List<Schedule> schedules = getSchedules();
+        when(timeTableChangeDao.getLastId()).thenReturn(5L);
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        when(timeTableChangeDao.getAfter(5)).thenReturn(Collections.emptyList());
+        timeTableService.maintainSnapshot();
+        assertEquals(5, TimeTableSnapshot.read(path).getChangeId());
+        TimeTableServiceImpl restarted = restart(path);
+        assertEquals(Collections.singletonList(lecture), restarted.getTeacherDaySchedule(bruce, date).getLectures());
+        verify(scheduleDao, times(1)).getAll();
+    }
+
+    @Test
+    void maintainSnapshot_shouldNotReplayOwnChangesAndPruneChangesCoveredBySnapshot() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        ReflectionTestUtils.setField(timeTableService, "snapshotPath", path.toString());
+        List<Schedule> schedules = getSchedules();
+        when(timeTableChangeDao.getLastId()).thenReturn(5L);
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        timeTableService.getTimeTable();
+        when(timeTableChangeDao.add(1, null)).thenReturn(6L);
+        when(scheduleDao.getById(1)).thenReturn(Optional.of(schedules.get(0)));
+        timeTableService.scheduleChanged(schedules.get(0));
+        when(timeTableChangeDao.getAfter(6)).thenReturn(Collections.emptyList());
+        timeTableService.maintainSnapshot();
+        assertEquals(6, TimeTableSnapshot.read(path).getChangeId());
+        verify(scheduleDao, times(1)).getById(1);
+        verify(timeTableChangeDao).deleteBefore(6);
+    }
+
+    @Test
+    void maintainSnapshot_shouldApplyChangeCommittedAfterHigherChange() {
+        ReflectionTestUtils.setField(timeTableService, "snapshotPath", directory.resolve("timetable.snapshot").toString());
+        ReflectionTestUtils.setField(timeTableService, "lateCommitWindow", 10L);
+        List<Schedule> schedules = getSchedules();
+        Schedule moved = new Schedule(1, Collections.singletonList(lecture), date.plusDays(1), faculty);
+        List<Schedule> stored = Collections.singletonList(moved);
+        TimeTableChange loaded = new TimeTableChange(5, 1, null);
+        TimeTableChange late = new TimeTableChange(6, 1, null);
+        TimeTableChange rename = new TimeTableChange(7, null, null, "teacher", 1);
+        when(timeTableChangeDao.getLastId()).thenReturn(5L);
+        when(timeTableChangeDao.getAfter(0)).thenReturn(Collections.singletonList(loaded),
+                Arrays.asList(loaded, rename), Arrays.asList(loaded, late, rename));
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(bruce));
+        when(scheduleDao.getById(1)).thenReturn(Optional.of(moved));
+        when(scheduleGraphLoader.loadLectures(stored)).thenReturn(stored);
+        timeTableService.maintainSnapshot();
+        timeTableService.maintainSnapshot();
+        assertEquals(Collections.singletonList(lecture),
+                timeTableService.getTeacherDaySchedule(bruce, date.plusDays(1)).getLectures());
+        verify(teacherDao, times(1)).getByIds(any());
+        verify(scheduleDao, times(1)).getById(1);
+        verify(scheduleDao, times(1)).getAll();
+    }
+
+    @Test
+    void getTimeTable_shouldApplyChangesRecordedAfterSnapshot() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 5, getSchedules());
+        Schedule moved = new Schedule(1, Collections.singletonList(lecture), date.plusDays(1), faculty);
+        List<Schedule> stored = Collections.singletonList(moved);
+        when(timeTableChangeDao.getAfter(5)).thenReturn(Collections.singletonList(new TimeTableChange(6, 1, null)));
+        when(scheduleDao.getById(1)).thenReturn(Optional.of(moved));
+        when(scheduleGraphLoader.loadLectures(stored)).thenReturn(stored);
+        TimeTableServiceImpl restarted = restart(path);
+        assertEquals(Collections.singletonList(lecture),
+                restarted.getTeacherDaySchedule(bruce, date.plusDays(1)).getLectures());
+        verify(scheduleDao, never()).getAll();
+    }
+
+    @Test
+    void getTimeTable_shouldApplyEntityChangesRecordedAfterSnapshot() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 5, getSchedules());
+        Teacher renamed = new Teacher(1, "Bruce", "Wayne", null);
+        when(timeTableChangeDao.getAfter(5)).thenReturn(Arrays.asList(new TimeTableChange(6, null, null, "teacher", 1),
+                new TimeTableChange(7, null, null, "teacher", 1)));
+        when(teacherDao.getByIds(Collections.singleton(1))).thenReturn(Collections.singletonList(renamed));
+        TimeTableServiceImpl restarted = restart(path);
+        assertEquals(renamed, restarted.getTeacherDaySchedule(bruce, date).getLectures().get(0).getTeacher());
+        verify(teacherDao, times(1)).getByIds(any());
+        verify(scheduleDao, never()).getAll();
+    }
+
+    @Test
+    void getTimeTable_shouldLoadFromDatabase_whenSnapshotIsInvalidated() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 5, getSchedules());
+        List<Schedule> schedules = new ArrayList<>();
+        when(timeTableChangeDao.getAfter(5)).thenReturn(Collections.singletonList(new TimeTableChange(6, null, null)));
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        assertTrue(restart(path).getTimeTable().getSchedules().isEmpty());
+    }
+
+    @Test
+    void getTimeTable_shouldLoadFromDatabase_whenChangesAfterSnapshotWerePruned() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        TimeTableSnapshot.write(path, 5, getSchedules());
+        List<Schedule> schedules = new ArrayList<>();
+        when(timeTableChangeDao.getFirstId()).thenReturn(8L);
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        assertTrue(restart(path).getTimeTable().getSchedules().isEmpty());
+        verify(timeTableChangeDao, never()).getAfter(5);
+    }
+
+    @Test
+    void getTimeTable_shouldLoadFromDatabase_whenSnapshotIsCorrupted() throws IOException {
+        Path path = directory.resolve("timetable.snapshot");
+        Files.write(path, new byte[]{1, 2, 3});
+        List<Schedule> schedules = getSchedules();
+        when(scheduleDao.getAll()).thenReturn(schedules);
+        when(scheduleGraphLoader.loadLectures(schedules)).thenReturn(schedules);
+        assertEquals(1, restart(path).getTimeTable().getSchedules().size());
+    }
+
+    private TimeTableServiceImpl restart(Path snapshotPath) {
+        TimeTableServiceImpl restarted = new TimeTableServiceImpl();
+        ReflectionTestUtils.setField(restarted, "scheduleDao", scheduleDao);
+        ReflectionTestUtils.setField(restarted, "scheduleGraphLoader", scheduleGraphLoader);
+        ReflectionTestUtils.setField(restarted, "timeTableChangeDao", timeTableChangeDao);
+        ReflectionTestUtils.setField(restarted, "teacherDao", teacherDao);
+        ReflectionTestUtils.setField(restarted, "snapshotPath", snapshotPath.toString());
+        return restarted;
+    }
+
+    private List<Schedule> getSchedules() {
+        return new ArrayList<>(Arrays.asList(new Schedule(1, Collections.singletonList(lecture), date, faculty)));
+    }
+}
@@ -0,0 +1,91 @@
+package com.kharchenko.university.service.impl;
+
+import com.kharchenko.university.dao.ClassRoomDao;
+import com.kharchenko.university.dao.GroupDao;
+import com.kharchenko.university.dao.TeacherDao;
+import com.kharchenko.university.exception.InvalidEntityFieldException;
+import com.kharchenko.university.model.ClassRoom;
+import com.kharchenko.university.model.Faculty;
+import com.kharchenko.university.model.GeneratedTimetable;
+import com.kharchenko.university.model.Group;
+import com.kharchenko.university.model.Lecture;
+import com.kharchenko.university.model.LectureDemand;
+import com.kharchenko.university.model.Schedule;
+import com.kharchenko.university.model.Subject;
+import com.kharchenko.university.model.Teacher;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.time.LocalTime;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class TimetableGenerationServiceImplTest {
+
+    @Mock
+    private TeacherDao teacherDao;
+    @Mock
+    private ClassRoomDao classRoomDao;
+    @Mock
+    private GroupDao groupDao;
+    @InjectMocks
+    private TimetableGenerationServiceImpl timetableGenerationService;
+
+    private final Faculty faculty = new Faculty(1, "Programming");
+    private final Subject java = new Subject(1, "Java", "Learn Java");
+
+    @BeforeEach
+    void setUp() {
+        ReflectionTestUtils.setField(timetableGenerationService, "slots", "09:00-10:30, 10:45-12:15");
+        ReflectionTestUtils.setField(timetableGenerationService, "budgetMillis", 5000L);
+        ReflectionTestUtils.setField(timetableGenerationService, "workers", 2);
+    }
+
+    @Test
+    void generate_shouldScheduleDemandsOfFacultyGroupsWithinConfiguredSlots() {
+        Group group = new Group(1, "AA-111", Arrays.asList(java), faculty);
+        when(groupDao.getByFaculty(faculty)).thenReturn(Arrays.asList(group));
+        when(teacherDao.getAll()).thenReturn(Arrays.asList(new Teacher(1, "Bruce", "Eckel", Arrays.asList(java))));
+        when(classRoomDao.getByFaculty(faculty)).thenReturn(Arrays.asList(new ClassRoom(1, 1, 100, faculty)));
+        List<LectureDemand> demands = Arrays.asList(new LectureDemand(new Group(1, null, null, null), java, 4));
+        GeneratedTimetable timetable = timetableGenerationService.generate(faculty, LocalDate.of(2021, 9, 6),
+                LocalDate.of(2021, 9, 7), demands);
+        assertEquals(0, timetable.getConflicts());
+        List<Lecture> lectures = timetable.getSchedules().stream()
+                .flatMap(schedule -> schedule.getLectures().stream())
+                .collect(Collectors.toList());
+        assertEquals(4, lectures.size());
+        for (Schedule schedule : timetable.getSchedules()) {
+            assertEquals(Arrays.asList(LocalTime.of(9, 0), LocalTime.of(10, 45)), schedule.getLectures().stream()
+                    .map(Lecture::getStartTime)
+                    .collect(Collectors.toList()));
+        }
+        assertEquals(group, lectures.get(0).getGroups().get(0));
+    }
+
+    @Test
+    void generate_shouldThrowInvalidEntityFieldException_whenDemandGroupNotBelongFaculty() {
+        when(groupDao.getByFaculty(faculty)).thenReturn(Arrays.asList(new Group(1, "AA-111", Arrays.asList(java), faculty)));
+        List<LectureDemand> demands = Arrays.asList(new LectureDemand(new Group(3, null, null, null), java, 1));
+        assertThrows(InvalidEntityFieldException.class, () -> timetableGenerationService.generate(faculty,
+                LocalDate.of(2021, 9, 6), LocalDate.of(2021, 9, 7), demands));
+    }
+
+    @Test
+    void generate_shouldThrowInvalidEntityFieldException_whenPeriodStartsAfterItsEnd() {
+        assertThrows(InvalidEntityFieldException.class, () -> timetableGenerationService.generate(faculty,
+                LocalDate.of(2021, 9, 7), LocalDate.of(2021, 9, 6), Arrays.asList()));
+    }
+}
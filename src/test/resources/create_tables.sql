@@ -10,6 +10,7 @@ DROP TABLE IF EXISTS groups_subjects;
 DROP TABLE IF EXISTS schedules_lectures;
 DROP TABLE IF EXISTS students;
 DROP TABLE IF EXISTS faculties;
+DROP TABLE IF EXISTS timetable_changes;
 
 
 CREATE TABLE faculties
@@ -72,31 +73,81 @@ CREATE TABLE teachers_subjects
 
 CREATE TABLE schedules
 (
-    schedule_id SERIAL  NOT NULL PRIMARY KEY,
+    schedule_id SERIAL  NOT NULL,
     date        DATE    NOT NULL UNIQUE,
-    faculty_id  INTEGER NOT NULL REFERENCES faculties (faculty_id) ON UPDATE RESTRICT ON DELETE RESTRICT
-);
+    faculty_id  INTEGER NOT NULL REFERENCES faculties (faculty_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
+    PRIMARY KEY (schedule_id, date)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE schedules_default PARTITION OF schedules DEFAULT;
 
 CREATE TABLE lectures
 (
-    lecture_id   SERIAL  NOT NULL PRIMARY KEY,
-    subject_id   INTEGER NOT NULL REFERENCES subjects (subject_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
-    teacher_id   INTEGER NOT NULL REFERENCES teachers (teacher_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
-    classroom_id INTEGER NOT NULL REFERENCES classrooms (classroom_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
-    start_time   TIME    NOT NULL,
-    end_time     TIME    NOT NULL
+    lecture_id   SERIAL    NOT NULL PRIMARY KEY,
+    subject_id   INTEGER   NOT NULL REFERENCES subjects (subject_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
+    teacher_id   INTEGER   NOT NULL REFERENCES teachers (teacher_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
+    classroom_id INTEGER   NOT NULL REFERENCES classrooms (classroom_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
+    start_time   TIME      NOT NULL,
+    end_time     TIME      NOT NULL,
+    group_ids    INTEGER[] NOT NULL DEFAULT '{}'
 );
 
 CREATE TABLE schedules_lectures
 (
-    schedule_id INTEGER REFERENCES schedules (schedule_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
-    lecture_id  INTEGER REFERENCES lectures (lecture_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
-    UNIQUE (schedule_id, lecture_id)
-);
+    schedule_id INTEGER NOT NULL,
+    lecture_id  INTEGER NOT NULL REFERENCES lectures (lecture_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
+    date        DATE    NOT NULL,
+    FOREIGN KEY (schedule_id, date) REFERENCES schedules (schedule_id, date) ON UPDATE RESTRICT ON DELETE RESTRICT,
+    UNIQUE (schedule_id, lecture_id, date)
+) PARTITION BY RANGE (date);
+
+CREATE TABLE schedules_lectures_default PARTITION OF schedules_lectures DEFAULT;
 
 CREATE TABLE groups_lectures
 (
     group_id   INTEGER REFERENCES groups (group_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
     lecture_id INTEGER REFERENCES lectures (lecture_id) ON UPDATE RESTRICT ON DELETE RESTRICT,
     UNIQUE (group_id, lecture_id)
-);
\ No newline at end of file
+);
+
+CREATE OR REPLACE FUNCTION refresh_lecture_group_ids() RETURNS TRIGGER AS '
+BEGIN
+    UPDATE lectures l SET group_ids = ARRAY(SELECT gl.group_id FROM groups_lectures gl
+                                            WHERE gl.lecture_id = l.lecture_id ORDER BY gl.group_id)
+    WHERE l.lecture_id IN (SELECT lecture_id FROM changed_links);
+    RETURN NULL;
+END;
+' LANGUAGE plpgsql;
+
+CREATE TRIGGER groups_lectures_inserted
+    AFTER INSERT ON groups_lectures REFERENCING NEW TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION refresh_lecture_group_ids();
+
+CREATE TRIGGER groups_lectures_deleted
+    AFTER DELETE ON groups_lectures REFERENCING OLD TABLE AS changed_links
+    FOR EACH STATEMENT EXECUTE FUNCTION refresh_lecture_group_ids();
+
+CREATE TABLE timetable_changes
+(
+    change_id   BIGSERIAL NOT NULL PRIMARY KEY,
+    schedule_id INTEGER,
+    lecture_id  INTEGER,
+    entity      VARCHAR(20),
+    entity_id   INTEGER
+);
+
+CREATE INDEX classrooms_faculty_id_idx ON classrooms (faculty_id);
+CREATE INDEX groups_faculty_id_idx ON groups (faculty_id);
+CREATE INDEX groups_subjects_group_id_idx ON groups_subjects (group_id);
+CREATE INDEX students_group_id_idx ON students (group_id);
+CREATE INDEX teachers_subjects_teacher_id_idx ON teachers_subjects (teacher_id);
+CREATE INDEX schedules_faculty_id_date_idx ON schedules (faculty_id, date);
+CREATE UNIQUE INDEX lectures_same_fields_idx
+    ON lectures (subject_id, teacher_id, classroom_id, start_time, end_time, group_ids);
+CREATE INDEX lectures_teacher_id_idx ON lectures (teacher_id);
+CREATE INDEX lectures_classroom_id_idx ON lectures (classroom_id);
+CREATE INDEX schedules_lectures_lecture_id_idx ON schedules_lectures (lecture_id);
+CREATE INDEX groups_lectures_lecture_id_idx ON groups_lectures (lecture_id);
+CREATE INDEX students_last_name_student_id_idx ON students (last_name, student_id);
+CREATE INDEX students_first_name_student_id_idx ON students (first_name, student_id);
+CREATE INDEX lectures_start_time_lecture_id_idx ON lectures (start_time, lecture_id);
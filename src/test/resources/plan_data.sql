@@ -0,0 +1,54 @@
+INSERT INTO faculties (faculty_name)
+SELECT 'Faculty ' || n FROM generate_series(1, 20) AS n;
+
+INSERT INTO classrooms (building_number, room_number, faculty_id)
+SELECT 10 + n / 100, n % 100, 1 + n % 22 FROM generate_series(1, 2000) AS n;
+
+INSERT INTO subjects (subject_name, subject_description)
+SELECT 'Subject ' || n, 'Learn subject ' || n FROM generate_series(1, 500) AS n;
+
+INSERT INTO teachers (first_name, last_name)
+SELECT 'Name ' || n, 'Surname ' || n FROM generate_series(1, 2000) AS n;
+
+INSERT INTO groups (group_name, faculty_id)
+SELECT 'G-' || n, 1 + n % 22 FROM generate_series(1, 1000) AS n;
+
+INSERT INTO groups_subjects (subject_id, group_id)
+SELECT DISTINCT 1 + (g * 7 + k) % 505, g FROM generate_series(5, 1004) AS g, generate_series(1, 5) AS k;
+
+INSERT INTO teachers_subjects (subject_id, teacher_id)
+SELECT DISTINCT 1 + (t * 11 + k) % 505, t FROM generate_series(4, 2003) AS t, generate_series(1, 3) AS k;
+
+INSERT INTO students (first_name, last_name, group_id)
+SELECT 'Name ' || n, 'Surname ' || n, 5 + n % 1000 FROM generate_series(1, 30000) AS n;
+
+INSERT INTO lectures (subject_id, teacher_id, classroom_id, start_time, end_time)
+SELECT 1 + n % 505, 4 + n % 2000, 4 + n % 2000, TIME '08:00' + (n % 5) * INTERVAL '2 hours',
+       TIME '09:30' + (n % 5) * INTERVAL '2 hours'
+FROM generate_series(1, 20000) AS n;
+
+INSERT INTO groups_lectures (group_id, lecture_id)
+SELECT DISTINCT 5 + (l * k) % 1000, l FROM generate_series(4, 20003) AS l, generate_series(1, 2) AS k;
+
+CREATE TABLE schedules_p2030_01 PARTITION OF schedules FOR VALUES FROM ('2030-01-01') TO ('2030-02-01');
+CREATE TABLE schedules_lectures_p2030_01 PARTITION OF schedules_lectures FOR VALUES FROM ('2030-01-01') TO ('2030-02-01');
+CREATE TABLE schedules_p2030_02 PARTITION OF schedules FOR VALUES FROM ('2030-02-01') TO ('2030-03-01');
+CREATE TABLE schedules_lectures_p2030_02 PARTITION OF schedules_lectures FOR VALUES FROM ('2030-02-01') TO ('2030-03-01');
+CREATE TABLE schedules_p2030_03 PARTITION OF schedules FOR VALUES FROM ('2030-03-01') TO ('2030-04-01');
+CREATE TABLE schedules_lectures_p2030_03 PARTITION OF schedules_lectures FOR VALUES FROM ('2030-03-01') TO ('2030-04-01');
+CREATE TABLE schedules_p2030_04 PARTITION OF schedules FOR VALUES FROM ('2030-04-01') TO ('2030-05-01');
+CREATE TABLE schedules_lectures_p2030_04 PARTITION OF schedules_lectures FOR VALUES FROM ('2030-04-01') TO ('2030-05-01');
+CREATE TABLE schedules_p2030_05 PARTITION OF schedules FOR VALUES FROM ('2030-05-01') TO ('2030-06-01');
+CREATE TABLE schedules_lectures_p2030_05 PARTITION OF schedules_lectures FOR VALUES FROM ('2030-05-01') TO ('2030-06-01');
+CREATE TABLE schedules_p2030_06 PARTITION OF schedules FOR VALUES FROM ('2030-06-01') TO ('2030-07-01');
+CREATE TABLE schedules_lectures_p2030_06 PARTITION OF schedules_lectures FOR VALUES FROM ('2030-06-01') TO ('2030-07-01');
+
+INSERT INTO schedules (date, faculty_id)
+SELECT DATE '2030-01-01' + n, 1 + n % 22 FROM generate_series(1, 1000) AS n;
+
+INSERT INTO schedules_lectures (schedule_id, lecture_id, date)
+SELECT s.schedule_id, 4 + (s.schedule_id * 20 + k) % 20000, s.date
+FROM schedules s, generate_series(1, 20) AS k
+WHERE s.schedule_id >= 3;
+
+ANALYZE;
@@ -89,7 +89,7 @@ VALUES (2, 2);
 INSERT INTO groups_lectures (group_id, lecture_id)
 VALUES (3, 2);
 
-INSERT INTO schedules_lectures (schedule_id, lecture_id)
-VALUES (1, 1);
-INSERT INTO schedules_lectures (schedule_id, lecture_id)
-VALUES (1, 2);
\ No newline at end of file
+INSERT INTO schedules_lectures (schedule_id, lecture_id, date)
+VALUES (1, 1, '2021-05-24');
+INSERT INTO schedules_lectures (schedule_id, lecture_id, date)
+VALUES (1, 2, '2021-05-24');
\ No newline at end of file